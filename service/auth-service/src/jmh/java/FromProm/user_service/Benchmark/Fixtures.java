@@ -0,0 +1,169 @@
+package FromProm.user_service.Benchmark;
+
+import FromProm.user_service.DTO.PromptType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMH 벤치마크용 고정 데이터 (실제 FromProm_Table 아이템 모양)
+ * - 큰 프롬프트: 본문 8KB, 예시 3개(입력 JSON 1KB, 출력 4KB), 평가 지표 8개
+ * - 목록 페이지 100건, 댓글 스레드 50개
+ */
+public final class Fixtures {
+
+    public static final int PAGE_SIZE = 100;
+    public static final int COMMENT_THREAD_SIZE = 50;
+
+    private Fixtures() {
+    }
+
+    public static Map<String, AttributeValue> largePromptItem(int seq) {
+        // 저장되는 prompt_type/category 값은 PromptType 이름
+        String promptType = PromptType.values()[seq % PromptType.values().length].name();
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", s("PROMPT#" + uuid(seq)));
+        item.put("SK", s("METADATA"));
+        item.put("type", s("PROMPT"));
+        item.put("create_user", s("USER#" + uuid(seq % 17)));
+        item.put("userId", s("USER#" + uuid(seq % 17)));
+        item.put("nickname", s("작성자" + (seq % 17)));
+        item.put("title", s("블로그 글 초안 작성 프롬프트 #" + seq));
+        item.put("content", s(text("프롬프트 본문 ", 8_000)));
+        item.put("prompt_content", s(text("프롬프트 본문 ", 8_000)));
+        item.put("prompt_description", s(text("설명 ", 400)));
+        item.put("price", n(String.valueOf(1000 + seq % 5 * 500)));
+        item.put("prompt_type", s(promptType));
+        item.put("category", s(promptType));
+        item.put("model", s("claude-3-sonnet"));
+        item.put("status", s("completed"));
+        item.put("created_at", s("2025-01-" + String.format("%02d", 1 + seq % 28) + "T09:00:00Z"));
+        item.put("updated_at", s("2025-02-01T09:00:00Z"));
+        item.put("like_count", s(String.valueOf(seq * 3)));
+        item.put("comment_count", n(String.valueOf(seq % 50)));
+        item.put("bookmark_count", s(String.valueOf(seq)));
+        item.put("is_public", AttributeValue.builder().bool(true).build());
+        item.put("examples_s3_url", s("s3://fromprom-examples/" + uuid(seq) + ".json"));
+
+        List<AttributeValue> examples = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            examples.add(AttributeValue.builder().m(Map.of(
+                    "index", n(String.valueOf(i)),
+                    "input", AttributeValue.builder().m(Map.of(
+                            "content", s("{\"topic\":\"" + text("입력값 ", 1_000) + "\"}"),
+                            "input_type", s("text"))).build(),
+                    "output", s(text("모델 출력 ", 4_000))
+            )).build());
+        }
+        item.put("examples", AttributeValue.builder().l(examples).build());
+
+        Map<String, AttributeValue> metrics = new LinkedHashMap<>();
+        for (String field : new String[]{"token_usage", "information_density", "consistency", "model_variance",
+                "hallucination", "relevance", "final_score"}) {
+            metrics.put(field, s(String.valueOf(70 + seq % 30)));
+        }
+        metrics.put("feedback", s(text("평가 피드백 ", 600)));
+        item.put("evaluation_metrics", AttributeValue.builder().m(metrics).build());
+        return item;
+    }
+
+    public static List<Map<String, AttributeValue>> promptPage() {
+        List<Map<String, AttributeValue>> page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(largePromptItem(i));
+        }
+        return page;
+    }
+
+    public static List<Map<String, AttributeValue>> commentThread() {
+        List<Map<String, AttributeValue>> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENT_THREAD_SIZE; i++) {
+            Map<String, AttributeValue> item = new HashMap<>();
+            item.put("PK", s("PROMPT#" + uuid(1)));
+            item.put("SK", s("COMMENT#2025-01-01T09:" + String.format("%02d", i) + ":00Z#" + uuid(1000 + i)));
+            item.put("comment_content", s(text("댓글 내용 ", 300)));
+            item.put("comment_user", s("USER#" + uuid(i % 23)));
+            item.put("comment_user_nickname", s("댓글러" + i));
+            item.put("created_at", s("2025-01-01T09:" + String.format("%02d", i) + ":00Z"));
+            item.put("updated_at", s("2025-01-01T09:" + String.format("%02d", i) + ":00Z"));
+            comments.add(item);
+        }
+        return comments;
+    }
+
+    /**
+     * createInitialPrompt가 만드는 저장용 payload + examples
+     */
+    public static Map<String, Object> savePayload() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("PK", "PROMPT#" + uuid(1));
+        payload.put("SK", "METADATA");
+        payload.put("PROMPT_INDEX_PK", "USER_PROMPT_LIST");
+        payload.put("PROMPT_INDEX_SK", "USER#" + uuid(2) + "#2025-01-01T09:00:00Z");
+        payload.put("type", "PROMPT");
+        payload.put("create_user", "USER#" + uuid(2));
+        payload.put("userId", "USER#" + uuid(2));
+        payload.put("nickname", "작성자");
+        payload.put("title", "블로그 글 초안 작성 프롬프트");
+        payload.put("prompt_content", text("프롬프트 본문 ", 8_000));
+        payload.put("prompt_description", text("설명 ", 400));
+        payload.put("price", 1500);
+        payload.put("prompt_type", PromptType.type_b_text.name());
+        payload.put("category", PromptType.type_b_text.name());
+        payload.put("examples", saveExamples());
+        payload.put("examples_s3_url", "");
+        payload.put("model", "claude-3-sonnet");
+        Map<String, String> metrics = new LinkedHashMap<>();
+        for (String field : new String[]{"token_usage", "information_density", "consistency", "model_variance",
+                "hallucination", "relevance", "final_score", "feedback"}) {
+            metrics.put(field, "");
+        }
+        payload.put("evaluation_metrics", metrics);
+        payload.put("status", "processing");
+        payload.put("created_at", "2025-01-01T09:00:00Z");
+        payload.put("updated_at", "");
+        payload.put("like_count", "0");
+        payload.put("comment_count", "0");
+        payload.put("bookmark_count", "0");
+        payload.put("is_public", false);
+        return payload;
+    }
+
+    public static List<Map<String, Object>> saveExamples() {
+        List<Map<String, Object>> examples = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> example = new LinkedHashMap<>();
+            example.put("index", i);
+            example.put("input", Map.of(
+                    "content", "[{\"key\":\"topic\",\"value\":\"" + text("입력값 ", 1_000) + "\"}]",
+                    "input_type", "text"));
+            example.put("output", "");
+            examples.add(example);
+        }
+        return examples;
+    }
+
+    private static String uuid(int seq) {
+        return String.format("00000000-0000-4000-8000-%012d", seq);
+    }
+
+    private static String text(String unit, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append(unit);
+        }
+        return builder.substring(0, length);
+    }
+
+    private static AttributeValue s(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    private static AttributeValue n(String value) {
+        return AttributeValue.builder().n(value).build();
+    }
+}
@@ -0,0 +1,100 @@
+package FromProm.user_service.Service;
+
+import FromProm.user_service.Benchmark.Fixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PromptService 요청 경로 매핑 비용 (처리량 + gc 프로파일러의 연산당 할당량)
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+public class PromptMappingBenchmark {
+
+    private PromptService promptService;
+    private ObjectMapper objectMapper;
+
+    private Map<String, AttributeValue> largeItem;
+    private List<Map<String, AttributeValue>> page;
+    private List<Map<String, AttributeValue>> comments;
+    private Map<String, Object> savePayload;
+    private List<Map<String, Object>> saveExamples;
+    private Map<String, Object> pageResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        // 매핑 메서드는 AWS 클라이언트를 쓰지 않으므로 null로 생성
+        promptService = new PromptService(null, objectMapper, null);
+
+        largeItem = Fixtures.largePromptItem(1);
+        page = Fixtures.promptPage();
+        comments = Fixtures.commentThread();
+        savePayload = Fixtures.savePayload();
+        saveExamples = Fixtures.saveExamples();
+        pageResponse = summaryPageResponse();
+    }
+
+    @Benchmark
+    public Map<String, Object> convertToPromptDetail() {
+        return promptService.convertToPromptDetail(largeItem);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> convertToPromptSummaryPage() {
+        List<Map<String, Object>> result = new ArrayList<>(page.size());
+        for (Map<String, AttributeValue> item : page) {
+            result.add(promptService.convertToPromptSummary(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> convertCommentThread() {
+        List<Map<String, Object>> result = new ArrayList<>(comments.size());
+        for (Map<String, AttributeValue> item : comments) {
+            result.add(promptService.convertToComment(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> buildPromptItem() {
+        return promptService.toPromptItem(savePayload, saveExamples);
+    }
+
+    @Benchmark
+    public String serializeSummaryPageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(pageResponse);
+    }
+
+    @Benchmark
+    public String serializeDetailResponse() throws JsonProcessingException {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("prompt", promptService.convertToPromptDetail(largeItem));
+        return objectMapper.writeValueAsString(response);
+    }
+
+    private Map<String, Object> summaryPageResponse() {
+        List<Map<String, Object>> prompts = new ArrayList<>();
+        for (Map<String, AttributeValue> item : page) {
+            prompts.add(promptService.convertToPromptSummary(item));
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("prompts", prompts);
+        response.put("count", prompts.size());
+        return response;
+    }
+}
@@ -1,22 +1,63 @@
 package FromProm.user_service.Configuration;
 
+import fromprom.common.Configuration.SdkHttpClientProfiles;
+import fromprom.common.Metrics.AwsSdkMetricsInterceptor;
+import fromprom.common.Metrics.ConsumedCapacityInterceptor;
+import fromprom.common.Metrics.HotPartitionInterceptor;
+import fromprom.common.Resilience.Bulkhead;
+import fromprom.common.Resilience.BulkheadInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.services.sns.SnsClient;
 
+import java.net.URI;
+
 @Configuration
 public class AwsConfig {
     @Value("${aws.region}")
     private String region;
 
+    // 다운스트림별 동시 호출 한도 (0 이하면 제한 없음), 대기 시간을 넘기면 SdkClientException
+    // DynamoDB 기본값은 HTTP 커넥션 풀 기본 크기(aws.http.*.max-connections, 50), Cognito/SNS는 API 호출 한도가 낮아 더 작게
+    @Value("${downstream.dynamodb.max-concurrent:50}")
+    private int dynamoDbMaxConcurrent;
+
+    @Value("${downstream.dynamodb.max-wait-ms:500}")
+    private long dynamoDbMaxWaitMillis;
+
+    @Value("${downstream.cognito.max-concurrent:20}")
+    private int cognitoMaxConcurrent;
+
+    @Value("${downstream.cognito.max-wait-ms:1000}")
+    private long cognitoMaxWaitMillis;
+
+    @Value("${downstream.sns.max-concurrent:20}")
+    private int snsMaxConcurrent;
+
+    @Value("${downstream.sns.max-wait-ms:1000}")
+    private long snsMaxWaitMillis;
+
     // IRSA 사용: DefaultCredentialsProvider는 다음 순서로 자격증명을 찾음
     // 1. 환경변수 (AWS_ACCESS_KEY_ID, AWS_SECRET_ACCESS_KEY)
     // 2. Web Identity Token (IRSA - EKS에서 자동 주입)
@@ -26,26 +67,69 @@ public class AwsConfig {
         return DefaultCredentialsProvider.create();
     }
 
+    // 모든 SDK 호출에 동시 호출 한도 + 지연 시간/오류/스로틀링/재시도 메트릭 기록 (DynamoDB는 소비 용량 집계 + 핫 키 탐지 추가)
+    // 타임아웃/재시도 모드/풀 메트릭은 클라이언트별 프로파일(SdkHttpClientProfiles)에서
+    private ClientOverrideConfiguration metered(ClientOverrideConfiguration.Builder builder, ExecutionInterceptor... interceptors) {
+        for (ExecutionInterceptor interceptor : interceptors) {
+            builder.addExecutionInterceptor(interceptor);
+        }
+        return builder.build();
+    }
+
+    private BulkheadInterceptor bulkhead(String name, int maxConcurrent, long maxWaitMillis, MeterRegistry meterRegistry) {
+        return new BulkheadInterceptor(new Bulkhead(name, maxConcurrent, maxWaitMillis, meterRegistry));
+    }
+
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
 
     @Bean
-    public CognitoIdentityProviderClient cognitoClient() {
+    public CognitoIdentityProviderClient cognitoClient(AwsSdkMetricsInterceptor metricsInterceptor,
+                                                       MeterRegistry meterRegistry,
+                                                       SdkHttpClientProfiles httpClientProfiles) {
         return CognitoIdentityProviderClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(getCredentials())
+                .httpClientBuilder(httpClientProfiles.syncClient("cognito"))
+                .overrideConfiguration(metered(httpClientProfiles.overrides("cognito"),
+                        bulkhead("cognito", cognitoMaxConcurrent, cognitoMaxWaitMillis, meterRegistry),
+                        metricsInterceptor))
                 .build();
     }
 
+    // 동기/비동기 DynamoDB 클라이언트가 같은 한도를 공유 (비동기 클라이언트는 대기 없이 즉시 거절)
+    @Bean
+    public Bulkhead dynamoDbBulkhead(MeterRegistry meterRegistry) {
+        return new Bulkhead("dynamodb", dynamoDbMaxConcurrent, dynamoDbMaxWaitMillis, meterRegistry);
+    }
+
     @Bean
     @Primary
-    public DynamoDbClient dynamoDbClient() {
-        return DynamoDbClient.builder()
+    public DynamoDbClient dynamoDbClient(AwsSdkMetricsInterceptor metricsInterceptor,
+                                         ConsumedCapacityInterceptor capacityInterceptor,
+                                         HotPartitionInterceptor hotPartitionInterceptor,
+                                         @Qualifier("inMemoryDynamoDbHttpClient") ObjectProvider<SdkHttpClient> inMemoryHttpClient,
+                                         Bulkhead dynamoDbBulkhead,
+                                         SdkHttpClientProfiles httpClientProfiles) {
+        DynamoDbClientBuilder builder = DynamoDbClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(getCredentials())
-                .build();
+                .overrideConfiguration(metered(httpClientProfiles.overrides("dynamodb"),
+                        new BulkheadInterceptor(dynamoDbBulkhead), metricsInterceptor, capacityInterceptor, hotPartitionInterceptor));
+
+        // 부하 테스트용 인메모리 대역 (src/inmemory, aws.dynamodb.mode=memory): 네트워크 호출만 대체, 인터셉터는 그대로 동작
+        // 운영 jar에는 대역 클래스가 없으므로 이름으로만 찾음
+        SdkHttpClient fake = inMemoryHttpClient.getIfAvailable();
+        if (fake != null) {
+            builder.httpClient(fake)
+                    .endpointOverride(URI.create("http://dynamodb.memory.local"))
+                    .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("memory", "memory")));
+        } else {
+            builder.httpClientBuilder(httpClientProfiles.syncClient("dynamodb"));
+        }
+        return builder.build();
     }
 
     @Bean
@@ -55,11 +139,48 @@ public class AwsConfig {
                 .build();
     }
 
+    // 팬아웃 작업(회원 탈퇴 정리, 닉네임 전파)용 비동기 클라이언트 (기본 Netty NIO, 호출마다 스레드를 점유하지 않음)
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient(AwsSdkMetricsInterceptor metricsInterceptor,
+                                                   ConsumedCapacityInterceptor capacityInterceptor,
+                                                   HotPartitionInterceptor hotPartitionInterceptor,
+                                                   @Qualifier("inMemoryDynamoDbAsyncHttpClient") ObjectProvider<SdkAsyncHttpClient> inMemoryHttpClient,
+                                                   Bulkhead dynamoDbBulkhead,
+                                                   SdkHttpClientProfiles httpClientProfiles) {
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(getCredentials())
+                .overrideConfiguration(metered(httpClientProfiles.overrides("dynamodb-async"),
+                        BulkheadInterceptor.nonBlocking(dynamoDbBulkhead), metricsInterceptor, capacityInterceptor, hotPartitionInterceptor));
+
+        SdkAsyncHttpClient fake = inMemoryHttpClient.getIfAvailable();
+        if (fake != null) {
+            builder.httpClient(fake)
+                    .endpointOverride(URI.create("http://dynamodb.memory.local"))
+                    .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("memory", "memory")));
+        } else {
+            builder.httpClientBuilder(httpClientProfiles.asyncClient("dynamodb-async"));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient(DynamoDbAsyncClient dynamoDbAsyncClient) {
+        return DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(dynamoDbAsyncClient)
+                .build();
+    }
+
     @Bean
-    public SnsClient snsClient() {
+    public SnsClient snsClient(AwsSdkMetricsInterceptor metricsInterceptor, MeterRegistry meterRegistry,
+                               SdkHttpClientProfiles httpClientProfiles) {
         return SnsClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(getCredentials())
+                .httpClientBuilder(httpClientProfiles.syncClient("sns"))
+                .overrideConfiguration(metered(httpClientProfiles.overrides("sns"),
+                        bulkhead("sns", snsMaxConcurrent, snsMaxWaitMillis, meterRegistry),
+                        metricsInterceptor))
                 .build();
     }
 }
@@ -0,0 +1,55 @@
+package FromProm.user_service.Controller;
+
+import fromprom.common.Metrics.CapacityLedger;
+import fromprom.common.Metrics.HotPartitionDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 운영용 관리 API (X-Admin-Token 헤더 필요, AdminAccessFilter)
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final CapacityLedger capacityLedger;
+    private final HotPartitionDetector hotPartitionDetector;
+
+    /**
+     * DynamoDB 소비 용량 상위 엔드포인트 (테이블/GSI별 RCU/WCU 내역)
+     * GET /api/admin/capacity?top=10
+     */
+    @GetMapping("/capacity")
+    public ResponseEntity<Map<String, Object>> getCapacityReport(@RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "capacity", capacityLedger.report(top)
+        ));
+    }
+
+    /**
+     * 집계 초기화 (배포 직후/부하 테스트 전 기준점 잡기)
+     * DELETE /api/admin/capacity
+     */
+    @DeleteMapping("/capacity")
+    public ResponseEntity<Map<String, Object>> resetCapacityReport() {
+        capacityLedger.reset();
+        return ResponseEntity.ok(Map.of("success", true));
+    }
+
+    /**
+     * DynamoDB 핫 파티션 키 (최근 윈도우의 읽기/쓰기 상위 키와 초당 요청 수)
+     * GET /api/admin/hot-keys?top=20
+     */
+    @GetMapping("/hot-keys")
+    public ResponseEntity<Map<String, Object>> getHotKeys(@RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "hotKeys", hotPartitionDetector.report(top)
+        ));
+    }
+}
@@ -2,6 +2,7 @@ package FromProm.user_service.Controller;
 
 import FromProm.user_service.Entity.Credit;
 import FromProm.user_service.Entity.User;
+import FromProm.user_service.Repository.AsyncUserRepository;
 import FromProm.user_service.Repository.CreditRepository;
 import FromProm.user_service.Repository.UserRepository;
 import FromProm.user_service.Service.InteractionService;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 public class TestController {
 
     private final UserRepository userRepository;
+    private final AsyncUserRepository asyncUserRepository;
     private final CreditRepository creditRepository;
     private final PromptService promptService;
     private final InteractionService interactionService;
@@ -402,7 +404,7 @@ public class TestController {
     public ResponseEntity<Map<String, Object>> testHardDelete(@PathVariable String userSub) {
         try {
             // Hard Delete 실행 (DB만, Cognito는 제외)
-            userRepository.hardDeleteUser(userSub);
+            asyncUserRepository.hardDeleteUser(userSub).join();
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
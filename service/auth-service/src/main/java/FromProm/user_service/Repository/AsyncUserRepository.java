@@ -0,0 +1,418 @@
+package FromProm.user_service.Repository;
+
+import FromProm.user_service.Entity.User;
+import fromprom.common.Resilience.BulkheadInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * UserRepository의 팬아웃 작업(회원 탈퇴 정리, 닉네임 전파) 비동기 버전
+ * - DynamoDbAsyncClient / DynamoDbEnhancedAsyncClient 사용: Query로 찾은 아이템의 삭제/수정을 한 스레드에서 동시에 발행
+ * - 작업 하나(탈퇴 1건, 닉네임 전파 1건)의 모든 DynamoDB 호출이 Limiter 하나를 공유
+ *   → 중첩된 팬아웃(프롬프트별 파티션 삭제, 프롬프트별 댓글 삭제)을 포함해 진행 중인 호출은 fan-out.parallelism개 이하
+ * - 비동기 클라이언트의 동시 호출 한도(dynamodb bulkhead)는 대기 없이 거절하므로, 거절된 호출은 잠시 후 재시도
+ * - Query는 모든 페이지를 읽음 (동기 버전은 첫 페이지만 처리)
+ * - 좋아요/북마크/댓글/닉네임 갱신 실패는 로그만 남기고 계속 진행, 일반 아이템 삭제 실패는 작업 실패 (동기 버전과 동일)
+ */
+@Repository
+public class AsyncUserRepository {
+    private static final int MAX_REJECTION_RETRIES = 5;
+    private static final long REJECTION_BACKOFF_MILLIS = 50;
+
+    private final DynamoDbAsyncTable<User> userTable;
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final String TABLE_NAME;
+    private final int parallelism;
+
+    public AsyncUserRepository(DynamoDbEnhancedAsyncClient enhancedAsyncClient, DynamoDbAsyncClient dynamoDbAsyncClient,
+                               @Value("${aws.dynamodb.table.name}") String tableName,
+                               @Value("${aws.dynamodb.fan-out.parallelism:16}") int parallelism) {
+        this.TABLE_NAME = tableName;
+        this.userTable = enhancedAsyncClient.table(tableName, TableSchema.fromBean(User.class));
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public CompletableFuture<Void> update(User user) {
+        // putItem은 동일한 PK/SK가 있으면 덮어쓰기(Upsert)로 동작합니다.
+        return retryRejected(() -> userTable.putItem(user), 0);
+    }
+
+    /**
+     * 닉네임 변경을 사용자가 등록한 프롬프트와 작성한 댓글에 반영 (두 작업 동시 실행, 호출 한도 공유)
+     */
+    public CompletableFuture<Void> propagateNickname(String userPK, String userId, String newNickname) {
+        Limiter limiter = new Limiter(parallelism);
+        return CompletableFuture.allOf(
+                updateUserPromptsNickname(limiter, userPK, newNickname),
+                updateUserCommentsNickname(limiter, userId, newNickname));
+    }
+
+    /**
+     * Hard Delete: 사용자와 관련된 모든 데이터 삭제
+     * - 1(사용자 파티션)과 2(작성 댓글)는 서로 다른 카운트를 고치므로 동시에 실행
+     * - 3(등록 프롬프트)은 1, 2가 끝난 뒤 실행 (삭제한 METADATA가 카운트 갱신으로 다시 생기지 않도록)
+     */
+    public CompletableFuture<Void> hardDeleteUser(String userSub) {
+        // userSub는 "USER#xxx" 형태가 아닌 순수 ID일 수 있음
+        String userId = userSub.startsWith("USER#") ? userSub.replace("USER#", "") : userSub;
+        String userPK = "USER#" + userId;
+        Limiter limiter = new Limiter(parallelism);
+
+        return CompletableFuture.allOf(deleteAllItemsByPK(limiter, userPK), deleteUserComments(limiter, userId))
+                .thenCompose(ignored -> deleteUserPrompts(limiter, userId));
+    }
+
+    /**
+     * 특정 PK의 모든 아이템 삭제
+     * - LIKE#, BOOKMARK# 삭제 시 해당 프롬프트의 카운트도 감소
+     */
+    private CompletableFuture<Void> deleteAllItemsByPK(Limiter limiter, String pk) {
+        QueryRequest queryRequest = QueryRequest.builder()
+                .tableName(TABLE_NAME)
+                .keyConditionExpression("PK = :pk")
+                .expressionAttributeValues(Map.of(":pk", AttributeValue.builder().s(pk).build()))
+                .build();
+
+        return queryAll(limiter, queryRequest).thenCompose(items -> allOf(items, item -> {
+            String sk = item.get("SK").s();
+
+            // LIKE# 삭제 시 프롬프트의 like_count 감소
+            if (sk.startsWith("LIKE#")) {
+                String promptPK = "PROMPT#" + sk.replace("LIKE#PROMPT#", "");
+                return deleteItem(limiter, pk, sk)
+                        .thenCompose(ignored -> decrementCount(limiter, promptPK, "like_count", 1))
+                        .exceptionally(e -> {
+                            System.err.println("좋아요 삭제 실패: " + pk + "/" + sk + " - " + e.getMessage());
+                            return null;
+                        });
+            }
+            // BOOKMARK# 삭제 시 프롬프트의 bookmark_count 감소
+            if (sk.startsWith("BOOKMARK#")) {
+                String promptPK = "PROMPT#" + sk.replace("BOOKMARK#PROMPT#", "");
+                return deleteItem(limiter, pk, sk)
+                        .thenCompose(ignored -> decrementCount(limiter, promptPK, "bookmark_count", 1))
+                        .exceptionally(e -> {
+                            System.err.println("북마크 삭제 실패: " + pk + "/" + sk + " - " + e.getMessage());
+                            return null;
+                        });
+            }
+            // 일반 아이템 삭제 (PROFILE, CREDIT#, 프롬프트의 METADATA/COMMENT# 등)
+            return deleteItem(limiter, pk, sk);
+        }));
+    }
+
+    /**
+     * 사용자가 작성한 모든 댓글 삭제 (GSI 사용)
+     * - 프롬프트별로 묶어 댓글을 삭제한 뒤 comment_count를 한 번만 감소 (같은 카운트를 동시에 고치지 않도록)
+     */
+    private CompletableFuture<Void> deleteUserComments(Limiter limiter, String userId) {
+        QueryRequest queryRequest = QueryRequest.builder()
+                .tableName(TABLE_NAME)
+                .indexName("comment-user-index")
+                .keyConditionExpression("comment_user = :userId")
+                .expressionAttributeValues(Map.of(
+                        ":userId", AttributeValue.builder().s(userId).build()
+                ))
+                .build();
+
+        return queryAll(limiter, queryRequest).thenCompose(items -> {
+            Map<String, List<String>> commentsByPrompt = new LinkedHashMap<>();
+            for (Map<String, AttributeValue> item : items) {
+                commentsByPrompt.computeIfAbsent(item.get("PK").s(), k -> new ArrayList<>()).add(item.get("SK").s());
+            }
+
+            return allOf(new ArrayList<>(commentsByPrompt.entrySet()), entry -> {
+                String promptPK = entry.getKey();
+                AtomicInteger deleted = new AtomicInteger();
+
+                return allOf(entry.getValue(), commentSK -> deleteItem(limiter, promptPK, commentSK)
+                                .thenRun(deleted::incrementAndGet)
+                                .exceptionally(e -> {
+                                    // 개별 댓글 삭제 실패해도 계속 진행
+                                    System.err.println("댓글 삭제 실패: " + promptPK + "/" + commentSK + " - " + e.getMessage());
+                                    return null;
+                                }))
+                        .thenCompose(ignored -> deleted.get() > 0
+                                ? decrementCount(limiter, promptPK, "comment_count", deleted.get())
+                                : CompletableFuture.completedFuture(null))
+                        .exceptionally(e -> {
+                            System.err.println("댓글 수 갱신 실패: " + promptPK + " - " + e.getMessage());
+                            return null;
+                        });
+            });
+        });
+    }
+
+    /**
+     * 사용자가 등록한 모든 프롬프트 삭제 (GSI 사용)
+     * - 프롬프트별로 파티션 전체 삭제와 다른 사용자들의 좋아요/북마크 삭제를 동시에 실행
+     */
+    private CompletableFuture<Void> deleteUserPrompts(Limiter limiter, String userId) {
+        return queryAll(limiter, userPromptsQuery("USER#" + userId)).thenCompose(items -> allOf(items, item -> {
+            String promptPK = item.get("PK").s(); // PROMPT#{promptId}
+            return CompletableFuture.allOf(
+                    deleteAllItemsByPK(limiter, promptPK), deletePromptInteractions(limiter, promptPK));
+        }));
+    }
+
+    /**
+     * 특정 프롬프트에 대한 모든 좋아요/북마크 삭제 (동기 버전과 같은 Scan 조건, 첫 페이지만)
+     */
+    private CompletableFuture<Void> deletePromptInteractions(Limiter limiter, String promptPK) {
+        String promptId = promptPK.replace("PROMPT#", "");
+
+        ScanRequest scanRequest = ScanRequest.builder()
+                .tableName(TABLE_NAME)
+                .filterExpression("SK = :likeSK OR SK = :bookmarkSK")
+                .expressionAttributeValues(Map.of(
+                        ":likeSK", AttributeValue.builder().s("LIKE#" + promptId).build(),
+                        ":bookmarkSK", AttributeValue.builder().s("BOOKMARK#" + promptId).build()
+                ))
+                .build();
+
+        return limiter.call(() -> dynamoDbAsyncClient.scan(scanRequest))
+                .thenCompose(response -> allOf(response.items(),
+                        item -> deleteItem(limiter, item.get("PK").s(), item.get("SK").s())));
+    }
+
+    /**
+     * 사용자가 등록한 모든 프롬프트의 닉네임 업데이트 (GSI 사용)
+     */
+    private CompletableFuture<Void> updateUserPromptsNickname(Limiter limiter, String userPK, String newNickname) {
+        AtomicInteger updated = new AtomicInteger();
+        return queryAll(limiter, userPromptsQuery(userPK))
+                .thenCompose(items -> allOf(items, item -> {
+                    String promptPK = item.get("PK").s();
+                    // 프롬프트의 nickname 필드 업데이트
+                    return setNickname(limiter, promptPK, "METADATA", "nickname", newNickname)
+                            .thenRun(updated::incrementAndGet)
+                            .exceptionally(e -> {
+                                System.err.println("프롬프트 닉네임 업데이트 실패: " + promptPK + " - " + e.getMessage());
+                                return null;
+                            });
+                }))
+                .thenRun(() -> System.out.println("프롬프트 닉네임 업데이트 완료: " + userPK + " " + updated.get() + "건"));
+    }
+
+    /**
+     * 사용자가 작성한 모든 댓글의 닉네임 업데이트 (GSI 사용)
+     */
+    private CompletableFuture<Void> updateUserCommentsNickname(Limiter limiter, String userId, String newNickname) {
+        QueryRequest queryRequest = QueryRequest.builder()
+                .tableName(TABLE_NAME)
+                .indexName("comment-user-index")
+                .keyConditionExpression("comment_user = :userId")
+                .expressionAttributeValues(Map.of(
+                        ":userId", AttributeValue.builder().s(userId).build()
+                ))
+                .build();
+
+        AtomicInteger updated = new AtomicInteger();
+        return queryAll(limiter, queryRequest)
+                .thenCompose(items -> allOf(items, item -> {
+                    String promptPK = item.get("PK").s();
+                    String commentSK = item.get("SK").s();
+                    // 댓글의 comment_user_nickname 필드 업데이트
+                    return setNickname(limiter, promptPK, commentSK, "comment_user_nickname", newNickname)
+                            .thenRun(updated::incrementAndGet)
+                            .exceptionally(e -> {
+                                System.err.println("댓글 닉네임 업데이트 실패: " + promptPK + "/" + commentSK + " - " + e.getMessage());
+                                return null;
+                            });
+                }))
+                .thenRun(() -> System.out.println("댓글 닉네임 업데이트 완료: " + userId + " " + updated.get() + "건"));
+    }
+
+    private QueryRequest userPromptsQuery(String userPK) {
+        // create-user-index GSI를 사용하여 Query
+        return QueryRequest.builder()
+                .tableName(TABLE_NAME)
+                .indexName("create-user-index")
+                .keyConditionExpression("create_user = :userId")
+                .filterExpression("SK = :metadata")
+                .expressionAttributeValues(Map.of(
+                        ":userId", AttributeValue.builder().s(userPK).build(),
+                        ":metadata", AttributeValue.builder().s("METADATA").build()
+                ))
+                .build();
+    }
+
+    private CompletableFuture<Void> setNickname(Limiter limiter, String pk, String sk, String attribute, String newNickname) {
+        UpdateItemRequest request = UpdateItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(key(pk, sk))
+                .updateExpression("SET " + attribute + " = :newNickname")
+                .expressionAttributeValues(Map.of(
+                        ":newNickname", AttributeValue.builder().s(newNickname).build()
+                ))
+                .build();
+        return limiter.call(() -> dynamoDbAsyncClient.updateItem(request)).thenApply(response -> null);
+    }
+
+    private CompletableFuture<Void> deleteItem(Limiter limiter, String pk, String sk) {
+        DeleteItemRequest request = DeleteItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(key(pk, sk))
+                .build();
+        return limiter.call(() -> dynamoDbAsyncClient.deleteItem(request)).thenApply(response -> null);
+    }
+
+    /**
+     * 프롬프트 METADATA의 카운트 감소 (문자열 타입으로 저장됨, 0 미만으로 내려가지 않음)
+     */
+    private CompletableFuture<Void> decrementCount(Limiter limiter, String promptPK, String attribute, int amount) {
+        GetItemRequest getRequest = GetItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(key(promptPK, "METADATA"))
+                .projectionExpression(attribute)
+                .build();
+
+        return limiter.call(() -> dynamoDbAsyncClient.getItem(getRequest))
+                .thenCompose(metadataResponse -> {
+                    int currentCount = 0;
+                    if (metadataResponse.hasItem() && metadataResponse.item().containsKey(attribute)) {
+                        AttributeValue countAttr = metadataResponse.item().get(attribute);
+                        if (countAttr.s() != null) {
+                            currentCount = Integer.parseInt(countAttr.s());
+                        } else if (countAttr.n() != null) {
+                            currentCount = Integer.parseInt(countAttr.n());
+                        }
+                    }
+
+                    int newCount = Math.max(0, currentCount - amount);
+                    UpdateItemRequest updateRequest = UpdateItemRequest.builder()
+                            .tableName(TABLE_NAME)
+                            .key(key(promptPK, "METADATA"))
+                            .updateExpression("SET " + attribute + " = :newCount")
+                            .expressionAttributeValues(Map.of(":newCount", AttributeValue.builder().s(String.valueOf(newCount)).build()))
+                            .build();
+                    return limiter.call(() -> dynamoDbAsyncClient.updateItem(updateRequest));
+                })
+                .thenApply(response -> null);
+    }
+
+    private static Map<String, AttributeValue> key(String pk, String sk) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(pk).build(),
+                "SK", AttributeValue.builder().s(sk).build()
+        );
+    }
+
+    /**
+     * Query 결과 전체 (모든 페이지, 페이지를 차례로 읽으므로 허가 하나로 실행)
+     */
+    private CompletableFuture<List<Map<String, AttributeValue>>> queryAll(Limiter limiter, QueryRequest request) {
+        return limiter.call(() -> {
+            List<Map<String, AttributeValue>> items = Collections.synchronizedList(new ArrayList<>());
+            return dynamoDbAsyncClient.queryPaginator(request).items()
+                    .subscribe(items::add)
+                    .thenApply(ignored -> items);
+        });
+    }
+
+    /**
+     * 항목마다 비동기 작업을 만들고 모두 끝나면 완료 (실제 호출 수는 각 작업이 거치는 Limiter가 제한)
+     * - 일부가 실패해도 나머지는 끝까지 진행, 완료 future는 실패로 끝남
+     */
+    private static <T> CompletableFuture<Void> allOf(List<T> items, Function<T, CompletableFuture<?>> action) {
+        return CompletableFuture.allOf(items.stream().map(action).toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * 동시 호출 한도 거절이면 지수 백오프 후 재시도 (비동기 클라이언트는 한도에서 기다리지 않으므로 여기서 대신 기다림)
+     */
+    private static <T> CompletableFuture<T> retryRejected(Supplier<CompletableFuture<T>> request, int attempt) {
+        CompletableFuture<T> first;
+        try {
+            first = request.get();
+        } catch (RuntimeException e) {
+            first = CompletableFuture.failedFuture(e);
+        }
+        return first.handle((value, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(value);
+                    }
+                    if (attempt >= MAX_REJECTION_RETRIES || !BulkheadInterceptor.isRejection(error)) {
+                        return CompletableFuture.<T>failedFuture(error);
+                    }
+                    long delay = REJECTION_BACKOFF_MILLIS << attempt;
+                    return CompletableFuture.supplyAsync(() -> null,
+                                    CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> retryRejected(request, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * 작업 하나가 동시에 보내는 DynamoDB 호출 수 제한 (허가가 없으면 대기열에 넣고, 호출이 끝날 때 다음 호출 시작)
+     * - 호출 스레드를 막지 않음 (대기는 대기열에서만)
+     */
+    private static final class Limiter {
+        private final int permits;
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int inFlight;
+
+        private Limiter(int permits) {
+            this.permits = permits;
+        }
+
+        <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> request) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> retryRejected(request, 0).whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+
+            boolean startNow;
+            synchronized (this) {
+                startNow = inFlight < permits;
+                if (startNow) {
+                    inFlight++;
+                } else {
+                    waiting.add(start);
+                }
+            }
+            if (startNow) {
+                start.run();
+            }
+            return result;
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    inFlight--;
+                }
+            }
+            if (next != null) {
+                // 완료 콜백 스레드에서 다음 호출을 연달아 시작하면 스택이 깊어질 수 있으므로 다른 스레드로 넘김
+                CompletableFuture.runAsync(next);
+            }
+        }
+    }
+}
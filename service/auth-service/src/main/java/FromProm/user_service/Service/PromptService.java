@@ -100,67 +100,10 @@ public class PromptService {
      */
     private void savePromptToDynamoDB(Map<String, Object> payload, List<Map<String, Object>> examples) {
         try {
-            // examples를 DynamoDB AttributeValue 형식으로 변환
-            List<AttributeValue> examplesList = new ArrayList<>();
-            for (Map<String, Object> ex : examples) {
-                Map<String, AttributeValue> inputMap = new HashMap<>();
-                @SuppressWarnings("unchecked")
-                Map<String, String> input = (Map<String, String>) ex.get("input");
-                inputMap.put("content", AttributeValue.builder().s(input.get("content")).build());
-                inputMap.put("input_type", AttributeValue.builder().s(input.get("input_type")).build());
-
-                Map<String, AttributeValue> exampleMap = new HashMap<>();
-                exampleMap.put("index", AttributeValue.builder().n(String.valueOf(ex.get("index"))).build());
-                exampleMap.put("input", AttributeValue.builder().m(inputMap).build());
-                exampleMap.put("output", AttributeValue.builder().s((String) ex.get("output")).build());
-
-                examplesList.add(AttributeValue.builder().m(exampleMap).build());
-            }
-
-            // evaluation_metrics를 DynamoDB 형식으로 변환
-            @SuppressWarnings("unchecked")
-            Map<String, String> metrics = (Map<String, String>) payload.get("evaluation_metrics");
-            Map<String, AttributeValue> metricsMap = new HashMap<>();
-            for (Map.Entry<String, String> entry : metrics.entrySet()) {
-                metricsMap.put(entry.getKey(), AttributeValue.builder().s(entry.getValue()).build());
-            }
-
-            // DynamoDB Item 생성
-            Map<String, AttributeValue> item = new HashMap<>();
-            item.put("PK", AttributeValue.builder().s((String) payload.get("PK")).build());
-            item.put("SK", AttributeValue.builder().s((String) payload.get("SK")).build());
-            item.put("PROMPT_INDEX_PK", AttributeValue.builder().s((String) payload.get("PROMPT_INDEX_PK")).build());
-            item.put("PROMPT_INDEX_SK", AttributeValue.builder().s((String) payload.get("PROMPT_INDEX_SK")).build());
-            item.put("type", AttributeValue.builder().s((String) payload.get("type")).build());
-            item.put("create_user", AttributeValue.builder().s((String) payload.get("create_user")).build());
-            item.put("userId", AttributeValue.builder().s((String) payload.get("userId")).build());
-            // nickname이 null일 수 있으므로 체크
-            String nickname = (String) payload.get("nickname");
-            if (nickname != null && !nickname.isEmpty()) {
-                item.put("nickname", AttributeValue.builder().s(nickname).build());
-            }
-            item.put("title", AttributeValue.builder().s((String) payload.get("title")).build());
-            item.put("prompt_content", AttributeValue.builder().s((String) payload.get("prompt_content")).build());
-            item.put("prompt_description", AttributeValue.builder().s((String) payload.get("prompt_description")).build());
-            item.put("price", AttributeValue.builder().n(String.valueOf(payload.get("price"))).build());
-            item.put("prompt_type", AttributeValue.builder().s((String) payload.get("prompt_type")).build());
-            item.put("category", AttributeValue.builder().s((String) payload.get("category")).build());
-            item.put("examples", AttributeValue.builder().l(examplesList).build());
-            item.put("examples_s3_url", AttributeValue.builder().s((String) payload.get("examples_s3_url")).build());
-            item.put("model", AttributeValue.builder().s((String) payload.get("model")).build());
-            item.put("evaluation_metrics", AttributeValue.builder().m(metricsMap).build());
-            item.put("status", AttributeValue.builder().s((String) payload.get("status")).build());
-            item.put("created_at", AttributeValue.builder().s((String) payload.get("created_at")).build());
-            item.put("updated_at", AttributeValue.builder().s((String) payload.get("updated_at")).build());
-            item.put("like_count", AttributeValue.builder().s((String) payload.get("like_count")).build());
-            item.put("comment_count", AttributeValue.builder().s((String) payload.get("comment_count")).build());
-            item.put("bookmark_count", AttributeValue.builder().s((String) payload.get("bookmark_count")).build());
-            item.put("is_public", AttributeValue.builder().bool((Boolean) payload.get("is_public")).build());
-
             // DynamoDB에 저장
             PutItemRequest putRequest = PutItemRequest.builder()
                     .tableName(TABLE_NAME)
-                    .item(item)
+                    .item(toPromptItem(payload, examples))
                     .build();
 
             dynamoDbClient.putItem(putRequest);
@@ -173,6 +116,69 @@ public class PromptService {
         }
     }
 
+    /**
+     * 저장용 payload + examples → DynamoDB Item 변환 (JMH 벤치마크에서 직접 호출하므로 package-private)
+     */
+    Map<String, AttributeValue> toPromptItem(Map<String, Object> payload, List<Map<String, Object>> examples) {
+        // examples를 DynamoDB AttributeValue 형식으로 변환
+        List<AttributeValue> examplesList = new ArrayList<>();
+        for (Map<String, Object> ex : examples) {
+            Map<String, AttributeValue> inputMap = new HashMap<>();
+            @SuppressWarnings("unchecked")
+            Map<String, String> input = (Map<String, String>) ex.get("input");
+            inputMap.put("content", AttributeValue.builder().s(input.get("content")).build());
+            inputMap.put("input_type", AttributeValue.builder().s(input.get("input_type")).build());
+
+            Map<String, AttributeValue> exampleMap = new HashMap<>();
+            exampleMap.put("index", AttributeValue.builder().n(String.valueOf(ex.get("index"))).build());
+            exampleMap.put("input", AttributeValue.builder().m(inputMap).build());
+            exampleMap.put("output", AttributeValue.builder().s((String) ex.get("output")).build());
+
+            examplesList.add(AttributeValue.builder().m(exampleMap).build());
+        }
+
+        // evaluation_metrics를 DynamoDB 형식으로 변환
+        @SuppressWarnings("unchecked")
+        Map<String, String> metrics = (Map<String, String>) payload.get("evaluation_metrics");
+        Map<String, AttributeValue> metricsMap = new HashMap<>();
+        for (Map.Entry<String, String> entry : metrics.entrySet()) {
+            metricsMap.put(entry.getKey(), AttributeValue.builder().s(entry.getValue()).build());
+        }
+
+        // DynamoDB Item 생성
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", AttributeValue.builder().s((String) payload.get("PK")).build());
+        item.put("SK", AttributeValue.builder().s((String) payload.get("SK")).build());
+        item.put("PROMPT_INDEX_PK", AttributeValue.builder().s((String) payload.get("PROMPT_INDEX_PK")).build());
+        item.put("PROMPT_INDEX_SK", AttributeValue.builder().s((String) payload.get("PROMPT_INDEX_SK")).build());
+        item.put("type", AttributeValue.builder().s((String) payload.get("type")).build());
+        item.put("create_user", AttributeValue.builder().s((String) payload.get("create_user")).build());
+        item.put("userId", AttributeValue.builder().s((String) payload.get("userId")).build());
+        // nickname이 null일 수 있으므로 체크
+        String nickname = (String) payload.get("nickname");
+        if (nickname != null && !nickname.isEmpty()) {
+            item.put("nickname", AttributeValue.builder().s(nickname).build());
+        }
+        item.put("title", AttributeValue.builder().s((String) payload.get("title")).build());
+        item.put("prompt_content", AttributeValue.builder().s((String) payload.get("prompt_content")).build());
+        item.put("prompt_description", AttributeValue.builder().s((String) payload.get("prompt_description")).build());
+        item.put("price", AttributeValue.builder().n(String.valueOf(payload.get("price"))).build());
+        item.put("prompt_type", AttributeValue.builder().s((String) payload.get("prompt_type")).build());
+        item.put("category", AttributeValue.builder().s((String) payload.get("category")).build());
+        item.put("examples", AttributeValue.builder().l(examplesList).build());
+        item.put("examples_s3_url", AttributeValue.builder().s((String) payload.get("examples_s3_url")).build());
+        item.put("model", AttributeValue.builder().s((String) payload.get("model")).build());
+        item.put("evaluation_metrics", AttributeValue.builder().m(metricsMap).build());
+        item.put("status", AttributeValue.builder().s((String) payload.get("status")).build());
+        item.put("created_at", AttributeValue.builder().s((String) payload.get("created_at")).build());
+        item.put("updated_at", AttributeValue.builder().s((String) payload.get("updated_at")).build());
+        item.put("like_count", AttributeValue.builder().s((String) payload.get("like_count")).build());
+        item.put("comment_count", AttributeValue.builder().s((String) payload.get("comment_count")).build());
+        item.put("bookmark_count", AttributeValue.builder().s((String) payload.get("bookmark_count")).build());
+        item.put("is_public", AttributeValue.builder().bool((Boolean) payload.get("is_public")).build());
+        return item;
+    }
+
     /**
      * 사용자가 등록한 프롬프트 목록 조회 (GSI 사용)
      */
@@ -257,7 +263,7 @@ public class PromptService {
     /**
      * DynamoDB 아이템을 프롬프트 요약 정보로 변환
      */
-    private Map<String, Object> convertToPromptSummary(Map<String, AttributeValue> item) {
+    Map<String, Object> convertToPromptSummary(Map<String, AttributeValue> item) {
         Map<String, Object> summary = new LinkedHashMap<>();
         
         String pk = item.get("PK").s();
@@ -280,7 +286,7 @@ public class PromptService {
     /**
      * DynamoDB 아이템을 프롬프트 상세 정보로 변환
      */
-    private Map<String, Object> convertToPromptDetail(Map<String, AttributeValue> item) {
+    Map<String, Object> convertToPromptDetail(Map<String, AttributeValue> item) {
         Map<String, Object> detail = new LinkedHashMap<>();
         
         String pk = item.get("PK").s();
@@ -345,34 +351,10 @@ public class PromptService {
         );
     }
 
-    /**
-     * 프롬프트에 달린 댓글 목록 조회
-     */
-    public List<Map<String, Object>> getPromptComments(String promptId) {
-        String promptPK = "PROMPT#" + promptId;
-        
-        // SK가 COMMENT#로 시작하는 모든 아이템 조회
-        QueryRequest queryRequest = QueryRequest.builder()
-                .tableName(TABLE_NAME)
-                .keyConditionExpression("PK = :pk AND begins_with(SK, :skPrefix)")
-                .expressionAttributeValues(Map.of(
-                        ":pk", AttributeValue.builder().s(promptPK).build(),
-                        ":skPrefix", AttributeValue.builder().s("COMMENT#").build()
-                ))
-                .build();
-
-        QueryResponse response = dynamoDbClient.query(queryRequest);
-        
-        return response.items().stream()
-                .map(this::convertToComment)
-                .sorted((a, b) -> ((String) b.get("createdAt")).compareTo((String) a.get("createdAt"))) // 최신순
-                .collect(Collectors.toList());
-    }
-
     /**
      * DynamoDB 아이템을 댓글 정보로 변환
      */
-    private Map<String, Object> convertToComment(Map<String, AttributeValue> item) {
+    Map<String, Object> convertToComment(Map<String, AttributeValue> item) {
         Map<String, Object> comment = new LinkedHashMap<>();
         
         comment.put("commentId", item.get("SK").s());
@@ -385,24 +367,6 @@ public class PromptService {
         return comment;
     }
 
-    /**
-     * 프롬프트 상세 + 댓글 + 통계 통합 조회
-     */
-    public Map<String, Object> getPromptDetailWithComments(String promptId) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        
-        // 프롬프트 상세 정보
-        Map<String, Object> detail = getPromptDetail(promptId);
-        result.put("prompt", detail);
-        
-        // 댓글 목록
-        List<Map<String, Object>> comments = getPromptComments(promptId);
-        result.put("comments", comments);
-        result.put("commentCount", comments.size());
-        
-        return result;
-    }
-
     /**
      * DB에 저장된 모든 프롬프트 조회 (테스트용)
      */
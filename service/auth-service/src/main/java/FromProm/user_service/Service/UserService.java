@@ -2,6 +2,7 @@ package FromProm.user_service.Service;
 
 import FromProm.user_service.DTO.*;
 import FromProm.user_service.Entity.User;
+import FromProm.user_service.Repository.AsyncUserRepository;
 import FromProm.user_service.Repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +13,7 @@ import software.amazon.awssdk.services.cognitoidentityprovider.model.*;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.time.LocalDateTime;
 
 @Service
@@ -19,6 +21,7 @@ import java.time.LocalDateTime;
 public class UserService {
     private final CognitoIdentityProviderClient cognitoClient;
     private final UserRepository userRepository;
+    private final AsyncUserRepository asyncUserRepository;
 
     @Value("${aws.cognito.clientId}")
     private String clientId;
@@ -251,14 +254,15 @@ public class UserService {
 
         // 5. 업데이트 날짜 갱신 및 저장
         user.setUpdated_at(now);
-        userRepository.update(user);
+        CompletableFuture<Void> saved = asyncUserRepository.update(user);
 
-        // 6. 닉네임이 변경된 경우, 사용자가 등록한 프롬프트와 댓글의 닉네임도 업데이트
+        // 6. 닉네임이 변경된 경우, 사용자가 등록한 프롬프트와 댓글의 닉네임도 업데이트 (프로필 저장과 동시에 진행)
         if (nicknameChanged) {
             String userId = userSub.replace("USER#", "");
-            userRepository.updateUserPromptsNickname(userSub, newNickname);
-            userRepository.updateUserCommentsNickname(userId, newNickname);
+            CompletableFuture.allOf(saved, asyncUserRepository.propagateNickname(userSub, userId, newNickname)).join();
             // OpenSearch는 DynamoDB Stream Lambda에서 자동 동기화됨
+        } else {
+            saved.join();
         }
     }
 
@@ -266,7 +270,7 @@ public class UserService {
     @Transactional
     public void withdraw(String userSub) {
         // 1. DynamoDB 데이터 Hard Delete (프로필, 좋아요, 북마크, 크레딧, 댓글, 프롬프트 모두 삭제)
-        userRepository.hardDeleteUser(userSub);
+        asyncUserRepository.hardDeleteUser(userSub).join();
 
         // 2. Cognito 유저 삭제
         String pureUuid = userSub.replace("USER#", "");
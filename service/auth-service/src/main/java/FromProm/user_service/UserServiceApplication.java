@@ -3,7 +3,8 @@ package FromProm.user_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// fromprom.common: 두 서비스가 공유하는 SDK 메트릭/핫 키 컴포넌트 (service/common)
+@SpringBootApplication(scanBasePackages = {"FromProm.user_service", "fromprom.common"})
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,63 @@
+package fromprom.common.InMemory;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+
+/**
+ * 인메모리 DynamoDB 오류 (DynamoDB JSON 프로토콜 오류 응답으로 변환됨)
+ * - type은 실제 서비스의 오류 코드 그대로 사용해야 SDK가 같은 예외 클래스로 매핑함
+ *   (ConditionalCheckFailedException, ValidationException, TransactionCanceledException 등)
+ */
+class DynamoDbError extends RuntimeException {
+
+    private final String type;
+    private final int status;
+    private final List<String> cancellationReasons;
+
+    DynamoDbError(String type, String message) {
+        this(type, 400, message, null);
+    }
+
+    DynamoDbError(String type, int status, String message, List<String> cancellationReasons) {
+        super(message);
+        this.type = type;
+        this.status = status;
+        this.cancellationReasons = cancellationReasons;
+    }
+
+    static DynamoDbError validation(String message) {
+        return new DynamoDbError("ValidationException", message);
+    }
+
+    static DynamoDbError conditionFailed() {
+        return new DynamoDbError("ConditionalCheckFailedException", "The conditional request failed");
+    }
+
+    String getType() {
+        return type;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    ObjectNode toJson() {
+        ObjectNode body = JsonNodeFactory.instance.objectNode();
+        body.put("__type", "com.amazonaws.dynamodb.v20120810#" + type);
+        body.put("message", getMessage());
+        if (cancellationReasons != null) {
+            ArrayNode reasons = body.putArray("CancellationReasons");
+            for (String code : cancellationReasons) {
+                ObjectNode reason = reasons.addObject();
+                reason.put("Code", code);
+                if (!"None".equals(code)) {
+                    reason.put("Message", "The conditional request failed");
+                }
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,914 @@
+package fromprom.common.InMemory;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DynamoDB 표현식 파서 + 평가기 (조건/필터/키 조건, 업데이트, 프로젝션)
+ * - #이름, :값 플레이스홀더는 파싱 시점에 요청의 ExpressionAttributeNames/Values로 치환
+ * - 조건: = <> < <= > >=, BETWEEN, IN, AND/OR/NOT, 괄호,
+ *   attribute_exists, attribute_not_exists, attribute_type, begins_with, contains, size
+ * - 업데이트: SET(+, -, if_not_exists, list_append), REMOVE, ADD, DELETE
+ */
+final class DynamoDbExpression {
+
+    interface Condition {
+        boolean test(Map<String, AttributeValue> item);
+    }
+
+    interface Operand {
+        AttributeValue value(Map<String, AttributeValue> item);
+    }
+
+    static final Condition ALWAYS = item -> true;
+
+    private static final Set<String> COMPARATORS = Set.of("=", "<>", "<", "<=", ">", ">=");
+    private static final Set<String> CONDITION_FUNCTIONS = Set.of(
+            "attribute_exists", "attribute_not_exists", "attribute_type", "begins_with", "contains");
+
+    private DynamoDbExpression() {
+    }
+
+    static Condition condition(String expression, Map<String, String> names, Map<String, AttributeValue> values) {
+        if (expression == null || expression.isBlank()) {
+            return ALWAYS;
+        }
+        Parser parser = new Parser(expression, names, values);
+        Condition condition = parser.parseOr();
+        parser.expectEnd();
+        return condition;
+    }
+
+    static Update update(String expression, Map<String, String> names, Map<String, AttributeValue> values) {
+        if (expression == null || expression.isBlank()) {
+            throw DynamoDbError.validation("UpdateExpression must not be empty");
+        }
+        Parser parser = new Parser(expression, names, values);
+        Update update = parser.parseUpdate();
+        parser.expectEnd();
+        return update;
+    }
+
+    /**
+     * 프로젝션 대상 최상위 속성 이름 (중첩 경로는 최상위 속성 전체를 반환)
+     */
+    static Set<String> projection(String expression, Map<String, String> names) {
+        if (expression == null || expression.isBlank()) {
+            return null;
+        }
+        Parser parser = new Parser(expression, names, Map.of());
+        Set<String> attributes = new LinkedHashSet<>();
+        do {
+            attributes.add(parser.parsePath().name());
+        } while (parser.accept(","));
+        parser.expectEnd();
+        return attributes;
+    }
+
+    static Map<String, AttributeValue> project(Map<String, AttributeValue> item, Set<String> attributes) {
+        if (attributes == null) {
+            return item;
+        }
+        Map<String, AttributeValue> projected = new LinkedHashMap<>();
+        for (String attribute : attributes) {
+            AttributeValue value = item.get(attribute);
+            if (value != null) {
+                projected.put(attribute, value);
+            }
+        }
+        return projected;
+    }
+
+    // ===== AST =====
+
+    static final class Path implements Operand {
+        final List<Object> segments;
+
+        Path(List<Object> segments) {
+            this.segments = segments;
+        }
+
+        String name() {
+            return (String) segments.get(0);
+        }
+
+        @Override
+        public AttributeValue value(Map<String, AttributeValue> item) {
+            AttributeValue current = item.get(name());
+            for (int i = 1; i < segments.size() && current != null; i++) {
+                Object segment = segments.get(i);
+                if (segment instanceof Integer index) {
+                    current = current.hasL() && index < current.l().size() ? current.l().get(index) : null;
+                } else {
+                    current = current.hasM() ? current.m().get((String) segment) : null;
+                }
+            }
+            return current;
+        }
+    }
+
+    static final class Value implements Operand {
+        final AttributeValue value;
+
+        Value(AttributeValue value) {
+            this.value = value;
+        }
+
+        @Override
+        public AttributeValue value(Map<String, AttributeValue> item) {
+            return value;
+        }
+    }
+
+    static final class And implements Condition {
+        final List<Condition> terms;
+
+        And(List<Condition> terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            for (Condition term : terms) {
+                if (!term.test(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class Comparison implements Condition {
+        final String operator;
+        final Operand left;
+        final Operand right;
+
+        Comparison(String operator, Operand left, Operand right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            AttributeValue a = left.value(item);
+            AttributeValue b = right.value(item);
+            if ("=".equals(operator)) {
+                return a != null && b != null && equal(a, b);
+            }
+            if ("<>".equals(operator)) {
+                return a == null || b == null || !equal(a, b);
+            }
+            Integer order = compare(a, b);
+            if (order == null) {
+                return false;
+            }
+            switch (operator) {
+                case "<":
+                    return order < 0;
+                case "<=":
+                    return order <= 0;
+                case ">":
+                    return order > 0;
+                default:
+                    return order >= 0;
+            }
+        }
+    }
+
+    static final class Between implements Condition {
+        final Operand operand;
+        final Operand low;
+        final Operand high;
+
+        Between(Operand operand, Operand low, Operand high) {
+            this.operand = operand;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            AttributeValue value = operand.value(item);
+            Integer lower = compare(value, low.value(item));
+            Integer upper = compare(value, high.value(item));
+            return lower != null && upper != null && lower >= 0 && upper <= 0;
+        }
+    }
+
+    static final class Function implements Condition {
+        final String name;
+        final List<Operand> arguments;
+
+        Function(String name, List<Operand> arguments) {
+            this.name = name;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            AttributeValue target = arguments.get(0).value(item);
+            switch (name) {
+                case "attribute_exists":
+                    return target != null;
+                case "attribute_not_exists":
+                    return target == null;
+                case "attribute_type":
+                    return target != null && typeOf(target).equals(arguments.get(1).value(item).s());
+                case "begins_with": {
+                    AttributeValue prefix = arguments.get(1).value(item);
+                    if (target == null || prefix == null) {
+                        return false;
+                    }
+                    if (target.s() != null && prefix.s() != null) {
+                        return target.s().startsWith(prefix.s());
+                    }
+                    if (target.b() != null && prefix.b() != null) {
+                        byte[] bytes = target.b().asByteArray();
+                        byte[] head = prefix.b().asByteArray();
+                        return bytes.length >= head.length && Arrays.equals(Arrays.copyOf(bytes, head.length), head);
+                    }
+                    return false;
+                }
+                default: {
+                    AttributeValue operand = arguments.get(1).value(item);
+                    if (target == null || operand == null) {
+                        return false;
+                    }
+                    if (target.s() != null && operand.s() != null) {
+                        return target.s().contains(operand.s());
+                    }
+                    if (target.hasSs() && operand.s() != null) {
+                        return target.ss().contains(operand.s());
+                    }
+                    if (target.hasNs() && operand.n() != null) {
+                        return target.ns().stream().anyMatch(n -> new BigDecimal(n).compareTo(new BigDecimal(operand.n())) == 0);
+                    }
+                    if (target.hasL()) {
+                        return target.l().stream().anyMatch(element -> equal(element, operand));
+                    }
+                    return false;
+                }
+            }
+        }
+    }
+
+    // ===== 업데이트 =====
+
+    static final class Update {
+        private final List<Action> actions;
+
+        Update(List<Action> actions) {
+            this.actions = actions;
+        }
+
+        /**
+         * 수정되는 최상위 속성 이름 (키 속성 변경 검증, UPDATED_NEW/OLD 반환용)
+         */
+        Set<String> attributeNames() {
+            Set<String> names = new LinkedHashSet<>();
+            for (Action action : actions) {
+                names.add(action.path.name());
+            }
+            return names;
+        }
+
+        /**
+         * 모든 SET 값은 수정 전 아이템 기준으로 계산 (DynamoDB와 동일)
+         */
+        Map<String, AttributeValue> apply(Map<String, AttributeValue> item) {
+            List<AttributeValue> computed = new ArrayList<>(actions.size());
+            for (Action action : actions) {
+                computed.add(action.value != null ? action.value.value(item) : null);
+            }
+
+            Map<String, AttributeValue> updated = new LinkedHashMap<>(item);
+            for (int i = 0; i < actions.size(); i++) {
+                Action action = actions.get(i);
+                AttributeValue value = computed.get(i);
+                switch (action.kind) {
+                    case "SET":
+                        if (value == null) {
+                            throw DynamoDbError.validation("The provided expression refers to an attribute that does not exist in the item");
+                        }
+                        setPath(updated, action.path.segments, value);
+                        break;
+                    case "REMOVE":
+                        setPath(updated, action.path.segments, null);
+                        break;
+                    case "ADD":
+                        setPath(updated, action.path.segments, add(action.path.value(updated), value));
+                        break;
+                    default:
+                        setPath(updated, action.path.segments, deleteFromSet(action.path.value(updated), value));
+                        break;
+                }
+            }
+            return updated;
+        }
+    }
+
+    private static final class Action {
+        final String kind;
+        final Path path;
+        final Operand value;
+
+        Action(String kind, Path path, Operand value) {
+            this.kind = kind;
+            this.path = path;
+            this.value = value;
+        }
+    }
+
+    private static final class Arithmetic implements Operand {
+        final boolean plus;
+        final Operand left;
+        final Operand right;
+
+        Arithmetic(boolean plus, Operand left, Operand right) {
+            this.plus = plus;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public AttributeValue value(Map<String, AttributeValue> item) {
+            AttributeValue a = left.value(item);
+            AttributeValue b = right.value(item);
+            if (a == null || b == null || a.n() == null || b.n() == null) {
+                throw DynamoDbError.validation("An operand in the update expression has an incorrect data type");
+            }
+            BigDecimal result = plus
+                    ? new BigDecimal(a.n()).add(new BigDecimal(b.n()))
+                    : new BigDecimal(a.n()).subtract(new BigDecimal(b.n()));
+            return number(result);
+        }
+    }
+
+    private static final class IfNotExists implements Operand {
+        final Path path;
+        final Operand fallback;
+
+        IfNotExists(Path path, Operand fallback) {
+            this.path = path;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public AttributeValue value(Map<String, AttributeValue> item) {
+            AttributeValue current = path.value(item);
+            return current != null ? current : fallback.value(item);
+        }
+    }
+
+    private static final class ListAppend implements Operand {
+        final Operand first;
+        final Operand second;
+
+        ListAppend(Operand first, Operand second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public AttributeValue value(Map<String, AttributeValue> item) {
+            AttributeValue a = first.value(item);
+            AttributeValue b = second.value(item);
+            if (a == null || b == null || !a.hasL() || !b.hasL()) {
+                throw DynamoDbError.validation("An operand in the update expression has an incorrect data type");
+            }
+            List<AttributeValue> joined = new ArrayList<>(a.l());
+            joined.addAll(b.l());
+            return AttributeValue.builder().l(joined).build();
+        }
+    }
+
+    private static final class Size implements Operand {
+        final Path path;
+
+        Size(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public AttributeValue value(Map<String, AttributeValue> item) {
+            AttributeValue target = path.value(item);
+            if (target == null) {
+                return null;
+            }
+            int size;
+            if (target.s() != null) {
+                size = target.s().length();
+            } else if (target.b() != null) {
+                size = target.b().asByteArray().length;
+            } else if (target.hasM()) {
+                size = target.m().size();
+            } else if (target.hasL()) {
+                size = target.l().size();
+            } else if (target.hasSs()) {
+                size = target.ss().size();
+            } else if (target.hasNs()) {
+                size = target.ns().size();
+            } else if (target.hasBs()) {
+                size = target.bs().size();
+            } else {
+                return null;
+            }
+            return AttributeValue.builder().n(String.valueOf(size)).build();
+        }
+    }
+
+    // ===== 파서 =====
+
+    private static final class Parser {
+        private final List<String> tokens;
+        private final Map<String, String> names;
+        private final Map<String, AttributeValue> values;
+        private int position;
+
+        Parser(String expression, Map<String, String> names, Map<String, AttributeValue> values) {
+            this.tokens = tokenize(expression);
+            this.names = names != null ? names : Map.of();
+            this.values = values != null ? values : Map.of();
+        }
+
+        Condition parseOr() {
+            Condition left = parseAnd();
+            while (acceptKeyword("OR")) {
+                Condition first = left;
+                Condition second = parseAnd();
+                left = item -> first.test(item) || second.test(item);
+            }
+            return left;
+        }
+
+        private Condition parseAnd() {
+            List<Condition> terms = new ArrayList<>();
+            terms.add(parseNot());
+            while (acceptKeyword("AND")) {
+                terms.add(parseNot());
+            }
+            return terms.size() == 1 ? terms.get(0) : new And(terms);
+        }
+
+        private Condition parseNot() {
+            if (acceptKeyword("NOT")) {
+                Condition inner = parseNot();
+                return item -> !inner.test(item);
+            }
+            return parsePrimary();
+        }
+
+        private Condition parsePrimary() {
+            if (accept("(")) {
+                Condition inner = parseOr();
+                expect(")");
+                return inner;
+            }
+            String token = peek();
+            if (token != null && CONDITION_FUNCTIONS.contains(token) && "(".equals(peek(1))) {
+                position += 2;
+                List<Operand> arguments = new ArrayList<>();
+                arguments.add(parsePath());
+                while (accept(",")) {
+                    arguments.add(parseOperand());
+                }
+                expect(")");
+                return new Function(token, arguments);
+            }
+
+            Operand left = parseOperand();
+            if (acceptKeyword("BETWEEN")) {
+                Operand low = parseOperand();
+                if (!acceptKeyword("AND")) {
+                    throw syntaxError();
+                }
+                return new Between(left, low, parseOperand());
+            }
+            if (acceptKeyword("IN")) {
+                expect("(");
+                List<Operand> candidates = new ArrayList<>();
+                do {
+                    candidates.add(parseOperand());
+                } while (accept(","));
+                expect(")");
+                return item -> {
+                    AttributeValue value = left.value(item);
+                    return value != null && candidates.stream()
+                            .map(candidate -> candidate.value(item))
+                            .anyMatch(candidate -> candidate != null && equal(value, candidate));
+                };
+            }
+            String operator = next();
+            if (!COMPARATORS.contains(operator)) {
+                throw syntaxError();
+            }
+            return new Comparison(operator, left, parseOperand());
+        }
+
+        Update parseUpdate() {
+            List<Action> actions = new ArrayList<>();
+            Set<String> seenClauses = new HashSet<>();
+            while (peek() != null) {
+                String clause = next().toUpperCase();
+                if (!seenClauses.add(clause)) {
+                    throw DynamoDbError.validation("The \"" + clause + "\" section can only be used once in an update expression");
+                }
+                switch (clause) {
+                    case "SET":
+                        do {
+                            Path path = parsePath();
+                            expect("=");
+                            actions.add(new Action("SET", path, parseSetValue()));
+                        } while (accept(","));
+                        break;
+                    case "REMOVE":
+                        do {
+                            actions.add(new Action("REMOVE", parsePath(), null));
+                        } while (accept(","));
+                        break;
+                    case "ADD":
+                    case "DELETE":
+                        do {
+                            Path path = parsePath();
+                            actions.add(new Action(clause, path, parseOperand()));
+                        } while (accept(","));
+                        break;
+                    default:
+                        throw syntaxError();
+                }
+            }
+            return new Update(actions);
+        }
+
+        private Operand parseSetValue() {
+            Operand left = parseSetOperand();
+            if (accept("+")) {
+                return new Arithmetic(true, left, parseSetOperand());
+            }
+            if (accept("-")) {
+                return new Arithmetic(false, left, parseSetOperand());
+            }
+            return left;
+        }
+
+        private Operand parseSetOperand() {
+            String token = peek();
+            if ("if_not_exists".equals(token) && "(".equals(peek(1))) {
+                position += 2;
+                Path path = parsePath();
+                expect(",");
+                Operand fallback = parseSetValue();
+                expect(")");
+                return new IfNotExists(path, fallback);
+            }
+            if ("list_append".equals(token) && "(".equals(peek(1))) {
+                position += 2;
+                Operand first = parseSetValue();
+                expect(",");
+                Operand second = parseSetValue();
+                expect(")");
+                return new ListAppend(first, second);
+            }
+            return parseOperand();
+        }
+
+        private Operand parseOperand() {
+            String token = peek();
+            if (token == null) {
+                throw syntaxError();
+            }
+            if (token.startsWith(":")) {
+                position++;
+                AttributeValue value = values.get(token);
+                if (value == null) {
+                    throw DynamoDbError.validation("An expression attribute value used in expression is not defined; attribute value: " + token);
+                }
+                return new Value(value);
+            }
+            if ("size".equals(token) && "(".equals(peek(1))) {
+                position += 2;
+                Path path = parsePath();
+                expect(")");
+                return new Size(path);
+            }
+            return parsePath();
+        }
+
+        Path parsePath() {
+            List<Object> segments = new ArrayList<>();
+            segments.add(resolveName(next()));
+            while (true) {
+                if (accept(".")) {
+                    segments.add(resolveName(next()));
+                } else if (accept("[")) {
+                    try {
+                        segments.add(Integer.parseInt(next()));
+                    } catch (NumberFormatException e) {
+                        throw syntaxError();
+                    }
+                    expect("]");
+                } else {
+                    return new Path(segments);
+                }
+            }
+        }
+
+        private String resolveName(String token) {
+            if (token == null || token.startsWith(":")) {
+                throw syntaxError();
+            }
+            if (token.startsWith("#")) {
+                String name = names.get(token);
+                if (name == null) {
+                    throw DynamoDbError.validation("An expression attribute name used in the document path is not defined; attribute name: " + token);
+                }
+                return name;
+            }
+            return token;
+        }
+
+        private String peek() {
+            return peek(0);
+        }
+
+        private String peek(int offset) {
+            int index = position + offset;
+            return index < tokens.size() ? tokens.get(index) : null;
+        }
+
+        private String next() {
+            if (position >= tokens.size()) {
+                throw syntaxError();
+            }
+            return tokens.get(position++);
+        }
+
+        boolean accept(String token) {
+            if (token.equals(peek())) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            String token = peek();
+            if (token != null && token.equalsIgnoreCase(keyword)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw syntaxError();
+            }
+        }
+
+        void expectEnd() {
+            if (position != tokens.size()) {
+                throw syntaxError();
+            }
+        }
+
+        private DynamoDbError syntaxError() {
+            String near = position < tokens.size() ? tokens.get(position) : "<end>";
+            return DynamoDbError.validation("Invalid expression: Syntax error; token: \"" + near + "\"");
+        }
+
+        private static List<String> tokenize(String expression) {
+            List<String> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < expression.length()) {
+                char c = expression.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '#' || c == ':' || c == '_' || Character.isLetterOrDigit(c)) {
+                    int start = i++;
+                    while (i < expression.length()
+                            && (expression.charAt(i) == '_' || Character.isLetterOrDigit(expression.charAt(i)))) {
+                        i++;
+                    }
+                    tokens.add(expression.substring(start, i));
+                } else if ((c == '<' || c == '>') && i + 1 < expression.length()
+                        && (expression.charAt(i + 1) == '=' || c == '<' && expression.charAt(i + 1) == '>')) {
+                    tokens.add(expression.substring(i, i + 2));
+                    i += 2;
+                } else {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                }
+            }
+            return tokens;
+        }
+    }
+
+    // ===== 값 비교/연산 =====
+
+    static boolean equal(AttributeValue a, AttributeValue b) {
+        if (a.n() != null && b.n() != null) {
+            return new BigDecimal(a.n()).compareTo(new BigDecimal(b.n())) == 0;
+        }
+        if (a.hasSs() && b.hasSs()) {
+            return new HashSet<>(a.ss()).equals(new HashSet<>(b.ss()));
+        }
+        if (a.hasNs() && b.hasNs()) {
+            return numberSet(a.ns()).equals(numberSet(b.ns()));
+        }
+        return a.equals(b);
+    }
+
+    /**
+     * 같은 스칼라 타입(S/N/B)끼리만 대소 비교 가능, 그 외에는 null
+     */
+    static Integer compare(AttributeValue a, AttributeValue b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        if (a.s() != null && b.s() != null) {
+            return a.s().compareTo(b.s());
+        }
+        if (a.n() != null && b.n() != null) {
+            return new BigDecimal(a.n()).compareTo(new BigDecimal(b.n()));
+        }
+        if (a.b() != null && b.b() != null) {
+            return Arrays.compareUnsigned(a.b().asByteArray(), b.b().asByteArray());
+        }
+        return null;
+    }
+
+    static String typeOf(AttributeValue value) {
+        if (value.s() != null) {
+            return "S";
+        }
+        if (value.n() != null) {
+            return "N";
+        }
+        if (value.b() != null) {
+            return "B";
+        }
+        if (value.bool() != null) {
+            return "BOOL";
+        }
+        if (value.nul() != null) {
+            return "NULL";
+        }
+        if (value.hasM()) {
+            return "M";
+        }
+        if (value.hasL()) {
+            return "L";
+        }
+        if (value.hasSs()) {
+            return "SS";
+        }
+        if (value.hasNs()) {
+            return "NS";
+        }
+        return "BS";
+    }
+
+    static AttributeValue number(BigDecimal value) {
+        BigDecimal normalized = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        return AttributeValue.builder().n(normalized.toPlainString()).build();
+    }
+
+    private static Set<BigDecimal> numberSet(List<String> numbers) {
+        Set<BigDecimal> set = new HashSet<>();
+        for (String number : numbers) {
+            set.add(new BigDecimal(number).stripTrailingZeros());
+        }
+        return set;
+    }
+
+    private static AttributeValue add(AttributeValue current, AttributeValue delta) {
+        if (delta.n() != null) {
+            if (current == null) {
+                return delta;
+            }
+            if (current.n() == null) {
+                throw DynamoDbError.validation("An operand in the update expression has an incorrect data type");
+            }
+            return number(new BigDecimal(current.n()).add(new BigDecimal(delta.n())));
+        }
+        if (delta.hasSs()) {
+            Set<String> union = new LinkedHashSet<>(current != null && current.hasSs() ? current.ss() : List.of());
+            union.addAll(delta.ss());
+            return AttributeValue.builder().ss(new ArrayList<>(union)).build();
+        }
+        if (delta.hasNs()) {
+            Set<String> union = new LinkedHashSet<>(current != null && current.hasNs() ? current.ns() : List.of());
+            union.addAll(delta.ns());
+            return AttributeValue.builder().ns(new ArrayList<>(union)).build();
+        }
+        if (delta.hasBs()) {
+            Set<SdkBytes> union = new LinkedHashSet<>(current != null && current.hasBs() ? current.bs() : List.of());
+            union.addAll(delta.bs());
+            return AttributeValue.builder().bs(new ArrayList<>(union)).build();
+        }
+        throw DynamoDbError.validation("Incorrect operand type for operator or function; operator: ADD");
+    }
+
+    private static AttributeValue deleteFromSet(AttributeValue current, AttributeValue removed) {
+        if (current == null) {
+            return null;
+        }
+        if (current.hasSs() && removed.hasSs()) {
+            List<String> values = new ArrayList<>(current.ss());
+            values.removeAll(removed.ss());
+            return values.isEmpty() ? null : AttributeValue.builder().ss(values).build();
+        }
+        if (current.hasNs() && removed.hasNs()) {
+            Set<BigDecimal> drop = numberSet(removed.ns());
+            List<String> values = new ArrayList<>();
+            for (String number : current.ns()) {
+                if (!drop.contains(new BigDecimal(number).stripTrailingZeros())) {
+                    values.add(number);
+                }
+            }
+            return values.isEmpty() ? null : AttributeValue.builder().ns(values).build();
+        }
+        if (current.hasBs() && removed.hasBs()) {
+            List<SdkBytes> values = new ArrayList<>(current.bs());
+            values.removeAll(removed.bs());
+            return values.isEmpty() ? null : AttributeValue.builder().bs(values).build();
+        }
+        throw DynamoDbError.validation("Incorrect operand type for operator or function; operator: DELETE");
+    }
+
+    /**
+     * 경로에 값 설정 (value == null이면 제거), 중간 경로(M/L)는 복사 후 교체하여 원본 아이템은 변경하지 않음
+     */
+    private static void setPath(Map<String, AttributeValue> item, List<Object> segments, AttributeValue value) {
+        String name = (String) segments.get(0);
+        if (segments.size() == 1) {
+            if (value == null) {
+                item.remove(name);
+            } else {
+                item.put(name, value);
+            }
+            return;
+        }
+        AttributeValue container = item.get(name);
+        if (container == null) {
+            throw DynamoDbError.validation("The document path provided in the update expression is invalid for update");
+        }
+        item.put(name, with(container, segments.subList(1, segments.size()), value));
+    }
+
+    private static AttributeValue with(AttributeValue container, List<Object> segments, AttributeValue value) {
+        Object segment = segments.get(0);
+        List<Object> rest = segments.subList(1, segments.size());
+        if (segment instanceof Integer index && container.hasL()) {
+            List<AttributeValue> list = new ArrayList<>(container.l());
+            if (rest.isEmpty()) {
+                if (value == null) {
+                    if (index < list.size()) {
+                        list.remove((int) index);
+                    }
+                } else if (index < list.size()) {
+                    list.set(index, value);
+                } else {
+                    list.add(value);
+                }
+            } else {
+                if (index >= list.size()) {
+                    throw DynamoDbError.validation("The document path provided in the update expression is invalid for update");
+                }
+                list.set(index, with(list.get(index), rest, value));
+            }
+            return AttributeValue.builder().l(list).build();
+        }
+        if (segment instanceof String key && container.hasM()) {
+            Map<String, AttributeValue> map = new LinkedHashMap<>(container.m());
+            if (rest.isEmpty()) {
+                if (value == null) {
+                    map.remove(key);
+                } else {
+                    map.put(key, value);
+                }
+            } else {
+                AttributeValue child = map.get(key);
+                if (child == null) {
+                    throw DynamoDbError.validation("The document path provided in the update expression is invalid for update");
+                }
+                map.put(key, with(child, rest, value));
+            }
+            return AttributeValue.builder().m(Collections.unmodifiableMap(map)).build();
+        }
+        throw DynamoDbError.validation("The document path provided in the update expression is invalid for update");
+    }
+}
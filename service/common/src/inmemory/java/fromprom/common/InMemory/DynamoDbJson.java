@@ -0,0 +1,182 @@
+package fromprom.common.InMemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DynamoDB JSON 와이어 형식({"S": "..."}, {"M": {...}} 등) ↔ AttributeValue 변환 + 아이템 크기 계산
+ */
+final class DynamoDbJson {
+
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    private DynamoDbJson() {
+    }
+
+    static Map<String, AttributeValue> toItem(JsonNode node) {
+        Map<String, AttributeValue> item = new LinkedHashMap<>();
+        if (node != null && node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                item.put(field.getKey(), toValue(field.getValue()));
+            }
+        }
+        return item;
+    }
+
+    static AttributeValue toValue(JsonNode node) {
+        if (node == null || !node.isObject() || node.size() != 1) {
+            throw DynamoDbError.validation("Supplied AttributeValue is empty, must contain exactly one of the supported datatypes");
+        }
+        Map.Entry<String, JsonNode> typed = node.fields().next();
+        JsonNode value = typed.getValue();
+        switch (typed.getKey()) {
+            case "S":
+                return AttributeValue.builder().s(value.asText()).build();
+            case "N":
+                return AttributeValue.builder().n(value.asText()).build();
+            case "BOOL":
+                return AttributeValue.builder().bool(value.asBoolean()).build();
+            case "NULL":
+                return AttributeValue.builder().nul(true).build();
+            case "B":
+                return AttributeValue.builder().b(SdkBytes.fromByteArray(Base64.getDecoder().decode(value.asText()))).build();
+            case "M":
+                return AttributeValue.builder().m(toItem(value)).build();
+            case "L": {
+                List<AttributeValue> list = new ArrayList<>();
+                value.forEach(element -> list.add(toValue(element)));
+                return AttributeValue.builder().l(list).build();
+            }
+            case "SS":
+                return AttributeValue.builder().ss(texts(value)).build();
+            case "NS":
+                return AttributeValue.builder().ns(texts(value)).build();
+            case "BS": {
+                List<SdkBytes> bytes = new ArrayList<>();
+                value.forEach(element -> bytes.add(SdkBytes.fromByteArray(Base64.getDecoder().decode(element.asText()))));
+                return AttributeValue.builder().bs(bytes).build();
+            }
+            default:
+                throw DynamoDbError.validation("Unsupported AttributeValue type: " + typed.getKey());
+        }
+    }
+
+    static ObjectNode fromItem(Map<String, AttributeValue> item) {
+        ObjectNode node = JSON.objectNode();
+        item.forEach((name, value) -> node.set(name, fromValue(value)));
+        return node;
+    }
+
+    static ObjectNode fromValue(AttributeValue value) {
+        ObjectNode node = JSON.objectNode();
+        if (value.s() != null) {
+            node.put("S", value.s());
+        } else if (value.n() != null) {
+            node.put("N", value.n());
+        } else if (value.bool() != null) {
+            node.put("BOOL", value.bool());
+        } else if (value.nul() != null) {
+            node.put("NULL", true);
+        } else if (value.b() != null) {
+            node.put("B", Base64.getEncoder().encodeToString(value.b().asByteArray()));
+        } else if (value.hasM()) {
+            node.set("M", fromItem(value.m()));
+        } else if (value.hasL()) {
+            ArrayNode list = node.putArray("L");
+            value.l().forEach(element -> list.add(fromValue(element)));
+        } else if (value.hasSs()) {
+            ArrayNode set = node.putArray("SS");
+            value.ss().forEach(set::add);
+        } else if (value.hasNs()) {
+            ArrayNode set = node.putArray("NS");
+            value.ns().forEach(set::add);
+        } else if (value.hasBs()) {
+            ArrayNode set = node.putArray("BS");
+            value.bs().forEach(bytes -> set.add(Base64.getEncoder().encodeToString(bytes.asByteArray())));
+        } else {
+            // 빈 L/M (hasL/hasM은 빈 컬렉션도 true이므로 여기는 값이 전혀 없는 경우)
+            node.put("NULL", true);
+        }
+        return node;
+    }
+
+    /**
+     * 아이템 크기 근사치 (속성 이름 + 값의 UTF-8 바이트, 숫자는 유효 자릿수 기준)
+     * - 소비 용량(RCU 4KB / WCU 1KB 단위) 계산에 사용
+     */
+    static int size(Map<String, AttributeValue> item) {
+        int size = 0;
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            size += utf8Length(attribute.getKey()) + size(attribute.getValue());
+        }
+        return size;
+    }
+
+    private static int size(AttributeValue value) {
+        if (value.s() != null) {
+            return utf8Length(value.s());
+        }
+        if (value.n() != null) {
+            return value.n().length() / 2 + 1;
+        }
+        if (value.b() != null) {
+            return value.b().asByteArray().length;
+        }
+        if (value.bool() != null || value.nul() != null) {
+            return 1;
+        }
+        int size = 3;
+        if (value.hasM()) {
+            size += size(value.m()) + value.m().size();
+        } else if (value.hasL()) {
+            for (AttributeValue element : value.l()) {
+                size += size(element) + 1;
+            }
+        } else if (value.hasSs()) {
+            for (String element : value.ss()) {
+                size += utf8Length(element);
+            }
+        } else if (value.hasNs()) {
+            for (String element : value.ns()) {
+                size += element.length() / 2 + 1;
+            }
+        }
+        return size;
+    }
+
+    private static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                length += 2; // 서로게이트 쌍 = 4바이트
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static List<String> texts(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(element -> values.add(element.asText()));
+        return values;
+    }
+}
@@ -0,0 +1,1024 @@
+package fromprom.common.InMemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 인메모리 DynamoDB (부하 테스트/로컬 실행용 대역)
+ * - DynamoDB JSON 프로토콜 요청(작업 이름 + 본문)을 처리하여 응답 본문 반환 → InMemoryDynamoDbHttpClient가 실제 SDK 클라이언트에 연결
+ * - 지원: GetItem, PutItem, UpdateItem, DeleteItem, Query, Scan(병렬 세그먼트), BatchGetItem, BatchWriteItem,
+ *   TransactWriteItems, TransactGetItems, 조건부 쓰기, GSI(ALL 프로젝션), ReturnConsumedCapacity
+ * - 단일 테이블 설계 기준: 모든 테이블이 같은 키 스키마/GSI 정의를 사용하고 첫 접근 시 생성됨
+ * - 쓰기는 테이블 단위 락으로 직렬화(조건 검사 + 쓰기 + GSI 갱신이 원자적), 읽기는 락 없이 수행
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aws.dynamodb.mode", havingValue = "memory")
+public class InMemoryDynamoDb {
+
+    // 운영 테이블의 GSI (terraform + 콘솔에서 추가된 인덱스)
+    public static final String DEFAULT_INDEXES = "bookmark-index=BOOKMARK_INDEX_PK:BOOKMARK_INDEX_SK,"
+            + "like-index=LIKE_INDEX_PK:LIKE_INDEX_SK,"
+            + "credit-index=CREDIT_INDEX_PK:CREDIT_INDEX_SK,"
+            + "prompt-index=PROMPT_INDEX_PK:PROMPT_INDEX_SK,"
+            + "nickname-index=nickname,"
+            + "email-index=email,"
+            + "create-user-index=create_user,"
+            + "comment-user-index=comment_user";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    private static final int MAX_PAGE_BYTES = 1024 * 1024;
+    private static final int MAX_BATCH_GET_KEYS = 100;
+    private static final int MAX_BATCH_WRITE_REQUESTS = 25;
+    private static final int MAX_TRANSACT_ITEMS = 100;
+
+    private final String hashKey;
+    private final String rangeKey;
+    private final Map<String, String[]> indexDefinitions = new LinkedHashMap<>();
+    private final String defaultTable;
+    private final ConcurrentHashMap<String, Table> tables = new ConcurrentHashMap<>();
+
+    public InMemoryDynamoDb(
+            @Value("${aws.dynamodb.memory.key-schema:PK,SK}") String keySchema,
+            @Value("${aws.dynamodb.memory.indexes:" + DEFAULT_INDEXES + "}") String indexes,
+            @Value("${aws.dynamodb.table.name:FromProm_Table}") String defaultTable,
+            @Value("${aws.dynamodb.memory.seed-file:}") String seedFile) throws IOException {
+        String[] keys = keySchema.split(",");
+        this.hashKey = keys[0].trim();
+        this.rangeKey = keys.length > 1 && !keys[1].isBlank() ? keys[1].trim() : null;
+        this.defaultTable = defaultTable;
+        for (String definition : indexes.split(",")) {
+            if (definition.isBlank()) {
+                continue;
+            }
+            String[] nameAndKeys = definition.trim().split("=");
+            String[] indexKeys = nameAndKeys[1].split(":");
+            indexDefinitions.put(nameAndKeys[0], new String[]{indexKeys[0], indexKeys.length > 1 ? indexKeys[1] : null});
+        }
+        log.info("인메모리 DynamoDB 활성화: 키 {}/{}, GSI {}", hashKey, rangeKey, indexDefinitions.keySet());
+
+        if (!seedFile.isBlank()) {
+            load(Path.of(seedFile));
+        }
+    }
+
+    // ===== 직접 적재 API (데이터셋 생성기/시드 파일용) =====
+
+    /**
+     * DynamoDB JSON 아이템 파일 적재 (한 줄에 아이템 하나, {"Item": {...}} 또는 {...}, .gz 지원)
+     */
+    public int load(Path file) throws IOException {
+        long start = System.currentTimeMillis();
+        Table table = table(defaultTable);
+        int loaded = NdjsonLoader.load(file, 1000, lines -> {
+            List<Map<String, AttributeValue>> batch = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                JsonNode node = readTree(line);
+                batch.add(DynamoDbJson.toItem(node.has("Item") ? node.get("Item") : node));
+            }
+            return putAll(table, batch);
+        });
+        log.info("인메모리 DynamoDB 시드 적재: {} ({}건, {}ms)", file, loaded, System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    private static JsonNode readTree(String line) {
+        try {
+            return OBJECT_MAPPER.readTree(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void putItem(String tableName, Map<String, AttributeValue> item) {
+        putAll(table(tableName), List.of(item));
+    }
+
+    /**
+     * 여러 아이템을 락 한 번으로 적재 (조건 검사 없음)
+     */
+    public int putAll(String tableName, List<Map<String, AttributeValue>> items) {
+        return putAll(table(tableName), items);
+    }
+
+    public long itemCount(String tableName) {
+        Table table = tables.get(tableName);
+        return table != null ? table.itemCount.get() : 0;
+    }
+
+    public String getDefaultTable() {
+        return defaultTable;
+    }
+
+    private int putAll(Table table, List<Map<String, AttributeValue>> items) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        table.lock.lock();
+        try {
+            for (Map<String, AttributeValue> item : items) {
+                table.write(primaryKey(item), freeze(item));
+            }
+        } finally {
+            table.lock.unlock();
+        }
+        return items.size();
+    }
+
+    // ===== DynamoDB JSON 프로토콜 =====
+
+    JsonNode handle(String operation, JsonNode request) {
+        switch (operation) {
+            case "GetItem":
+                return getItem(request);
+            case "PutItem":
+                return putItem(request);
+            case "UpdateItem":
+                return updateItem(request);
+            case "DeleteItem":
+                return deleteItem(request);
+            case "Query":
+                return query(request);
+            case "Scan":
+                return scan(request);
+            case "BatchGetItem":
+                return batchGetItem(request);
+            case "BatchWriteItem":
+                return batchWriteItem(request);
+            case "TransactWriteItems":
+                return transactWriteItems(request);
+            case "TransactGetItems":
+                return transactGetItems(request);
+            default:
+                throw new DynamoDbError("UnknownOperationException", "Unsupported operation in memory stand-in: " + operation);
+        }
+    }
+
+    private JsonNode getItem(JsonNode request) {
+        Table table = table(request);
+        Map<String, AttributeValue> item = table.get(primaryKey(DynamoDbJson.toItem(request.get("Key"))));
+        Set<String> projection = DynamoDbExpression.projection(text(request, "ProjectionExpression"), names(request));
+
+        ObjectNode response = JSON.objectNode();
+        if (item != null) {
+            response.set("Item", DynamoDbJson.fromItem(DynamoDbExpression.project(item, projection)));
+        }
+        consumed(response, request, table.name, readUnits(item != null ? DynamoDbJson.size(item) : 0, consistent(request)), Map.of(), true);
+        return response;
+    }
+
+    private JsonNode putItem(JsonNode request) {
+        Table table = table(request);
+        Map<String, AttributeValue> item = freeze(DynamoDbJson.toItem(request.get("Item")));
+        KeyValue[] key = primaryKey(item);
+        DynamoDbExpression.Condition condition = DynamoDbExpression.condition(
+                text(request, "ConditionExpression"), names(request), values(request));
+
+        Map<String, AttributeValue> previous;
+        table.lock.lock();
+        try {
+            previous = table.get(key);
+            check(condition, previous);
+            table.write(key, item);
+        } finally {
+            table.lock.unlock();
+        }
+
+        ObjectNode response = JSON.objectNode();
+        if ("ALL_OLD".equals(text(request, "ReturnValues")) && previous != null) {
+            response.set("Attributes", DynamoDbJson.fromItem(previous));
+        }
+        consumed(response, request, table.name, writeUnits(previous, item), indexWriteUnits(table, previous, item), false);
+        return response;
+    }
+
+    private JsonNode updateItem(JsonNode request) {
+        Table table = table(request);
+        Map<String, AttributeValue> keyItem = DynamoDbJson.toItem(request.get("Key"));
+        KeyValue[] key = primaryKey(keyItem);
+        DynamoDbExpression.Update update = DynamoDbExpression.update(
+                text(request, "UpdateExpression"), names(request), values(request));
+        DynamoDbExpression.Condition condition = DynamoDbExpression.condition(
+                text(request, "ConditionExpression"), names(request), values(request));
+        Set<String> updatedNames = update.attributeNames();
+        if (updatedNames.contains(hashKey) || rangeKey != null && updatedNames.contains(rangeKey)) {
+            throw DynamoDbError.validation("One or more parameter values were invalid: Cannot update attribute "
+                    + (updatedNames.contains(hashKey) ? hashKey : rangeKey) + ". This attribute is part of the key");
+        }
+
+        Map<String, AttributeValue> previous;
+        Map<String, AttributeValue> updated;
+        table.lock.lock();
+        try {
+            previous = table.get(key);
+            check(condition, previous);
+            updated = freeze(update.apply(previous != null ? previous : keyItem));
+            table.write(key, updated);
+        } finally {
+            table.lock.unlock();
+        }
+
+        ObjectNode response = JSON.objectNode();
+        String returnValues = text(request, "ReturnValues");
+        if ("ALL_NEW".equals(returnValues)) {
+            response.set("Attributes", DynamoDbJson.fromItem(updated));
+        } else if ("UPDATED_NEW".equals(returnValues)) {
+            response.set("Attributes", DynamoDbJson.fromItem(DynamoDbExpression.project(updated, updatedNames)));
+        } else if ("ALL_OLD".equals(returnValues) && previous != null) {
+            response.set("Attributes", DynamoDbJson.fromItem(previous));
+        } else if ("UPDATED_OLD".equals(returnValues) && previous != null) {
+            response.set("Attributes", DynamoDbJson.fromItem(DynamoDbExpression.project(previous, updatedNames)));
+        }
+        consumed(response, request, table.name, writeUnits(previous, updated), indexWriteUnits(table, previous, updated), false);
+        return response;
+    }
+
+    private JsonNode deleteItem(JsonNode request) {
+        Table table = table(request);
+        KeyValue[] key = primaryKey(DynamoDbJson.toItem(request.get("Key")));
+        DynamoDbExpression.Condition condition = DynamoDbExpression.condition(
+                text(request, "ConditionExpression"), names(request), values(request));
+
+        Map<String, AttributeValue> previous;
+        table.lock.lock();
+        try {
+            previous = table.get(key);
+            check(condition, previous);
+            if (previous != null) {
+                table.write(key, null);
+            }
+        } finally {
+            table.lock.unlock();
+        }
+
+        ObjectNode response = JSON.objectNode();
+        if ("ALL_OLD".equals(text(request, "ReturnValues")) && previous != null) {
+            response.set("Attributes", DynamoDbJson.fromItem(previous));
+        }
+        consumed(response, request, table.name, writeUnits(previous, null), indexWriteUnits(table, previous, null), false);
+        return response;
+    }
+
+    private JsonNode query(JsonNode request) {
+        Table table = table(request);
+        Map<String, String> names = names(request);
+        Map<String, AttributeValue> values = values(request);
+        String keyConditionExpression = text(request, "KeyConditionExpression");
+        if (keyConditionExpression == null) {
+            throw DynamoDbError.validation("Either the KeyConditions or KeyConditionExpression parameter must be specified in the request.");
+        }
+        DynamoDbExpression.Condition keyCondition = DynamoDbExpression.condition(keyConditionExpression, names, values);
+        boolean forward = !request.has("ScanIndexForward") || request.get("ScanIndexForward").asBoolean(true);
+        Map<String, AttributeValue> startKey = request.has("ExclusiveStartKey")
+                ? DynamoDbJson.toItem(request.get("ExclusiveStartKey")) : null;
+
+        String indexName = text(request, "IndexName");
+        Iterable<Map<String, AttributeValue>> candidates;
+        Function<Map<String, AttributeValue>, Map<String, AttributeValue>> lastKeyOf;
+        if (indexName == null) {
+            KeyRange range = KeyRange.of(keyCondition, hashKey, rangeKey);
+            ConcurrentSkipListMap<KeyValue, Map<String, AttributeValue>> partition = table.partitions.get(range.hash);
+            NavigableMap<KeyValue, Map<String, AttributeValue>> view = partition != null
+                    ? range.narrow(partition) : Collections.emptyNavigableMap();
+            if (!forward) {
+                view = view.descendingMap();
+            }
+            if (startKey != null) {
+                view = view.tailMap(rangeValue(startKey), false);
+            }
+            candidates = view.values();
+            lastKeyOf = this::keyAttributes;
+        } else {
+            SecondaryIndex index = table.indexes.get(indexName);
+            if (index == null) {
+                throw DynamoDbError.validation("The table does not have the specified index: " + indexName);
+            }
+            KeyRange range = KeyRange.of(keyCondition, index.hashKey, index.rangeKey);
+            NavigableMap<IndexKey, Map<String, AttributeValue>> view = index.partitions.get(range.hash);
+            if (view == null) {
+                view = Collections.emptyNavigableMap();
+            }
+            if (!forward) {
+                view = view.descendingMap();
+            }
+            if (startKey != null) {
+                view = view.tailMap(index.keyOf(startKey, primaryKey(startKey)), false);
+            }
+            candidates = view.values();
+            lastKeyOf = item -> index.keyAttributes(item, keyAttributes(item));
+        }
+
+        ObjectNode response = JSON.objectNode();
+        int bytes = page(response, request, candidates, keyCondition, lastKeyOf);
+        double units = readUnits(bytes, consistent(request));
+        consumed(response, request, table.name, indexName == null ? units : 0, indexName == null ? Map.of() : Map.of(indexName, units), true);
+        return response;
+    }
+
+    private JsonNode scan(JsonNode request) {
+        Table table = table(request);
+        if (text(request, "IndexName") != null) {
+            throw DynamoDbError.validation("Scan on a secondary index is not supported by the memory stand-in");
+        }
+        int totalSegments = request.has("TotalSegments") ? request.get("TotalSegments").asInt() : 1;
+        int segment = request.has("Segment") ? request.get("Segment").asInt() : 0;
+        KeyValue[] start = request.has("ExclusiveStartKey")
+                ? primaryKey(DynamoDbJson.toItem(request.get("ExclusiveStartKey"))) : null;
+
+        NavigableMap<KeyValue, ConcurrentSkipListMap<KeyValue, Map<String, AttributeValue>>> partitions =
+                start != null ? table.partitions.tailMap(start[0], true) : table.partitions;
+        Iterable<Map<String, AttributeValue>> candidates = () -> partitions.entrySet().stream()
+                .filter(entry -> totalSegments <= 1 || Math.floorMod(entry.getKey().hashCode(), totalSegments) == segment)
+                .flatMap(entry -> (start != null && entry.getKey().equals(start[0])
+                        ? entry.getValue().tailMap(start[1], false)
+                        : entry.getValue()).values().stream())
+                .iterator();
+
+        ObjectNode response = JSON.objectNode();
+        int bytes = page(response, request, candidates, DynamoDbExpression.ALWAYS, this::keyAttributes);
+        consumed(response, request, table.name, readUnits(bytes, consistent(request)), Map.of(), true);
+        return response;
+    }
+
+    /**
+     * Query/Scan 공통 페이지 구성: Limit(평가 건수)/1MB 기준으로 끊고 LastEvaluatedKey 반환
+     * @return 평가한 아이템 총 바이트 (소비 용량 계산용)
+     */
+    private int page(ObjectNode response, JsonNode request, Iterable<Map<String, AttributeValue>> candidates,
+                     DynamoDbExpression.Condition keyCondition,
+                     Function<Map<String, AttributeValue>, Map<String, AttributeValue>> lastKeyOf) {
+        DynamoDbExpression.Condition filter = DynamoDbExpression.condition(
+                text(request, "FilterExpression"), names(request), values(request));
+        Set<String> projection = DynamoDbExpression.projection(text(request, "ProjectionExpression"), names(request));
+        int limit = request.has("Limit") ? request.get("Limit").asInt() : Integer.MAX_VALUE;
+        ArrayNode items = "COUNT".equals(text(request, "Select")) ? null : response.putArray("Items");
+
+        int evaluated = 0;
+        int matched = 0;
+        int bytes = 0;
+        Map<String, AttributeValue> last = null;
+        Iterator<Map<String, AttributeValue>> iterator = candidates.iterator();
+        while (iterator.hasNext()) {
+            Map<String, AttributeValue> item = iterator.next();
+            // 정렬 키 범위를 좁힌 뒤에도 키 조건 전체를 다시 확인 (GSI는 범위 축소 없이 여기서 거름)
+            if (!keyCondition.test(item)) {
+                continue;
+            }
+            evaluated++;
+            bytes += DynamoDbJson.size(item);
+            if (filter.test(item)) {
+                matched++;
+                if (items != null) {
+                    items.add(DynamoDbJson.fromItem(DynamoDbExpression.project(item, projection)));
+                }
+            }
+            if (evaluated >= limit || bytes >= MAX_PAGE_BYTES) {
+                if (iterator.hasNext()) {
+                    last = item;
+                }
+                break;
+            }
+        }
+
+        response.put("Count", matched);
+        response.put("ScannedCount", evaluated);
+        if (last != null) {
+            response.set("LastEvaluatedKey", DynamoDbJson.fromItem(lastKeyOf.apply(last)));
+        }
+        return bytes;
+    }
+
+    private JsonNode batchGetItem(JsonNode request) {
+        JsonNode requestItems = request.get("RequestItems");
+        int keys = 0;
+        for (JsonNode tableRequest : requestItems) {
+            keys += tableRequest.get("Keys").size();
+        }
+        if (keys > MAX_BATCH_GET_KEYS) {
+            throw DynamoDbError.validation("Too many items requested for the BatchGetItem call");
+        }
+
+        ObjectNode response = JSON.objectNode();
+        ObjectNode responses = response.putObject("Responses");
+        List<ObjectNode> capacities = new ArrayList<>();
+        requestItems.fields().forEachRemaining(entry -> {
+            Table table = table(entry.getKey());
+            JsonNode tableRequest = entry.getValue();
+            Set<String> projection = DynamoDbExpression.projection(text(tableRequest, "ProjectionExpression"), names(tableRequest));
+            boolean consistent = consistent(tableRequest);
+            ArrayNode found = responses.putArray(entry.getKey());
+            double units = 0;
+            for (JsonNode key : tableRequest.get("Keys")) {
+                Map<String, AttributeValue> item = table.get(primaryKey(DynamoDbJson.toItem(key)));
+                units += readUnits(item != null ? DynamoDbJson.size(item) : 0, consistent);
+                if (item != null) {
+                    found.add(DynamoDbJson.fromItem(DynamoDbExpression.project(item, projection)));
+                }
+            }
+            capacities.add(capacity(request, table.name, units, Map.of(), true));
+        });
+        response.putObject("UnprocessedKeys");
+        consumedList(response, request, capacities);
+        return response;
+    }
+
+    private JsonNode batchWriteItem(JsonNode request) {
+        JsonNode requestItems = request.get("RequestItems");
+        int writes = 0;
+        for (JsonNode tableRequests : requestItems) {
+            writes += tableRequests.size();
+        }
+        if (writes > MAX_BATCH_WRITE_REQUESTS) {
+            throw DynamoDbError.validation("Too many items requested for the BatchWriteItem call");
+        }
+
+        ObjectNode response = JSON.objectNode();
+        List<ObjectNode> capacities = new ArrayList<>();
+        requestItems.fields().forEachRemaining(entry -> {
+            Table table = table(entry.getKey());
+            double units = 0;
+            Map<String, Double> indexUnits = new TreeMap<>();
+            table.lock.lock();
+            try {
+                for (JsonNode writeRequest : entry.getValue()) {
+                    Map<String, AttributeValue> previous;
+                    Map<String, AttributeValue> item = null;
+                    if (writeRequest.has("PutRequest")) {
+                        item = freeze(DynamoDbJson.toItem(writeRequest.get("PutRequest").get("Item")));
+                        previous = table.write(primaryKey(item), item);
+                    } else {
+                        previous = table.write(primaryKey(DynamoDbJson.toItem(writeRequest.get("DeleteRequest").get("Key"))), null);
+                    }
+                    units += writeUnits(previous, item);
+                    indexWriteUnits(table, previous, item).forEach((index, u) -> indexUnits.merge(index, u, Double::sum));
+                }
+            } finally {
+                table.lock.unlock();
+            }
+            capacities.add(capacity(request, table.name, units, indexUnits, false));
+        });
+        response.putObject("UnprocessedItems");
+        consumedList(response, request, capacities);
+        return response;
+    }
+
+    private JsonNode transactWriteItems(JsonNode request) {
+        JsonNode transactItems = request.get("TransactItems");
+        if (transactItems.size() > MAX_TRANSACT_ITEMS) {
+            throw DynamoDbError.validation("Member must have length less than or equal to " + MAX_TRANSACT_ITEMS);
+        }
+
+        List<TransactWrite> writes = new ArrayList<>();
+        for (JsonNode transactItem : transactItems) {
+            writes.add(TransactWrite.parse(this, transactItem));
+        }
+        List<Table> locked = writes.stream()
+                .map(write -> write.table)
+                .distinct()
+                .sorted(Comparator.comparing(table -> table.name))
+                .toList();
+
+        Map<String, Double> tableUnits = new TreeMap<>();
+        Map<String, Map<String, Double>> indexUnits = new TreeMap<>();
+        locked.forEach(table -> table.lock.lock());
+        try {
+            List<String> reasons = new ArrayList<>();
+            boolean cancelled = false;
+            for (TransactWrite write : writes) {
+                Map<String, AttributeValue> current = write.table.get(write.key);
+                boolean passed = write.condition.test(current != null ? current : Map.of());
+                reasons.add(passed ? "None" : "ConditionalCheckFailed");
+                cancelled |= !passed;
+            }
+            if (cancelled) {
+                throw new DynamoDbError("TransactionCanceledException", 400,
+                        "Transaction cancelled, please refer cancellation reasons for specific reasons " + reasons, reasons);
+            }
+
+            for (TransactWrite write : writes) {
+                Map<String, AttributeValue> previous = write.table.get(write.key);
+                Map<String, AttributeValue> next = write.apply(previous);
+                if (!"ConditionCheck".equals(write.kind)) {
+                    write.table.write(write.key, next);
+                }
+                tableUnits.merge(write.table.name, 2 * writeUnits(previous, next), Double::sum);
+                indexWriteUnits(write.table, previous, next).forEach((index, units) -> indexUnits
+                        .computeIfAbsent(write.table.name, name -> new TreeMap<>())
+                        .merge(index, 2 * units, Double::sum));
+            }
+        } finally {
+            locked.forEach(table -> table.lock.unlock());
+        }
+
+        ObjectNode response = JSON.objectNode();
+        List<ObjectNode> capacities = new ArrayList<>();
+        tableUnits.forEach((table, units) ->
+                capacities.add(capacity(request, table, units, indexUnits.getOrDefault(table, Map.of()), false)));
+        consumedList(response, request, capacities);
+        return response;
+    }
+
+    private JsonNode transactGetItems(JsonNode request) {
+        ObjectNode response = JSON.objectNode();
+        ArrayNode responses = response.putArray("Responses");
+        Map<String, Double> tableUnits = new TreeMap<>();
+        for (JsonNode transactItem : request.get("TransactItems")) {
+            JsonNode get = transactItem.get("Get");
+            Table table = table(get);
+            Map<String, AttributeValue> item = table.get(primaryKey(DynamoDbJson.toItem(get.get("Key"))));
+            Set<String> projection = DynamoDbExpression.projection(text(get, "ProjectionExpression"), names(get));
+            ObjectNode entry = responses.addObject();
+            if (item != null) {
+                entry.set("Item", DynamoDbJson.fromItem(DynamoDbExpression.project(item, projection)));
+            }
+            tableUnits.merge(table.name, 2 * readUnits(item != null ? DynamoDbJson.size(item) : 0, true), Double::sum);
+        }
+        List<ObjectNode> capacities = new ArrayList<>();
+        tableUnits.forEach((table, units) -> capacities.add(capacity(request, table, units, Map.of(), true)));
+        consumedList(response, request, capacities);
+        return response;
+    }
+
+    /**
+     * TransactWriteItems의 개별 작업 (Put/Update/Delete/ConditionCheck)
+     */
+    private static final class TransactWrite {
+        final String kind;
+        final Table table;
+        final KeyValue[] key;
+        final DynamoDbExpression.Condition condition;
+        final Map<String, AttributeValue> keyItem;
+        final Map<String, AttributeValue> item;
+        final DynamoDbExpression.Update update;
+
+        private TransactWrite(String kind, Table table, KeyValue[] key, DynamoDbExpression.Condition condition,
+                              Map<String, AttributeValue> keyItem, Map<String, AttributeValue> item,
+                              DynamoDbExpression.Update update) {
+            this.kind = kind;
+            this.table = table;
+            this.key = key;
+            this.condition = condition;
+            this.keyItem = keyItem;
+            this.item = item;
+            this.update = update;
+        }
+
+        static TransactWrite parse(InMemoryDynamoDb db, JsonNode transactItem) {
+            String kind = transactItem.fieldNames().next();
+            JsonNode body = transactItem.get(kind);
+            Table table = db.table(body);
+            DynamoDbExpression.Condition condition = DynamoDbExpression.condition(
+                    text(body, "ConditionExpression"), names(body), values(body));
+            if ("Put".equals(kind)) {
+                Map<String, AttributeValue> item = freeze(DynamoDbJson.toItem(body.get("Item")));
+                return new TransactWrite(kind, table, db.primaryKey(item), condition, null, item, null);
+            }
+            Map<String, AttributeValue> keyItem = DynamoDbJson.toItem(body.get("Key"));
+            DynamoDbExpression.Update update = "Update".equals(kind)
+                    ? DynamoDbExpression.update(text(body, "UpdateExpression"), names(body), values(body))
+                    : null;
+            return new TransactWrite(kind, table, db.primaryKey(keyItem), condition, keyItem, null, update);
+        }
+
+        Map<String, AttributeValue> apply(Map<String, AttributeValue> previous) {
+            switch (kind) {
+                case "Put":
+                    return item;
+                case "Update":
+                    return freeze(update.apply(previous != null ? previous : keyItem));
+                case "Delete":
+                    return null;
+                default:
+                    return previous;
+            }
+        }
+    }
+
+    // ===== 저장 구조 =====
+
+    private Table table(JsonNode request) {
+        String name = text(request, "TableName");
+        if (name == null) {
+            throw DynamoDbError.validation("TableName must be specified");
+        }
+        return table(name);
+    }
+
+    private Table table(String name) {
+        return tables.computeIfAbsent(name, Table::new);
+    }
+
+    private final class Table {
+        final String name;
+        final ConcurrentSkipListMap<KeyValue, ConcurrentSkipListMap<KeyValue, Map<String, AttributeValue>>> partitions =
+                new ConcurrentSkipListMap<>();
+        final Map<String, SecondaryIndex> indexes = new LinkedHashMap<>();
+        final ReentrantLock lock = new ReentrantLock();
+        final AtomicLong itemCount = new AtomicLong();
+
+        Table(String name) {
+            this.name = name;
+            indexDefinitions.forEach((index, keys) -> indexes.put(index, new SecondaryIndex(keys[0], keys[1])));
+        }
+
+        Map<String, AttributeValue> get(KeyValue[] key) {
+            ConcurrentSkipListMap<KeyValue, Map<String, AttributeValue>> partition = partitions.get(key[0]);
+            return partition != null ? partition.get(key[1]) : null;
+        }
+
+        /**
+         * 아이템 교체/삭제(item == null) + GSI 갱신, lock 보유 상태에서만 호출
+         */
+        Map<String, AttributeValue> write(KeyValue[] key, Map<String, AttributeValue> item) {
+            Map<String, AttributeValue> previous;
+            if (item != null) {
+                previous = partitions.computeIfAbsent(key[0], k -> new ConcurrentSkipListMap<>()).put(key[1], item);
+            } else {
+                ConcurrentSkipListMap<KeyValue, Map<String, AttributeValue>> partition = partitions.get(key[0]);
+                previous = partition != null ? partition.remove(key[1]) : null;
+                if (partition != null && partition.isEmpty()) {
+                    partitions.remove(key[0], partition);
+                }
+            }
+            if (previous == null && item != null) {
+                itemCount.incrementAndGet();
+            } else if (previous != null && item == null) {
+                itemCount.decrementAndGet();
+            }
+            for (SecondaryIndex index : indexes.values()) {
+                index.remove(previous, key);
+                index.add(item, key);
+            }
+            return previous;
+        }
+    }
+
+    private static final class SecondaryIndex {
+        final String hashKey;
+        final String rangeKey;
+        final ConcurrentHashMap<KeyValue, ConcurrentSkipListMap<IndexKey, Map<String, AttributeValue>>> partitions =
+                new ConcurrentHashMap<>();
+
+        SecondaryIndex(String hashKey, String rangeKey) {
+            this.hashKey = hashKey;
+            this.rangeKey = rangeKey;
+        }
+
+        /**
+         * 인덱스 키 속성이 모두 있는 아이템만 포함 (희소 인덱스)
+         */
+        boolean covers(Map<String, AttributeValue> item) {
+            return item != null && KeyValue.of(item.get(hashKey)) != null
+                    && (rangeKey == null || KeyValue.of(item.get(rangeKey)) != null);
+        }
+
+        void add(Map<String, AttributeValue> item, KeyValue[] tableKey) {
+            if (covers(item)) {
+                partitions.computeIfAbsent(KeyValue.of(item.get(hashKey)), k -> new ConcurrentSkipListMap<>())
+                        .put(keyOf(item, tableKey), item);
+            }
+        }
+
+        void remove(Map<String, AttributeValue> item, KeyValue[] tableKey) {
+            if (covers(item)) {
+                KeyValue hash = KeyValue.of(item.get(hashKey));
+                ConcurrentSkipListMap<IndexKey, Map<String, AttributeValue>> partition = partitions.get(hash);
+                if (partition != null) {
+                    partition.remove(keyOf(item, tableKey));
+                    if (partition.isEmpty()) {
+                        partitions.remove(hash, partition);
+                    }
+                }
+            }
+        }
+
+        IndexKey keyOf(Map<String, AttributeValue> item, KeyValue[] tableKey) {
+            KeyValue range = rangeKey != null ? KeyValue.of(item.get(rangeKey)) : KeyValue.NONE;
+            return new IndexKey(range != null ? range : KeyValue.NONE, tableKey[0], tableKey[1]);
+        }
+
+        Map<String, AttributeValue> keyAttributes(Map<String, AttributeValue> item, Map<String, AttributeValue> tableKey) {
+            Map<String, AttributeValue> key = new LinkedHashMap<>(tableKey);
+            key.put(hashKey, item.get(hashKey));
+            if (rangeKey != null) {
+                key.put(rangeKey, item.get(rangeKey));
+            }
+            return key;
+        }
+    }
+
+    private KeyValue[] primaryKey(Map<String, AttributeValue> item) {
+        KeyValue hash = KeyValue.of(item.get(hashKey));
+        KeyValue range = rangeKey != null ? KeyValue.of(item.get(rangeKey)) : KeyValue.NONE;
+        if (hash == null || range == null) {
+            throw DynamoDbError.validation("The provided key element does not match the schema");
+        }
+        return new KeyValue[]{hash, range};
+    }
+
+    private KeyValue rangeValue(Map<String, AttributeValue> key) {
+        return primaryKey(key)[1];
+    }
+
+    private Map<String, AttributeValue> keyAttributes(Map<String, AttributeValue> item) {
+        Map<String, AttributeValue> key = new LinkedHashMap<>();
+        key.put(hashKey, item.get(hashKey));
+        if (rangeKey != null) {
+            key.put(rangeKey, item.get(rangeKey));
+        }
+        return key;
+    }
+
+    /**
+     * 키 속성 값 (S/N/B 스칼라만, 정렬은 N은 수치 / 그 외는 문자열 순)
+     */
+    static final class KeyValue implements Comparable<KeyValue> {
+        static final KeyValue NONE = new KeyValue("", null);
+
+        final String text;
+        final BigDecimal number;
+
+        private KeyValue(String text, BigDecimal number) {
+            this.text = text;
+            this.number = number;
+        }
+
+        static KeyValue of(AttributeValue value) {
+            if (value == null) {
+                return null;
+            }
+            if (value.s() != null) {
+                return new KeyValue(value.s(), null);
+            }
+            if (value.n() != null) {
+                return new KeyValue(null, new BigDecimal(value.n()));
+            }
+            if (value.b() != null) {
+                return new KeyValue(value.b().asString(StandardCharsets.ISO_8859_1), null);
+            }
+            return null;
+        }
+
+        @Override
+        public int compareTo(KeyValue other) {
+            if (number != null && other.number != null) {
+                return number.compareTo(other.number);
+            }
+            return String.valueOf(text != null ? text : number).compareTo(String.valueOf(other.text != null ? other.text : other.number));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof KeyValue other && compareTo(other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return number != null ? number.stripTrailingZeros().hashCode() : text.hashCode();
+        }
+    }
+
+    private static final class IndexKey implements Comparable<IndexKey> {
+        final KeyValue range;
+        final KeyValue tableHash;
+        final KeyValue tableRange;
+
+        IndexKey(KeyValue range, KeyValue tableHash, KeyValue tableRange) {
+            this.range = range;
+            this.tableHash = tableHash;
+            this.tableRange = tableRange;
+        }
+
+        @Override
+        public int compareTo(IndexKey other) {
+            int order = range.compareTo(other.range);
+            if (order == 0) {
+                order = tableHash.compareTo(other.tableHash);
+            }
+            return order != 0 ? order : tableRange.compareTo(other.tableRange);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IndexKey other && compareTo(other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * range.hashCode() + tableHash.hashCode()) + tableRange.hashCode();
+        }
+    }
+
+    /**
+     * 키 조건에서 파티션 키 값과 정렬 키 범위 추출 (AND로 연결된 최상위 조건만 해석)
+     */
+    private static final class KeyRange {
+        KeyValue hash;
+        KeyValue from;
+        boolean fromInclusive = true;
+        KeyValue to;
+        boolean toInclusive = true;
+
+        static KeyRange of(DynamoDbExpression.Condition condition, String hashKey, String rangeKey) {
+            List<DynamoDbExpression.Condition> terms = condition instanceof DynamoDbExpression.And and
+                    ? and.terms : List.of(condition);
+            KeyRange range = new KeyRange();
+            for (DynamoDbExpression.Condition term : terms) {
+                if (term instanceof DynamoDbExpression.Comparison comparison
+                        && comparison.left instanceof DynamoDbExpression.Path path
+                        && comparison.right instanceof DynamoDbExpression.Value value) {
+                    KeyValue key = KeyValue.of(value.value);
+                    if (path.name().equals(hashKey) && "=".equals(comparison.operator)) {
+                        range.hash = key;
+                    } else if (path.name().equals(rangeKey)) {
+                        range.bound(comparison.operator, key);
+                    }
+                } else if (term instanceof DynamoDbExpression.Between between
+                        && between.operand instanceof DynamoDbExpression.Path path && path.name().equals(rangeKey)
+                        && between.low instanceof DynamoDbExpression.Value low
+                        && between.high instanceof DynamoDbExpression.Value high) {
+                    range.from = KeyValue.of(low.value);
+                    range.to = KeyValue.of(high.value);
+                } else if (term instanceof DynamoDbExpression.Function function && "begins_with".equals(function.name)
+                        && function.arguments.get(0) instanceof DynamoDbExpression.Path path && path.name().equals(rangeKey)
+                        && function.arguments.get(1) instanceof DynamoDbExpression.Value prefix && prefix.value.s() != null) {
+                    range.from = KeyValue.of(prefix.value);
+                    range.to = KeyValue.of(AttributeValue.builder().s(prefix.value.s() + Character.MAX_VALUE).build());
+                    range.toInclusive = false;
+                }
+            }
+            if (range.hash == null) {
+                throw DynamoDbError.validation("Query condition missed key schema element: " + hashKey);
+            }
+            return range;
+        }
+
+        private void bound(String operator, KeyValue key) {
+            switch (operator) {
+                case "=":
+                    from = key;
+                    to = key;
+                    break;
+                case "<":
+                    to = key;
+                    toInclusive = false;
+                    break;
+                case "<=":
+                    to = key;
+                    break;
+                case ">":
+                    from = key;
+                    fromInclusive = false;
+                    break;
+                case ">=":
+                    from = key;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        <V> NavigableMap<KeyValue, V> narrow(NavigableMap<KeyValue, V> partition) {
+            if (from != null && to != null) {
+                return from.compareTo(to) > 0
+                        ? Collections.emptyNavigableMap()
+                        : partition.subMap(from, fromInclusive, to, toInclusive);
+            }
+            if (from != null) {
+                return partition.tailMap(from, fromInclusive);
+            }
+            if (to != null) {
+                return partition.headMap(to, toInclusive);
+            }
+            return partition;
+        }
+    }
+
+    // ===== 소비 용량 =====
+
+    private static double readUnits(int bytes, boolean consistent) {
+        double units = Math.ceil(Math.max(bytes, 1) / 4096.0);
+        return consistent ? units : units / 2;
+    }
+
+    private static double writeUnits(Map<String, AttributeValue> previous, Map<String, AttributeValue> next) {
+        int bytes = Math.max(previous != null ? DynamoDbJson.size(previous) : 0, next != null ? DynamoDbJson.size(next) : 0);
+        return Math.ceil(Math.max(bytes, 1) / 1024.0);
+    }
+
+    /**
+     * 쓰기로 영향받는 GSI별 쓰기 용량 (이전/이후 아이템 중 하나라도 인덱스에 포함되면 소비)
+     */
+    private static Map<String, Double> indexWriteUnits(Table table, Map<String, AttributeValue> previous,
+                                                       Map<String, AttributeValue> next) {
+        Map<String, Double> units = new TreeMap<>();
+        table.indexes.forEach((name, index) -> {
+            if (index.covers(previous) || index.covers(next)) {
+                units.put(name, writeUnits(index.covers(previous) ? previous : null, index.covers(next) ? next : null));
+            }
+        });
+        return units;
+    }
+
+    private static void consumed(ObjectNode response, JsonNode request, String table, double tableUnits,
+                                 Map<String, Double> indexUnits, boolean read) {
+        ObjectNode capacity = capacity(request, table, tableUnits, indexUnits, read);
+        if (capacity != null) {
+            response.set("ConsumedCapacity", capacity);
+        }
+    }
+
+    private static void consumedList(ObjectNode response, JsonNode request, List<ObjectNode> capacities) {
+        if (!capacities.isEmpty() && capacities.get(0) != null) {
+            ArrayNode list = response.putArray("ConsumedCapacity");
+            capacities.forEach(list::add);
+        }
+    }
+
+    private static ObjectNode capacity(JsonNode request, String table, double tableUnits,
+                                       Map<String, Double> indexUnits, boolean read) {
+        String mode = text(request, "ReturnConsumedCapacity");
+        if (mode == null || "NONE".equals(mode)) {
+            return null;
+        }
+        String unitField = read ? "ReadCapacityUnits" : "WriteCapacityUnits";
+        double total = tableUnits + indexUnits.values().stream().mapToDouble(Double::doubleValue).sum();
+        ObjectNode capacity = JSON.objectNode();
+        capacity.put("TableName", table);
+        capacity.put("CapacityUnits", total);
+        capacity.put(unitField, total);
+        if ("INDEXES".equals(mode)) {
+            capacity.putObject("Table").put("CapacityUnits", tableUnits).put(unitField, tableUnits);
+            if (!indexUnits.isEmpty()) {
+                ObjectNode indexes = capacity.putObject("GlobalSecondaryIndexes");
+                indexUnits.forEach((index, units) -> indexes.putObject(index).put("CapacityUnits", units).put(unitField, units));
+            }
+        }
+        return capacity;
+    }
+
+    // ===== 요청 파싱 =====
+
+    private static void check(DynamoDbExpression.Condition condition, Map<String, AttributeValue> current) {
+        if (!condition.test(current != null ? current : Map.of())) {
+            throw DynamoDbError.conditionFailed();
+        }
+    }
+
+    private static Map<String, AttributeValue> freeze(Map<String, AttributeValue> item) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(item));
+    }
+
+    private static boolean consistent(JsonNode request) {
+        return request.has("ConsistentRead") && request.get("ConsistentRead").asBoolean();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node != null ? node.get(field) : null;
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
+
+    private static Map<String, String> names(JsonNode request) {
+        Map<String, String> names = new LinkedHashMap<>();
+        JsonNode node = request.get("ExpressionAttributeNames");
+        if (node != null) {
+            node.fields().forEachRemaining(entry -> names.put(entry.getKey(), entry.getValue().asText()));
+        }
+        return names;
+    }
+
+    private static Map<String, AttributeValue> values(JsonNode request) {
+        return DynamoDbJson.toItem(request.get("ExpressionAttributeValues"));
+    }
+}
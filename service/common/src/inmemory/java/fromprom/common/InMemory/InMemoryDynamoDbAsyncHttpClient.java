@@ -0,0 +1,119 @@
+package fromprom.common.InMemory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DynamoDbAsyncClient용 HTTP 계층 대역 (InMemoryDynamoDbHttpClient와 같은 저장소/지연/스로틀 설정 사용)
+ * - 지연 동안 스레드를 점유하지 않도록 delayedExecutor로 응답을 예약 (실제 비동기 클라이언트와 같은 동작)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aws.dynamodb.mode", havingValue = "memory")
+public class InMemoryDynamoDbAsyncHttpClient implements SdkAsyncHttpClient {
+
+    private final InMemoryDynamoDbHttpClient delegate;
+    private final ExecutorService workers;
+
+    public InMemoryDynamoDbAsyncHttpClient(
+            InMemoryDynamoDbHttpClient delegate,
+            @Value("${aws.dynamodb.memory.worker-threads:4}") int workerThreads) {
+        this.delegate = delegate;
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dynamodb-memory-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("인메모리 DynamoDB 비동기 HTTP 대역: 작업 스레드 {}", workerThreads);
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+        SdkAsyncHttpResponseHandler handler = request.responseHandler();
+        long delay = delegate.latency().next();
+        return readBody(request.requestContentPublisher())
+                .thenApplyAsync(body -> {
+                    try {
+                        return delegate.handle(request.request(), body);
+                    } catch (Exception e) {
+                        throw new IllegalStateException("인메모리 DynamoDB 응답 생성 실패", e);
+                    }
+                }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, workers))
+                .thenAccept(reply -> {
+                    handler.onHeaders(reply.response);
+                    handler.onStream(AsyncRequestBody.fromBytes(reply.body));
+                })
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        handler.onError(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error);
+                    }
+                });
+    }
+
+    @Override
+    public String clientName() {
+        return "InMemoryAsync";
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * 요청 본문 publisher를 끝까지 읽어 바이트 배열로
+     */
+    private static CompletableFuture<byte[]> readBody(Publisher<ByteBuffer> publisher) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        if (publisher == null) {
+            result.complete(new byte[0]);
+            return result;
+        }
+        publisher.subscribe(new Subscriber<>() {
+            private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer chunk) {
+                byte[] bytes = new byte[chunk.remaining()];
+                chunk.get(bytes);
+                buffer.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                result.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(buffer.toByteArray());
+            }
+        });
+        return result;
+    }
+}
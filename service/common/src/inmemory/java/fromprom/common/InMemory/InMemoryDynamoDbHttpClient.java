@@ -0,0 +1,145 @@
+package fromprom.common.InMemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DynamoDB SDK 클라이언트용 HTTP 계층 대역
+ * - 실제 DynamoDbClient(인터셉터/재시도/마샬링 포함)를 그대로 쓰고 네트워크 호출만 InMemoryDynamoDb로 대체
+ *   → 메트릭/소비 용량/핫 키 인터셉터가 운영과 같은 경로로 동작
+ * - 호출마다 InjectedLatency만큼 지연, throttle-rate 확률로 ProvisionedThroughputExceededException 응답 (SDK 재시도 확인용)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aws.dynamodb.mode", havingValue = "memory")
+public class InMemoryDynamoDbHttpClient implements SdkHttpClient {
+
+    private static final String TARGET_HEADER = "X-Amz-Target";
+    private static final String CONTENT_TYPE = "application/x-amz-json-1.0";
+
+    private final InMemoryDynamoDb dynamoDb;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InjectedLatency latency;
+    private final double throttleRate;
+
+    public InMemoryDynamoDbHttpClient(
+            InMemoryDynamoDb dynamoDb,
+            @Value("${aws.dynamodb.memory.latency-ms:3}") long latencyMillis,
+            @Value("${aws.dynamodb.memory.jitter-ms:4}") long jitterMillis,
+            @Value("${aws.dynamodb.memory.spike-rate:0.01}") double spikeRate,
+            @Value("${aws.dynamodb.memory.spike-ms:40}") long spikeMillis,
+            @Value("${aws.dynamodb.memory.throttle-rate:0}") double throttleRate) {
+        this.dynamoDb = dynamoDb;
+        this.latency = new InjectedLatency(latencyMillis, jitterMillis, spikeRate, spikeMillis);
+        this.throttleRate = throttleRate;
+        log.info("인메모리 DynamoDB HTTP 대역: 지연 {}, 스로틀 비율 {}", latency, throttleRate);
+    }
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        return new ExecutableHttpRequest() {
+            @Override
+            public HttpExecuteResponse call() throws IOException {
+                return execute(request);
+            }
+
+            @Override
+            public void abort() {
+                // 동기 처리라 중단할 대상 없음
+            }
+        };
+    }
+
+    @Override
+    public String clientName() {
+        return "InMemory";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private HttpExecuteResponse execute(HttpExecuteRequest request) throws IOException {
+        latency.pause();
+
+        byte[] requestBytes = null;
+        if (request.contentStreamProvider().isPresent()) {
+            try (InputStream in = request.contentStreamProvider().get().newStream()) {
+                requestBytes = in.readAllBytes();
+            }
+        }
+        Reply reply = handle(request.httpRequest(), requestBytes);
+        return HttpExecuteResponse.builder()
+                .response(reply.response)
+                .responseBody(AbortableInputStream.create(new ByteArrayInputStream(reply.body)))
+                .build();
+    }
+
+    /**
+     * 요청 1건 처리 (동기/비동기 대역 공통, 지연은 호출 측에서 적용)
+     */
+    Reply handle(SdkHttpRequest httpRequest, byte[] requestBytes) throws IOException {
+        String target = httpRequest.firstMatchingHeader(TARGET_HEADER).orElse("");
+        String operation = target.substring(target.indexOf('.') + 1);
+
+        int status = 200;
+        JsonNode body;
+        try {
+            if (throttleRate > 0 && ThreadLocalRandom.current().nextDouble() < throttleRate) {
+                throw new DynamoDbError("ProvisionedThroughputExceededException",
+                        "The level of configured provisioned throughput for the table was exceeded.");
+            }
+            JsonNode requestBody = requestBytes != null && requestBytes.length > 0
+                    ? objectMapper.readTree(requestBytes)
+                    : objectMapper.createObjectNode();
+            body = dynamoDb.handle(operation, requestBody);
+        } catch (DynamoDbError e) {
+            status = e.getStatus();
+            body = e.toJson();
+        } catch (RuntimeException e) {
+            log.error("인메모리 DynamoDB 처리 실패 ({}): {}", operation, e.getMessage());
+            status = 500;
+            body = new DynamoDbError("InternalServerError", 500, String.valueOf(e.getMessage()), null).toJson();
+        }
+
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        SdkHttpResponse response = SdkHttpResponse.builder()
+                .statusCode(status)
+                .putHeader("Content-Type", CONTENT_TYPE)
+                .putHeader("Content-Length", String.valueOf(bytes.length))
+                .putHeader("x-amzn-RequestId", UUID.randomUUID().toString())
+                .build();
+        return new Reply(response, bytes);
+    }
+
+    InjectedLatency latency() {
+        return latency;
+    }
+
+    static final class Reply {
+        final SdkHttpResponse response;
+        final byte[] body;
+
+        Reply(SdkHttpResponse response, byte[] body) {
+            this.response = response;
+            this.body = body;
+        }
+    }
+}
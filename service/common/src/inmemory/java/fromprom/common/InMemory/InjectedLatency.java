@@ -0,0 +1,60 @@
+package fromprom.common.InMemory;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 인메모리 대역(DynamoDB/OpenSearch) 호출에 넣는 인위적 지연
+ * - base + [0, jitter) 균등 분포 지연
+ * - spikeRate 확률로 spike만큼 추가 지연 (실서비스의 p99 꼬리 재현)
+ */
+public class InjectedLatency {
+
+    private final long baseMillis;
+    private final long jitterMillis;
+    private final double spikeRate;
+    private final long spikeMillis;
+
+    public InjectedLatency(long baseMillis, long jitterMillis, double spikeRate, long spikeMillis) {
+        this.baseMillis = Math.max(0, baseMillis);
+        this.jitterMillis = Math.max(0, jitterMillis);
+        this.spikeRate = spikeRate;
+        this.spikeMillis = Math.max(0, spikeMillis);
+    }
+
+    /**
+     * 이번 호출의 지연 시간 (ms)
+     */
+    public long next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = baseMillis;
+        if (jitterMillis > 0) {
+            delay += random.nextLong(jitterMillis);
+        }
+        if (spikeRate > 0 && random.nextDouble() < spikeRate) {
+            delay += spikeMillis;
+        }
+        return delay;
+    }
+
+    /**
+     * 호출 스레드를 지연 시간만큼 블로킹
+     */
+    public void pause() throws InterruptedIOException {
+        long delay = next();
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("인메모리 대역 지연 중 인터럽트");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return baseMillis + "ms+" + jitterMillis + "ms (spike " + spikeRate + " x " + spikeMillis + "ms)";
+    }
+}
@@ -0,0 +1,90 @@
+package fromprom.common.InMemory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 시드 NDJSON 파일 병렬 적재 (.gz 지원)
+ * - 읽기는 한 스레드, 줄 묶음(batch) 파싱/적용은 작업 스레드에서 병렬 처리
+ * - 메모리 사용을 제한하기 위해 대기 중인 묶음 수를 작업 스레드 수의 2배로 제한
+ */
+public final class NdjsonLoader {
+
+    private NdjsonLoader() {
+    }
+
+    /**
+     * @param batchLines 묶음당 줄 수 (bulk 형식은 헤더/본문 쌍이 나뉘지 않도록 짝수)
+     * @param apply      묶음을 파싱/적용하고 적재 건수를 반환
+     */
+    public static int load(Path file, int batchLines, ToIntFunction<List<String>> apply) throws IOException {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "seed-loader-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<Integer>> pending = new ArrayList<>();
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = file.toString().endsWith(".gz") ? new GZIPInputStream(raw, 1 << 16) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16)) {
+            List<String> batch = new ArrayList<>(batchLines);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(line);
+                if (batch.size() == batchLines) {
+                    pending.add(submit(workers, inFlight, batch, apply));
+                    batch = new ArrayList<>(batchLines);
+                }
+            }
+            if (!batch.isEmpty()) {
+                pending.add(submit(workers, inFlight, batch, apply));
+            }
+
+            int loaded = 0;
+            for (Future<Integer> future : pending) {
+                loaded += future.get();
+            }
+            return loaded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("시드 적재 중단: " + file, e);
+        } catch (ExecutionException e) {
+            throw new IOException("시드 적재 실패: " + file + " (" + e.getCause().getMessage() + ")", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static Future<Integer> submit(ExecutorService workers, Semaphore inFlight, List<String> batch,
+                                          ToIntFunction<List<String>> apply) throws InterruptedException {
+        inFlight.acquire();
+        return workers.submit(() -> {
+            try {
+                return apply.applyAsInt(batch);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package fromprom.common.Configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 관리 API 접근 제어 (search-service: /api/search/admin/**, auth-service: /api/admin/**)
+ * - 인그레스가 /api 전체를 외부에 노출하므로 X-Admin-Token 헤더가 admin.api.token과 일치해야 통과
+ * - 토큰이 설정되지 않았으면 관리 API 전체 차단 (기본값: 닫힘)
+ * - 경로 접두사는 서비스마다 다르므로 각 서비스의 AdminConfig에서 빈으로 등록
+ */
+@Slf4j
+public class AdminAccessFilter extends OncePerRequestFilter {
+
+    static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final String pathPrefix;
+    private final byte[] token;
+
+    public AdminAccessFilter(String pathPrefix, String token) {
+        this.pathPrefix = pathPrefix;
+        this.token = token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        if (this.token == null) {
+            log.info("admin.api.token 미설정: 관리 API 비활성화");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.equals(pathPrefix) || path.startsWith(pathPrefix + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (token == null) {
+            reject(response, HttpStatus.FORBIDDEN, "관리 API가 비활성화되어 있습니다.");
+            return;
+        }
+        String provided = request.getHeader(TOKEN_HEADER);
+        // 길이/내용 비교 시간이 토큰에 따라 달라지지 않도록 MessageDigest.isEqual 사용
+        if (provided == null || !MessageDigest.isEqual(token, provided.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("관리 API 인증 실패: {} {}", request.getMethod(), request.getRequestURI());
+            reject(response, HttpStatus.UNAUTHORIZED, "관리 API 인증에 실패했습니다.");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"success\":false,\"message\":\"" + message + "\"}");
+    }
+}
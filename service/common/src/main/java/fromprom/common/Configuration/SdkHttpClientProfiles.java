@@ -0,0 +1,160 @@
+package fromprom.common.Configuration;
+
+import fromprom.common.Metrics.HttpPoolMetricPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SDK 클라이언트별 HTTP 클라이언트/타임아웃/재시도 설정 (프로파일)
+ * - 키: aws.http.{client}.{항목}, 없으면 aws.http.default.{항목}, 그것도 없으면 아래 기본값
+ * - client 이름: search-service는 dynamodb, dynamodb-async, dynamodb-streams / auth-service는 cognito, dynamodb, dynamodb-async, sns
+ * - implementation: 동기 클라이언트는 apache, 비동기 클라이언트는 netty(기본) 또는 crt
+ *   (SDK 2.20.0의 CRT HTTP 클라이언트는 비동기 전용, 클라이언트별로만 지정 가능)
+ * - 풀: max-connections, acquisition-timeout-ms, connection-ttl-ms(0 이하면 무제한), max-idle-ms,
+ *   idle-reaper, tcp-keep-alive, connect-timeout-ms, socket-timeout-ms
+ * - 호출: api-call-attempt-timeout-ms / api-call-timeout-ms (0 이하면 미지정), retry-mode(legacy/standard/adaptive, 비우면 SDK 기본)
+ * - 풀 상태는 HttpPoolMetricPublisher로 aws.http.pool.* 메트릭에 기록
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SdkHttpClientProfiles {
+
+    private static final String PREFIX = "aws.http.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HttpPoolMetricPublisher> publishers = new ConcurrentHashMap<>();
+
+    /**
+     * 동기 클라이언트용 HTTP 클라이언트 빌더 (SDK 클라이언트가 생성/종료를 관리하도록 빌더로 전달)
+     */
+    public SdkHttpClient.Builder<?> syncClient(String client) {
+        String implementation = environment.getProperty(PREFIX + client + ".implementation", "apache");
+        if (!"apache".equalsIgnoreCase(implementation)) {
+            throw new IllegalStateException("지원하지 않는 동기 HTTP 클라이언트: " + client + "=" + implementation);
+        }
+        ApacheHttpClient.Builder builder = ApacheHttpClient.builder()
+                .maxConnections(intValue(client, "max-connections", 50))
+                .connectionAcquisitionTimeout(millis(client, "acquisition-timeout-ms", 2000))
+                .connectionMaxIdleTime(millis(client, "max-idle-ms", 60000))
+                .useIdleConnectionReaper(boolValue(client, "idle-reaper", true))
+                .tcpKeepAlive(boolValue(client, "tcp-keep-alive", true))
+                .connectionTimeout(millis(client, "connect-timeout-ms", 2000))
+                .socketTimeout(millis(client, "socket-timeout-ms", 30000));
+        long ttl = longValue(client, "connection-ttl-ms", 300000);
+        if (ttl > 0) {
+            builder.connectionTimeToLive(Duration.ofMillis(ttl));
+        }
+        log.info("SDK HTTP 클라이언트 [{}]: apache, 최대 커넥션 {}", client, intValue(client, "max-connections", 50));
+        return builder;
+    }
+
+    /**
+     * 비동기 클라이언트용 HTTP 클라이언트 빌더 (netty 또는 crt)
+     * - crt는 커넥션 획득 대기 시간/TTL 설정이 없어 해당 항목은 무시
+     */
+    public SdkAsyncHttpClient.Builder<?> asyncClient(String client) {
+        String implementation = environment.getProperty(PREFIX + client + ".implementation", "netty")
+                .toLowerCase(Locale.ROOT);
+        int maxConnections = intValue(client, "max-connections", 50);
+        log.info("SDK HTTP 클라이언트 [{}]: {}, 최대 커넥션 {}", client, implementation, maxConnections);
+
+        switch (implementation) {
+            case "netty": {
+                NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .connectionAcquisitionTimeout(millis(client, "acquisition-timeout-ms", 2000))
+                        .connectionMaxIdleTime(millis(client, "max-idle-ms", 60000))
+                        .useIdleConnectionReaper(boolValue(client, "idle-reaper", true))
+                        .tcpKeepAlive(boolValue(client, "tcp-keep-alive", true))
+                        .connectionTimeout(millis(client, "connect-timeout-ms", 2000))
+                        .readTimeout(millis(client, "socket-timeout-ms", 30000))
+                        .writeTimeout(millis(client, "socket-timeout-ms", 30000));
+                long ttl = longValue(client, "connection-ttl-ms", 300000);
+                if (ttl > 0) {
+                    builder.connectionTimeToLive(Duration.ofMillis(ttl));
+                }
+                return builder;
+            }
+            case "crt": {
+                AwsCrtAsyncHttpClient.Builder builder = AwsCrtAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .connectionMaxIdleTime(millis(client, "max-idle-ms", 60000))
+                        .connectionTimeout(millis(client, "connect-timeout-ms", 2000));
+                if (boolValue(client, "tcp-keep-alive", true)) {
+                    builder.tcpKeepAliveConfiguration(TcpKeepAliveConfiguration.builder()
+                            .keepAliveInterval(Duration.ofSeconds(30))
+                            .keepAliveTimeout(Duration.ofSeconds(5))
+                            .build());
+                }
+                return builder;
+            }
+            default:
+                throw new IllegalStateException("지원하지 않는 비동기 HTTP 클라이언트: " + client + "=" + implementation);
+        }
+    }
+
+    /**
+     * 타임아웃/재시도 설정 + 풀 메트릭 publisher가 적용된 override 빌더 (인터셉터는 호출 측에서 추가)
+     */
+    public ClientOverrideConfiguration.Builder overrides(String client) {
+        ClientOverrideConfiguration.Builder builder = ClientOverrideConfiguration.builder()
+                .addMetricPublisher(publishers.computeIfAbsent(client,
+                        name -> new HttpPoolMetricPublisher(name, meterRegistry)));
+
+        long attemptTimeout = longValue(client, "api-call-attempt-timeout-ms", 0);
+        if (attemptTimeout > 0) {
+            builder.apiCallAttemptTimeout(Duration.ofMillis(attemptTimeout));
+        }
+        long callTimeout = longValue(client, "api-call-timeout-ms", 0);
+        if (callTimeout > 0) {
+            builder.apiCallTimeout(Duration.ofMillis(callTimeout));
+        }
+        String retryMode = property(client, "retry-mode", "");
+        if (!retryMode.isBlank()) {
+            builder.retryPolicy(RetryMode.valueOf(retryMode.trim().toUpperCase(Locale.ROOT)));
+        }
+        return builder;
+    }
+
+    private String property(String client, String key, String defaultValue) {
+        String value = environment.getProperty(PREFIX + client + "." + key);
+        if (value == null) {
+            value = environment.getProperty(PREFIX + "default." + key, defaultValue);
+        }
+        return value;
+    }
+
+    private int intValue(String client, String key, int defaultValue) {
+        return Integer.parseInt(property(client, key, String.valueOf(defaultValue)).trim());
+    }
+
+    private long longValue(String client, String key, long defaultValue) {
+        return Long.parseLong(property(client, key, String.valueOf(defaultValue)).trim());
+    }
+
+    private boolean boolValue(String client, String key, boolean defaultValue) {
+        return Boolean.parseBoolean(property(client, key, String.valueOf(defaultValue)).trim());
+    }
+
+    private Duration millis(String client, String key, long defaultValue) {
+        return Duration.ofMillis(longValue(client, key, defaultValue));
+    }
+}
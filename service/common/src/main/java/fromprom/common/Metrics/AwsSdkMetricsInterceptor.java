@@ -0,0 +1,111 @@
+package fromprom.common.Metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AWS SDK 호출 계측 (두 서비스의 모든 SDK 클라이언트에 등록)
+ * - aws.sdk.requests: 호출 지연 시간 히스토그램 (재시도 포함 전체 시간)
+ * - aws.sdk.errors: 최종 실패 수 (errorCode 태그), aws.sdk.throttles: 그중 스로틀링
+ * - aws.sdk.retries: 첫 시도를 제외한 재전송 횟수
+ * - 공통 태그: service, operation, resource(테이블명/SNS 토픽명), endpoint(호출한 API)
+ */
+@Component
+@RequiredArgsConstructor
+public class AwsSdkMetricsInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Long> START_NANOS = new ExecutionAttribute<>("MetricsStartNanos");
+    private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>("MetricsAttempts");
+    private static final ExecutionAttribute<String> CALLER = new ExecutionAttribute<>("MetricsCallerEndpoint");
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        // 요청 스레드에서 호출되므로 여기서 호출 엔드포인트를 잡아 둠 (비동기 클라이언트 대비)
+        executionAttributes.putAttribute(START_NANOS, System.nanoTime());
+        executionAttributes.putAttribute(ATTEMPTS, 0);
+        executionAttributes.putAttribute(CALLER, CallerEndpoint.current());
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        executionAttributes.putAttribute(ATTEMPTS, attempts == null ? 1 : attempts + 1);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        record(context.request(), executionAttributes, "success");
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Throwable exception = context.exception();
+        String errorCode = exception.getClass().getSimpleName();
+        boolean throttled = false;
+        if (exception instanceof AwsServiceException serviceException) {
+            throttled = serviceException.isThrottlingException();
+            if (serviceException.awsErrorDetails() != null && serviceException.awsErrorDetails().errorCode() != null) {
+                errorCode = serviceException.awsErrorDetails().errorCode();
+            }
+        }
+
+        Tags tags = record(context.request(), executionAttributes, throttled ? "throttled" : "error");
+        meterRegistry.counter("aws.sdk.errors", tags.and("errorCode", errorCode)).increment();
+        if (throttled) {
+            meterRegistry.counter("aws.sdk.throttles", tags).increment();
+        }
+    }
+
+    private Tags record(SdkRequest request, ExecutionAttributes executionAttributes, String outcome) {
+        String caller = executionAttributes.getAttribute(CALLER);
+        Tags tags = Tags.of(
+                "service", valueOrNone(executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME)),
+                "operation", valueOrNone(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME)),
+                "resource", resource(request),
+                "endpoint", caller != null ? caller : CallerEndpoint.BACKGROUND);
+
+        Long start = executionAttributes.getAttribute(START_NANOS);
+        if (start != null) {
+            Timer.builder("aws.sdk.requests")
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        if (attempts != null && attempts > 1) {
+            meterRegistry.counter("aws.sdk.retries", tags).increment(attempts - 1);
+        }
+        return tags;
+    }
+
+    /**
+     * 호출 대상 리소스: DynamoDB 테이블명 또는 SNS 토픽명 (ARN 마지막 부분), 그 외(Cognito 등)는 none
+     */
+    private String resource(SdkRequest request) {
+        return request.getValueForField("TableName", String.class)
+                .or(() -> request.getValueForField("TopicArn", String.class)
+                        .map(arn -> arn.substring(arn.lastIndexOf(':') + 1)))
+                .orElse("none");
+    }
+
+    private String valueOrNone(String value) {
+        return value != null ? value : "none";
+    }
+}
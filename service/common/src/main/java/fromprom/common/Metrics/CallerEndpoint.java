@@ -0,0 +1,42 @@
+package fromprom.common.Metrics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 외부 호출을 발생시킨 API 엔드포인트 (메트릭 태그용)
+ * - 요청 스레드: "GET /api/search/prompt/{promptId}/detail" 처럼 매핑 패턴 사용 (경로 변수로 태그가 늘어나지 않음)
+ * - I/O 풀 스레드는 제출한 요청의 컨텍스트를 전달받아 같은 엔드포인트로 집계
+ * - 스케줄러/배치 스레드: "background"
+ */
+public final class CallerEndpoint {
+
+    public static final String BACKGROUND = "background";
+
+    private CallerEndpoint() {
+    }
+
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return BACKGROUND;
+        }
+        Object pattern;
+        try {
+            pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                    RequestAttributes.SCOPE_REQUEST);
+        } catch (IllegalStateException e) {
+            // I/O 풀로 전달된 컨텍스트의 요청이 이미 끝난 경우
+            return BACKGROUND;
+        }
+        if (pattern == null) {
+            return "unmapped";
+        }
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getMethod() + " " + pattern;
+        }
+        return pattern.toString();
+    }
+}
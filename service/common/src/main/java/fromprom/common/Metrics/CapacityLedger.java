@@ -0,0 +1,129 @@
+package fromprom.common.Metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DynamoDB 소비 용량(RCU/WCU) 집계 - 호출한 엔드포인트 × 테이블 × 인덱스(GSI/LSI) 단위
+ * - dynamodb.consumed.capacity 카운터 (endpoint, table, index, type=read|write)
+ * - 엔드포인트별 누적 합계로 "가장 비싼 엔드포인트" 상위 N 리포트
+ * - index 태그: 기본 테이블은 "table", 인덱스는 인덱스 이름
+ */
+@Component
+@RequiredArgsConstructor
+public class CapacityLedger {
+
+    public static final String BASE_TABLE = "table";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, EndpointUsage> usage = new ConcurrentHashMap<>();
+    private volatile long since = System.currentTimeMillis();
+
+    /**
+     * DynamoDB 요청 1건 (배치 요청은 테이블별 ConsumedCapacity가 여러 개여도 1건)
+     */
+    public void recordCall(String endpoint) {
+        usage.computeIfAbsent(endpoint, key -> new EndpointUsage()).calls.increment();
+    }
+
+    public void record(String endpoint, boolean write, ConsumedCapacity consumed) {
+        String table = consumed.tableName() != null ? consumed.tableName() : "unknown";
+
+        // INDEXES 모드면 테이블/인덱스별로 나뉘어 오고, 아니면 합계만 옴
+        if (consumed.table() != null) {
+            add(endpoint, table, BASE_TABLE, write, consumed.table());
+        } else if (consumed.globalSecondaryIndexes().isEmpty() && consumed.localSecondaryIndexes().isEmpty()) {
+            add(endpoint, table, BASE_TABLE, write, consumed.capacityUnits());
+        }
+        consumed.globalSecondaryIndexes().forEach((index, capacity) -> add(endpoint, table, index, write, capacity));
+        consumed.localSecondaryIndexes().forEach((index, capacity) -> add(endpoint, table, index, write, capacity));
+    }
+
+    /**
+     * 소비 용량 합계 기준 상위 N개 엔드포인트 (테이블/인덱스별 내역 포함)
+     */
+    public Map<String, Object> report(int top) {
+        List<Map<String, Object>> endpoints = usage.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, EndpointUsage> e) -> e.getValue().total()).reversed())
+                .limit(top)
+                .map(e -> e.getValue().toMap(e.getKey()))
+                .toList();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("since", since);
+        result.put("endpoints", endpoints);
+        return result;
+    }
+
+    public void reset() {
+        usage.clear();
+        since = System.currentTimeMillis();
+    }
+
+    private void add(String endpoint, String table, String index, boolean write, Capacity capacity) {
+        add(endpoint, table, index, write, capacity.capacityUnits());
+    }
+
+    private void add(String endpoint, String table, String index, boolean write, Double units) {
+        if (units == null || units == 0) {
+            return;
+        }
+        String type = write ? "write" : "read";
+        meterRegistry.counter("dynamodb.consumed.capacity",
+                "endpoint", endpoint, "table", table, "index", index, "type", type).increment(units);
+
+        EndpointUsage endpointUsage = usage.computeIfAbsent(endpoint, key -> new EndpointUsage());
+        (write ? endpointUsage.writeUnits : endpointUsage.readUnits).add(units);
+        endpointUsage.breakdown.computeIfAbsent(table + "|" + index + "|" + type, key -> new DoubleAdder()).add(units);
+    }
+
+    private static class EndpointUsage {
+        private final LongAdder calls = new LongAdder();
+        private final DoubleAdder readUnits = new DoubleAdder();
+        private final DoubleAdder writeUnits = new DoubleAdder();
+        private final Map<String, DoubleAdder> breakdown = new ConcurrentHashMap<>();
+
+        private double total() {
+            return readUnits.sum() + writeUnits.sum();
+        }
+
+        private Map<String, Object> toMap(String endpoint) {
+            long callCount = calls.sum();
+            List<Map<String, Object>> details = new ArrayList<>();
+            breakdown.entrySet().stream()
+                    .sorted(Comparator.comparingDouble((Map.Entry<String, DoubleAdder> e) -> e.getValue().sum()).reversed())
+                    .forEach(e -> {
+                        String[] parts = e.getKey().split("\\|", 3);
+                        Map<String, Object> detail = new LinkedHashMap<>();
+                        detail.put("table", parts[0]);
+                        detail.put("index", parts[1]);
+                        detail.put("type", parts[2]);
+                        detail.put("units", e.getValue().sum());
+                        details.add(detail);
+                    });
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("endpoint", endpoint);
+            result.put("calls", callCount);
+            result.put("readUnits", readUnits.sum());
+            result.put("writeUnits", writeUnits.sum());
+            result.put("totalUnits", total());
+            result.put("unitsPerCall", callCount > 0 ? total() / callCount : 0.0);
+            result.put("breakdown", details);
+            return result;
+        }
+    }
+}
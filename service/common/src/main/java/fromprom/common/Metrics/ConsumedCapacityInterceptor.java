@@ -0,0 +1,108 @@
+package fromprom.common.Metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * 모든 DynamoDB 요청에 ReturnConsumedCapacity=INDEXES를 설정하고 응답의 소비 용량을 CapacityLedger에 기록
+ * - 호출 코드가 직접 지정한 값이 있으면 그대로 둠
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsumedCapacityInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<String> CALLER = new ExecutionAttribute<>("CapacityCallerEndpoint");
+
+    private final CapacityLedger capacityLedger;
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(CALLER, CallerEndpoint.current());
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        SdkRequest request = context.request();
+        ReturnConsumedCapacity indexes = ReturnConsumedCapacity.INDEXES;
+
+        if (request instanceof GetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof QueryRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof ScanRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof BatchGetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof TransactGetItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof PutItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof UpdateItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof DeleteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof BatchWriteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        if (request instanceof TransactWriteItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(indexes).build();
+        }
+        return request;
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        String caller = executionAttributes.getAttribute(CALLER);
+        String endpoint = caller != null ? caller : CallerEndpoint.BACKGROUND;
+        boolean write = isWrite(context.request());
+
+        // 단건 요청은 ConsumedCapacity, 배치/트랜잭션 요청은 List<ConsumedCapacity>
+        Object consumed = context.response().getValueForField("ConsumedCapacity", Object.class).orElse(null);
+        if (consumed == null) {
+            return;
+        }
+        capacityLedger.recordCall(endpoint);
+        if (consumed instanceof ConsumedCapacity capacity) {
+            capacityLedger.record(endpoint, write, capacity);
+        } else if (consumed instanceof Iterable<?> capacities) {
+            for (Object item : capacities) {
+                if (item instanceof ConsumedCapacity capacity) {
+                    capacityLedger.record(endpoint, write, capacity);
+                }
+            }
+        }
+    }
+
+    private boolean isWrite(SdkRequest request) {
+        return request instanceof PutItemRequest
+                || request instanceof UpdateItemRequest
+                || request instanceof DeleteItemRequest
+                || request instanceof BatchWriteItemRequest
+                || request instanceof TransactWriteItemsRequest;
+    }
+}
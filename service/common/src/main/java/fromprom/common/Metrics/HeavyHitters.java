@@ -0,0 +1,166 @@
+package fromprom.common.Metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 슬라이딩 윈도우 heavy-hitters (count-min sketch + top-K 후보)
+ * - 윈도우를 bucketCount개 구간으로 나누고 구간마다 sketch(depth x width)를 둠, 오래된 구간은 비워서 재사용
+ * - 빈도 추정치 = 구간별 sketch 추정치(행별 최솟값)의 합, 실제보다 작게 나오지 않음 (과대 추정만 가능)
+ * - 후보 맵은 capacity의 2배까지 두고 넘치면 상위 capacity개만 남김 → 메모리 상수
+ * - 기록 경로는 원자 증가 depth번 + 읽기 depth x bucketCount번, 잠금은 구간 교체/후보 정리 때만
+ */
+public class HeavyHitters {
+
+    private final int depth;
+    private final int width;
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final int capacity;
+
+    private final AtomicIntegerArray[] buckets;
+    private final AtomicLong currentBucket = new AtomicLong();
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+    private volatile long admissionThreshold = 0;
+
+    public HeavyHitters(int depth, int width, int bucketCount, long windowMillis, int capacity) {
+        this.depth = depth;
+        this.width = width;
+        this.bucketCount = bucketCount;
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.capacity = capacity;
+        this.buckets = new AtomicIntegerArray[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new AtomicIntegerArray(depth * width);
+        }
+        currentBucket.set(System.currentTimeMillis() / bucketMillis);
+    }
+
+    public void add(String key) {
+        long bucketId = advance(System.currentTimeMillis());
+        AtomicIntegerArray bucket = buckets[(int) (bucketId % bucketCount)];
+
+        long hash = hash(key);
+        for (int row = 0; row < depth; row++) {
+            bucket.incrementAndGet(row * width + index(hash, row));
+        }
+
+        long estimate = estimate(hash);
+        if (estimate > admissionThreshold || candidates.size() < capacity) {
+            candidates.put(key, estimate);
+            if (candidates.size() > capacity * 2) {
+                prune();
+            }
+        }
+    }
+
+    /**
+     * 윈도우 내 상위 키 (추정 횟수, 초당 비율)
+     */
+    public List<Entry> top(int n) {
+        advance(System.currentTimeMillis());
+        double windowSeconds = bucketMillis * bucketCount / 1000.0;
+        List<Entry> entries = new ArrayList<>();
+        for (String key : candidates.keySet()) {
+            long count = estimate(hash(key));
+            if (count > 0) {
+                entries.add(new Entry(key, count, count / windowSeconds));
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries.size() > n ? entries.subList(0, n) : entries;
+    }
+
+    public long windowMillis() {
+        return bucketMillis * bucketCount;
+    }
+
+    /**
+     * 현재 구간으로 이동하면서 지나간 구간 비우기
+     */
+    private long advance(long now) {
+        long bucketId = now / bucketMillis;
+        long current = currentBucket.get();
+        if (bucketId <= current) {
+            return current;
+        }
+        synchronized (this) {
+            current = currentBucket.get();
+            if (bucketId > current) {
+                long clearFrom = Math.max(current + 1, bucketId - bucketCount + 1);
+                for (long id = clearFrom; id <= bucketId; id++) {
+                    AtomicIntegerArray bucket = buckets[(int) (id % bucketCount)];
+                    for (int i = 0; i < bucket.length(); i++) {
+                        bucket.set(i, 0);
+                    }
+                }
+                currentBucket.set(bucketId);
+                // 윈도우가 이동했으므로 후보 추정치를 다시 계산하고 진입 기준을 낮춤
+                prune();
+            }
+            return bucketId;
+        }
+    }
+
+    private synchronized void prune() {
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>();
+        for (String key : candidates.keySet()) {
+            ranked.add(Map.entry(key, estimate(hash(key))));
+        }
+        ranked.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        candidates.clear();
+        long threshold = 0;
+        for (int i = 0; i < ranked.size() && i < capacity; i++) {
+            Map.Entry<String, Long> entry = ranked.get(i);
+            if (entry.getValue() > 0) {
+                candidates.put(entry.getKey(), entry.getValue());
+                threshold = entry.getValue();
+            }
+        }
+        admissionThreshold = candidates.size() < capacity ? 0 : threshold;
+    }
+
+    private long estimate(long hash) {
+        long total = 0;
+        for (AtomicIntegerArray bucket : buckets) {
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, bucket.get(row * width + index(hash, row)));
+            }
+            total += min;
+        }
+        return total;
+    }
+
+    // 64비트 해시 하나에서 행별 인덱스를 만드는 double hashing (h1 + row * h2)
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    // FNV-1a 64
+    private long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    public static class Entry {
+        private String key;
+        private long count;
+        private double perSecond;
+    }
+}
@@ -0,0 +1,70 @@
+package fromprom.common.Metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DynamoDB 핫 파티션 키 탐지 (읽기/쓰기 각각 슬라이딩 윈도우 heavy-hitters)
+ * - 키 형식: 테이블[/인덱스]:파티션 키 값 (예: FromProm_Table:PROMPT#abc)
+ * - dynamodb.hot_key.rate{type, rank}: 상위 순위별 초당 요청 수 (키 이름은 관리 API에서 확인)
+ */
+@Component
+public class HotPartitionDetector {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 2048;
+    private static final int WINDOW_BUCKETS = 6;
+    private static final int GAUGE_RANKS = 5;
+
+    private final HeavyHitters reads;
+    private final HeavyHitters writes;
+
+    public HotPartitionDetector(MeterRegistry meterRegistry,
+                                @Value("${dynamodb.hot-keys.window-ms:60000}") long windowMillis,
+                                @Value("${dynamodb.hot-keys.top-k:50}") int topK) {
+        this.reads = new HeavyHitters(SKETCH_DEPTH, SKETCH_WIDTH, WINDOW_BUCKETS, windowMillis, topK);
+        this.writes = new HeavyHitters(SKETCH_DEPTH, SKETCH_WIDTH, WINDOW_BUCKETS, windowMillis, topK);
+
+        for (int rank = 1; rank <= GAUGE_RANKS; rank++) {
+            final int index = rank - 1;
+            Gauge.builder("dynamodb.hot_key.rate", reads, hh -> rateAt(hh, index))
+                    .tags("type", "read", "rank", String.valueOf(rank))
+                    .baseUnit("requests/s")
+                    .register(meterRegistry);
+            Gauge.builder("dynamodb.hot_key.rate", writes, hh -> rateAt(hh, index))
+                    .tags("type", "write", "rank", String.valueOf(rank))
+                    .baseUnit("requests/s")
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordRead(String key) {
+        reads.add(key);
+    }
+
+    public void recordWrite(String key) {
+        writes.add(key);
+    }
+
+    /**
+     * 현재 윈도우의 읽기/쓰기 상위 키
+     */
+    public Map<String, Object> report(int top) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("windowMillis", reads.windowMillis());
+        result.put("reads", reads.top(top));
+        result.put("writes", writes.top(top));
+        return result;
+    }
+
+    private double rateAt(HeavyHitters heavyHitters, int index) {
+        List<HeavyHitters.Entry> top = heavyHitters.top(index + 1);
+        return top.size() > index ? top.get(index).getPerSecond() : 0.0;
+    }
+}
@@ -0,0 +1,117 @@
+package fromprom.common.Metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DynamoDB 요청의 파티션 키를 HotPartitionDetector에 기록
+ * - 단건/배치/트랜잭션 요청: Key(또는 Item)의 파티션 키 속성
+ * - Query: KeyConditionExpression의 첫 번째 등호 조건 값 (GSI는 "테이블/인덱스" 로 구분)
+ * - Scan은 특정 파티션에 몰리지 않으므로 제외
+ */
+@Component
+@RequiredArgsConstructor
+public class HotPartitionInterceptor implements ExecutionInterceptor {
+
+    private static final Pattern EQUALITY = Pattern.compile("(#?[\\w.]+)\\s*=\\s*(:\\w+)");
+
+    private final HotPartitionDetector hotPartitionDetector;
+
+    @Value("${dynamodb.hot-keys.partition-key:PK}")
+    private String partitionKey;
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        SdkRequest request = context.request();
+
+        if (request instanceof GetItemRequest r) {
+            read(r.tableName(), r.key());
+        } else if (request instanceof QueryRequest r) {
+            String value = queryPartitionValue(r);
+            if (value != null) {
+                String table = r.indexName() != null ? r.tableName() + "/" + r.indexName() : r.tableName();
+                hotPartitionDetector.recordRead(table + ":" + value);
+            }
+        } else if (request instanceof BatchGetItemRequest r) {
+            r.requestItems().forEach((table, keys) -> keys.keys().forEach(key -> read(table, key)));
+        } else if (request instanceof PutItemRequest r) {
+            write(r.tableName(), r.item());
+        } else if (request instanceof UpdateItemRequest r) {
+            write(r.tableName(), r.key());
+        } else if (request instanceof DeleteItemRequest r) {
+            write(r.tableName(), r.key());
+        } else if (request instanceof BatchWriteItemRequest r) {
+            r.requestItems().forEach((table, writes) -> writes.forEach(w -> {
+                if (w.putRequest() != null) {
+                    write(table, w.putRequest().item());
+                } else if (w.deleteRequest() != null) {
+                    write(table, w.deleteRequest().key());
+                }
+            }));
+        } else if (request instanceof TransactWriteItemsRequest r) {
+            r.transactItems().forEach(item -> {
+                if (item.put() != null) {
+                    write(item.put().tableName(), item.put().item());
+                } else if (item.update() != null) {
+                    write(item.update().tableName(), item.update().key());
+                } else if (item.delete() != null) {
+                    write(item.delete().tableName(), item.delete().key());
+                }
+            });
+        }
+    }
+
+    private void read(String table, Map<String, AttributeValue> key) {
+        String value = partitionValue(key);
+        if (value != null) {
+            hotPartitionDetector.recordRead(table + ":" + value);
+        }
+    }
+
+    private void write(String table, Map<String, AttributeValue> key) {
+        String value = partitionValue(key);
+        if (value != null) {
+            hotPartitionDetector.recordWrite(table + ":" + value);
+        }
+    }
+
+    private String partitionValue(Map<String, AttributeValue> key) {
+        return key != null ? stringValue(key.get(partitionKey)) : null;
+    }
+
+    private String queryPartitionValue(QueryRequest request) {
+        if (request.keyConditionExpression() == null) {
+            return null;
+        }
+        Matcher matcher = EQUALITY.matcher(request.keyConditionExpression());
+        if (!matcher.find()) {
+            return null;
+        }
+        return stringValue(request.expressionAttributeValues().get(matcher.group(2)));
+    }
+
+    private String stringValue(AttributeValue value) {
+        if (value == null) {
+            return null;
+        }
+        return value.s() != null ? value.s() : value.n();
+    }
+}
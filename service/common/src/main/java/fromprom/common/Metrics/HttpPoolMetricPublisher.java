@@ -0,0 +1,70 @@
+package fromprom.common.Metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AWS SDK HTTP 커넥션 풀 상태 메트릭 (SDK 클라이언트별로 하나씩 등록)
+ * - SDK가 시도(attempt)마다 수집하는 HttpMetric 값 중 마지막 값을 게이지로 노출
+ * - aws.http.pool.max / leased / available / pending (게이지), aws.http.pool.utilization (leased / max)
+ * - aws.http.pool.acquire: 커넥션 획득 대기 시간 (HTTP 클라이언트가 보고하는 경우만)
+ * - 공통 태그: client (프로파일 이름)
+ */
+public class HttpPoolMetricPublisher implements MetricPublisher {
+
+    private final AtomicInteger max = new AtomicInteger();
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Timer acquireTimer;
+
+    public HttpPoolMetricPublisher(String client, MeterRegistry meterRegistry) {
+        Gauge.builder("aws.http.pool.max", max, AtomicInteger::get).tag("client", client).register(meterRegistry);
+        Gauge.builder("aws.http.pool.leased", leased, AtomicInteger::get).tag("client", client).register(meterRegistry);
+        Gauge.builder("aws.http.pool.available", available, AtomicInteger::get).tag("client", client).register(meterRegistry);
+        Gauge.builder("aws.http.pool.pending", pending, AtomicInteger::get).tag("client", client).register(meterRegistry);
+        Gauge.builder("aws.http.pool.utilization", this, HttpPoolMetricPublisher::utilization)
+                .tag("client", client)
+                .register(meterRegistry);
+        this.acquireTimer = Timer.builder("aws.http.pool.acquire")
+                .tag("client", client)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        // ApiCall > ApiCallAttempt > HttpClient 순으로 중첩되어 있으므로 전체를 순회
+        update(max, metricCollection.metricValues(HttpMetric.MAX_CONCURRENCY));
+        update(leased, metricCollection.metricValues(HttpMetric.LEASED_CONCURRENCY));
+        update(available, metricCollection.metricValues(HttpMetric.AVAILABLE_CONCURRENCY));
+        update(pending, metricCollection.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES));
+        for (Duration duration : metricCollection.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION)) {
+            acquireTimer.record(duration);
+        }
+        metricCollection.children().forEach(this::publish);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private double utilization() {
+        int limit = max.get();
+        return limit > 0 ? (double) leased.get() / limit : 0;
+    }
+
+    private static void update(AtomicInteger gauge, List<Integer> values) {
+        if (!values.isEmpty()) {
+            gauge.set(values.get(values.size() - 1));
+        }
+    }
+}
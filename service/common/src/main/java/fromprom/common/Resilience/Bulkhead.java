@@ -0,0 +1,108 @@
+package fromprom.common.Resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다운스트림별 동시 호출 수 제한 (세마포어 bulkhead)
+ * - 가상 스레드 모드에서는 요청 스레드 수가 사실상 무제한이므로 외부 호출 동시성은 여기서 제한
+ * - 허용 수를 넘으면 maxWait 동안 대기 후 실패 (호출 측에서 다운스트림에 맞는 예외로 변환)
+ * - limit <= 0 이면 제한 없음
+ * - 메트릭: downstream.inflight / downstream.limit (게이지), downstream.wait (대기 시간), downstream.rejected
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int limit;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int limit, long maxWaitMillis, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.limit = limit;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = limit > 0 ? new Semaphore(limit, true) : null;
+        this.waitTimer = Timer.builder("downstream.wait")
+                .tag("downstream", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("downstream.rejected", "downstream", name);
+        Gauge.builder("downstream.inflight", this, Bulkhead::inFlight)
+                .tag("downstream", name)
+                .register(meterRegistry);
+        Gauge.builder("downstream.limit", this, bulkhead -> bulkhead.limit)
+                .tag("downstream", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 호출 허가 획득 (최대 maxWait 대기), 실패하면 false
+     */
+    public boolean tryAcquire() {
+        if (permits == null) {
+            return true;
+        }
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 대기 없이 호출 허가 획득 (비동기 클라이언트용: SDK 완료 스레드를 막지 않도록), 실패하면 false
+     */
+    public boolean tryAcquireNow() {
+        if (permits == null) {
+            return true;
+        }
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    public int inFlight() {
+        return permits != null ? limit - permits.availablePermits() : 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 거절 시 예외 메시지
+     */
+    public String rejectionMessage() {
+        return name + " 동시 호출 한도 초과 (한도 " + limit + ", 대기 " + maxWaitMillis + "ms)";
+    }
+}
@@ -0,0 +1,83 @@
+package fromprom.common.Resilience;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * AWS SDK 클라이언트별 동시 호출 제한 인터셉터
+ * - 호출 스레드(beforeExecution)에서 허가를 받고, 재시도를 포함한 호출 전체가 끝나면 반납
+ * - 허가를 못 받으면 SdkClientException → 기존 서비스 코드의 예외 처리(빈 결과/오류 응답)로 이어짐
+ * - 대기 시간이 SDK 지연 메트릭에 섞이지 않도록 인터셉터 목록의 첫 번째로 등록
+ * - 비동기 클라이언트는 nonBlocking: 호출 스레드가 SDK 완료 스레드일 수 있으므로 대기 없이 즉시 거절
+ * - 거절 예외의 cause는 RejectedExecutionException (isRejection으로 구분, 호출 측 재시도 판단용)
+ */
+public class BulkheadInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Boolean> PERMIT = new ExecutionAttribute<>("BulkheadPermit");
+
+    private final Bulkhead bulkhead;
+    private final boolean blocking;
+
+    public BulkheadInterceptor(Bulkhead bulkhead) {
+        this(bulkhead, true);
+    }
+
+    private BulkheadInterceptor(Bulkhead bulkhead, boolean blocking) {
+        this.bulkhead = bulkhead;
+        this.blocking = blocking;
+    }
+
+    /**
+     * 비동기 클라이언트용 (같은 Bulkhead를 공유하되 허가를 기다리지 않음)
+     */
+    public static BulkheadInterceptor nonBlocking(Bulkhead bulkhead) {
+        return new BulkheadInterceptor(bulkhead, false);
+    }
+
+    /**
+     * 동시 호출 한도 초과로 거절된 호출인지 (CompletionException 등으로 감싸져 있어도 확인)
+     */
+    public static boolean isRejection(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        boolean acquired = blocking ? bulkhead.tryAcquire() : bulkhead.tryAcquireNow();
+        if (!acquired) {
+            String message = bulkhead.rejectionMessage();
+            throw SdkClientException.builder()
+                    .message(message)
+                    .cause(new RejectedExecutionException(message))
+                    .build();
+        }
+        executionAttributes.putAttribute(PERMIT, Boolean.TRUE);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        release(executionAttributes);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        release(executionAttributes);
+    }
+
+    private void release(ExecutionAttributes executionAttributes) {
+        if (Boolean.TRUE.equals(executionAttributes.getAttribute(PERMIT))) {
+            executionAttributes.putAttribute(PERMIT, Boolean.FALSE);
+            bulkhead.release();
+        }
+    }
+}
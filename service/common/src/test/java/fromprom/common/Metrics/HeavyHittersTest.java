@@ -0,0 +1,65 @@
+package fromprom.common.Metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHittersTest {
+
+    @Test
+    void estimatesNeverUndercount() {
+        // 좁은 sketch로 충돌을 일부러 만들어도 추정치는 실제 횟수 이상
+        HeavyHitters hitters = new HeavyHitters(2, 8, 4, 60_000, 100);
+        for (int i = 0; i < 50; i++) {
+            for (int n = 0; n <= i; n++) {
+                hitters.add("key-" + i);
+            }
+        }
+
+        Map<String, Long> counts = hitters.top(100).stream()
+                .collect(Collectors.toMap(HeavyHitters.Entry::getKey, HeavyHitters.Entry::getCount));
+
+        assertEquals(50, counts.size());
+        for (int i = 0; i < 50; i++) {
+            assertTrue(counts.get("key-" + i) >= i + 1, "key-" + i);
+        }
+    }
+
+    @Test
+    void ranksHotKeyFirst() {
+        HeavyHitters hitters = new HeavyHitters(4, 1024, 4, 60_000, 10);
+        for (int i = 0; i < 1000; i++) {
+            hitters.add("hot");
+            hitters.add("cold-" + i);
+        }
+
+        List<HeavyHitters.Entry> top = hitters.top(3);
+
+        assertEquals("hot", top.get(0).getKey());
+        assertTrue(top.get(0).getCount() >= 1000);
+        assertTrue(top.size() <= 3);
+    }
+
+    @Test
+    void forgetsKeysOutsideWindow() throws InterruptedException {
+        HeavyHitters hitters = new HeavyHitters(2, 64, 2, 100, 10);
+        for (int i = 0; i < 10; i++) {
+            hitters.add("old");
+        }
+        assertEquals(1, hitters.top(10).size());
+
+        // 윈도우(구간 2개 x 50ms)를 완전히 지나면 모든 구간이 비워짐
+        Thread.sleep(250);
+        hitters.add("new");
+
+        List<HeavyHitters.Entry> top = hitters.top(10);
+        assertEquals(1, top.size());
+        assertEquals("new", top.get(0).getKey());
+        assertEquals(1, top.get(0).getCount());
+    }
+}
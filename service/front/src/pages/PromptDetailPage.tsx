@@ -58,6 +58,8 @@ const PromptDetailPage = () => {
   const queryClient = useQueryClient();
   const [prompt, setPrompt] = useState<PromptDetail | null>(null);
   const [comments, setComments] = useState<Comment[]>([]);
+  const [commentsCursor, setCommentsCursor] = useState<string | null>(null);
+  const [isLoadingMoreComments, setIsLoadingMoreComments] = useState(false);
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [showPaymentModal, setShowPaymentModal] = useState(false);
@@ -119,6 +121,7 @@ const PromptDetailPage = () => {
         if (response.data.success) {
           setPrompt(response.data.prompt);
           setComments(response.data.comments || []);
+          setCommentsCursor(response.data.hasMoreComments ? response.data.commentsNextCursor ?? null : null);
         } else {
           setError('프롬프트를 찾을 수 없습니다.');
         }
@@ -262,6 +265,7 @@ const PromptDetailPage = () => {
           const response = await promptApi.getPromptComments(prompt.promptId);
           if (response.data.success) {
             setComments(response.data.comments || []);
+            setCommentsCursor(response.data.hasNext ? response.data.nextCursor ?? null : null);
           }
         } catch (e) {
           console.error('Failed to refresh comments:', e);
@@ -276,6 +280,24 @@ const PromptDetailPage = () => {
     }
   };
 
+  // 댓글 더 보기 (다음 페이지를 이어 붙임)
+  const handleLoadMoreComments = async () => {
+    if (!prompt || !commentsCursor || isLoadingMoreComments) return;
+
+    setIsLoadingMoreComments(true);
+    try {
+      const response = await promptApi.getPromptComments(prompt.promptId, 20, commentsCursor);
+      if (response.data.success) {
+        setComments(prev => [...prev, ...(response.data.comments || [])]);
+        setCommentsCursor(response.data.hasNext ? response.data.nextCursor ?? null : null);
+      }
+    } catch (error) {
+      console.error('Failed to load more comments:', error);
+    } finally {
+      setIsLoadingMoreComments(false);
+    }
+  };
+
   if (isLoading) {
     return (
       <div className="min-h-screen bg-white flex items-center justify-center">
@@ -754,7 +776,7 @@ const PromptDetailPage = () => {
         <AnimatedContent once distance={50} duration={0.6} delay={0.5}>
         <div className="bg-gradient-to-br from-blue-100 via-blue-50 to-white rounded-lg shadow-lg border border-blue-100 p-4 sm:p-8">
           <h2 className="text-lg sm:text-2xl font-bold text-gray-900 mb-6 pb-4 border-b border-gray-200">
-            댓글 ({comments.length})
+            댓글 ({Number(prompt.commentCount) || comments.length})
           </h2>
           
           {/* 댓글 작성 */}
@@ -797,6 +819,18 @@ const PromptDetailPage = () => {
               ))
             )}
           </div>
+
+          {commentsCursor && (
+            <div className="flex justify-center mt-6">
+              <button
+                onClick={handleLoadMoreComments}
+                disabled={isLoadingMoreComments}
+                className="px-4 py-2 bg-white text-blue-900 border border-blue-200 rounded-lg hover:bg-blue-50 disabled:opacity-50 disabled:cursor-not-allowed transition-colors"
+              >
+                {isLoadingMoreComments ? '불러오는 중...' : '댓글 더 보기'}
+              </button>
+            </div>
+          )}
         </div>
         </AnimatedContent>
       </motion.div>
@@ -221,9 +221,12 @@ export const promptApi = {
     return api.get(`/api/search/prompt/${promptId}/stats${params}`);
   },
 
-  // 프롬프트 댓글 목록 조회 (search-service - 인증 불필요)
-  getPromptComments: (promptId: string) =>
-    api.get(`/api/search/prompt/${promptId}/comments`),
+  // 프롬프트 댓글 목록 조회 (search-service - 인증 불필요, 최신순 커서 페이지네이션)
+  getPromptComments: (promptId: string, size: number = 20, cursor?: string) => {
+    const params = new URLSearchParams({ size: size.toString() });
+    if (cursor) params.append('cursor', cursor);
+    return api.get(`/api/search/prompt/${promptId}/comments?${params.toString()}`);
+  },
 
   // 사용자별 프롬프트 조회 (search-service)
   getPromptsByUser: (userId: string, size: number = 20) =>
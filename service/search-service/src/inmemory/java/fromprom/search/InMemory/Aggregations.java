@@ -0,0 +1,286 @@
+package fromprom.search.InMemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 인메모리 OpenSearch 집계 (typed_keys 형식 응답: "sterms#name", "filter#name" 등)
+ * - 지원: filter, terms, histogram, range, avg, sum, min, max, value_count, cardinality
+ */
+final class Aggregations {
+
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    private Aggregations() {
+    }
+
+    static ObjectNode compute(JsonNode aggregations, List<StoredDocument> docs, QueryMatcher matcher) {
+        ObjectNode result = JSON.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> entries = aggregations.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            compute(result, entry.getKey(), entry.getValue(), docs, matcher);
+        }
+        return result;
+    }
+
+    private static void compute(ObjectNode result, String name, JsonNode spec, List<StoredDocument> docs,
+                                QueryMatcher matcher) {
+        JsonNode subAggregations = spec.has("aggregations") ? spec.get("aggregations") : spec.get("aggs");
+        String type = null;
+        JsonNode body = null;
+        Iterator<Map.Entry<String, JsonNode>> fields = spec.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getKey().equals("aggregations") && !field.getKey().equals("aggs") && !field.getKey().equals("meta")) {
+                type = field.getKey();
+                body = field.getValue();
+            }
+        }
+        if (type == null) {
+            throw OpenSearchError.badRequest("aggregation [" + name + "] has no type");
+        }
+
+        switch (type) {
+            case "filter": {
+                List<StoredDocument> filtered = new ArrayList<>();
+                for (StoredDocument doc : docs) {
+                    if (matcher.matches(body, doc)) {
+                        filtered.add(doc);
+                    }
+                }
+                ObjectNode node = result.putObject("filter#" + name);
+                node.put("doc_count", filtered.size());
+                addSubAggregations(node, subAggregations, filtered, matcher);
+                break;
+            }
+            case "terms":
+                terms(result, name, body, subAggregations, docs, matcher);
+                break;
+            case "histogram":
+                histogram(result, name, body, subAggregations, docs, matcher);
+                break;
+            case "range":
+                range(result, name, body, subAggregations, docs, matcher);
+                break;
+            case "avg":
+            case "sum":
+            case "min":
+            case "max":
+            case "value_count":
+            case "cardinality":
+                metric(result, type, name, body.path("field").asText(), docs);
+                break;
+            default:
+                throw OpenSearchError.badRequest("unknown aggregation type [" + type + "] (not supported by memory stand-in)");
+        }
+    }
+
+    private static void terms(ObjectNode result, String name, JsonNode body, JsonNode subAggregations,
+                              List<StoredDocument> docs, QueryMatcher matcher) {
+        String field = body.path("field").asText();
+        int size = body.path("size").asInt(10);
+        long minDocCount = body.path("min_doc_count").asLong(1);
+
+        Map<String, List<StoredDocument>> buckets = new LinkedHashMap<>();
+        boolean numeric = true;
+        boolean integral = true;
+        for (StoredDocument doc : docs) {
+            Set<String> seen = new HashSet<>();
+            for (JsonNode value : doc.values(field)) {
+                if (!value.isValueNode()) {
+                    continue;
+                }
+                numeric &= value.isNumber();
+                integral &= value.isIntegralNumber();
+                String key = value.isNumber() ? value.numberValue().toString() : value.asText();
+                if (seen.add(key)) {
+                    buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(doc);
+                }
+            }
+        }
+
+        // 문서 수 내림차순, 같으면 키 오름차순
+        List<Map.Entry<String, List<StoredDocument>>> ordered = new ArrayList<>(buckets.entrySet());
+        ordered.removeIf(bucket -> bucket.getValue().size() < minDocCount);
+        ordered.sort((a, b) -> a.getValue().size() != b.getValue().size()
+                ? Integer.compare(b.getValue().size(), a.getValue().size())
+                : a.getKey().compareTo(b.getKey()));
+
+        String prefix = buckets.isEmpty() || !numeric ? "sterms#" : integral ? "lterms#" : "dterms#";
+        ObjectNode node = result.putObject(prefix + name);
+        node.put("doc_count_error_upper_bound", 0);
+        long other = 0;
+        ArrayNode array = node.putArray("buckets");
+        for (int i = 0; i < ordered.size(); i++) {
+            Map.Entry<String, List<StoredDocument>> bucket = ordered.get(i);
+            if (i >= size) {
+                other += bucket.getValue().size();
+                continue;
+            }
+            ObjectNode bucketNode = array.addObject();
+            if (prefix.equals("sterms#")) {
+                bucketNode.put("key", bucket.getKey());
+            } else if (prefix.equals("lterms#")) {
+                bucketNode.put("key", Long.parseLong(bucket.getKey()));
+            } else {
+                bucketNode.put("key", Double.parseDouble(bucket.getKey()));
+            }
+            bucketNode.put("doc_count", bucket.getValue().size());
+            addSubAggregations(bucketNode, subAggregations, bucket.getValue(), matcher);
+        }
+        node.put("sum_other_doc_count", other);
+    }
+
+    private static void histogram(ObjectNode result, String name, JsonNode body, JsonNode subAggregations,
+                                  List<StoredDocument> docs, QueryMatcher matcher) {
+        String field = body.path("field").asText();
+        double interval = body.path("interval").asDouble();
+        long minDocCount = body.path("min_doc_count").asLong(0);
+        if (interval <= 0) {
+            throw OpenSearchError.badRequest("[interval] must be >0 for histogram aggregation [" + name + "]");
+        }
+
+        TreeMap<Double, List<StoredDocument>> buckets = new TreeMap<>();
+        for (StoredDocument doc : docs) {
+            Set<Double> seen = new HashSet<>();
+            for (JsonNode value : doc.values(field)) {
+                if (value.isNumber() || value.isTextual() && isDouble(value.asText())) {
+                    double key = Math.floor(value.asDouble() / interval) * interval;
+                    if (seen.add(key)) {
+                        buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(doc);
+                    }
+                }
+            }
+        }
+        // min_doc_count=0이면 최소~최대 사이 빈 버킷도 채움
+        if (minDocCount == 0 && !buckets.isEmpty()) {
+            for (double key = buckets.firstKey(); key < buckets.lastKey(); key += interval) {
+                buckets.putIfAbsent(key, new ArrayList<>());
+            }
+        }
+
+        ArrayNode array = result.putObject("histogram#" + name).putArray("buckets");
+        buckets.forEach((key, bucketDocs) -> {
+            if (bucketDocs.size() >= minDocCount) {
+                ObjectNode bucketNode = array.addObject();
+                bucketNode.put("key", key);
+                bucketNode.put("doc_count", bucketDocs.size());
+                addSubAggregations(bucketNode, subAggregations, bucketDocs, matcher);
+            }
+        });
+    }
+
+    private static void range(ObjectNode result, String name, JsonNode body, JsonNode subAggregations,
+                              List<StoredDocument> docs, QueryMatcher matcher) {
+        String field = body.path("field").asText();
+        ArrayNode array = result.putObject("range#" + name).putArray("buckets");
+        for (JsonNode range : body.path("ranges")) {
+            Double from = range.hasNonNull("from") ? range.get("from").asDouble() : null;
+            Double to = range.hasNonNull("to") ? range.get("to").asDouble() : null;
+            List<StoredDocument> bucketDocs = new ArrayList<>();
+            for (StoredDocument doc : docs) {
+                for (JsonNode value : doc.values(field)) {
+                    double number = value.asDouble();
+                    if ((value.isNumber() || isDouble(value.asText()))
+                            && (from == null || number >= from) && (to == null || number < to)) {
+                        bucketDocs.add(doc);
+                        break;
+                    }
+                }
+            }
+            ObjectNode bucketNode = array.addObject();
+            bucketNode.put("key", range.hasNonNull("key") ? range.get("key").asText()
+                    : (from != null ? from.toString() : "*") + "-" + (to != null ? to.toString() : "*"));
+            if (from != null) {
+                bucketNode.put("from", from);
+            }
+            if (to != null) {
+                bucketNode.put("to", to);
+            }
+            bucketNode.put("doc_count", bucketDocs.size());
+            addSubAggregations(bucketNode, subAggregations, bucketDocs, matcher);
+        }
+    }
+
+    private static void metric(ObjectNode result, String type, String name, String field, List<StoredDocument> docs) {
+        ObjectNode node = result.putObject(type + "#" + name);
+        if (type.equals("cardinality") || type.equals("value_count")) {
+            Set<String> distinct = new HashSet<>();
+            long count = 0;
+            for (StoredDocument doc : docs) {
+                for (JsonNode value : doc.values(field)) {
+                    distinct.add(value.asText());
+                    count++;
+                }
+            }
+            node.put("value", type.equals("cardinality") ? distinct.size() : count);
+            return;
+        }
+
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long count = 0;
+        for (StoredDocument doc : docs) {
+            for (JsonNode value : doc.values(field)) {
+                if (value.isNumber()) {
+                    double number = value.asDouble();
+                    sum += number;
+                    min = Math.min(min, number);
+                    max = Math.max(max, number);
+                    count++;
+                }
+            }
+        }
+        switch (type) {
+            case "sum":
+                node.put("value", sum);
+                break;
+            case "avg":
+                putNullable(node, count > 0 ? sum / count : null);
+                break;
+            case "min":
+                putNullable(node, count > 0 ? min : null);
+                break;
+            default:
+                putNullable(node, count > 0 ? max : null);
+                break;
+        }
+    }
+
+    private static void putNullable(ObjectNode node, Double value) {
+        if (value != null) {
+            node.put("value", value);
+        } else {
+            node.putNull("value");
+        }
+    }
+
+    private static void addSubAggregations(ObjectNode node, JsonNode subAggregations, List<StoredDocument> docs,
+                                           QueryMatcher matcher) {
+        if (subAggregations != null) {
+            node.setAll(compute(subAggregations, docs, matcher));
+        }
+    }
+
+    private static boolean isDouble(String text) {
+        try {
+            Double.parseDouble(text);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
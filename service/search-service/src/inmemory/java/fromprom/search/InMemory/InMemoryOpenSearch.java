@@ -0,0 +1,1207 @@
+package fromprom.search.InMemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fromprom.common.InMemory.NdjsonLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인메모리 OpenSearch (부하 테스트/로컬 실행용 대역)
+ * - REST 요청(메서드, 경로, 쿼리 파라미터, JSON/NDJSON 본문)을 처리하여 (상태 코드, JSON 응답) 반환
+ *   → InMemoryOpenSearchTransport가 실제 OpenSearchClient의 요청/응답 직렬화 경로에 연결
+ * - 지원: _search, _msearch, _count, _bulk, _doc, _update_by_query(단순 대입 스크립트), _tasks,
+ *   인덱스 생성/삭제/존재 확인, _alias(es), _index_template, _mapping, _settings, _refresh,
+ *   PIT(_search/point_in_time: 생성 시점 문서 목록을 고정, keep_alive 만료 없음, _shard_doc은 _doc과 같이 색인 순서)
+ * - 검색은 역색인 없이 대상 인덱스 전체 문서를 순회 (수만 건 규모 기준), 분석 토큰은 문서별로 캐싱
+ * - 근사 동작: nori 대신 접미사/오타 허용 토큰 일치, BM25 대신 단순 tf 점수, 샤드/복제본/라우팅 구분 없음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "opensearch.mode", havingValue = "memory")
+public class InMemoryOpenSearch {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+    private static final int DEFAULT_TRACK_TOTAL_HITS = 10_000;
+
+    private final TextAnalyzer analyzer;
+    private final ConcurrentHashMap<String, IndexData> indices = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> aliases = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ObjectNode> templates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ObjectNode> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong taskIds = new AtomicLong();
+    private final ConcurrentHashMap<String, List<StoredDocument>> pits = new ConcurrentHashMap<>();
+    private final AtomicLong pitIds = new AtomicLong();
+
+    public InMemoryOpenSearch(
+            @Value("${opensearch.memory.max-analyzed-chars:2000}") int maxAnalyzedChars,
+            @Value("${opensearch.memory.seed-file:}") String seedFile) throws IOException {
+        this.analyzer = new TextAnalyzer(maxAnalyzedChars);
+        log.info("인메모리 OpenSearch 활성화 (분석 최대 {}자)", maxAnalyzedChars);
+        if (!seedFile.isBlank()) {
+            load(Path.of(seedFile));
+        }
+    }
+
+    // ===== 직접 적재 API (데이터셋 생성기/시드 파일용) =====
+
+    /**
+     * _bulk 형식 NDJSON 파일 적재 (.gz 지원)
+     */
+    public int load(Path file) throws IOException {
+        long start = System.currentTimeMillis();
+        int loaded = NdjsonLoader.load(file, 2000, lines -> {
+            List<JsonNode> parsed = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                try {
+                    parsed.add(OBJECT_MAPPER.readTree(line));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return bulk(null, parsed).path("items").size();
+        });
+        log.info("인메모리 OpenSearch 시드 적재: {} ({}건, {}ms)", file, loaded, System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    public void index(String index, String id, String routing, ObjectNode source) {
+        IndexData data = indices.computeIfAbsent(index, this::newIndex);
+        data.put(id, source, routing);
+    }
+
+    public long count(String index) {
+        long count = 0;
+        for (IndexData data : resolve(index, true)) {
+            count += data.docs.size();
+        }
+        return count;
+    }
+
+    // ===== REST 요청 처리 =====
+
+    /**
+     * @param body JSON 본문(1줄) 또는 NDJSON 본문(여러 줄), 본문이 없으면 빈 목록
+     */
+    Reply handle(String method, String url, Map<String, String> params, List<JsonNode> body) {
+        try {
+            return route(method, url, params, body);
+        } catch (OpenSearchError e) {
+            return new Reply(e.getStatus(), e.toJson());
+        }
+    }
+
+    private Reply route(String method, String url, Map<String, String> params, List<JsonNode> body) {
+        String path = url.contains("?") ? url.substring(0, url.indexOf('?')) : url;
+        List<String> parts = new ArrayList<>();
+        for (String part : path.split("/")) {
+            if (!part.isEmpty()) {
+                parts.add(java.net.URLDecoder.decode(part, StandardCharsets.UTF_8));
+            }
+        }
+        JsonNode single = body.isEmpty() ? JSON.objectNode() : body.get(0);
+
+        if (parts.isEmpty()) {
+            return ok(info());
+        }
+        String first = parts.get(0);
+        String target = first.startsWith("_") ? null : first;
+        String action = first.startsWith("_") ? first : parts.size() > 1 ? parts.get(1) : null;
+        String argument = first.startsWith("_") ? (parts.size() > 1 ? parts.get(1) : null) : (parts.size() > 2 ? parts.get(2) : null);
+
+        if (action == null) {
+            return indexAdmin(method, target, params, single);
+        }
+        switch (action) {
+            case "_search":
+                if ("point_in_time".equals(argument)) {
+                    return pit(method, target, single);
+                }
+                if (single.has("pit")) {
+                    return ok(pitSearch(single));
+                }
+                return ok(search(resolve(target, false), single));
+            case "_msearch":
+                return ok(msearch(target, body));
+            case "_count":
+                return ok(countResponse(resolve(target, false), single));
+            case "_bulk":
+                return ok(bulk(target, body));
+            case "_doc":
+                return document(method, target, argument, params, single);
+            case "_update_by_query":
+                return ok(updateByQuery(target, params, single));
+            case "_tasks":
+                return task(argument);
+            case "_alias":
+            case "_aliases":
+                return alias(method, target, argument, single);
+            case "_index_template":
+                return template(method, argument, single);
+            case "_mapping":
+                return ok(mapping(target));
+            case "_settings":
+                return settings(method, target, single);
+            case "_refresh":
+                return ok(shards());
+            default:
+                throw new OpenSearchError("illegal_argument_exception", 400,
+                        "unsupported endpoint [" + method + " " + path + "] (not supported by memory stand-in)");
+        }
+    }
+
+    // ===== 검색 =====
+
+    private ObjectNode search(List<IndexData> targets, JsonNode body) {
+        return search(targets, documents(targets), body);
+    }
+
+    private ObjectNode search(List<IndexData> targets, Iterable<StoredDocument> documents, JsonNode body) {
+        long start = System.nanoTime();
+        QueryMatcher matcher = new QueryMatcher(analyzer, () -> documents);
+        JsonNode query = body.get("query");
+
+        List<StoredDocument> matched = new ArrayList<>();
+        Map<StoredDocument, Float> scores = new HashMap<>();
+        for (StoredDocument doc : documents) {
+            float score = matcher.score(query, doc);
+            if (score >= 0) {
+                matched.add(doc);
+                scores.put(doc, score);
+            }
+        }
+
+        ObjectNode response = JSON.objectNode();
+        JsonNode aggregations = body.has("aggregations") ? body.get("aggregations") : body.get("aggs");
+        ObjectNode aggregationResult = aggregations != null ? Aggregations.compute(aggregations, matched, matcher) : null;
+
+        // post_filter는 집계 이후 히트에만 적용
+        JsonNode postFilter = body.get("post_filter");
+        if (postFilter != null) {
+            matched.removeIf(doc -> !matcher.matches(postFilter, doc));
+        }
+        int total = matched.size();
+
+        List<SortField> sort = SortField.parse(body.get("sort"));
+        Comparator<StoredDocument> order = SortField.comparator(sort, scores);
+        matched.sort(order);
+
+        JsonNode searchAfter = body.get("search_after");
+        if (searchAfter != null && !sort.isEmpty()) {
+            matched.removeIf(doc -> SortField.compareToAfter(sort, doc, scores.get(doc), searchAfter) <= 0);
+        }
+
+        int from = body.path("from").asInt(0);
+        int size = body.path("size").asInt(10);
+        boolean sortedByScore = sort.isEmpty() || sort.stream().anyMatch(field -> field.isScore)
+                || body.path("track_scores").asBoolean(false);
+
+        response.put("took", (System.nanoTime() - start) / 1_000_000);
+        response.put("timed_out", false);
+        response.set("_shards", shardStats(targets.size()));
+
+        ObjectNode hits = response.putObject("hits");
+        JsonNode trackTotalHits = body.get("track_total_hits");
+        if (trackTotalHits == null || !trackTotalHits.isBoolean() || trackTotalHits.asBoolean()) {
+            int limit = trackTotalHits == null ? DEFAULT_TRACK_TOTAL_HITS
+                    : trackTotalHits.isInt() ? trackTotalHits.asInt() : Integer.MAX_VALUE;
+            ObjectNode totalNode = hits.putObject("total");
+            totalNode.put("value", Math.min(total, limit));
+            totalNode.put("relation", total > limit ? "gte" : "eq");
+        }
+        float maxScore = 0;
+        for (StoredDocument doc : matched) {
+            maxScore = Math.max(maxScore, scores.get(doc));
+        }
+        if (sortedByScore && !matched.isEmpty()) {
+            hits.put("max_score", maxScore);
+        } else {
+            hits.putNull("max_score");
+        }
+
+        ArrayNode hitArray = hits.putArray("hits");
+        SourceFilter sourceFilter = SourceFilter.of(body.get("_source"));
+        for (int i = from; i < matched.size() && i < from + size; i++) {
+            StoredDocument doc = matched.get(i);
+            ObjectNode hit = hitArray.addObject();
+            hit.put("_index", doc.index);
+            hit.put("_id", doc.id);
+            if (sortedByScore) {
+                hit.put("_score", scores.get(doc));
+            } else {
+                hit.putNull("_score");
+            }
+            if (doc.routing != null) {
+                hit.put("_routing", doc.routing);
+            }
+            if (sourceFilter.enabled) {
+                hit.set("_source", sourceFilter.apply(doc.source));
+            }
+            if (!sort.isEmpty()) {
+                ArrayNode sortValues = hit.putArray("sort");
+                for (SortField field : sort) {
+                    sortValues.add(field.sortValue(doc, scores.get(doc)));
+                }
+            }
+        }
+
+        if (aggregationResult != null) {
+            response.set("aggregations", aggregationResult);
+        }
+        if (body.has("suggest")) {
+            response.set("suggest", suggest(targets, body.get("suggest")));
+        }
+        return response;
+    }
+
+    // ===== PIT =====
+
+    private Reply pit(String method, String target, JsonNode body) {
+        if ("DELETE".equals(method)) {
+            ObjectNode response = JSON.objectNode();
+            ArrayNode results = response.putArray("pits");
+            for (JsonNode id : body.path("pit_id")) {
+                ObjectNode result = results.addObject();
+                result.put("successful", pits.remove(id.asText()) != null);
+                result.put("pit_id", id.asText());
+            }
+            return ok(response);
+        }
+        List<IndexData> targets = resolve(target, false);
+        List<StoredDocument> snapshot = new ArrayList<>();
+        documents(targets).forEach(snapshot::add);
+        String id = "pit-" + pitIds.incrementAndGet();
+        pits.put(id, snapshot);
+
+        ObjectNode response = JSON.objectNode();
+        response.put("pit_id", id);
+        response.set("_shards", shardStats(targets.size()));
+        response.put("creation_time", System.currentTimeMillis());
+        return ok(response);
+    }
+
+    private ObjectNode pitSearch(JsonNode body) {
+        String id = body.path("pit").path("id").asText();
+        List<StoredDocument> snapshot = pits.get(id);
+        if (snapshot == null) {
+            throw new OpenSearchError("search_context_missing_exception", 404, "No search context found for id [" + id + "]");
+        }
+        List<IndexData> targets = new ArrayList<>();
+        for (StoredDocument doc : snapshot) {
+            IndexData index = indices.get(doc.index);
+            if (index != null && !targets.contains(index)) {
+                targets.add(index);
+            }
+        }
+        ObjectNode response = search(targets, snapshot, body);
+        response.put("pit_id", id);
+        return response;
+    }
+
+    private ObjectNode msearch(String defaultTarget, List<JsonNode> lines) {
+        long start = System.nanoTime();
+        ObjectNode response = JSON.objectNode();
+        ArrayNode responses = response.putArray("responses");
+        for (int i = 0; i + 1 < lines.size(); i += 2) {
+            JsonNode header = lines.get(i);
+            String target = header.has("index") ? joinIndices(header.get("index")) : defaultTarget;
+            try {
+                ObjectNode item = search(resolve(target, false), lines.get(i + 1));
+                item.put("status", 200);
+                responses.add(item);
+            } catch (OpenSearchError e) {
+                ObjectNode item = e.toJson();
+                responses.add(item);
+            }
+        }
+        response.put("took", (System.nanoTime() - start) / 1_000_000);
+        return response;
+    }
+
+    private ObjectNode countResponse(List<IndexData> targets, JsonNode body) {
+        QueryMatcher matcher = new QueryMatcher(analyzer, () -> documents(targets));
+        long count = 0;
+        for (StoredDocument doc : documents(targets)) {
+            if (matcher.matches(body.get("query"), doc)) {
+                count++;
+            }
+        }
+        ObjectNode response = JSON.objectNode();
+        response.put("count", count);
+        response.set("_shards", shardStats(targets.size()));
+        return response;
+    }
+
+    /**
+     * term suggester: 질의 단어가 필드 어휘에 없으면 편집 거리 2 이내의 가장 흔한 단어 제안
+     */
+    private ObjectNode suggest(List<IndexData> targets, JsonNode suggest) {
+        ObjectNode result = JSON.objectNode();
+        String globalText = suggest.path("text").asText(null);
+        Iterator<Map.Entry<String, JsonNode>> entries = suggest.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            if (entry.getKey().equals("text") || !entry.getValue().has("term")) {
+                continue;
+            }
+            JsonNode term = entry.getValue().get("term");
+            String text = entry.getValue().path("text").asText(globalText);
+            String field = term.path("field").asText();
+            int size = term.path("size").asInt(5);
+            Map<String, Integer> vocabulary = new HashMap<>();
+            for (IndexData data : targets) {
+                data.vocabulary(field, analyzer).forEach((word, freq) -> vocabulary.merge(word, freq, Integer::sum));
+            }
+
+            ArrayNode entryArray = result.putArray("term#" + entry.getKey());
+            for (TextAnalyzer.Token token : analyzer.analyze(text)) {
+                ObjectNode suggestion = entryArray.addObject();
+                suggestion.put("text", token.text);
+                suggestion.put("offset", token.offset);
+                suggestion.put("length", token.length);
+                ArrayNode options = suggestion.putArray("options");
+                if (vocabulary.containsKey(token.text) || token.text.length() < 4) {
+                    continue;
+                }
+                List<Map.Entry<String, Integer>> candidates = new ArrayList<>();
+                for (Map.Entry<String, Integer> word : vocabulary.entrySet()) {
+                    if (word.getKey().charAt(0) == token.text.charAt(0)
+                            && TextAnalyzer.editDistance(token.text, word.getKey(), 2) <= 2) {
+                        candidates.add(word);
+                    }
+                }
+                candidates.sort((a, b) -> {
+                    int distance = Integer.compare(TextAnalyzer.editDistance(token.text, a.getKey(), 2),
+                            TextAnalyzer.editDistance(token.text, b.getKey(), 2));
+                    return distance != 0 ? distance : Integer.compare(b.getValue(), a.getValue());
+                });
+                for (int i = 0; i < candidates.size() && i < size; i++) {
+                    Map.Entry<String, Integer> candidate = candidates.get(i);
+                    ObjectNode option = options.addObject();
+                    option.put("text", candidate.getKey());
+                    option.put("score", 1.0 - (double) TextAnalyzer.editDistance(token.text, candidate.getKey(), 2)
+                            / token.text.length());
+                    option.put("freq", candidate.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    // ===== 색인 =====
+
+    private ObjectNode bulk(String defaultIndex, List<JsonNode> lines) {
+        long start = System.nanoTime();
+        ObjectNode response = JSON.objectNode();
+        ArrayNode items = response.putArray("items");
+        boolean errors = false;
+        int i = 0;
+        while (i < lines.size()) {
+            JsonNode actionLine = lines.get(i++);
+            String action = actionLine.fieldNames().next();
+            JsonNode meta = actionLine.get(action);
+            String indexName = meta.path("_index").asText(defaultIndex);
+            String id = meta.path("_id").asText(null);
+            String routing = meta.has("routing") ? meta.get("routing").asText() : meta.path("_routing").asText(null);
+            JsonNode document = action.equals("delete") ? null : lines.get(i++);
+
+            ObjectNode item = items.addObject().putObject(action);
+            item.put("_index", indexName);
+            try {
+                IndexData index = indices.computeIfAbsent(indexName, this::newIndex);
+                StoredDocument written;
+                int status;
+                String result;
+                switch (action) {
+                    case "index":
+                    case "create": {
+                        if (id == null) {
+                            id = java.util.UUID.randomUUID().toString();
+                        }
+                        if (action.equals("create") && index.docs.containsKey(id)) {
+                            throw new OpenSearchError("version_conflict_engine_exception", 409,
+                                    "[" + id + "]: version conflict, document already exists");
+                        }
+                        StoredDocument previous = index.docs.get(id);
+                        written = index.put(id, (ObjectNode) document, routing);
+                        status = previous == null ? 201 : 200;
+                        result = previous == null ? "created" : "updated";
+                        break;
+                    }
+                    case "update": {
+                        StoredDocument previous = index.docs.get(id);
+                        JsonNode partial = document.get("doc");
+                        if (previous == null) {
+                            JsonNode upsert = document.path("doc_as_upsert").asBoolean(false) ? partial : document.get("upsert");
+                            if (upsert == null) {
+                                throw new OpenSearchError("document_missing_exception", 404, "[" + id + "]: document missing");
+                            }
+                            written = index.put(id, ((ObjectNode) upsert).deepCopy(), routing);
+                            status = 201;
+                            result = "created";
+                        } else {
+                            ObjectNode merged = previous.source.deepCopy();
+                            merge(merged, partial);
+                            written = index.put(id, merged, previous.routing);
+                            status = 200;
+                            result = "updated";
+                        }
+                        break;
+                    }
+                    case "delete": {
+                        StoredDocument previous = index.docs.remove(id);
+                        written = previous;
+                        status = previous != null ? 200 : 404;
+                        result = previous != null ? "deleted" : "not_found";
+                        break;
+                    }
+                    default:
+                        throw OpenSearchError.badRequest("unknown bulk action [" + action + "]");
+                }
+                item.put("_id", id);
+                item.put("_version", written != null ? written.version : 1);
+                item.put("result", result);
+                item.set("_shards", shardStats(1));
+                item.put("_seq_no", written != null ? written.seqNo : 0);
+                item.put("_primary_term", 1);
+                item.put("status", status);
+            } catch (OpenSearchError e) {
+                errors = true;
+                item.put("_id", id);
+                item.put("status", e.getStatus());
+                item.set("error", e.toJson().get("error"));
+            }
+        }
+        response.put("took", (System.nanoTime() - start) / 1_000_000);
+        response.put("errors", errors);
+        return response;
+    }
+
+    private Reply document(String method, String indexName, String id, Map<String, String> params, JsonNode body) {
+        ObjectNode response = JSON.objectNode();
+        response.put("_index", indexName);
+        response.put("_id", id);
+        if (method.equals("GET") || method.equals("HEAD")) {
+            IndexData index = single(indexName);
+            StoredDocument doc = index.docs.get(id);
+            if (doc == null) {
+                response.put("found", false);
+                return new Reply(404, response);
+            }
+            response.put("_version", doc.version);
+            response.put("_seq_no", doc.seqNo);
+            response.put("_primary_term", 1);
+            response.put("found", true);
+            if (doc.routing != null) {
+                response.put("_routing", doc.routing);
+            }
+            SourceFilter filter = SourceFilter.of(params.get("_source_includes"), params.get("_source_excludes"));
+            response.set("_source", filter.apply(doc.source));
+            return ok(response);
+        }
+        if (method.equals("DELETE")) {
+            StoredDocument previous = single(indexName).docs.remove(id);
+            response.put("result", previous != null ? "deleted" : "not_found");
+            response.set("_shards", shardStats(1));
+            return new Reply(previous != null ? 200 : 404, response);
+        }
+        IndexData index = indices.computeIfAbsent(indexName, this::newIndex);
+        boolean created = !index.docs.containsKey(id);
+        StoredDocument doc = index.put(id, (ObjectNode) body, params.get("routing"));
+        response.put("_version", doc.version);
+        response.put("result", created ? "created" : "updated");
+        response.set("_shards", shardStats(1));
+        response.put("_seq_no", doc.seqNo);
+        response.put("_primary_term", 1);
+        return new Reply(created ? 201 : 200, response);
+    }
+
+    /**
+     * _update_by_query: 동기 실행 후 결과를 작업으로 저장 (wait_for_completion=false면 작업 ID만 반환)
+     * - 스크립트는 "ctx._source.필드 = params.이름 (또는 리터럴)" 대입문만 지원
+     */
+    private ObjectNode updateByQuery(String target, Map<String, String> params, JsonNode body) {
+        long start = System.nanoTime();
+        List<IndexData> targets = resolve(target, false);
+        List<String[]> assignments = parseScript(body.path("script"));
+        JsonNode scriptParams = body.path("script").path("params");
+        QueryMatcher matcher = new QueryMatcher(analyzer, () -> documents(targets));
+
+        long total = 0;
+        for (IndexData index : targets) {
+            for (StoredDocument doc : index.docs.values()) {
+                if (!matcher.matches(body.get("query"), doc)) {
+                    continue;
+                }
+                total++;
+                ObjectNode updated = doc.source.deepCopy();
+                for (String[] assignment : assignments) {
+                    JsonNode value = assignment[1].startsWith("params.")
+                            ? scriptParams.get(assignment[1].substring("params.".length()))
+                            : parseLiteral(assignment[1]);
+                    setPath(updated, assignment[0], value);
+                }
+                index.put(doc.id, updated, doc.routing);
+            }
+        }
+
+        ObjectNode status = JSON.objectNode();
+        status.put("took", (System.nanoTime() - start) / 1_000_000);
+        status.put("timed_out", false);
+        status.put("total", total);
+        status.put("updated", total);
+        status.put("created", 0);
+        status.put("deleted", 0);
+        status.put("batches", total > 0 ? 1 + (total - 1) / 1000 : 0);
+        status.put("version_conflicts", 0);
+        status.put("noops", 0);
+        status.putObject("retries").put("bulk", 0).put("search", 0);
+        status.put("throttled_millis", 0);
+        status.put("requests_per_second", -1.0);
+        status.put("throttled_until_millis", 0);
+        status.putArray("failures");
+
+        if (!"false".equals(params.get("wait_for_completion"))) {
+            return status;
+        }
+        long taskId = taskIds.incrementAndGet();
+        String taskKey = "memory:" + taskId;
+        ObjectNode taskResult = JSON.objectNode();
+        taskResult.put("completed", true);
+        ObjectNode task = taskResult.putObject("task");
+        task.put("node", "memory");
+        task.put("id", taskId);
+        task.put("type", "transport");
+        task.put("action", "indices:data/write/update/byquery");
+        ObjectNode taskStatus = task.putObject("status");
+        taskStatus.put("total", total).put("updated", total).put("created", 0).put("deleted", 0)
+                .put("batches", status.get("batches").asLong()).put("version_conflicts", 0).put("noops", 0)
+                .put("requests_per_second", -1.0).put("throttled_millis", 0).put("throttled_until_millis", 0);
+        taskStatus.putObject("retries").put("bulk", 0).put("search", 0);
+        task.put("description", "update-by-query " + targets.stream().map(index -> index.name).toList());
+        task.put("start_time_in_millis", System.currentTimeMillis());
+        task.put("running_time_in_nanos", System.nanoTime() - start);
+        task.put("cancellable", true);
+        taskResult.set("response", status);
+        tasks.put(taskKey, taskResult);
+
+        ObjectNode response = JSON.objectNode();
+        response.put("task", taskKey);
+        return response;
+    }
+
+    private static List<String[]> parseScript(JsonNode script) {
+        String source = script.isTextual() ? script.asText() : script.path("source").asText();
+        List<String[]> assignments = new ArrayList<>();
+        for (String statement : source.split(";")) {
+            if (statement.isBlank()) {
+                continue;
+            }
+            String[] sides = statement.split("=", 2);
+            String left = sides[0].trim();
+            if (sides.length != 2 || !left.startsWith("ctx._source.") || sides[1].trim().isEmpty()) {
+                throw new OpenSearchError("script_exception", 400,
+                        "only 'ctx._source.field = value' statements are supported by memory stand-in: " + statement.trim());
+            }
+            assignments.add(new String[]{left.substring("ctx._source.".length()), sides[1].trim()});
+        }
+        return assignments;
+    }
+
+    private static JsonNode parseLiteral(String literal) {
+        try {
+            return OBJECT_MAPPER.readTree(literal.replace('\'', '"'));
+        } catch (IOException e) {
+            throw new OpenSearchError("script_exception", 400, "unsupported script value: " + literal);
+        }
+    }
+
+    private Reply task(String taskId) {
+        ObjectNode task = taskId != null ? tasks.get(taskId) : null;
+        if (task == null) {
+            throw new OpenSearchError("resource_not_found_exception", 404, "task [" + taskId + "] isn't running and hasn't stored its results");
+        }
+        return ok(task);
+    }
+
+    // ===== 인덱스 관리 =====
+
+    private Reply indexAdmin(String method, String indexName, Map<String, String> params, JsonNode body) {
+        switch (method) {
+            case "HEAD":
+                return new Reply(indices.containsKey(indexName) || aliases.containsKey(indexName) ? 200 : 404, JSON.objectNode());
+            case "PUT": {
+                IndexData created = newIndex(indexName);
+                if (body.has("mappings")) {
+                    created.mappings = (ObjectNode) body.get("mappings");
+                }
+                if (body.has("settings")) {
+                    created.settings.setAll((ObjectNode) body.get("settings"));
+                }
+                if (indices.putIfAbsent(indexName, created) != null) {
+                    throw new OpenSearchError("resource_already_exists_exception", 400,
+                            "index [" + indexName + "] already exists");
+                }
+                if (body.has("aliases")) {
+                    body.get("aliases").fieldNames().forEachRemaining(alias -> addAlias(alias, indexName));
+                }
+                ObjectNode response = JSON.objectNode();
+                response.put("acknowledged", true);
+                response.put("shards_acknowledged", true);
+                response.put("index", indexName);
+                return ok(response);
+            }
+            case "DELETE": {
+                boolean ignoreUnavailable = "true".equals(params.get("ignore_unavailable"));
+                for (String name : indexName.split(",")) {
+                    if (indices.remove(name) == null && !ignoreUnavailable) {
+                        throw OpenSearchError.indexNotFound(name);
+                    }
+                    aliases.values().forEach(members -> members.remove(name));
+                }
+                return acknowledged();
+            }
+            case "GET": {
+                ObjectNode response = JSON.objectNode();
+                for (IndexData index : resolve(indexName, false)) {
+                    ObjectNode node = response.putObject(index.name);
+                    node.putObject("aliases");
+                    node.set("mappings", index.mappings);
+                    node.putObject("settings").set("index", index.settings);
+                }
+                return ok(response);
+            }
+            default:
+                throw OpenSearchError.badRequest("unsupported index request [" + method + " /" + indexName + "]");
+        }
+    }
+
+    private Reply alias(String method, String indexName, String aliasName, JsonNode body) {
+        if (method.equals("POST") && aliasName == null && indexName == null) {
+            for (JsonNode action : body.path("actions")) {
+                String type = action.fieldNames().next();
+                JsonNode spec = action.get(type);
+                switch (type) {
+                    case "add":
+                        addAlias(spec.path("alias").asText(), spec.path("index").asText());
+                        break;
+                    case "remove": {
+                        Set<String> members = aliases.get(spec.path("alias").asText());
+                        if (members != null) {
+                            members.remove(spec.path("index").asText());
+                            if (members.isEmpty()) {
+                                aliases.remove(spec.path("alias").asText(), members);
+                            }
+                        }
+                        break;
+                    }
+                    case "remove_index":
+                        indices.remove(spec.path("index").asText());
+                        break;
+                    default:
+                        throw OpenSearchError.badRequest("unknown alias action [" + type + "]");
+                }
+            }
+            return acknowledged();
+        }
+        if (method.equals("PUT")) {
+            addAlias(aliasName, indexName);
+            return acknowledged();
+        }
+
+        ObjectNode response = JSON.objectNode();
+        aliases.forEach((alias, members) -> {
+            if (aliasName == null || alias.equals(aliasName)) {
+                for (String member : members) {
+                    if (indexName == null || indexName.equals(member)) {
+                        ObjectNode memberNode = response.has(member) ? (ObjectNode) response.get(member) : response.putObject(member);
+                        (memberNode.has("aliases") ? (ObjectNode) memberNode.get("aliases") : memberNode.putObject("aliases"))
+                                .putObject(alias);
+                    }
+                }
+            }
+        });
+        if (aliasName != null && response.isEmpty()) {
+            throw new OpenSearchError("aliases_not_found_exception", 404, "alias [" + aliasName + "] missing");
+        }
+        return ok(response);
+    }
+
+    private void addAlias(String alias, String indexName) {
+        if (!indices.containsKey(indexName)) {
+            throw OpenSearchError.indexNotFound(indexName);
+        }
+        aliases.computeIfAbsent(alias, name -> ConcurrentHashMap.newKeySet()).add(indexName);
+    }
+
+    private Reply template(String method, String name, JsonNode body) {
+        switch (method) {
+            case "PUT":
+            case "POST": {
+                ObjectNode template = ((ObjectNode) body).deepCopy();
+                if (!template.has("composed_of")) {
+                    template.putArray("composed_of");
+                }
+                templates.put(name, template);
+                return acknowledged();
+            }
+            case "DELETE":
+                if (templates.remove(name) == null) {
+                    throw new OpenSearchError("index_template_missing_exception", 404, "index_template [" + name + "] missing");
+                }
+                return acknowledged();
+            default: {
+                ObjectNode response = JSON.objectNode();
+                ArrayNode list = response.putArray("index_templates");
+                templates.forEach((templateName, template) -> {
+                    if (name == null || name.equals(templateName)) {
+                        ObjectNode entry = list.addObject();
+                        entry.put("name", templateName);
+                        entry.set("index_template", template);
+                    }
+                });
+                if (name != null && list.isEmpty()) {
+                    throw new OpenSearchError("resource_not_found_exception", 404, "index template matching [" + name + "] not found");
+                }
+                return ok(response);
+            }
+        }
+    }
+
+    private ObjectNode mapping(String target) {
+        ObjectNode response = JSON.objectNode();
+        for (IndexData index : resolve(target, false)) {
+            response.putObject(index.name).set("mappings", index.mappings);
+        }
+        return response;
+    }
+
+    private Reply settings(String method, String target, JsonNode body) {
+        if (method.equals("GET")) {
+            ObjectNode response = JSON.objectNode();
+            for (IndexData index : resolve(target, false)) {
+                response.putObject(index.name).putObject("settings").set("index", index.settings);
+            }
+            return ok(response);
+        }
+        JsonNode settings = body.has("index") ? body.get("index") : body;
+        for (IndexData index : resolve(target, false)) {
+            if (settings.isObject()) {
+                index.settings.setAll((ObjectNode) settings);
+            }
+        }
+        return acknowledged();
+    }
+
+    /**
+     * 새 인덱스 생성 시 이름이 index_patterns에 맞는 템플릿의 매핑/설정 적용
+     */
+    private IndexData newIndex(String name) {
+        IndexData index = new IndexData(name);
+        templates.values().stream()
+                .filter(template -> matchesAny(template.path("index_patterns"), name))
+                .max(Comparator.comparingInt(template -> template.path("priority").asInt(0)))
+                .ifPresent(template -> {
+                    JsonNode body = template.path("template");
+                    if (body.has("mappings")) {
+                        index.mappings = ((ObjectNode) body.get("mappings")).deepCopy();
+                    }
+                    if (body.has("settings")) {
+                        index.settings.setAll(((ObjectNode) body.get("settings")).deepCopy());
+                    }
+                });
+        return index;
+    }
+
+    /**
+     * 인덱스 표현식(쉼표 목록, 별칭, * 패턴, _all) → 인덱스 목록
+     */
+    private List<IndexData> resolve(String expression, boolean lenient) {
+        Set<String> names = new LinkedHashSet<>();
+        if (expression == null || expression.isEmpty() || expression.equals("_all") || expression.equals("*")) {
+            names.addAll(indices.keySet());
+        } else {
+            for (String part : expression.split(",")) {
+                if (part.contains("*")) {
+                    String regex = part.replace(".", "\\.").replace("*", ".*");
+                    indices.keySet().stream().filter(name -> name.matches(regex)).forEach(names::add);
+                } else if (aliases.containsKey(part)) {
+                    names.addAll(aliases.get(part));
+                } else if (indices.containsKey(part)) {
+                    names.add(part);
+                } else if (!lenient) {
+                    throw OpenSearchError.indexNotFound(part);
+                }
+            }
+        }
+        List<IndexData> resolved = new ArrayList<>();
+        for (String name : names) {
+            IndexData index = indices.get(name);
+            if (index != null) {
+                resolved.add(index);
+            }
+        }
+        return resolved;
+    }
+
+    private IndexData single(String expression) {
+        List<IndexData> resolved = resolve(expression, false);
+        if (resolved.size() != 1) {
+            throw new OpenSearchError("illegal_argument_exception", 400,
+                    "alias [" + expression + "] has more than one index associated with it");
+        }
+        return resolved.get(0);
+    }
+
+    private static Iterable<StoredDocument> documents(List<IndexData> targets) {
+        if (targets.size() == 1) {
+            return targets.get(0).docs.values();
+        }
+        List<StoredDocument> all = new ArrayList<>();
+        for (IndexData index : targets) {
+            all.addAll(index.docs.values());
+        }
+        return all;
+    }
+
+    private final class IndexData {
+        final String name;
+        final ConcurrentSkipListMap<String, StoredDocument> docs = new ConcurrentSkipListMap<>();
+        final ObjectNode settings = JSON.objectNode();
+        final AtomicLong seqNo = new AtomicLong();
+        volatile ObjectNode mappings = JSON.objectNode();
+        // term suggester용 필드 어휘 캐시 (색인 시 무효화)
+        private final ConcurrentHashMap<String, Map<String, Integer>> vocabularies = new ConcurrentHashMap<>();
+
+        IndexData(String name) {
+            this.name = name;
+            settings.put("number_of_shards", "1");
+            settings.put("number_of_replicas", "0");
+        }
+
+        StoredDocument put(String id, ObjectNode source, String routing) {
+            StoredDocument previous = docs.get(id);
+            StoredDocument doc = new StoredDocument(name, id, source, routing,
+                    previous != null ? previous.version + 1 : 1, seqNo.getAndIncrement());
+            docs.put(id, doc);
+            vocabularies.clear();
+            return doc;
+        }
+
+        Map<String, Integer> vocabulary(String field, TextAnalyzer analyzer) {
+            return vocabularies.computeIfAbsent(field, key -> {
+                Map<String, Integer> frequencies = new HashMap<>();
+                for (StoredDocument doc : docs.values()) {
+                    for (String token : new LinkedHashSet<>(doc.tokens(field, analyzer))) {
+                        frequencies.merge(token, 1, Integer::sum);
+                    }
+                }
+                return frequencies;
+            });
+        }
+    }
+
+    // ===== 응답 헬퍼 =====
+
+    private static boolean matchesAny(JsonNode patterns, String name) {
+        for (JsonNode pattern : patterns.isArray() ? patterns : JSON.arrayNode().add(patterns)) {
+            String regex = pattern.asText().replace(".", "\\.").replace("*", ".*");
+            if (name.matches(regex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String joinIndices(JsonNode index) {
+        if (!index.isArray()) {
+            return index.asText();
+        }
+        List<String> names = new ArrayList<>();
+        index.forEach(name -> names.add(name.asText()));
+        return String.join(",", names);
+    }
+
+    private static void merge(ObjectNode target, JsonNode partial) {
+        if (partial == null) {
+            return;
+        }
+        partial.fields().forEachRemaining(field -> {
+            JsonNode existing = target.get(field.getKey());
+            if (existing != null && existing.isObject() && field.getValue().isObject()) {
+                merge((ObjectNode) existing, field.getValue());
+            } else {
+                target.set(field.getKey(), field.getValue());
+            }
+        });
+    }
+
+    private static void setPath(ObjectNode target, String path, JsonNode value) {
+        String[] segments = path.split("\\.");
+        ObjectNode current = target;
+        for (int i = 0; i < segments.length - 1; i++) {
+            JsonNode next = current.get(segments[i]);
+            current = next != null && next.isObject() ? (ObjectNode) next : current.putObject(segments[i]);
+        }
+        current.set(segments[segments.length - 1], value);
+    }
+
+    private static ObjectNode shardStats(int total) {
+        ObjectNode shards = JSON.objectNode();
+        shards.put("total", Math.max(total, 1));
+        shards.put("successful", Math.max(total, 1));
+        shards.put("skipped", 0);
+        shards.put("failed", 0);
+        return shards;
+    }
+
+    private static ObjectNode shards() {
+        ObjectNode response = JSON.objectNode();
+        response.set("_shards", shardStats(1));
+        return response;
+    }
+
+    private static ObjectNode info() {
+        ObjectNode info = JSON.objectNode();
+        info.put("name", "memory");
+        info.put("cluster_name", "memory");
+        info.put("cluster_uuid", "memory");
+        ObjectNode version = info.putObject("version");
+        version.put("distribution", "opensearch");
+        version.put("number", "2.19.0");
+        version.put("build_type", "memory");
+        version.put("build_hash", "memory");
+        version.put("build_date", "1970-01-01T00:00:00Z");
+        version.put("build_snapshot", false);
+        version.put("lucene_version", "9.12.0");
+        version.put("minimum_wire_compatibility_version", "7.10.0");
+        version.put("minimum_index_compatibility_version", "7.0.0");
+        info.put("tagline", "The OpenSearch Project: https://opensearch.org/");
+        return info;
+    }
+
+    private static Reply acknowledged() {
+        ObjectNode response = JSON.objectNode();
+        response.put("acknowledged", true);
+        return ok(response);
+    }
+
+    private static Reply ok(ObjectNode body) {
+        return new Reply(200, body);
+    }
+
+    static final class Reply {
+        final int status;
+        final ObjectNode body;
+
+        Reply(int status, ObjectNode body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * sort 절의 한 항목 (_score, _id, _doc 또는 필드)
+     */
+    private static final class SortField {
+        final String field;
+        final boolean descending;
+        final boolean isScore;
+        final boolean missingFirst;
+
+        private SortField(String field, boolean descending, boolean missingFirst) {
+            this.field = field;
+            this.descending = descending;
+            this.isScore = field.equals("_score");
+            this.missingFirst = missingFirst;
+        }
+
+        static List<SortField> parse(JsonNode sort) {
+            List<SortField> fields = new ArrayList<>();
+            if (sort == null) {
+                return fields;
+            }
+            for (JsonNode entry : sort.isArray() ? sort : JSON.arrayNode().add(sort)) {
+                if (entry.isTextual()) {
+                    fields.add(new SortField(entry.asText(), entry.asText().equals("_score"), false));
+                    continue;
+                }
+                Map.Entry<String, JsonNode> spec = entry.fields().next();
+                JsonNode options = spec.getValue();
+                String order = options.isTextual() ? options.asText() : options.path("order").asText(null);
+                boolean descending = order != null ? order.equals("desc") : spec.getKey().equals("_score");
+                boolean missingFirst = "_first".equals(options.path("missing").asText());
+                fields.add(new SortField(spec.getKey(), descending, missingFirst));
+            }
+            return fields;
+        }
+
+        static Comparator<StoredDocument> comparator(List<SortField> sort, Map<StoredDocument, Float> scores) {
+            if (sort.isEmpty()) {
+                return (a, b) -> Float.compare(scores.get(b), scores.get(a));
+            }
+            return (a, b) -> {
+                for (SortField field : sort) {
+                    int order = field.compare(field.value(a, scores.get(a)), field.value(b, scores.get(b)));
+                    if (order != 0) {
+                        return order;
+                    }
+                }
+                return 0;
+            };
+        }
+
+        /**
+         * 문서가 search_after 값보다 뒤에 오면 양수
+         */
+        static int compareToAfter(List<SortField> sort, StoredDocument doc, float score, JsonNode after) {
+            for (int i = 0; i < sort.size() && i < after.size(); i++) {
+                SortField field = sort.get(i);
+                int order = field.compare(field.value(doc, score), after.get(i));
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return 0;
+        }
+
+        JsonNode value(StoredDocument doc, float score) {
+            switch (field) {
+                case "_score":
+                    return JSON.numberNode(score);
+                case "_id":
+                    return JSON.textNode(doc.id);
+                case "_doc":
+                case "_shard_doc":
+                    return JSON.numberNode(doc.seqNo);
+                default: {
+                    List<JsonNode> values = doc.values(field);
+                    JsonNode selected = null;
+                    for (JsonNode value : values) {
+                        if (value.isValueNode() && (selected == null
+                                || descending == QueryMatcher.compareValues(value, selected) > 0)) {
+                            selected = value;
+                        }
+                    }
+                    return selected;
+                }
+            }
+        }
+
+        /**
+         * 응답 sort 값 (search_after로 되돌려 받을 수 있게 문자열로 반환)
+         */
+        String sortValue(StoredDocument doc, float score) {
+            JsonNode value = value(doc, score);
+            if (isScore) {
+                return Float.toString(score);
+            }
+            return value != null ? value.asText() : null;
+        }
+
+        int compare(JsonNode a, JsonNode b) {
+            boolean aMissing = a == null || a.isNull();
+            boolean bMissing = b == null || b.isNull();
+            if (aMissing || bMissing) {
+                return aMissing == bMissing ? 0 : (aMissing == missingFirst ? -1 : 1);
+            }
+            int order = QueryMatcher.compareValues(a, b);
+            return descending ? -order : order;
+        }
+    }
+
+    /**
+     * _source 필터 (includes/excludes, 최상위 필드 단위로만 적용)
+     */
+    private static final class SourceFilter {
+        final boolean enabled;
+        final List<String> includes;
+        final List<String> excludes;
+
+        private SourceFilter(boolean enabled, List<String> includes, List<String> excludes) {
+            this.enabled = enabled;
+            this.includes = includes;
+            this.excludes = excludes;
+        }
+
+        static SourceFilter of(JsonNode source) {
+            if (source == null) {
+                return new SourceFilter(true, List.of(), List.of());
+            }
+            if (source.isBoolean()) {
+                return new SourceFilter(source.asBoolean(), List.of(), List.of());
+            }
+            if (source.isArray() || source.isTextual()) {
+                return new SourceFilter(true, texts(source), List.of());
+            }
+            return new SourceFilter(true, texts(source.path("includes")), texts(source.path("excludes")));
+        }
+
+        static SourceFilter of(String includes, String excludes) {
+            return new SourceFilter(true,
+                    includes != null ? List.of(includes.split(",")) : List.of(),
+                    excludes != null ? List.of(excludes.split(",")) : List.of());
+        }
+
+        ObjectNode apply(ObjectNode source) {
+            if (includes.isEmpty() && excludes.isEmpty()) {
+                return source;
+            }
+            ObjectNode filtered = JSON.objectNode();
+            source.fields().forEachRemaining(field -> {
+                if ((includes.isEmpty() || selected(includes, field.getKey(), true)) && !selected(excludes, field.getKey(), false)) {
+                    filtered.set(field.getKey(), field.getValue());
+                }
+            });
+            return filtered;
+        }
+
+        /**
+         * @param nested true면 "a.b" 패턴도 최상위 필드 a 전체를 선택 (includes), false면 점 경로 패턴은 무시 (excludes)
+         */
+        private static boolean selected(List<String> patterns, String field, boolean nested) {
+            for (String pattern : patterns) {
+                if (pattern.contains(".") && !nested) {
+                    continue;
+                }
+                String top = pattern.contains(".") ? pattern.substring(0, pattern.indexOf('.')) : pattern;
+                if (top.equals(field) || top.endsWith("*") && field.startsWith(top.substring(0, top.length() - 1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static List<String> texts(JsonNode node) {
+            List<String> texts = new ArrayList<>();
+            if (node.isTextual()) {
+                texts.add(node.asText());
+            } else {
+                node.forEach(value -> texts.add(value.asText()));
+            }
+            return texts;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package fromprom.search.InMemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fromprom.common.InMemory.InjectedLatency;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.json.NdJsonpSerializable;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch._types.ErrorResponse;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.JsonEndpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportOptions;
+import org.opensearch.client.transport.endpoints.BooleanEndpoint;
+import org.opensearch.client.transport.endpoints.BooleanResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenSearchClient용 Transport 계층 대역
+ * - 요청을 실제 클라이언트와 같은 방식(JsonpMapper)으로 JSON/NDJSON 직렬화 → InMemoryOpenSearch 처리 →
+ *   응답 JSON을 엔드포인트의 역직렬화기로 파싱 (직렬화 비용과 응답 모델은 운영과 동일)
+ * - OpenSearchConfig가 HTTP Transport 대신 사용하며, 바깥의 계측/느린 쿼리 로그/서킷 브레이커 래퍼는 그대로 적용됨
+ * - 비동기 요청은 지연 시간 동안 스레드를 점유하지 않도록 delayedExecutor로 예약 실행
+ * - JSON 엔드포인트만 지원 (generic 클라이언트 요청은 IOException)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "opensearch.mode", havingValue = "memory")
+public class InMemoryOpenSearchTransport implements OpenSearchTransport {
+
+    private final InMemoryOpenSearch engine;
+    private final JsonpMapper mapper = new JacksonJsonpMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InjectedLatency latency;
+    private final ExecutorService workers;
+
+    public InMemoryOpenSearchTransport(
+            InMemoryOpenSearch engine,
+            @Value("${opensearch.memory.latency-ms:5}") long latencyMillis,
+            @Value("${opensearch.memory.jitter-ms:10}") long jitterMillis,
+            @Value("${opensearch.memory.spike-rate:0.01}") double spikeRate,
+            @Value("${opensearch.memory.spike-ms:150}") long spikeMillis,
+            @Value("${opensearch.memory.worker-threads:8}") int workerThreads) {
+        this.engine = engine;
+        this.latency = new InjectedLatency(latencyMillis, jitterMillis, spikeRate, spikeMillis);
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "opensearch-memory-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("인메모리 OpenSearch Transport: 지연 {}, 작업 스레드 {}", latency, workerThreads);
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) throws IOException {
+        latency.pause();
+        return execute(request, endpoint);
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return execute(request, endpoint);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, CompletableFuture.delayedExecutor(latency.next(), TimeUnit.MILLISECONDS, workers));
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return mapper;
+    }
+
+    @Override
+    public TransportOptions options() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <RequestT, ResponseT, ErrorT> ResponseT execute(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint) throws IOException {
+        if (!(endpoint instanceof JsonEndpoint) && !(endpoint instanceof BooleanEndpoint)) {
+            throw new IOException("인메모리 OpenSearch 미지원 요청: " + endpoint.requestUrl(request));
+        }
+
+        InMemoryOpenSearch.Reply reply = engine.handle(
+                endpoint.method(request), endpoint.requestUrl(request), endpoint.queryParameters(request), body(request));
+
+        if (endpoint instanceof BooleanEndpoint<?> booleanEndpoint) {
+            return (ResponseT) new BooleanResponse(booleanEndpoint.getResult(reply.status));
+        }
+        if (endpoint.isError(reply.status)) {
+            throw new OpenSearchException(parse(reply.body, ErrorResponse._DESERIALIZER));
+        }
+        JsonpDeserializer<ResponseT> deserializer = ((JsonEndpoint<RequestT, ResponseT, ErrorT>) endpoint).responseDeserializer();
+        return parse(reply.body, deserializer);
+    }
+
+    /**
+     * 요청 본문 (일반 요청은 1줄, bulk/msearch는 헤더/본문이 번갈아 오는 여러 줄)
+     */
+    private List<JsonNode> body(Object request) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        if (request instanceof NdJsonpSerializable ndJson) {
+            flatten(ndJson, lines);
+        } else if (request instanceof JsonpSerializable) {
+            lines.add(toJson(request));
+        }
+        return lines;
+    }
+
+    private void flatten(NdJsonpSerializable value, List<JsonNode> lines) throws IOException {
+        Iterator<?> parts = value._serializables();
+        while (parts.hasNext()) {
+            Object part = parts.next();
+            if (part instanceof NdJsonpSerializable nested && part != value) {
+                flatten(nested, lines);
+            } else {
+                lines.add(toJson(part));
+            }
+        }
+    }
+
+    private JsonNode toJson(Object value) throws IOException {
+        StringWriter writer = new StringWriter();
+        JsonGenerator generator = mapper.jsonProvider().createGenerator(writer);
+        if (value instanceof JsonpSerializable serializable) {
+            serializable.serialize(generator, mapper);
+        } else {
+            mapper.serialize(value, generator);
+        }
+        generator.close();
+        return objectMapper.readTree(writer.toString());
+    }
+
+    private <T> T parse(JsonNode body, JsonpDeserializer<T> deserializer) throws IOException {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(objectMapper.writeValueAsBytes(body)))) {
+            return deserializer.deserialize(parser, mapper);
+        }
+    }
+}
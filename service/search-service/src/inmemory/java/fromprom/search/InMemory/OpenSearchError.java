@@ -0,0 +1,40 @@
+package fromprom.search.InMemory;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * 인메모리 OpenSearch 오류 (OpenSearch 오류 응답 {"error": {"type", "reason"}, "status"}으로 변환됨)
+ */
+class OpenSearchError extends RuntimeException {
+
+    private final String type;
+    private final int status;
+
+    OpenSearchError(String type, int status, String reason) {
+        super(reason);
+        this.type = type;
+        this.status = status;
+    }
+
+    static OpenSearchError badRequest(String reason) {
+        return new OpenSearchError("parsing_exception", 400, reason);
+    }
+
+    static OpenSearchError indexNotFound(String index) {
+        return new OpenSearchError("index_not_found_exception", 404, "no such index [" + index + "]");
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    ObjectNode toJson() {
+        ObjectNode body = JsonNodeFactory.instance.objectNode();
+        ObjectNode error = body.putObject("error");
+        error.put("type", type);
+        error.put("reason", getMessage());
+        body.put("status", status);
+        return body;
+    }
+}
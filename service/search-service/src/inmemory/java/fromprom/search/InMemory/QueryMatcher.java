@@ -0,0 +1,451 @@
+package fromprom.search.InMemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+
+/**
+ * 인메모리 OpenSearch 쿼리 평가 (검색 요청 1건당 1개 생성, 스레드 간 공유하지 않음)
+ * - score가 음수(NO_MATCH)면 불일치, 0 이상이면 일치 + 점수
+ * - 지원: bool, term(s), range, exists, ids, prefix, match, multi_match, match_phrase_prefix,
+ *   constant_score, match_all/none, knn
+ * - 점수는 BM25 대신 Σ boost × (1 + ln tf) 근사 (정렬 순서 확인용, 실제 점수와 다름)
+ */
+final class QueryMatcher {
+
+    static final float NO_MATCH = -1f;
+
+    private final TextAnalyzer analyzer;
+    private final Supplier<Iterable<StoredDocument>> corpus;
+    // knn 쿼리 노드별 상위 k개 결과 (문서 키 → 점수)
+    private final Map<JsonNode, Map<String, Float>> knnResults = new IdentityHashMap<>();
+
+    QueryMatcher(TextAnalyzer analyzer, Supplier<Iterable<StoredDocument>> corpus) {
+        this.analyzer = analyzer;
+        this.corpus = corpus;
+    }
+
+    boolean matches(JsonNode query, StoredDocument doc) {
+        return score(query, doc) >= 0;
+    }
+
+    float score(JsonNode query, StoredDocument doc) {
+        if (query == null || query.isNull() || query.isMissingNode() || query.isEmpty()) {
+            return 1f;
+        }
+        Map.Entry<String, JsonNode> clause = query.fields().next();
+        JsonNode body = clause.getValue();
+        switch (clause.getKey()) {
+            case "match_all":
+                return boost(body);
+            case "match_none":
+                return NO_MATCH;
+            case "bool":
+                return bool(body, doc);
+            case "constant_score":
+                return matches(body.get("filter"), doc) ? boost(body) : NO_MATCH;
+            case "term":
+                return term(body, doc);
+            case "terms":
+                return terms(body, doc);
+            case "range":
+                return range(body, doc);
+            case "exists":
+                return doc.values(body.path("field").asText()).isEmpty() ? NO_MATCH : boost(body);
+            case "ids":
+                return contains(body.path("values"), doc.id) ? boost(body) : NO_MATCH;
+            case "prefix":
+                return prefix(body, doc);
+            case "match":
+                return match(body, doc);
+            case "multi_match":
+                return multiMatch(body, doc);
+            case "match_phrase_prefix":
+                return phrasePrefix(body, doc);
+            case "knn":
+                return knn(body, doc);
+            default:
+                throw OpenSearchError.badRequest("unknown query [" + clause.getKey() + "] (not supported by memory stand-in)");
+        }
+    }
+
+    // ===== 복합 쿼리 =====
+
+    private float bool(JsonNode body, StoredDocument doc) {
+        float total = 0;
+        for (JsonNode must : clauses(body.get("must"))) {
+            float score = score(must, doc);
+            if (score < 0) {
+                return NO_MATCH;
+            }
+            total += score;
+        }
+        for (JsonNode filter : clauses(body.get("filter"))) {
+            if (!matches(filter, doc)) {
+                return NO_MATCH;
+            }
+        }
+        for (JsonNode mustNot : clauses(body.get("must_not"))) {
+            if (matches(mustNot, doc)) {
+                return NO_MATCH;
+            }
+        }
+        List<JsonNode> shoulds = clauses(body.get("should"));
+        int matched = 0;
+        for (JsonNode should : shoulds) {
+            float score = score(should, doc);
+            if (score >= 0) {
+                matched++;
+                total += score;
+            }
+        }
+        if (matched < minimumShouldMatch(body, shoulds.size())) {
+            return NO_MATCH;
+        }
+        return total * boost(body);
+    }
+
+    private static int minimumShouldMatch(JsonNode body, int shouldCount) {
+        JsonNode minimum = body.get("minimum_should_match");
+        if (minimum == null) {
+            boolean scoringOrFiltering = body.has("must") || body.has("filter");
+            return shouldCount > 0 && !scoringOrFiltering ? 1 : 0;
+        }
+        String text = minimum.asText();
+        if (text.endsWith("%")) {
+            return (int) Math.floor(shouldCount * Double.parseDouble(text.substring(0, text.length() - 1)) / 100);
+        }
+        int count = Integer.parseInt(text);
+        return count < 0 ? Math.max(0, shouldCount + count) : count;
+    }
+
+    // ===== 단어 단위 쿼리 =====
+
+    private float term(JsonNode body, StoredDocument doc) {
+        Map.Entry<String, JsonNode> field = field(body);
+        JsonNode spec = field.getValue();
+        JsonNode expected = spec.isObject() ? spec.get("value") : spec;
+        boolean caseInsensitive = spec.path("case_insensitive").asBoolean(false);
+        for (JsonNode value : doc.values(field.getKey())) {
+            if (equalValues(value, expected, caseInsensitive)) {
+                return boost(spec);
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private float terms(JsonNode body, StoredDocument doc) {
+        Map.Entry<String, JsonNode> field = field(body);
+        for (JsonNode value : doc.values(field.getKey())) {
+            for (JsonNode expected : field.getValue()) {
+                if (equalValues(value, expected, false)) {
+                    return boost(body);
+                }
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private float range(JsonNode body, StoredDocument doc) {
+        Map.Entry<String, JsonNode> field = field(body);
+        JsonNode spec = field.getValue();
+        for (JsonNode value : doc.values(field.getKey())) {
+            if (inRange(value, spec)) {
+                return boost(spec);
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private static boolean inRange(JsonNode value, JsonNode spec) {
+        if (spec.has("gte") && compareValues(value, spec.get("gte")) < 0
+                || spec.has("gt") && compareValues(value, spec.get("gt")) <= 0
+                || spec.has("lte") && compareValues(value, spec.get("lte")) > 0
+                || spec.has("lt") && compareValues(value, spec.get("lt")) >= 0) {
+            return false;
+        }
+        JsonNode from = spec.get("from");
+        JsonNode to = spec.get("to");
+        boolean includeLower = spec.path("include_lower").asBoolean(true);
+        boolean includeUpper = spec.path("include_upper").asBoolean(true);
+        if (from != null && !from.isNull()) {
+            int order = compareValues(value, from);
+            if (order < 0 || order == 0 && !includeLower) {
+                return false;
+            }
+        }
+        if (to != null && !to.isNull()) {
+            int order = compareValues(value, to);
+            return order < 0 || order == 0 && includeUpper;
+        }
+        return true;
+    }
+
+    private float prefix(JsonNode body, StoredDocument doc) {
+        Map.Entry<String, JsonNode> field = field(body);
+        JsonNode spec = field.getValue();
+        String prefix = spec.isObject() ? spec.path("value").asText() : spec.asText();
+        boolean caseInsensitive = spec.path("case_insensitive").asBoolean(false);
+        for (JsonNode value : doc.values(field.getKey())) {
+            String text = value.asText();
+            if (caseInsensitive ? text.regionMatches(true, 0, prefix, 0, prefix.length()) : text.startsWith(prefix)) {
+                return boost(spec);
+            }
+        }
+        return NO_MATCH;
+    }
+
+    // ===== 전문 검색 쿼리 =====
+
+    private float match(JsonNode body, StoredDocument doc) {
+        Map.Entry<String, JsonNode> field = field(body);
+        JsonNode spec = field.getValue();
+        String query = spec.isObject() ? spec.path("query").asText() : spec.asText();
+        float score = matchField(doc, field.getKey(), analyzer.tokens(query), isAnd(spec), fuzziness(spec),
+                spec.path("prefix_length").asInt(0));
+        return score >= 0 ? score * boost(spec) : NO_MATCH;
+    }
+
+    private float multiMatch(JsonNode body, StoredDocument doc) {
+        List<String> tokens = analyzer.tokens(body.path("query").asText());
+        boolean and = isAnd(body);
+        int fuzziness = fuzziness(body);
+        int prefixLength = body.path("prefix_length").asInt(0);
+        boolean mostFields = "most_fields".equals(body.path("type").asText());
+        boolean phrasePrefix = "phrase_prefix".equals(body.path("type").asText());
+
+        float best = NO_MATCH;
+        float sum = 0;
+        for (JsonNode fieldSpec : body.path("fields")) {
+            String[] nameAndBoost = fieldSpec.asText().split("\\^");
+            float fieldBoost = nameAndBoost.length > 1 ? Float.parseFloat(nameAndBoost[1]) : 1f;
+            float score = phrasePrefix
+                    ? phrasePrefix(doc, nameAndBoost[0], tokens)
+                    : matchField(doc, nameAndBoost[0], tokens, and, fuzziness, prefixLength);
+            if (score >= 0) {
+                best = Math.max(best, score * fieldBoost);
+                sum += score * fieldBoost;
+            }
+        }
+        if (best < 0) {
+            return NO_MATCH;
+        }
+        return (mostFields ? sum : best) * boost(body);
+    }
+
+    private float phrasePrefix(JsonNode body, StoredDocument doc) {
+        Map.Entry<String, JsonNode> field = field(body);
+        JsonNode spec = field.getValue();
+        String query = spec.isObject() ? spec.path("query").asText() : spec.asText();
+        float score = phrasePrefix(doc, field.getKey(), analyzer.tokens(query));
+        return score >= 0 ? score * boost(spec) : NO_MATCH;
+    }
+
+    /**
+     * 필드 토큰 일치 점수: 질의 토큰별 (1 + ln tf) 합, and면 모든 토큰이 일치해야 함
+     * @param fuzziness 0 이상이면 고정 편집 거리, -1이면 AUTO
+     */
+    private float matchField(StoredDocument doc, String field, List<String> queryTokens,
+                             boolean and, int fuzziness, int prefixLength) {
+        if (queryTokens.isEmpty()) {
+            return NO_MATCH;
+        }
+        List<String> docTokens = doc.tokens(field, analyzer);
+        if (docTokens.isEmpty()) {
+            return NO_MATCH;
+        }
+        float score = 0;
+        int matched = 0;
+        for (String query : queryTokens) {
+            int edits = fuzziness < 0 ? TextAnalyzer.autoFuzziness(query) : fuzziness;
+            int tf = 0;
+            for (String term : docTokens) {
+                if (TextAnalyzer.matches(query, term, edits, prefixLength)) {
+                    tf++;
+                }
+            }
+            if (tf > 0) {
+                matched++;
+                score += 1 + (float) Math.log(tf);
+            } else if (and) {
+                return NO_MATCH;
+            }
+        }
+        return matched > 0 ? score : NO_MATCH;
+    }
+
+    /**
+     * 연속된 토큰 일치 + 마지막 토큰은 접두어 일치
+     */
+    private float phrasePrefix(StoredDocument doc, String field, List<String> queryTokens) {
+        if (queryTokens.isEmpty()) {
+            return NO_MATCH;
+        }
+        List<String> docTokens = doc.tokens(field, analyzer);
+        int last = queryTokens.size() - 1;
+        for (int start = 0; start + last < docTokens.size(); start++) {
+            boolean phrase = true;
+            for (int i = 0; i < last && phrase; i++) {
+                phrase = TextAnalyzer.matches(queryTokens.get(i), docTokens.get(start + i), 0, 0);
+            }
+            if (phrase && docTokens.get(start + last).startsWith(queryTokens.get(last))) {
+                return queryTokens.size();
+            }
+        }
+        return NO_MATCH;
+    }
+
+    // ===== 벡터 검색 =====
+
+    private float knn(JsonNode body, StoredDocument doc) {
+        Map<String, Float> nearest = knnResults.computeIfAbsent(body, this::nearest);
+        Float score = nearest.get(doc.key());
+        return score != null ? score * boost(field(body).getValue()) : NO_MATCH;
+    }
+
+    /**
+     * 전체 문서에서 filter를 만족하는 상위 k개 (cosinesimil 점수 1 / (2 - cos))
+     */
+    private Map<String, Float> nearest(JsonNode body) {
+        Map.Entry<String, JsonNode> field = field(body);
+        JsonNode spec = field.getValue();
+        JsonNode vectorNode = spec.path("vector");
+        float[] query = new float[vectorNode.size()];
+        for (int i = 0; i < query.length; i++) {
+            query[i] = (float) vectorNode.get(i).asDouble();
+        }
+        int k = spec.path("k").asInt(10);
+        JsonNode filter = spec.get("filter");
+
+        PriorityQueue<Map.Entry<String, Float>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (StoredDocument candidate : corpus.get()) {
+            float[] vector = candidate.vector(field.getKey());
+            if (vector == null || vector.length != query.length || filter != null && !matches(filter, candidate)) {
+                continue;
+            }
+            float score = (float) (1 / (2 - cosine(query, vector)));
+            if (top.size() < k) {
+                top.add(Map.entry(candidate.key(), score));
+            } else if (score > top.peek().getValue()) {
+                top.poll();
+                top.add(Map.entry(candidate.key(), score));
+            }
+        }
+        Map<String, Float> nearest = new HashMap<>();
+        top.forEach(entry -> nearest.put(entry.getKey(), entry.getValue()));
+        return nearest;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return normA == 0 || normB == 0 ? 0 : dot / Math.sqrt(normA * normB);
+    }
+
+    // ===== 공통 =====
+
+    /**
+     * 필드 이름을 키로 쓰는 쿼리 본문에서 (필드, 설정) 추출 ({"title": {...}, "boost": 2} 형태 포함)
+     */
+    private static Map.Entry<String, JsonNode> field(JsonNode body) {
+        Iterator<Map.Entry<String, JsonNode>> fields = body.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!"boost".equals(field.getKey()) && !"_name".equals(field.getKey())) {
+                return field;
+            }
+        }
+        throw OpenSearchError.badRequest("query is missing a field name");
+    }
+
+    private static List<JsonNode> clauses(JsonNode node) {
+        List<JsonNode> clauses = new ArrayList<>();
+        if (node == null || node.isNull()) {
+            return clauses;
+        }
+        if (node.isArray()) {
+            node.forEach(clauses::add);
+        } else {
+            clauses.add(node);
+        }
+        return clauses;
+    }
+
+    private static float boost(JsonNode body) {
+        return body != null && body.has("boost") ? (float) body.get("boost").asDouble() : 1f;
+    }
+
+    private static boolean isAnd(JsonNode spec) {
+        return "and".equalsIgnoreCase(spec.path("operator").asText("or"));
+    }
+
+    private static int fuzziness(JsonNode spec) {
+        JsonNode fuzziness = spec.get("fuzziness");
+        if (fuzziness == null) {
+            return 0;
+        }
+        String text = fuzziness.asText();
+        return text.toUpperCase().startsWith("AUTO") ? -1 : Integer.parseInt(text);
+    }
+
+    private static boolean contains(JsonNode values, String id) {
+        for (JsonNode value : values) {
+            if (value.asText().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equalValues(JsonNode value, JsonNode expected, boolean caseInsensitive) {
+        if (expected == null) {
+            return false;
+        }
+        if (isNumeric(value) && isNumeric(expected)) {
+            return Double.compare(value.asDouble(), numeric(expected)) == 0;
+        }
+        return caseInsensitive ? value.asText().equalsIgnoreCase(expected.asText()) : value.asText().equals(expected.asText());
+    }
+
+    /**
+     * 값 비교: 둘 다 숫자(또는 숫자 문자열)면 수치 비교, 아니면 문자열 비교 (ISO 날짜 문자열은 사전순 = 시간순)
+     */
+    static int compareValues(JsonNode a, JsonNode b) {
+        if (isNumeric(a) && isNumeric(b)) {
+            return Double.compare(numeric(a), numeric(b));
+        }
+        return a.asText().compareTo(b.asText());
+    }
+
+    private static boolean isNumeric(JsonNode node) {
+        if (node.isNumber()) {
+            return true;
+        }
+        if (!node.isTextual() || node.asText().isEmpty()) {
+            return false;
+        }
+        try {
+            Double.parseDouble(node.asText());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static double numeric(JsonNode node) {
+        return node.isNumber() ? node.asDouble() : Double.parseDouble(node.asText());
+    }
+}
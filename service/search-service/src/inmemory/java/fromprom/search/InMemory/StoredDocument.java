@@ -0,0 +1,105 @@
+package fromprom.search.InMemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 인메모리 OpenSearch 문서 (불변, 수정 시 새 버전으로 교체)
+ * - 필드별 분석 토큰/벡터는 처음 조회할 때 계산하여 문서에 캐싱
+ */
+final class StoredDocument {
+
+    private static final Object ABSENT = new Object();
+
+    final String index;
+    final String id;
+    final ObjectNode source;
+    final String routing;
+    final long version;
+    final long seqNo;
+
+    private final ConcurrentHashMap<String, Object> derived = new ConcurrentHashMap<>();
+
+    StoredDocument(String index, String id, ObjectNode source, String routing, long version, long seqNo) {
+        this.index = index;
+        this.id = id;
+        this.source = source;
+        this.routing = routing;
+        this.version = version;
+        this.seqNo = seqNo;
+    }
+
+    String key() {
+        return index + "/" + id;
+    }
+
+    /**
+     * 점(.)으로 구분된 경로의 값 목록 (배열은 펼침, _id 지원)
+     */
+    List<JsonNode> values(String path) {
+        List<JsonNode> values = new ArrayList<>();
+        if ("_id".equals(path)) {
+            values.add(TextNode.valueOf(id));
+            return values;
+        }
+        collect(source, path.split("\\."), 0, values);
+        return values;
+    }
+
+    JsonNode first(String path) {
+        List<JsonNode> values = values(path);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<String> tokens(String field, TextAnalyzer analyzer) {
+        return (List<String>) derived.computeIfAbsent("tokens:" + field, key -> {
+            List<String> tokens = new ArrayList<>();
+            for (JsonNode value : values(field)) {
+                if (value.isValueNode()) {
+                    tokens.addAll(analyzer.tokens(value.asText()));
+                }
+            }
+            return tokens;
+        });
+    }
+
+    float[] vector(String field) {
+        Object vector = derived.computeIfAbsent("vector:" + field, key -> {
+            JsonNode node = source.get(field);
+            if (node == null || !node.isArray() || node.isEmpty()) {
+                return ABSENT;
+            }
+            float[] values = new float[node.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) node.get(i).asDouble();
+            }
+            return values;
+        });
+        return vector != ABSENT ? (float[]) vector : null;
+    }
+
+    private static void collect(JsonNode node, String[] path, int depth, List<JsonNode> values) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return;
+        }
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                collect(element, path, depth, values);
+            }
+            return;
+        }
+        if (depth == path.length) {
+            values.add(node);
+            return;
+        }
+        if (node.isObject()) {
+            collect(node.get(path[depth]), path, depth + 1, values);
+        }
+    }
+}
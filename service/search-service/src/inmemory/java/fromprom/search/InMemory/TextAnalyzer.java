@@ -0,0 +1,118 @@
+package fromprom.search.InMemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 인메모리 OpenSearch 텍스트 분석 (nori 분석기 근사)
+ * - 소문자화 후 문자/숫자가 아닌 글자 기준으로 토큰 분리
+ * - 형태소 분석 대신 "문서 토큰이 질의 토큰 + 짧은 접미사(조사)"인 경우도 일치로 취급 (예: 프롬프트를 ↔ 프롬프트)
+ * - 긴 본문은 maxChars까지만 분석 (content 필드 분석 비용 제한)
+ */
+final class TextAnalyzer {
+
+    // 조사/어미로 볼 최대 접미사 길이
+    private static final int MAX_SUFFIX = 2;
+
+    private final int maxChars;
+
+    TextAnalyzer(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (Token token : analyze(text)) {
+            tokens.add(token.text);
+        }
+        return tokens;
+    }
+
+    /**
+     * 원문 위치(offset/length)를 포함한 토큰 (term suggester 응답용)
+     */
+    List<Token> analyze(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int limit = Math.min(text.length(), maxChars);
+        int start = -1;
+        for (int i = 0; i <= limit; i++) {
+            boolean wordChar = i < limit && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(new Token(text.substring(start, i).toLowerCase(Locale.ROOT), start, i - start));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 질의 토큰과 문서 토큰 일치 여부
+     * @param fuzziness 허용 편집 거리 (0이면 정확/접미사 일치만)
+     * @param prefixLength 편집 거리 계산 시 반드시 같아야 하는 앞부분 길이
+     */
+    static boolean matches(String query, String term, int fuzziness, int prefixLength) {
+        if (term.equals(query)) {
+            return true;
+        }
+        if (query.length() >= 2 && term.length() - query.length() <= MAX_SUFFIX && term.startsWith(query)) {
+            return true;
+        }
+        if (fuzziness <= 0 || Math.abs(term.length() - query.length()) > fuzziness) {
+            return false;
+        }
+        int prefix = Math.min(prefixLength, query.length());
+        return term.regionMatches(0, query, 0, prefix) && editDistance(query, term, fuzziness) <= fuzziness;
+    }
+
+    /**
+     * fuzziness AUTO: 길이 0~2는 0, 3~5는 1, 그 이상은 2
+     */
+    static int autoFuzziness(String token) {
+        return token.length() < 3 ? 0 : token.length() < 6 ? 1 : 2;
+    }
+
+    /**
+     * 편집 거리 (max를 넘으면 max + 1 반환하고 조기 종료)
+     */
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    static final class Token {
+        final String text;
+        final int offset;
+        final int length;
+
+        Token(String text, int offset, int length) {
+            this.text = text;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
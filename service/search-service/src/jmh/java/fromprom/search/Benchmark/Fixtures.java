@@ -0,0 +1,162 @@
+package fromprom.search.Benchmark;
+
+import fromprom.search.DTO.PromptDocument;
+import fromprom.search.DTO.PromptStats;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMH 벤치마크용 고정 데이터 (실제 인덱스 문서/DynamoDB 아이템 모양)
+ * - 큰 프롬프트: 본문 8KB, 예시 3개(입력 1KB, 출력 4KB)
+ * - 검색 결과 페이지 100건, 댓글 스레드 50개
+ */
+public final class Fixtures {
+
+    public static final int PAGE_SIZE = 100;
+    public static final int COMMENT_THREAD_SIZE = 50;
+
+    // 저장되는 category/promptType 값 (auth-service PromptType 이름)
+    private static final String[] PROMPT_TYPES = {"type_a", "type_b_text", "type_b_image"};
+
+    private Fixtures() {
+    }
+
+    public static PromptDocument largePromptDocument(int seq) {
+        String promptType = PROMPT_TYPES[seq % PROMPT_TYPES.length];
+        List<PromptDocument.Example> examples = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            examples.add(PromptDocument.Example.builder()
+                    .index(i)
+                    .input(PromptDocument.ExampleInput.builder()
+                            .inputType("text")
+                            .content("[{\"key\":\"topic\",\"value\":\"" + text("입력값 ", 1_000) + "\"}]")
+                            .build())
+                    .output(text("모델 출력 ", 4_000))
+                    .build());
+        }
+
+        return PromptDocument.builder()
+                .promptId(uuid(seq))
+                .title("블로그 글 초안 작성 프롬프트 #" + seq)
+                .description(text("설명 ", 400))
+                .content(text("프롬프트 본문 ", 8_000))
+                .category(promptType)
+                .model("claude-3-sonnet")
+                .promptType(promptType)
+                .userId("USER#" + uuid(seq % 17))
+                // 일부 문서는 닉네임이 비어 nicknameMap 조회 경로를 타도록 구성
+                .nickname(seq % 4 == 0 ? null : "작성자" + (seq % 17))
+                .status("completed")
+                .price(1000 + seq % 5 * 500)
+                .createdAt("2025-01-" + String.format("%02d", 1 + seq % 28) + "T09:00:00Z")
+                .updatedAt("2025-02-01T09:00:00Z")
+                .examplesS3Url("s3://fromprom-examples/" + uuid(seq) + ".json")
+                .likeCount(seq * 3)
+                .bookmarkCount(seq)
+                .commentCount(seq % 50)
+                .popularityScore(seq * 1.5)
+                .isPublic(true)
+                .evaluationMetrics(PromptDocument.EvaluationMetrics.builder()
+                        .finalScore(85.5f)
+                        .relevance(90f)
+                        .consistency(80f)
+                        .hallucination(95f)
+                        .informationDensity(70f)
+                        .modelVariance(75f)
+                        .tokenUsage(60f)
+                        .overallFeedback(text("평가 피드백 ", 600))
+                        .promptType(promptType)
+                        .build())
+                .examples(examples)
+                .score(12.3 - seq * 0.01)
+                .build();
+    }
+
+    public static List<PromptDocument> resultPage() {
+        List<PromptDocument> page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(largePromptDocument(i));
+        }
+        return page;
+    }
+
+    public static Map<String, String> nicknameMap() {
+        Map<String, String> nicknames = new HashMap<>();
+        for (int i = 0; i < 17; i++) {
+            nicknames.put("USER#" + uuid(i), "작성자" + i);
+        }
+        return nicknames;
+    }
+
+    public static Map<String, Boolean> flags(List<PromptDocument> page, int every) {
+        Map<String, Boolean> flags = new HashMap<>();
+        for (int i = 0; i < page.size(); i++) {
+            flags.put(page.get(i).getPromptId(), i % every == 0);
+        }
+        return flags;
+    }
+
+    public static PromptStats promptStats(int seq) {
+        return PromptStats.builder()
+                .promptId(uuid(seq))
+                .likeCount(seq * 3)
+                .bookmarkCount(seq)
+                .commentCount(COMMENT_THREAD_SIZE)
+                .title("블로그 글 초안 작성 프롬프트 #" + seq)
+                .description(text("설명 ", 400))
+                .model("claude-3-sonnet")
+                .content(text("프롬프트 본문 ", 8_000))
+                .build();
+    }
+
+    public static AttributeValue examplesAttribute() {
+        List<AttributeValue> examples = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            examples.add(AttributeValue.builder().m(Map.of(
+                    "index", AttributeValue.builder().n(String.valueOf(i)).build(),
+                    "input", AttributeValue.builder().m(Map.of(
+                            "content", s("[{\"key\":\"topic\",\"value\":\"" + text("입력값 ", 1_000) + "\"}]"),
+                            "input_type", s("text"))).build(),
+                    "output", s(text("모델 출력 ", 4_000))
+            )).build());
+        }
+        return AttributeValue.builder().l(examples).build();
+    }
+
+    public static List<Map<String, AttributeValue>> commentThread() {
+        List<Map<String, AttributeValue>> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENT_THREAD_SIZE; i++) {
+            String createdAt = "2025-01-01T09:" + String.format("%02d", i) + ":00Z";
+            Map<String, AttributeValue> item = new HashMap<>();
+            item.put("PK", s("PROMPT#" + uuid(1)));
+            item.put("SK", s("COMMENT#" + createdAt + "#" + uuid(1000 + i)));
+            item.put("comment_content", s(text("댓글 내용 ", 300)));
+            item.put("comment_user", s("USER#" + uuid(i % 23)));
+            item.put("comment_user_nickname", s("댓글러" + i));
+            item.put("created_at", s(createdAt));
+            item.put("updated_at", s(createdAt));
+            comments.add(item);
+        }
+        return comments;
+    }
+
+    private static String uuid(int seq) {
+        return String.format("00000000-0000-4000-8000-%012d", seq);
+    }
+
+    private static String text(String unit, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append(unit);
+        }
+        return builder.substring(0, length);
+    }
+
+    private static AttributeValue s(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+}
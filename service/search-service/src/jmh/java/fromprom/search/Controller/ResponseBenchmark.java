@@ -0,0 +1,108 @@
+package fromprom.search.Controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fromprom.search.Benchmark.Fixtures;
+import fromprom.search.DTO.Comment;
+import fromprom.search.DTO.PromptDocument;
+import fromprom.search.DTO.PromptStats;
+import fromprom.search.Feed.CounterChangeFeed;
+import fromprom.search.Service.AsyncInteractionService;
+import fromprom.search.Service.InteractionService;
+import fromprom.search.Service.PromptEnricher;
+import fromprom.search.Service.StatsOverlay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상세 응답 병합(enrichPromptWithStats)과 응답 JSON 직렬화 비용
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+public class ResponseBenchmark {
+
+    private SearchController searchController;
+    private ObjectMapper objectMapper;
+
+    private PromptDocument prompt;
+    private PromptStats stats;
+    private Map<String, String> nicknameMap;
+    private Map<String, Object> pageResponse;
+    private Map<String, Object> commentResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        InteractionService interactionService = new InteractionService(null, null);
+        StatsOverlay statsOverlay = new StatsOverlay(
+                new StaticListableBeanFactory().getBeanProvider(CounterChangeFeed.class),
+                interactionService, 3_600_000, 100_000);
+        PromptEnricher promptEnricher = new PromptEnricher(new AsyncInteractionService(null, interactionService), statsOverlay);
+        // enrichPromptWithStats는 주입된 서비스를 쓰지 않으므로 나머지는 null
+        searchController = new SearchController(null, interactionService, null, null,
+                promptEnricher, null, statsOverlay, null, null, null);
+
+        prompt = Fixtures.largePromptDocument(1);
+        stats = Fixtures.promptStats(1);
+        nicknameMap = Fixtures.nicknameMap();
+
+        List<PromptDocument> page = Fixtures.resultPage();
+        Map<String, Boolean> likedMap = Fixtures.flags(page, 3);
+        Map<String, Boolean> bookmarkedMap = Fixtures.flags(page, 7);
+        List<Map<String, Object>> results = new ArrayList<>(page.size());
+        for (PromptDocument doc : page) {
+            results.add(promptEnricher.fromOpenSearchBatch(doc, nicknameMap, likedMap, bookmarkedMap));
+        }
+        pageResponse = new LinkedHashMap<>();
+        pageResponse.put("success", true);
+        pageResponse.put("results", results);
+        pageResponse.put("count", results.size());
+        pageResponse.put("hasMore", true);
+        pageResponse.put("nextCursor", "WzEyLjMsIjAwMDAwMDAwIl0=");
+
+        List<Comment> comments = new ArrayList<>();
+        Fixtures.commentThread().forEach(item -> comments.add(Comment.builder()
+                .commentId(item.get("SK").s())
+                .content(item.get("comment_content").s())
+                .userId(item.get("comment_user").s())
+                .nickname(item.get("comment_user_nickname").s())
+                .createdAt(item.get("created_at").s())
+                .updatedAt(item.get("updated_at").s())
+                .build()));
+        commentResponse = new LinkedHashMap<>();
+        commentResponse.put("success", true);
+        commentResponse.put("comments", comments);
+        commentResponse.put("count", comments.size());
+    }
+
+    @Benchmark
+    public Map<String, Object> enrichPromptWithStats() {
+        return searchController.enrichPromptWithStats(prompt, stats, true, false, nicknameMap);
+    }
+
+    @Benchmark
+    public String serializeDetailResponse() throws JsonProcessingException {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("prompt", searchController.enrichPromptWithStats(prompt, stats, true, false, nicknameMap));
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String serializeResultPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(pageResponse);
+    }
+
+    @Benchmark
+    public String serializeCommentThread() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(commentResponse);
+    }
+}
@@ -0,0 +1,83 @@
+package fromprom.search.Service;
+
+import fromprom.search.Benchmark.Fixtures;
+import fromprom.search.DTO.Comment;
+import fromprom.search.DTO.PromptDocument;
+import fromprom.search.Feed.CounterChangeFeed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DynamoDB 아이템 / OpenSearch 문서 → 응답 맵 변환 비용 (처리량 + gc 프로파일러의 연산당 할당량)
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private InteractionService interactionService;
+    private PromptEnricher promptEnricher;
+
+    private AttributeValue examples;
+    private List<Map<String, AttributeValue>> comments;
+    private List<PromptDocument> page;
+    private Map<String, String> nicknameMap;
+    private Map<String, Boolean> likedMap;
+    private Map<String, Boolean> bookmarkedMap;
+
+    @Setup
+    public void setUp() {
+        // 변환 메서드는 DynamoDB를 호출하지 않으므로 클라이언트 없이 생성, 변경 피드도 비활성
+        interactionService = new InteractionService(null, null);
+        StatsOverlay statsOverlay = new StatsOverlay(
+                new StaticListableBeanFactory().getBeanProvider(CounterChangeFeed.class),
+                interactionService, 3_600_000, 100_000);
+        promptEnricher = new PromptEnricher(new AsyncInteractionService(null, interactionService), statsOverlay);
+
+        examples = Fixtures.examplesAttribute();
+        comments = Fixtures.commentThread();
+        page = Fixtures.resultPage();
+        nicknameMap = Fixtures.nicknameMap();
+        likedMap = Fixtures.flags(page, 3);
+        bookmarkedMap = Fixtures.flags(page, 7);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parseExamples() {
+        return interactionService.parseExamples(examples);
+    }
+
+    @Benchmark
+    public List<Comment> convertCommentThread() {
+        List<Comment> result = new ArrayList<>(comments.size());
+        for (Map<String, AttributeValue> item : comments) {
+            result.add(interactionService.convertToComment(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> enrichResultPage() {
+        List<Map<String, Object>> result = new ArrayList<>(page.size());
+        for (PromptDocument prompt : page) {
+            result.add(promptEnricher.fromOpenSearchBatch(prompt, nicknameMap, likedMap, bookmarkedMap));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> enrichResultPageAnonymous() {
+        List<Map<String, Object>> result = new ArrayList<>(page.size());
+        for (PromptDocument prompt : page) {
+            result.add(promptEnricher.fromOpenSearchBatch(prompt, nicknameMap, null, null));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,617 @@
+package fromprom.search.LoadTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fromprom.common.InMemory.InMemoryDynamoDb;
+import fromprom.search.Embedding.HashingPromptEmbedder;
+import fromprom.search.InMemory.InMemoryOpenSearch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대규모 합성 데이터셋 생성기 (FromProm_Table 아이템 + prompts 인덱스 문서)
+ * - 키 스키마는 서비스 코드와 동일: 사용자 프로필(UserService), 프롬프트 METADATA(PromptService),
+ *   좋아요/북마크/댓글(InteractionService), 크레딧 내역(CreditService), 검색 문서(PromptDocument)
+ * - 인기도는 Zipf 분포: 프롬프트별 좋아요/북마크/댓글/판매 건수, 판매자별 프롬프트 수,
+ *   사용자별 좋아요/구매 활동량이 모두 소수에 몰리도록 생성 (역할마다 상위 사용자는 다르게 섞음)
+ * - 같은 seed면 같은 ID/관계가 생성되므로 두 서비스가 같은 파일을 시드로 쓰면 교차 조회도 일치
+ * - 사용자/프롬프트 묶음 단위로 병렬 생성 → 묶음 단위로 출력 대상에 기록
+ *
+ * 실행: ./gradlew generateDataset -Pargs="--users=100000 --prompts=200000 --likes=5000000"
+ * 출력(--target=files): dynamodb.ndjson.gz, opensearch.ndjson.gz, users.txt
+ *   → aws.dynamodb.memory.seed-file / opensearch.memory.seed-file / LoadDriver --users-file
+ */
+public class DatasetGenerator {
+
+    static final String INDEX = "prompts";
+
+    private static final int USER_CHUNK = 10_000;
+    private static final int PROMPT_CHUNK = 500;
+    private static final int ITEM_BATCH = 500;
+    private static final int DOCUMENT_BATCH = 200;
+    private static final int CONTENT_CHARS = 2000;
+    private static final double HALF_LIFE_DAYS = 7;
+
+    private static final String[] CATEGORIES = {"type_a", "type_b_text", "type_b_image"};
+    private static final double[] CATEGORY_WEIGHTS = {0.3, 0.5, 0.2};
+    private static final String[] TEXT_MODELS = {"gpt-4o", "gpt-4o-mini", "claude-3-5-sonnet", "gemini-1.5-pro", "llama-3-70b"};
+    private static final String[] IMAGE_MODELS = {"dall-e-3", "stable-diffusion-xl", "midjourney-v6"};
+    private static final String[] WORDS = {
+            "마케팅", "블로그", "이메일", "요약", "번역", "코드", "리뷰", "이미지", "gpt", "python", "sql", "seo",
+            "보고서", "기획", "카피", "광고", "상품", "소개", "뉴스", "분석", "데이터", "면접", "자기소개서", "영어",
+            "회의록", "발표", "캐릭터", "로고", "일러스트", "풍경", "사진", "포스터", "썸네일", "유튜브", "인스타그램",
+            "스토리", "소설", "시", "동화", "교육", "수학", "과학", "역사", "여행", "요리", "건강", "운동", "재테크",
+            "주식", "부동산", "법률", "계약서", "고객", "응대", "챗봇", "자동화", "엑셀", "java", "spring", "react",
+            "리팩토링", "테스트", "디버깅", "문서화", "api", "설계", "아키텍처", "정리", "체크리스트", "템플릿"
+    };
+    private static final String[] NICKNAME_HEADS = {"행복한", "용감한", "조용한", "빠른", "느긋한", "똑똑한", "귀여운", "차분한"};
+    private static final String[] NICKNAME_TAILS = {"고양이", "여우", "곰", "펭귄", "토끼", "부엉이", "수달", "다람쥐"};
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Options options;
+    private final Instant now;
+    private final Zipf sellers;
+    private final Zipf likers;
+    private final Zipf bookmarkers;
+    private final Zipf commenters;
+    private final Zipf buyers;
+    private final Zipf prompts;
+    private final Zipf words;
+    private final HashingPromptEmbedder embedder;
+
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong documents = new AtomicLong();
+
+    DatasetGenerator(Options options) {
+        this.options = options;
+        this.now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        this.sellers = new Zipf(options.users, options.skew, options.seed + 1);
+        this.likers = new Zipf(options.users, options.skew, options.seed + 2);
+        this.bookmarkers = new Zipf(options.users, options.skew, options.seed + 3);
+        this.commenters = new Zipf(options.users, options.skew, options.seed + 4);
+        this.buyers = new Zipf(options.users, options.skew, options.seed + 5);
+        this.prompts = new Zipf(options.prompts, options.skew, options.seed + 6);
+        this.words = new Zipf(WORDS.length, 1.0, options.seed + 7);
+        this.embedder = options.embeddingDimension > 0 ? new HashingPromptEmbedder(options.embeddingDimension) : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        DatasetGenerator generator = new DatasetGenerator(options);
+        long start = System.nanoTime();
+
+        if (options.target.equals("memory")) {
+            // 같은 프로세스에 대역을 만들어 적재 (적재 처리량 측정용)
+            InMemoryDynamoDb dynamoDb = new InMemoryDynamoDb("PK,SK", InMemoryDynamoDb.DEFAULT_INDEXES, options.table, "");
+            InMemoryOpenSearch openSearch = new InMemoryOpenSearch(2000, "");
+            try (DatasetSink sink = new MemoryDatasetSink(dynamoDb, openSearch, INDEX)) {
+                generator.generate(sink);
+            }
+            System.out.printf("인메모리 적재 결과: 아이템 %d건, 문서 %d건%n",
+                    dynamoDb.itemCount(options.table), openSearch.count(INDEX));
+        } else {
+            Path dir = Path.of(options.out);
+            String suffix = options.gzip ? ".ndjson.gz" : ".ndjson";
+            try (DatasetSink sink = new FileDatasetSink(dir.resolve("dynamodb" + suffix), dir.resolve("opensearch" + suffix), INDEX)) {
+                generator.generate(sink);
+            }
+            generator.writeUsers(dir.resolve("users.txt"));
+            System.out.printf("출력: %s (dynamodb%s, opensearch%s, users.txt)%n", dir.toAbsolutePath(), suffix, suffix);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("생성 완료: 아이템 %d건, 문서 %d건, %.1fs (%.0f 아이템/분)%n",
+                generator.items.get(), generator.documents.get(), seconds, generator.items.get() / seconds * 60);
+    }
+
+    /**
+     * 사용자/프롬프트 묶음을 작업 스레드에 나눠 생성
+     */
+    void generate(DatasetSink sink) throws IOException, InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads);
+        List<Future<?>> pending = new ArrayList<>();
+        try {
+            for (int from = 0; from < options.users; from += USER_CHUNK) {
+                int start = from;
+                int end = Math.min(from + USER_CHUNK, options.users);
+                pending.add(workers.submit(() -> {
+                    generateUsers(start, end, sink);
+                    return null;
+                }));
+            }
+            for (int from = 0; from < options.prompts; from += PROMPT_CHUNK) {
+                int start = from;
+                int end = Math.min(from + PROMPT_CHUNK, options.prompts);
+                pending.add(workers.submit(() -> {
+                    generatePrompts(start, end, sink);
+                    return null;
+                }));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("데이터셋 생성 실패: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // ========== 사용자 ==========
+
+    private void generateUsers(int from, int to, DatasetSink sink) throws IOException {
+        Batch batch = new Batch(sink);
+        for (int i = from; i < to; i++) {
+            SplittableRandom random = random('U', i);
+            String created = timestamp(now.minus(options.days + random.nextInt(365), ChronoUnit.DAYS));
+
+            // UserService.signUp / User 엔티티 속성명
+            Map<String, AttributeValue> item = new HashMap<>();
+            item.put("PK", s("USER#" + userId(i)));
+            item.put("SK", s("PROFILE"));
+            item.put("type", s("USER"));
+            item.put("email", s("user" + i + "@example.com"));
+            item.put("nickname", s(nickname(i)));
+            item.put("credit", n(options.credit));
+            item.put("bio", s(""));
+            item.put("profile_image", s("https://default-image-url.com/user.png"));
+            item.put("created_at", s(created));
+            item.put("updated_at", s(created));
+            batch.add(item);
+        }
+        batch.flush();
+    }
+
+    // ========== 프롬프트 + 상호작용 ==========
+
+    private void generatePrompts(int from, int to, DatasetSink sink) throws IOException {
+        Batch batch = new Batch(sink);
+        for (int rank = from; rank < to; rank++) {
+            SplittableRandom random = random('P', rank);
+            String promptId = promptId(rank);
+            int seller = sellers.sample(random);
+            String category = pick(CATEGORIES, CATEGORY_WEIGHTS, random);
+            String[] models = category.equals("type_b_image") ? IMAGE_MODELS : TEXT_MODELS;
+            String model = models[random.nextInt(models.length)];
+            String title = sentence(random, 2, 5);
+            String description = sentence(random, 8, 20);
+            String content = sentence(random, 30, 120);
+            int price = 100 * (1 + random.nextInt(50));
+            Instant created = now.minusSeconds(random.nextLong(options.days * 86_400L));
+
+            // 인기 순위(rank)가 높을수록 상호작용이 많음
+            int likes = interactions(rank, options.likes, random, likers, "LIKE", promptId, created, batch);
+            int bookmarks = interactions(rank, options.bookmarks, random, bookmarkers, "BOOKMARK", promptId, created, batch);
+            int comments = comments(rank, random, promptId, created, batch);
+            purchases(rank, random, promptId, title, price, seller, created, batch);
+
+            Map<String, String> metrics = metrics(random);
+            batch.add(metadata(promptId, seller, title, description, content, category, model, price,
+                    metrics, created, likes, bookmarks, comments));
+            batch.add(document(promptId, seller, title, description, content, category, model, price,
+                    metrics, created, likes, bookmarks, comments));
+        }
+        batch.flush();
+    }
+
+    /**
+     * 좋아요/북마크 (사용자당 프롬프트 하나에 한 번, InteractionService.addLike/addBookmark 형식)
+     */
+    private int interactions(int rank, long total, SplittableRandom random, Zipf users, String kind,
+                             String promptId, Instant created, Batch batch) throws IOException {
+        int count = Math.min(prompts.share(rank, total, random), options.users);
+        Set<Integer> seen = new HashSet<>();
+        for (int attempt = 0; seen.size() < count && attempt < count * 4; attempt++) {
+            int user = users.sample(random);
+            if (!seen.add(user)) {
+                continue;
+            }
+            String userId = userId(user);
+            String at = timestamp(between(created, random));
+            Map<String, AttributeValue> item = new HashMap<>();
+            item.put("PK", s("USER#" + userId));
+            item.put("SK", s(kind + "#PROMPT#" + promptId));
+            item.put(kind + "_INDEX_PK", s("USER_" + kind + "S#" + userId));
+            item.put(kind + "_INDEX_SK", s(at));
+            item.put("type", s(kind));
+            item.put("target_prompt_id", s(promptId));
+            item.put("created_at", s(at));
+            batch.add(item);
+        }
+        return seen.size();
+    }
+
+    /**
+     * 댓글 (PK=PROMPT#id, SK=COMMENT#시간#id, comment-user-index는 comment_user)
+     */
+    private int comments(int rank, SplittableRandom random, String promptId, Instant created, Batch batch) throws IOException {
+        int count = prompts.share(rank, options.comments, random);
+        for (int c = 0; c < count; c++) {
+            int user = commenters.sample(random);
+            String at = timestamp(between(created, random));
+            Map<String, AttributeValue> item = new HashMap<>();
+            item.put("PK", s("PROMPT#" + promptId));
+            item.put("SK", s("COMMENT#" + at + "#" + shortId(random)));
+            item.put("type", s("COMMENT"));
+            item.put("comment_content", s(sentence(random, 3, 15)));
+            item.put("comment_user", s(userId(user)));
+            item.put("comment_user_nickname", s(nickname(user)));
+            item.put("created_at", s(at));
+            item.put("updated_at", s(at));
+            batch.add(item);
+        }
+        return count;
+    }
+
+    /**
+     * 구매 1건 = 구매자/판매자 크레딧 내역 2건 (CreditService.purchasePrompt 형식, 잔액은 근사값)
+     */
+    private void purchases(int rank, SplittableRandom random, String promptId, String title, int price, int seller,
+                           Instant created, Batch batch) throws IOException {
+        int count = Math.min(prompts.share(rank, options.purchases, random), options.users);
+        Set<Integer> seen = new HashSet<>();
+        for (int attempt = 0; seen.size() < count && attempt < count * 4; attempt++) {
+            int buyer = buyers.sample(random);
+            if (buyer == seller || !seen.add(buyer)) {
+                continue;
+            }
+            String at = LocalDateTime.ofInstant(between(created, random), ZoneOffset.UTC).toString();
+            batch.add(credit(userId(buyer), at, -price, random.nextInt(options.credit + 1), "Prompt Purchase", title, promptId, random));
+            batch.add(credit(userId(seller), at, price, price + random.nextInt(options.credit + 1), "Prompt Sale", title, promptId, random));
+        }
+    }
+
+    private Map<String, AttributeValue> credit(String userId, String at, int amount, int balance, String description,
+                                               String title, String promptId, SplittableRandom random) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", s("USER#" + userId));
+        item.put("SK", s("CREDIT#" + at + "#" + shortId(random)));
+        item.put("type", s("CREDIT"));
+        item.put("amount", n(amount));
+        item.put("balance", n(balance));
+        item.put("user_description", s(description));
+        item.put("prompt_titles", AttributeValue.builder().l(s(title)).build());
+        item.put("prompt_ids", AttributeValue.builder().l(s(promptId)).build());
+        item.put("created_at", s(at));
+        return item;
+    }
+
+    /**
+     * 프롬프트 METADATA 아이템 (PromptService.toPromptItem 형식, 평가 완료/공개 상태)
+     */
+    private Map<String, AttributeValue> metadata(String promptId, int seller, String title, String description,
+                                                 String content, String category, String model, int price,
+                                                 Map<String, String> metrics, Instant created,
+                                                 int likes, int bookmarks, int comments) {
+        String userId = userId(seller);
+        String at = timestamp(created);
+
+        Map<String, AttributeValue> input = new HashMap<>();
+        input.put("content", s("{\"입력\":\"" + title + "\"}"));
+        input.put("input_type", s("text"));
+        Map<String, AttributeValue> example = new HashMap<>();
+        example.put("index", n(0));
+        example.put("input", AttributeValue.builder().m(input).build());
+        example.put("output", s(""));
+
+        Map<String, AttributeValue> metricsMap = new HashMap<>();
+        metrics.forEach((key, value) -> metricsMap.put(key, s(value)));
+
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", s("PROMPT#" + promptId));
+        item.put("SK", s("METADATA"));
+        item.put("PROMPT_INDEX_PK", s("USER_PROMPT_LIST"));
+        item.put("PROMPT_INDEX_SK", s("USER#" + userId + "#" + at));
+        item.put("type", s("PROMPT"));
+        item.put("create_user", s("USER#" + userId));
+        item.put("userId", s("USER#" + userId));
+        item.put("nickname", s(nickname(seller)));
+        item.put("title", s(title));
+        item.put("prompt_content", s(content));
+        item.put("prompt_description", s(description));
+        item.put("price", n(price));
+        item.put("prompt_type", s(category));
+        item.put("category", s(category));
+        item.put("examples", AttributeValue.builder().l(AttributeValue.builder().m(example).build()).build());
+        item.put("examples_s3_url", s(""));
+        item.put("model", s(model));
+        item.put("evaluation_metrics", AttributeValue.builder().m(metricsMap).build());
+        item.put("status", s("completed"));
+        item.put("created_at", s(at));
+        item.put("updated_at", s(at));
+        item.put("like_count", s(String.valueOf(likes)));
+        item.put("comment_count", s(String.valueOf(comments)));
+        item.put("bookmark_count", s(String.valueOf(bookmarks)));
+        item.put("is_public", AttributeValue.builder().bool(true).build());
+        return item;
+    }
+
+    /**
+     * prompts 인덱스 문서 (PromptDocument 필드명 + 임베딩, popularityScore는 PopularityService와 같은 공식)
+     */
+    private ObjectNode document(String promptId, int seller, String title, String description, String content,
+                                String category, String model, int price, Map<String, String> metrics,
+                                Instant created, int likes, int bookmarks, int comments) {
+        ObjectNode doc = OBJECT_MAPPER.createObjectNode();
+        doc.put("promptId", promptId);
+        doc.put("title", title);
+        doc.put("description", description);
+        doc.put("content", content);
+        doc.put("category", category);
+        doc.put("model", model);
+        doc.put("promptType", category);
+        doc.put("userId", "USER#" + userId(seller));
+        doc.put("nickname", nickname(seller));
+        doc.put("status", "completed");
+        doc.put("price", price);
+        doc.put("createdAt", timestamp(created));
+        doc.put("updatedAt", timestamp(created));
+        doc.put("examplesS3Url", "");
+        doc.put("likeCount", likes);
+        doc.put("bookmarkCount", bookmarks);
+        doc.put("commentCount", comments);
+        double ageDays = Math.max(0, (now.getEpochSecond() - created.getEpochSecond()) / 86_400.0);
+        doc.put("popularityScore", (likes + bookmarks * 2.0 + comments * 1.5) * Math.pow(0.5, ageDays / HALF_LIFE_DAYS));
+        doc.put("isPublic", true);
+
+        ObjectNode evaluation = doc.putObject("evaluationMetrics");
+        evaluation.put("finalScore", Float.parseFloat(metrics.get("final_score")));
+        evaluation.put("relevance", Float.parseFloat(metrics.get("relevance")));
+        evaluation.put("consistency", Float.parseFloat(metrics.get("consistency")));
+        evaluation.put("hallucination", Float.parseFloat(metrics.get("hallucination")));
+        evaluation.put("informationDensity", Float.parseFloat(metrics.get("information_density")));
+        evaluation.put("modelVariance", Float.parseFloat(metrics.get("model_variance")));
+        evaluation.put("tokenUsage", Float.parseFloat(metrics.get("token_usage")));
+        evaluation.put("overallFeedback", metrics.get("feedback"));
+        evaluation.put("promptType", category);
+
+        ObjectNode example = doc.putArray("examples").addObject();
+        example.put("index", 0);
+        example.putObject("input").put("inputType", "text").put("content", "{\"입력\":\"" + title + "\"}");
+        example.put("output", "");
+
+        if (embedder != null) {
+            // EmbeddingService.textFor와 같은 입력
+            String text = title + "\n" + description + "\n" + content.substring(0, Math.min(content.length(), CONTENT_CHARS));
+            ArrayNode vector = doc.putArray("embedding");
+            for (float value : embedder.embed(text)) {
+                vector.add(value);
+            }
+            doc.put("embeddingVersion", embedder.version());
+        }
+        return doc;
+    }
+
+    private Map<String, String> metrics(SplittableRandom random) {
+        Map<String, String> metrics = new LinkedHashMap<>();
+        String[] fields = {"token_usage", "information_density", "consistency", "model_variance", "hallucination", "relevance", "final_score"};
+        for (String field : fields) {
+            metrics.put(field, String.format(Locale.ROOT, "%.1f", 40 + random.nextDouble() * 60));
+        }
+        metrics.put("feedback", sentence(random, 5, 12));
+        return metrics;
+    }
+
+    // ========== 부가 출력 ==========
+
+    /**
+     * LoadDriver --users-file 입력 (Cognito sub 형식의 사용자 ID, 한 줄에 하나)
+     */
+    void writeUsers(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < options.users; i++) {
+                writer.write(userId(i));
+                writer.newLine();
+            }
+        }
+    }
+
+    // ========== 결정적 ID/텍스트 ==========
+
+    String userId(int index) {
+        return uuid('U', index);
+    }
+
+    String promptId(int rank) {
+        return uuid('P', rank);
+    }
+
+    private String nickname(int index) {
+        return NICKNAME_HEADS[index % NICKNAME_HEADS.length]
+                + NICKNAME_TAILS[(index / NICKNAME_HEADS.length) % NICKNAME_TAILS.length] + index;
+    }
+
+    private String uuid(char kind, int index) {
+        long high = mix(options.seed * 31 + kind * 0x9E3779B97F4A7C15L + index);
+        long low = mix(high ^ 0xD1B54A32D192ED03L);
+        // 버전 4 / IETF variant 비트 설정
+        high = (high & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        low = (low & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(high, low).toString();
+    }
+
+    private SplittableRandom random(char kind, int index) {
+        return new SplittableRandom(mix(options.seed ^ (kind * 0xBF58476D1CE4E5B9L) ^ index));
+    }
+
+    private String sentence(SplittableRandom random, int minWords, int maxWords) {
+        int length = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < length; w++) {
+            text.append(w > 0 ? " " : "").append(WORDS[words.sample(random)]);
+        }
+        return text.toString();
+    }
+
+    private Instant between(Instant from, SplittableRandom random) {
+        long span = Math.max(1, now.getEpochSecond() - from.getEpochSecond());
+        return from.plusSeconds(random.nextLong(span));
+    }
+
+    private static String pick(String[] values, double[] weights, SplittableRandom random) {
+        double point = random.nextDouble();
+        for (int i = 0; i < values.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private static String shortId(SplittableRandom random) {
+        String hex = Integer.toHexString(random.nextInt());
+        return "00000000".substring(hex.length()) + hex;
+    }
+
+    private static String timestamp(Instant instant) {
+        return instant.toString();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static AttributeValue s(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    private static AttributeValue n(long value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+
+    // ========== 내부 클래스 ==========
+
+    /**
+     * 생성 스레드별 출력 버퍼 (가득 차면 묶음으로 기록)
+     */
+    private final class Batch {
+        private final DatasetSink sink;
+        private List<Map<String, AttributeValue>> pendingItems = new ArrayList<>(ITEM_BATCH);
+        private List<ObjectNode> pendingDocuments = new ArrayList<>(DOCUMENT_BATCH);
+
+        Batch(DatasetSink sink) {
+            this.sink = sink;
+        }
+
+        void add(Map<String, AttributeValue> item) throws IOException {
+            pendingItems.add(item);
+            if (pendingItems.size() == ITEM_BATCH) {
+                flushItems();
+            }
+        }
+
+        void add(ObjectNode document) throws IOException {
+            pendingDocuments.add(document);
+            if (pendingDocuments.size() == DOCUMENT_BATCH) {
+                flushDocuments();
+            }
+        }
+
+        void flush() throws IOException {
+            flushItems();
+            flushDocuments();
+        }
+
+        private void flushItems() throws IOException {
+            if (!pendingItems.isEmpty()) {
+                sink.items(pendingItems);
+                items.addAndGet(pendingItems.size());
+                pendingItems = new ArrayList<>(ITEM_BATCH);
+            }
+        }
+
+        private void flushDocuments() throws IOException {
+            if (!pendingDocuments.isEmpty()) {
+                sink.documents(pendingDocuments);
+                documents.addAndGet(pendingDocuments.size());
+                pendingDocuments = new ArrayList<>(DOCUMENT_BATCH);
+            }
+        }
+    }
+
+    static final class Options {
+        int users = 10_000;
+        int prompts = 20_000;
+        long likes = 500_000;
+        long bookmarks = 100_000;
+        long comments = 100_000;
+        long purchases = 100_000;
+        double skew = 1.1;
+        int days = 180;
+        int credit = 1_000_000;
+        long seed = 42;
+        int embeddingDimension = 256;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String target = "files";
+        String out = "build/dataset";
+        boolean gzip = true;
+        String table = "FromProm_Table";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("옵션 형식은 --이름=값 입니다: " + arg);
+                }
+                String name = arg.substring(2, separator);
+                String value = arg.substring(separator + 1);
+                switch (name) {
+                    case "users" -> options.users = Integer.parseInt(value);
+                    case "prompts" -> options.prompts = Integer.parseInt(value);
+                    case "likes" -> options.likes = Long.parseLong(value);
+                    case "bookmarks" -> options.bookmarks = Long.parseLong(value);
+                    case "comments" -> options.comments = Long.parseLong(value);
+                    case "purchases" -> options.purchases = Long.parseLong(value);
+                    case "skew" -> options.skew = Double.parseDouble(value);
+                    case "days" -> options.days = Integer.parseInt(value);
+                    case "credit" -> options.credit = Integer.parseInt(value);
+                    case "seed" -> options.seed = Long.parseLong(value);
+                    case "embedding-dimension" -> options.embeddingDimension = Integer.parseInt(value);
+                    case "threads" -> options.threads = Integer.parseInt(value);
+                    case "target" -> options.target = value;
+                    case "out" -> options.out = value;
+                    case "gzip" -> options.gzip = Boolean.parseBoolean(value);
+                    case "table" -> options.table = value;
+                    default -> throw new IllegalArgumentException("알 수 없는 옵션: --" + name);
+                }
+            }
+            if (!options.target.equals("files") && !options.target.equals("memory")) {
+                throw new IllegalArgumentException("--target은 files 또는 memory 입니다: " + options.target);
+            }
+            if (options.users < 2 || options.prompts < 1) {
+                throw new IllegalArgumentException("사용자는 2명 이상, 프롬프트는 1개 이상이어야 합니다");
+            }
+            return options;
+        }
+    }
+}
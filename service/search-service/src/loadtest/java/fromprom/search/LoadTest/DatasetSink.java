@@ -0,0 +1,27 @@
+package fromprom.search.LoadTest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 데이터셋 생성기 출력 대상 (여러 생성 스레드가 동시에 호출하므로 구현체는 스레드 안전해야 함)
+ */
+interface DatasetSink extends AutoCloseable {
+
+    /**
+     * FromProm_Table 아이템 묶음
+     */
+    void items(List<Map<String, AttributeValue>> items) throws IOException;
+
+    /**
+     * prompts 인덱스 문서 묶음 (promptId가 문서 _id)
+     */
+    void documents(List<ObjectNode> documents) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,161 @@
+package fromprom.search.LoadTest;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 인메모리 대역 시드 파일 형식으로 기록
+ * - DynamoDB: 한 줄에 {"Item": {...}} (DynamoDB JSON, aws.dynamodb.memory.seed-file)
+ * - OpenSearch: _bulk 형식 NDJSON (opensearch.memory.seed-file)
+ * - 직렬화는 호출 스레드에서 병렬로, 압축/쓰기만 파일별로 직렬화 (.gz면 속도 우선 압축)
+ */
+final class FileDatasetSink implements DatasetSink {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String index;
+    private final OutputStream itemsOut;
+    private final OutputStream documentsOut;
+
+    FileDatasetSink(Path itemsFile, Path documentsFile, String index) throws IOException {
+        this.index = index;
+        this.itemsOut = open(itemsFile);
+        this.documentsOut = open(documentsFile);
+    }
+
+    @Override
+    public void items(List<Map<String, AttributeValue>> items) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(items.size() * 512);
+        try (JsonGenerator generator = generator(buffer)) {
+            for (Map<String, AttributeValue> item : items) {
+                generator.writeStartObject();
+                generator.writeFieldName("Item");
+                writeItem(generator, item);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        write(itemsOut, buffer);
+    }
+
+    @Override
+    public void documents(List<ObjectNode> documents) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(documents.size() * 4096);
+        try (JsonGenerator generator = generator(buffer)) {
+            for (ObjectNode document : documents) {
+                generator.writeStartObject();
+                generator.writeObjectFieldStart("index");
+                generator.writeStringField("_index", index);
+                generator.writeStringField("_id", document.path("promptId").asText());
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                OBJECT_MAPPER.writeTree(generator, document);
+                generator.writeRaw('\n');
+            }
+        }
+        write(documentsOut, buffer);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (OutputStream items = itemsOut; OutputStream documents = documentsOut) {
+            items.flush();
+            documents.flush();
+        }
+    }
+
+    private static void write(OutputStream out, ByteArrayOutputStream buffer) throws IOException {
+        synchronized (out) {
+            buffer.writeTo(out);
+        }
+    }
+
+    private static JsonGenerator generator(OutputStream buffer) throws IOException {
+        JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(buffer, JsonEncoding.UTF8);
+        // 루트 값 사이 기본 구분자(공백) 대신 줄바꿈을 직접 기록
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        OutputStream raw = Files.newOutputStream(file);
+        if (!file.toString().endsWith(".gz")) {
+            return new BufferedOutputStream(raw, 1 << 16);
+        }
+        return new GZIPOutputStream(raw, 1 << 16) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    private static void writeItem(JsonGenerator generator, Map<String, AttributeValue> item) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            generator.writeFieldName(attribute.getKey());
+            writeValue(generator, attribute.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator generator, AttributeValue value) throws IOException {
+        generator.writeStartObject();
+        if (value.s() != null) {
+            generator.writeStringField("S", value.s());
+        } else if (value.n() != null) {
+            generator.writeStringField("N", value.n());
+        } else if (value.bool() != null) {
+            generator.writeBooleanField("BOOL", value.bool());
+        } else if (value.b() != null) {
+            generator.writeStringField("B", encode(value.b()));
+        } else if (value.hasSs()) {
+            generator.writeArrayFieldStart("SS");
+            for (String element : value.ss()) {
+                generator.writeString(element);
+            }
+            generator.writeEndArray();
+        } else if (value.hasNs()) {
+            generator.writeArrayFieldStart("NS");
+            for (String element : value.ns()) {
+                generator.writeString(element);
+            }
+            generator.writeEndArray();
+        } else if (value.hasL()) {
+            generator.writeArrayFieldStart("L");
+            for (AttributeValue element : value.l()) {
+                writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value.hasM()) {
+            generator.writeFieldName("M");
+            writeItem(generator, value.m());
+        } else {
+            generator.writeBooleanField("NULL", true);
+        }
+        generator.writeEndObject();
+    }
+
+    private static String encode(SdkBytes bytes) {
+        return Base64.getEncoder().encodeToString(bytes.asByteArray());
+    }
+}
@@ -0,0 +1,470 @@
+package fromprom.search.LoadTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 검색/상세/좋아요/구매 혼합 부하 드라이버 (폐쇄 루프: 동시 사용자 수만큼 요청을 연속 발행)
+ * - 대상: loadtest 프로파일로 띄운 search-service(인메모리 OpenSearch/DynamoDB) + auth-service(인메모리 DynamoDB)
+ * - 좋아요/구매는 토큰이 필요 없는 auth-service 테스트 엔드포인트(/api/test/*) 사용
+ * - 준비 단계: 테스트 사용자 생성(또는 DatasetGenerator의 users.txt 사용) + /api/search/all 페이지를 넘겨 프롬프트 ID 수집
+ * - 사용자 ID는 Cognito sub 형식으로 다루고, DynamoDB 키가 필요한 구매 요청에만 USER# 접두사를 붙임
+ * - --prompt-skew > 0 이면 프롬프트를 Zipf 분포로 골라 인기 프롬프트에 요청이 몰리게 함
+ * - 결과: 작업별 처리량, 오류 수, p50/p90/p99/max 지연 (워밍업 구간 제외)
+ * - --csv 지정 시 결과를 --label과 함께 CSV에 추가 (플랫폼/가상 스레드 모드 등 실행 간 비교용)
+ *
+ * 실행: ./gradlew loadTest -Pargs="--concurrency=64 --duration=60s --mix=search:60,detail:30,like:7,purchase:3"
+ */
+public class LoadDriver {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ThreadLocal<SplittableRandom> RANDOM =
+            ThreadLocal.withInitial(() -> new SplittableRandom(ThreadLocalRandom.current().nextLong()));
+    private static final String[] DEFAULT_KEYWORDS = {
+            "마케팅", "블로그", "이메일", "요약", "번역", "코드", "리뷰", "이미지", "gpt", "python", "sql", "seo"
+    };
+
+    private final HttpClient http;
+    private final String searchUrl;
+    private final String authUrl;
+    private final Duration timeout;
+    private final String[] keywords;
+    private final List<String> userIds = new ArrayList<>();
+    private final List<Prompt> prompts = new ArrayList<>();
+    private Zipf promptPopularity;
+
+    public LoadDriver(String searchUrl, String authUrl, Duration timeout, String[] keywords, int connectionThreads) {
+        this.searchUrl = searchUrl;
+        this.authUrl = authUrl;
+        this.timeout = timeout;
+        this.keywords = keywords;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(Executors.newFixedThreadPool(connectionThreads))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        Duration duration = duration(options.getOrDefault("duration", "60s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", "search:60,detail:30,like:7,purchase:3"));
+        String[] keywords = options.containsKey("keywords") ? options.get("keywords").split(",") : DEFAULT_KEYWORDS;
+
+        LoadDriver driver = new LoadDriver(
+                options.getOrDefault("search-url", "http://localhost:8081"),
+                options.getOrDefault("auth-url", "http://localhost:8080"),
+                duration(options.getOrDefault("timeout", "5s")),
+                keywords,
+                Integer.parseInt(options.getOrDefault("client-threads", "8")));
+
+        if (options.containsKey("users-file")) {
+            driver.loadUsers(Path.of(options.get("users-file")), Integer.parseInt(options.getOrDefault("users", "10000")));
+        } else {
+            driver.createUsers(Integer.parseInt(options.getOrDefault("users", "200")));
+        }
+        driver.collectPrompts(Integer.parseInt(options.getOrDefault("prompts", "2000")));
+        double promptSkew = Double.parseDouble(options.getOrDefault("prompt-skew", "0"));
+        if (promptSkew > 0 && !driver.prompts.isEmpty()) {
+            driver.promptPopularity = new Zipf(driver.prompts.size(), promptSkew, 0);
+        }
+        if (driver.userIds.isEmpty()) {
+            System.err.println("테스트 사용자를 만들지 못했습니다 (auth-service 실행 여부 확인)");
+            System.exit(1);
+        }
+        if (driver.prompts.isEmpty() && (mix.weight("detail") > 0 || mix.weight("like") > 0 || mix.weight("purchase") > 0)) {
+            System.err.println("프롬프트가 없어 상세/좋아요/구매 요청을 만들 수 없습니다 (시드 데이터 확인)");
+            System.exit(1);
+        }
+
+        System.out.printf("부하 시작: 동시 사용자 %d, 워밍업 %ds, 측정 %ds, 비율 %s%n",
+                concurrency, warmup.toSeconds(), duration.toSeconds(), mix);
+        Report report = driver.run(concurrency, warmup, duration, mix);
+        report.print(System.out);
+        if (options.containsKey("csv")) {
+            report.appendCsv(Path.of(options.get("csv")), options.getOrDefault("label", "run"), concurrency);
+        }
+        System.exit(0);
+    }
+
+    // ========== 준비 단계 ==========
+
+    private void createUsers(int count) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < count; i++) {
+            String userSub = "loadtest-" + runId + "-" + i;
+            Map<String, Object> body = Map.of(
+                    "userSub", "USER#" + userSub,
+                    "email", userSub + "@loadtest.local",
+                    "nickname", "부하" + runId + i,
+                    "credit", 100_000_000);
+            HttpResponse<String> response = send(post(authUrl + "/api/test/create-user", body));
+            if (response.statusCode() / 100 == 2) {
+                userIds.add(userSub);
+            } else {
+                System.err.printf("사용자 생성 실패 (%d): %s%n", response.statusCode(), response.body());
+            }
+        }
+        System.out.printf("테스트 사용자 %d명 생성%n", userIds.size());
+    }
+
+    private void loadUsers(Path file, int limit) throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            lines.map(String::trim).filter(line -> !line.isEmpty()).limit(limit).forEach(userIds::add);
+        }
+        System.out.printf("사용자 파일에서 %d명 읽음: %s%n", userIds.size(), file);
+    }
+
+    private void collectPrompts(int limit) throws Exception {
+        String cursor = null;
+        while (prompts.size() < limit) {
+            String url = searchUrl + "/api/search/all?size=100" + (cursor != null ? "&cursor=" + encode(cursor) : "");
+            HttpResponse<String> response = send(get(url));
+            if (response.statusCode() != 200) {
+                System.err.printf("프롬프트 목록 조회 실패 (%d): %s%n", response.statusCode(), response.body());
+                break;
+            }
+            JsonNode page = JSON.readTree(response.body());
+            for (JsonNode prompt : page.path("prompts")) {
+                prompts.add(new Prompt(prompt.path("promptId").asText(), prompt.path("title").asText(""),
+                        Math.max(prompt.path("price").asInt(0), 0)));
+            }
+            cursor = page.path("nextCursor").asText(null);
+            if (!page.path("hasNext").asBoolean(false) || cursor == null) {
+                break;
+            }
+        }
+        System.out.printf("프롬프트 %d개 수집%n", prompts.size());
+    }
+
+    // ========== 부하 단계 ==========
+
+    private Report run(int concurrency, Duration warmup, Duration duration, Mix mix) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        List<Recorder> recorders = new ArrayList<>();
+        ExecutorService users = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Recorder recorder = new Recorder(mix.names());
+            recorders.add(recorder);
+            users.execute(() -> {
+                while (System.nanoTime() < end) {
+                    String operation = mix.pick();
+                    long began = System.nanoTime();
+                    boolean ok = execute(operation);
+                    long finished = System.nanoTime();
+                    if (began >= measureFrom) {
+                        recorder.record(operation, finished - began, ok);
+                    }
+                }
+            });
+        }
+        users.shutdown();
+        users.awaitTermination(warmup.plus(duration).toSeconds() + timeout.toSeconds() + 5, TimeUnit.SECONDS);
+        return new Report(recorders, duration);
+    }
+
+    private boolean execute(String operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            HttpRequest request;
+            switch (operation) {
+                case "search": {
+                    String keyword = keywords[random.nextInt(keywords.length)];
+                    request = get(searchUrl + "/api/search?size=20&keyword=" + encode(keyword) + "&userId=" + randomUser());
+                    break;
+                }
+                case "detail":
+                    request = get(searchUrl + "/api/search/prompt/" + randomPrompt().id + "?userId=" + randomUser());
+                    break;
+                case "like":
+                    request = post(authUrl + "/api/test/like", Map.of("userSub", randomUser(), "promptId", randomPrompt().id));
+                    break;
+                case "purchase": {
+                    Prompt prompt = randomPrompt();
+                    String buyer = randomUser();
+                    String seller = randomUser();
+                    request = post(authUrl + "/api/test/purchase", Map.of(
+                            "buyerSub", "USER#" + buyer, "sellerSub", "USER#" + seller, "price", prompt.price, "title", prompt.title));
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("알 수 없는 작업: " + operation);
+            }
+            return send(request).statusCode() / 100 == 2;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private String randomUser() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    private Prompt randomPrompt() {
+        if (promptPopularity != null) {
+            return prompts.get(promptPopularity.sampleRank(RANDOM.get()));
+        }
+        return prompts.get(ThreadLocalRandom.current().nextInt(prompts.size()));
+    }
+
+    // ========== HTTP ==========
+
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest post(String url, Map<String, Object> body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // ========== 옵션 ==========
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션 형식은 --이름=값 입니다: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Duration duration(String text) {
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(text.endsWith("s") ? text.substring(0, text.length() - 1) : text));
+    }
+
+    // ========== 내부 클래스 ==========
+
+    private static final class Prompt {
+        final String id;
+        final String title;
+        final int price;
+
+        Prompt(String id, String title, int price) {
+            this.id = id;
+            this.title = title;
+            this.price = price;
+        }
+    }
+
+    /**
+     * 작업 비율 (예: search:60,detail:30,like:7,purchase:3)
+     */
+    private static final class Mix {
+        private final String[] names;
+        private final int[] cumulative;
+
+        private Mix(String[] names, int[] cumulative) {
+            this.names = names;
+            this.cumulative = cumulative;
+        }
+
+        static Mix parse(String text) {
+            String[] entries = text.split(",");
+            String[] names = new String[entries.length];
+            int[] cumulative = new int[entries.length];
+            int total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                String[] pair = entries[i].trim().split(":");
+                names[i] = pair[0];
+                total += Integer.parseInt(pair[1]);
+                cumulative[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("작업 비율 합계가 0입니다: " + text);
+            }
+            return new Mix(names, cumulative);
+        }
+
+        String pick() {
+            int point = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (point < cumulative[i]) {
+                    return names[i];
+                }
+            }
+            return names[names.length - 1];
+        }
+
+        int weight(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return cumulative[i] - (i > 0 ? cumulative[i - 1] : 0);
+                }
+            }
+            return 0;
+        }
+
+        String[] names() {
+            return names;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < names.length; i++) {
+                text.append(i > 0 ? "," : "").append(names[i]).append(':').append(weight(names[i]));
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * 동시 사용자(스레드) 하나의 측정값 (스레드 간 공유하지 않으므로 동기화 불필요)
+     */
+    private static final class Recorder {
+        final Map<String, long[]> latencies = new LinkedHashMap<>();
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        final Map<String, Integer> errors = new LinkedHashMap<>();
+
+        Recorder(String[] operations) {
+            for (String operation : operations) {
+                latencies.put(operation, new long[1024]);
+                counts.put(operation, 0);
+                errors.put(operation, 0);
+            }
+        }
+
+        void record(String operation, long nanos, boolean ok) {
+            int count = counts.get(operation);
+            long[] values = latencies.get(operation);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+            if (!ok) {
+                errors.merge(operation, 1, Integer::sum);
+            }
+        }
+    }
+
+    private record Row(String operation, int requests, int errors, double throughput,
+                       double p50, double p90, double p99, double max) {
+    }
+
+    private static final class Report {
+        private final List<Recorder> recorders;
+        private final Duration duration;
+
+        Report(List<Recorder> recorders, Duration duration) {
+            this.recorders = recorders;
+            this.duration = duration;
+        }
+
+        void print(PrintStream out) {
+            out.printf("%-10s %10s %8s %10s %9s %9s %9s %9s%n",
+                    "operation", "requests", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+            long totalRequests = 0;
+            long totalErrors = 0;
+            for (Row row : rows()) {
+                out.printf("%-10s %10d %8d %10.1f %9.1f %9.1f %9.1f %9.1f%n",
+                        row.operation(), row.requests(), row.errors(), row.throughput(),
+                        row.p50(), row.p90(), row.p99(), row.max());
+                totalRequests += row.requests();
+                totalErrors += row.errors();
+            }
+            out.printf("%-10s %10d %8d %10.1f%n", "total", totalRequests, totalErrors,
+                    totalRequests / (duration.toMillis() / 1000.0));
+        }
+
+        // 파일이 없으면 헤더부터 쓰고, 있으면 행만 추가
+        void appendCsv(Path file, String label, int concurrency) throws IOException {
+            StringBuilder csv = new StringBuilder();
+            if (!Files.exists(file)) {
+                csv.append("label,concurrency,operation,requests,errors,rps,p50_ms,p90_ms,p99_ms,max_ms\n");
+            }
+            for (Row row : rows()) {
+                csv.append(String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                        label, concurrency, row.operation(), row.requests(), row.errors(), row.throughput(),
+                        row.p50(), row.p90(), row.p99(), row.max()));
+            }
+            Files.writeString(file, csv, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            System.out.printf("결과 추가: %s (%s)%n", file, label);
+        }
+
+        private List<Row> rows() {
+            double seconds = duration.toMillis() / 1000.0;
+            List<Row> rows = new ArrayList<>();
+            for (String operation : recorders.get(0).counts.keySet()) {
+                int count = 0;
+                int errors = 0;
+                for (Recorder recorder : recorders) {
+                    count += recorder.counts.get(operation);
+                    errors += recorder.errors.get(operation);
+                }
+                long[] merged = new long[count];
+                int offset = 0;
+                for (Recorder recorder : recorders) {
+                    int size = recorder.counts.get(operation);
+                    System.arraycopy(recorder.latencies.get(operation), 0, merged, offset, size);
+                    offset += size;
+                }
+                Arrays.sort(merged);
+                rows.add(new Row(operation, count, errors, count / seconds,
+                        percentile(merged, 0.50), percentile(merged, 0.90), percentile(merged, 0.99),
+                        count > 0 ? merged[count - 1] / 1_000_000.0 : 0.0));
+            }
+            return rows;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
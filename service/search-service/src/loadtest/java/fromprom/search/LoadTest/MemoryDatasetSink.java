@@ -0,0 +1,44 @@
+package fromprom.search.LoadTest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fromprom.common.InMemory.InMemoryDynamoDb;
+import fromprom.search.InMemory.InMemoryOpenSearch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 같은 프로세스의 인메모리 대역에 직접 적재 (JMH/프로세스 내 부하 실험용)
+ * - DynamoDB는 묶음 단위 putAll (테이블 락 1회), OpenSearch는 문서 단위 색인
+ */
+final class MemoryDatasetSink implements DatasetSink {
+
+    private final InMemoryDynamoDb dynamoDb;
+    private final InMemoryOpenSearch openSearch;
+    private final String table;
+    private final String index;
+
+    MemoryDatasetSink(InMemoryDynamoDb dynamoDb, InMemoryOpenSearch openSearch, String index) {
+        this.dynamoDb = dynamoDb;
+        this.openSearch = openSearch;
+        this.table = dynamoDb.getDefaultTable();
+        this.index = index;
+    }
+
+    @Override
+    public void items(List<Map<String, AttributeValue>> items) {
+        dynamoDb.putAll(table, items);
+    }
+
+    @Override
+    public void documents(List<ObjectNode> documents) {
+        for (ObjectNode document : documents) {
+            openSearch.index(index, document.path("promptId").asText(), null, document);
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,87 @@
+package fromprom.search.LoadTest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf 분포 (순위 k의 확률 ∝ 1 / k^s)
+ * - 누적 분포를 미리 계산해 두고 이진 탐색으로 표본 추출 (n=수백만에서도 표본당 O(log n))
+ * - 순위 0이 가장 인기 있는 항목이므로, 역할별로 다른 항목이 상위가 되도록 permute()로 섞어서 사용
+ */
+final class Zipf {
+
+    private final double[] cumulative;
+    private final long multiplier;
+    private final long offset;
+
+    Zipf(int n, double exponent, long salt) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf 항목 수는 1 이상이어야 합니다: " + n);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+
+        // n과 서로소인 곱셈 상수 → 순위 ↔ 항목 번호의 일대일 대응
+        long candidate = 1_000_003L + 2 * Math.floorMod(salt, 1000);
+        while (gcd(candidate, n) != 1) {
+            candidate += 2;
+        }
+        multiplier = candidate;
+        offset = Math.floorMod(salt * 31, n);
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * 순위 k의 확률
+     */
+    double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    /**
+     * 순위 표본
+     */
+    int sampleRank(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * 항목 번호 표본 (순위를 permute()로 섞은 값)
+     */
+    int sample(SplittableRandom random) {
+        return permute(sampleRank(random));
+    }
+
+    int permute(int rank) {
+        return (int) ((rank * multiplier + offset) % cumulative.length);
+    }
+
+    /**
+     * 전체 total건을 순위별 확률에 비례해 나눈 기대 건수 (소수점 이하는 확률적으로 반올림)
+     */
+    int share(int rank, long total, SplittableRandom random) {
+        double expected = probability(rank) * total;
+        int whole = (int) Math.min(expected, Integer.MAX_VALUE);
+        return whole + (random.nextDouble() < expected - whole ? 1 : 0);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,129 @@
+package fromprom.search.Cache;
+
+import fromprom.search.DTO.Suggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 자동완성용 접두사 트라이
+ * - 각 노드에 가중치 상위 K개 후보를 미리 저장하여 조회 비용이 접두사 길이에만 비례
+ * - 한글은 자모 단위로 분해하여 저장하므로 입력 중인 글자("맠" → "마케...")도 매칭됨
+ * - 한 번 build() 한 뒤에는 읽기 전용 (갱신은 새 트라이를 만들어 교체)
+ */
+public class PrefixTrie {
+
+    private static final int HANGUL_BASE = 0xAC00;
+    private static final int HANGUL_END = 0xD7A3;
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+
+    // 종성(받침) → 초성 변환 테이블 (인덱스 0은 받침 없음, 겹받침은 초성 두 개로 분해)
+    private static final String[] JONGSEONG_AS_CHOSEONG = {
+            "", "ᄀ", "ᄁ", "ᄀᄉ", "ᄂ", "ᄂᄌ", "ᄂᄒ", "ᄃ", "ᄅ", "ᄅᄀ",
+            "ᄅᄆ", "ᄅᄇ", "ᄅᄉ", "ᄅᄐ", "ᄅᄑ", "ᄅᄒ", "ᄆ", "ᄇ", "ᄇᄉ", "ᄉ",
+            "ᄊ", "ᄋ", "ᄌ", "ᄎ", "ᄏ", "ᄐ", "ᄑ", "ᄒ"
+    };
+
+    private final Node root = new Node();
+    private final int topK;
+
+    public PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    public void insert(String text, Suggestion suggestion) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        node.offer(suggestion, topK);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            node.offer(suggestion, topK);
+        }
+    }
+
+    /**
+     * 접두사로 시작하는 후보를 가중치 순으로 최대 limit개 반환
+     */
+    public List<Suggestion> search(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return node.top.size() > limit ? List.copyOf(node.top.subList(0, limit)) : List.copyOf(node.top);
+    }
+
+    /**
+     * 검색 키 정규화: 소문자, 공백 정리, 한글 음절을 초성/중성/초성(받침) 자모로 분해
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String compat = Normalizer.normalize(text.trim(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(compat.length() * 3);
+        boolean lastSpace = false;
+        for (int i = 0; i < compat.length(); i++) {
+            char c = compat.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!lastSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                lastSpace = true;
+                continue;
+            }
+            lastSpace = false;
+            if (c >= HANGUL_BASE && c <= HANGUL_END) {
+                int offset = c - HANGUL_BASE;
+                int cho = offset / (JUNGSEONG_COUNT * JONGSEONG_COUNT);
+                int jung = (offset % (JUNGSEONG_COUNT * JONGSEONG_COUNT)) / JONGSEONG_COUNT;
+                int jong = offset % JONGSEONG_COUNT;
+                sb.append((char) (0x1100 + cho));
+                sb.append((char) (0x1161 + jung));
+                sb.append(JONGSEONG_AS_CHOSEONG[jong]);
+            } else if (c >= 0x11A8 && c <= 0x11C2) {
+                // NFKC로 변환된 단독 겹받침 자모(ㄳ 등)도 초성 기준으로 맞춤
+                sb.append(JONGSEONG_AS_CHOSEONG[c - 0x11A7]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Suggestion> top = new ArrayList<>(4);
+
+        private void offer(Suggestion suggestion, int topK) {
+            for (Suggestion existing : top) {
+                if (existing.getText().equals(suggestion.getText()) && existing.getType().equals(suggestion.getType())) {
+                    return;
+                }
+            }
+            if (top.size() < topK) {
+                top.add(suggestion);
+            } else if (suggestion.getWeight() > top.get(top.size() - 1).getWeight()) {
+                top.set(top.size() - 1, suggestion);
+            } else {
+                return;
+            }
+            top.sort(Comparator.comparingDouble(Suggestion::getWeight).reversed());
+        }
+    }
+}
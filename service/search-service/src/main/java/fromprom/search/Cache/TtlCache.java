@@ -0,0 +1,103 @@
+package fromprom.search.Cache;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만료 시간(TTL)이 있는 간단한 인메모리 캐시
+ * - 최대 크기를 넘으면 만료된 항목을 먼저 정리하고, 그래도 넘치면 오래된 항목부터 제거
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> store = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    public TtlCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 만료되지 않은 값 조회 (없거나 만료되면 null)
+     */
+    public V get(K key) {
+        Entry<V> entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(ttlMillis)) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        if (store.size() >= maxSize && !store.containsKey(key)) {
+            evict();
+        }
+        store.put(key, new Entry<>(value, System.currentTimeMillis()));
+    }
+
+    /**
+     * 키가 없거나 만료된 경우에만 저장
+     * @return 저장되었으면 true
+     */
+    public boolean putIfAbsent(K key, V value) {
+        if (get(key) != null) {
+            return false;
+        }
+        if (store.size() >= maxSize) {
+            evict();
+        }
+        Entry<V> newEntry = new Entry<>(value, System.currentTimeMillis());
+        Entry<V> previous = store.putIfAbsent(key, newEntry);
+        if (previous != null && previous.isExpired(ttlMillis)) {
+            return store.replace(key, previous, newEntry);
+        }
+        return previous == null;
+    }
+
+    public void invalidate(K key) {
+        store.remove(key);
+    }
+
+    public void invalidateAll() {
+        store.clear();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * 만료 항목 정리 후에도 가득 차 있으면 오래된 순으로 10%를 한 번에 제거 (매 put마다 전체 순회 방지)
+     */
+    private void evict() {
+        store.entrySet().removeIf(e -> e.getValue().isExpired(ttlMillis));
+        int overflow = store.size() - (int) (maxSize * 0.9);
+        if (overflow > 0) {
+            store.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().storedAt))
+                    .limit(overflow)
+                    .toList()
+                    .forEach(oldest -> store.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long storedAt;
+
+        private Entry(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+
+        private boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - storedAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package fromprom.search.Configuration;
+
+import fromprom.common.Configuration.AdminAccessFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 관리 API(/api/search/admin/**) 접근 제어 필터 등록
+ */
+@Configuration
+public class AdminConfig {
+
+    @Bean
+    public AdminAccessFilter adminAccessFilter(@Value("${admin.api.token:}") String token) {
+        return new AdminAccessFilter("/api/search/admin", token);
+    }
+}
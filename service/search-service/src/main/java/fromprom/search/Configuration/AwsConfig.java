@@ -1,11 +1,33 @@
 package fromprom.search.Configuration;
 
+import fromprom.common.Configuration.SdkHttpClientProfiles;
+import fromprom.common.Metrics.AwsSdkMetricsInterceptor;
+import fromprom.common.Metrics.ConsumedCapacityInterceptor;
+import fromprom.common.Metrics.HotPartitionInterceptor;
+import fromprom.common.Resilience.Bulkhead;
+import fromprom.common.Resilience.BulkheadInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+import software.amazon.awssdk.services.dynamodb.streams.DynamoDbStreamsClient;
+
+import java.net.URI;
 
 @Configuration
 public class AwsConfig {
@@ -13,11 +35,89 @@ public class AwsConfig {
     @Value("${aws.region:ap-northeast-2}")
     private String region;
 
+    // 동시 호출 한도 (0 이하면 제한 없음), 기본값은 HTTP 커넥션 풀 기본 크기(aws.http.*.max-connections, 50)
+    @Value("${downstream.dynamodb.max-concurrent:50}")
+    private int dynamoDbMaxConcurrent;
+
+    @Value("${downstream.dynamodb.max-wait-ms:500}")
+    private long dynamoDbMaxWaitMillis;
+
+    // 동기/비동기 DynamoDB 클라이언트가 같은 한도를 공유 (비동기 클라이언트는 대기 없이 즉시 거절)
+    @Bean
+    public Bulkhead dynamoDbBulkhead(MeterRegistry meterRegistry) {
+        return new Bulkhead("dynamodb", dynamoDbMaxConcurrent, dynamoDbMaxWaitMillis, meterRegistry);
+    }
+
+    @Bean
+    public DynamoDbClient dynamoDbClient(AwsSdkMetricsInterceptor metricsInterceptor,
+                                         ConsumedCapacityInterceptor capacityInterceptor,
+                                         HotPartitionInterceptor hotPartitionInterceptor,
+                                         @Qualifier("inMemoryDynamoDbHttpClient") ObjectProvider<SdkHttpClient> inMemoryHttpClient,
+                                         Bulkhead dynamoDbBulkhead,
+                                         SdkHttpClientProfiles httpClientProfiles) {
+        DynamoDbClientBuilder builder = DynamoDbClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .overrideConfiguration(metered(httpClientProfiles.overrides("dynamodb"),
+                        new BulkheadInterceptor(dynamoDbBulkhead), metricsInterceptor, capacityInterceptor, hotPartitionInterceptor));
+
+        // 부하 테스트용 인메모리 대역 (src/inmemory, aws.dynamodb.mode=memory): 네트워크 호출만 대체, 인터셉터는 그대로 동작
+        // 운영 jar에는 대역 클래스가 없으므로 이름으로만 찾음
+        SdkHttpClient fake = inMemoryHttpClient.getIfAvailable();
+        if (fake != null) {
+            builder.httpClient(fake)
+                    .endpointOverride(URI.create("http://dynamodb.memory.local"))
+                    .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("memory", "memory")));
+        } else {
+            builder.httpClientBuilder(httpClientProfiles.syncClient("dynamodb"));
+        }
+        return builder.build();
+    }
+
+    // 팬아웃 조회(목록 보강, 상세 조립)용 비동기 클라이언트 (기본 Netty NIO, 호출마다 스레드를 점유하지 않음)
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient(AwsSdkMetricsInterceptor metricsInterceptor,
+                                                   ConsumedCapacityInterceptor capacityInterceptor,
+                                                   HotPartitionInterceptor hotPartitionInterceptor,
+                                                   @Qualifier("inMemoryDynamoDbAsyncHttpClient") ObjectProvider<SdkAsyncHttpClient> inMemoryHttpClient,
+                                                   Bulkhead dynamoDbBulkhead,
+                                                   SdkHttpClientProfiles httpClientProfiles) {
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .overrideConfiguration(metered(httpClientProfiles.overrides("dynamodb-async"),
+                        BulkheadInterceptor.nonBlocking(dynamoDbBulkhead), metricsInterceptor, capacityInterceptor, hotPartitionInterceptor));
+
+        SdkAsyncHttpClient fake = inMemoryHttpClient.getIfAvailable();
+        if (fake != null) {
+            builder.httpClient(fake)
+                    .endpointOverride(URI.create("http://dynamodb.memory.local"))
+                    .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("memory", "memory")));
+        } else {
+            builder.httpClientBuilder(httpClientProfiles.asyncClient("dynamodb-async"));
+        }
+        return builder.build();
+    }
+
+    // 카운터 변경 피드를 DynamoDB Streams로 받을 때만 생성
     @Bean
-    public DynamoDbClient dynamoDbClient() {
-        return DynamoDbClient.builder()
+    @ConditionalOnProperty(name = "search.stats-feed.mode", havingValue = "dynamodb")
+    public DynamoDbStreamsClient dynamoDbStreamsClient(AwsSdkMetricsInterceptor metricsInterceptor,
+                                                       SdkHttpClientProfiles httpClientProfiles) {
+        return DynamoDbStreamsClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(httpClientProfiles.syncClient("dynamodb-streams"))
+                .overrideConfiguration(metered(httpClientProfiles.overrides("dynamodb-streams"), metricsInterceptor))
                 .build();
     }
+
+    // 모든 SDK 호출에 지연 시간/오류/스로틀링/재시도 메트릭 기록 (DynamoDB는 동시 호출 한도 + 소비 용량 집계 + 핫 키 탐지 추가)
+    // 타임아웃/재시도 모드/풀 메트릭은 클라이언트별 프로파일(SdkHttpClientProfiles)에서
+    private ClientOverrideConfiguration metered(ClientOverrideConfiguration.Builder builder, ExecutionInterceptor... interceptors) {
+        for (ExecutionInterceptor interceptor : interceptors) {
+            builder.addExecutionInterceptor(interceptor);
+        }
+        return builder.build();
+    }
 }
@@ -0,0 +1,51 @@
+package fromprom.search.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${search.io-executor.threads:32}")
+    private int ioThreads;
+
+    // 가상 스레드 모드 (Spring Boot 공통 설정, 요청 스레드도 가상 스레드로 전환됨)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 요청 하나에서 여러 외부 호출(OpenSearch, DynamoDB)을 동시에 보낼 때 사용하는 I/O 전용 풀
+    // 큐가 가득 차면 호출한 요청 스레드에서 직접 실행 (병렬성만 줄고 요청은 실패하지 않음)
+    // 제출한 요청의 RequestAttributes를 작업 스레드로 전달 (degraded 표시, 호출 엔드포인트 태그)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService ioExecutor(MeterRegistry meterRegistry) {
+        // 가상 스레드 모드: 작업마다 가상 스레드, 외부 호출 동시성은 다운스트림별 Bulkhead가 제한
+        if (virtualThreads) {
+            return new RequestContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                ioThreads, ioThreads,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1000),
+                r -> {
+                    Thread thread = new Thread(r, "search-io-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        // 활성 스레드/큐 길이 게이지 (executor.* , name=search-io)
+        new ExecutorServiceMetrics(executor, "search-io", Tags.empty()).bindTo(meterRegistry);
+        return new RequestContextExecutorService(executor);
+    }
+}
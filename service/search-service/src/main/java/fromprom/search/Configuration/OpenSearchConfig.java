@@ -1,12 +1,31 @@
 package fromprom.search.Configuration;
 
+import fromprom.common.Resilience.Bulkhead;
+import fromprom.search.Cache.TtlCache;
+import fromprom.search.Metrics.MeteredOpenSearchTransport;
+import fromprom.search.Metrics.QueryLoggingTransport;
+import fromprom.search.Metrics.SlowQueryLog;
+import fromprom.search.Resilience.BulkheadOpenSearchTransport;
+import fromprom.search.Resilience.CircuitBreaker;
+import fromprom.search.Resilience.ResilientOpenSearchTransport;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.opensearch.client.opensearch.OpenSearchClient;
 import org.opensearch.client.transport.OpenSearchTransport;
 import org.opensearch.client.transport.httpclient5.ApacheHttpClient5TransportBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,8 +48,90 @@ public class OpenSearchConfig {
     @Value("${opensearch.password}")
     private String password;
 
+    // 커넥션 풀 (기본값은 HttpClient 기본값 25/5보다 크게, 요청 스레드 수에 맞춤)
+    @Value("${opensearch.pool.max-total:64}")
+    private int maxConnTotal;
+
+    @Value("${opensearch.pool.max-per-route:64}")
+    private int maxConnPerRoute;
+
+    @Value("${opensearch.pool.keep-alive-ms:30000}")
+    private long keepAliveMillis;
+
+    // 풀에서 커넥션을 기다리는 최대 시간
+    @Value("${opensearch.timeout.pool-wait-ms:500}")
+    private long poolWaitMillis;
+
+    @Value("${opensearch.timeout.connect-ms:1000}")
+    private long connectTimeoutMillis;
+
+    // 모든 요청 공통 상한 (색인/벌크 포함), 조회는 아래 deadline이 먼저 적용됨
+    @Value("${opensearch.timeout.response-ms:30000}")
+    private long responseTimeoutMillis;
+
+    @Value("${opensearch.deadline.search-ms:2000}")
+    private long searchDeadlineMillis;
+
+    @Value("${opensearch.deadline.get-ms:1000}")
+    private long getDeadlineMillis;
+
+    @Value("${opensearch.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${opensearch.breaker.open-ms:10000}")
+    private long breakerOpenMillis;
+
+    // 마지막 정상 응답 캐시 (서킷 OPEN/장애 시 대체 응답)
+    // - TTL 10분: 노드 교체/블루그린 배포처럼 수 분 걸리는 클러스터 장애를 덮되, 가격/카운트가 오래 묵지 않도록
+    @Value("${search.opensearch.fallback.ttl-ms:600000}")
+    private long fallbackTtlMillis;
+
+    // - 1000개: 응답 JSON(목록 20건 기준 수십 KB) 기준 수십 MB 이내, 기록이 초당 20회로 제한되어 10분 TTL이면 대부분 재사용됨
+    @Value("${search.opensearch.fallback.max-entries:1000}")
+    private int fallbackMaxEntries;
+
+    // - 정상 응답 기록 간격: 50ms (초당 최대 20회 요청 키/응답 직렬화, 트래픽이 늘어도 비용 고정)
+    @Value("${search.opensearch.fallback.record-interval-ms:50}")
+    private long fallbackRecordIntervalMillis;
+
+    // 동시 호출 한도 (0 이하면 제한 없음), 커넥션 풀 크기와 맞춰야 풀 대기 대신 여기서 빠르게 거절됨
+    @Value("${downstream.opensearch.max-concurrent:64}")
+    private int maxConcurrent;
+
+    @Value("${downstream.opensearch.max-wait-ms:200}")
+    private long maxConcurrentWaitMillis;
+
     @Bean
-    public OpenSearchClient openSearchClient() {
+    public ResilientOpenSearchTransport openSearchTransport(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog,
+                                                           @Qualifier("inMemoryOpenSearchTransport") ObjectProvider<OpenSearchTransport> inMemoryTransport) {
+        // 1~3. 클러스터 Transport (부하 테스트용 인메모리 대역(src/inmemory, opensearch.mode=memory)이 있으면 대체)
+        final OpenSearchTransport fake = inMemoryTransport.getIfAvailable();
+        final OpenSearchTransport transport = fake != null ? fake : httpTransport(meterRegistry);
+
+        // 4. 실제 호출 계측 (지연 시간/오류/스로틀링) + 검색 쿼리별 took/모양 기록 (느린 쿼리 로그)
+        final OpenSearchTransport metered = new QueryLoggingTransport(
+                new MeteredOpenSearchTransport(transport, meterRegistry), slowQueryLog);
+
+        // 5. 동시 호출 한도 (가상 스레드 모드에서 요청 수만큼 호출이 몰리지 않도록)
+        final OpenSearchTransport limited = new BulkheadOpenSearchTransport(
+                metered, new Bulkhead("opensearch", maxConcurrent, maxConcurrentWaitMillis, meterRegistry));
+
+        // 6. 조회 요청에 마감 시간 + 서킷 브레이커 + 마지막 정상 응답 캐시 적용
+        final CircuitBreaker circuitBreaker = new CircuitBreaker("opensearch", breakerFailureThreshold, breakerOpenMillis);
+        Gauge.builder("opensearch.circuit.open", circuitBreaker, cb -> cb.isClosed() ? 0 : 1)
+                .description("1이면 OPEN/HALF_OPEN (호출 차단 중)")
+                .register(meterRegistry);
+
+        return new ResilientOpenSearchTransport(
+                limited,
+                circuitBreaker,
+                new TtlCache<>(fallbackTtlMillis, fallbackMaxEntries),
+                fallbackRecordIntervalMillis,
+                searchDeadlineMillis,
+                getDeadlineMillis);
+    }
+
+    private OpenSearchTransport httpTransport(MeterRegistry meterRegistry) {
         // 1. 인증 정보 설정 (Basic Auth)
         final BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
         credentialsProvider.setCredentials(
@@ -38,15 +139,36 @@ public class OpenSearchConfig {
                 new UsernamePasswordCredentials(username, password.toCharArray())
         );
 
-        // 2. Transport 빌드
-        final OpenSearchTransport transport = ApacheHttpClient5TransportBuilder
+        // 2. 커넥션 풀 + 연결 타임아웃
+        final PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnTotal)
+                .setMaxConnPerRoute(maxConnPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "opensearch").bindTo(meterRegistry);
+
+        // 3. Transport 빌드
+        return ApacheHttpClient5TransportBuilder
                 .builder(new HttpHost(protocol, host, port))
-                .setHttpClientConfigCallback(httpClientBuilder ->
-                        httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider)
+                .setHttpClientConfigCallback(httpClientBuilder -> httpClientBuilder
+                        .setDefaultCredentialsProvider(credentialsProvider)
+                        .setConnectionManager(connectionManager)
+                        .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMillis))
+                        .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMillis))
+                )
+                .setRequestConfigCallback(requestConfigBuilder -> requestConfigBuilder
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
                 )
                 .build();
+    }
 
-        // 3. OpenSearchClient 생성 및 반환
-        return new OpenSearchClient(transport);
+    @Bean
+    public OpenSearchClient openSearchClient(ResilientOpenSearchTransport openSearchTransport) {
+        // OpenSearchClient 생성 및 반환
+        return new OpenSearchClient(openSearchTransport);
     }
 }
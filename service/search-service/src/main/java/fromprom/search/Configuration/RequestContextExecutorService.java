@@ -0,0 +1,70 @@
+package fromprom.search.Configuration;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업을 제출한 스레드의 요청 컨텍스트(RequestAttributes)를 작업 스레드로 전달하는 ExecutorService 래퍼
+ * - I/O 풀에서 실행되는 호출도 요청 단위 기능(마감 시간/캐시 대체 + degraded 표시, 호출 엔드포인트 메트릭 태그)을 그대로 적용받음
+ * - 작업이 끝나면 작업 스레드의 이전 컨텍스트로 복원
+ */
+final class RequestContextExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    RequestContextExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            delegate.execute(command);
+            return;
+        }
+        delegate.execute(() -> {
+            RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                command.run();
+            } finally {
+                if (previous != null) {
+                    RequestContextHolder.setRequestAttributes(previous);
+                } else {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,30 @@
+package fromprom.search.Configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * @Scheduled 작업용 스케줄러 풀
+ * - 기본 스케줄러는 스레드 1개라 몇 분씩 걸리는 배치(트렌딩 점수, 임베딩 백필, 유사 프롬프트)가 도는 동안
+ *   카운터 오버레이 폴링(1초)과 홈 피드 갱신이 밀림
+ * - fixedDelay 작업은 한 번에 스레드 하나만 쓰므로 작업 수(현재 6개) 이상이면 서로 막지 않음
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Value("${search.scheduling.pool-size:6}")
+    private int poolSize;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("search-scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        scheduler.initialize();
+        registrar.setTaskScheduler(scheduler);
+    }
+}
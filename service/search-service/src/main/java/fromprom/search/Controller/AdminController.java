@@ -0,0 +1,194 @@
+package fromprom.search.Controller;
+
+import fromprom.common.Metrics.CapacityLedger;
+import fromprom.common.Metrics.HotPartitionDetector;
+import fromprom.search.Metrics.SlowQueryLog;
+import fromprom.search.Service.ReindexService;
+import fromprom.search.Service.RoutingBenchmarkService;
+import fromprom.search.Service.SearchPhaseStats;
+import fromprom.search.Service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 운영용 관리 API (X-Admin-Token 헤더 필요, AdminAccessFilter)
+ */
+@RestController
+@RequestMapping("/api/search/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final ReindexService reindexService;
+    private final SearchPhaseStats searchPhaseStats;
+    private final SearchService searchService;
+    private final RoutingBenchmarkService routingBenchmarkService;
+    private final CapacityLedger capacityLedger;
+    private final HotPartitionDetector hotPartitionDetector;
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * 전체 재색인 시작 / 실패한 작업 재개
+     * POST /api/search/admin/reindex?segments=8
+     * POST /api/search/admin/reindex?resumeJobId=xxx
+     */
+    @PostMapping("/reindex")
+    public ResponseEntity<Map<String, Object>> startReindex(
+            @RequestParam(required = false) Integer segments,
+            @RequestParam(required = false) String resumeJobId) {
+        try {
+            ReindexService.ReindexJob job = reindexService.start(segments, resumeJobId);
+            return ResponseEntity.accepted().body(Map.of(
+                "success", true,
+                "job", job.toMap()
+            ));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "success", false,
+                "message", "새 인덱스 생성 실패: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * 재색인 진행 상태 조회 (처리량 docs/s 포함)
+     * GET /api/search/admin/reindex/{jobId}
+     */
+    @GetMapping("/reindex/{jobId}")
+    public ResponseEntity<Map<String, Object>> getReindexJob(@PathVariable String jobId) {
+        ReindexService.ReindexJob job = reindexService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "job", job.toMap()
+        ));
+    }
+
+    /**
+     * OpenSearch 비동기 작업 상태 조회 (닉네임 일괄 업데이트 등)
+     * GET /api/search/admin/tasks/{taskId}
+     * - 임의의 클러스터 작업 정보가 노출되지 않도록 관리 API로만 제공
+     */
+    @GetMapping("/tasks/{taskId}")
+    public ResponseEntity<Map<String, Object>> getTaskStatus(@PathVariable String taskId) {
+        SearchService.TaskStatus status = searchService.getTaskStatus(taskId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "task", status
+        ));
+    }
+
+    /**
+     * 키워드 검색 단계별 통계 (exact 요청 수, fuzzy 폴백 비율, 단계별 평균 지연)
+     * GET /api/search/admin/search-phases
+     */
+    @GetMapping("/search-phases")
+    public ResponseEntity<Map<String, Object>> getSearchPhaseStats() {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "phases", searchPhaseStats.snapshot()
+        ));
+    }
+
+    /**
+     * 카테고리 라우팅 벤치마크 (fan-out vs routed, 샤드 수별 p50/p95)
+     * POST /api/search/admin/benchmark/routing?shards=1,2,4,8&categories=3&docsPerCategory=2000&iterations=200
+     * - 임시 인덱스를 만들고 지우므로 운영 트래픽이 적을 때 실행
+     * - 입력 범위(샤드 1~16, 문서 합계 10만 건 이하 등)를 벗어나면 400
+     */
+    @PostMapping("/benchmark/routing")
+    public ResponseEntity<Map<String, Object>> benchmarkRouting(
+            @RequestParam(defaultValue = "1,2,4,8") List<Integer> shards,
+            @RequestParam(defaultValue = "3") int categories,
+            @RequestParam(defaultValue = "2000") int docsPerCategory,
+            @RequestParam(defaultValue = "200") int iterations) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "results", routingBenchmarkService.run(shards, categories, docsPerCategory, iterations)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "success", false,
+                "message", "벤치마크 실패: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * DynamoDB 소비 용량 상위 엔드포인트 (테이블/GSI별 RCU/WCU 내역)
+     * GET /api/search/admin/capacity?top=10
+     * DELETE /api/search/admin/capacity (집계 초기화)
+     */
+    @GetMapping("/capacity")
+    public ResponseEntity<Map<String, Object>> getCapacityReport(@RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "capacity", capacityLedger.report(top)
+        ));
+    }
+
+    @DeleteMapping("/capacity")
+    public ResponseEntity<Map<String, Object>> resetCapacityReport() {
+        capacityLedger.reset();
+        return ResponseEntity.ok(Map.of("success", true));
+    }
+
+    /**
+     * DynamoDB 핫 파티션 키 (최근 윈도우의 읽기/쓰기 상위 키와 초당 요청 수)
+     * GET /api/search/admin/hot-keys?top=20
+     */
+    @GetMapping("/hot-keys")
+    public ResponseEntity<Map<String, Object>> getHotKeys(@RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "hotKeys", hotPartitionDetector.report(top)
+        ));
+    }
+
+    /**
+     * 느린 검색 쿼리 (임계값 이상, 최신순) - 샘플링된 항목은 profile 결과 포함
+     * GET /api/search/admin/slow-queries?limit=50
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<Map<String, Object>> getSlowQueries(@RequestParam(defaultValue = "50") int limit) {
+        List<SlowQueryLog.SlowQuery> queries = slowQueryLog.recentSlowQueries(limit);
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "queries", queries,
+            "count", queries.size()
+        ));
+    }
+
+    /**
+     * 쿼리 모양별 took 분포 (p99 내림차순, fuzzy/sort/filter 등 포함 여부 표시)
+     * GET /api/search/admin/query-shapes?top=20
+     */
+    @GetMapping("/query-shapes")
+    public ResponseEntity<Map<String, Object>> getQueryShapes(@RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "shapes", slowQueryLog.slowestShapes(top)
+        ));
+    }
+}
@@ -0,0 +1,47 @@
+package fromprom.search.Controller;
+
+import fromprom.search.Resilience.ResilientOpenSearchTransport;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 이번 요청이 OpenSearch 장애로 마지막 정상 응답 캐시를 사용한 경우 응답에 degraded 표시
+ * - ResilientOpenSearchTransport가 대체 응답을 돌려줄 때 request attribute로 표시
+ * - 헤더 X-Search-Degraded: true + JSON 본문에 "degraded": true 추가
+ */
+@RestControllerAdvice
+public class DegradedResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(
+                        ResilientOpenSearchTransport.DEGRADED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set("X-Search-Degraded", "true");
+        if (body instanceof Map<?, ?> map) {
+            // Map.of 응답은 불변이므로 복사 후 추가
+            Map<String, Object> copy = new LinkedHashMap<>((Map<String, Object>) map);
+            copy.put("degraded", true);
+            return copy;
+        }
+        return body;
+    }
+}
@@ -1,17 +1,32 @@
 package fromprom.search.Controller;
 
 import fromprom.search.DTO.Comment;
+import fromprom.search.DTO.PagedResult;
 import fromprom.search.DTO.PromptDocument;
 import fromprom.search.DTO.PromptStats;
+import fromprom.search.DTO.Suggestion;
+import fromprom.search.Service.HomeFeedService;
 import fromprom.search.Service.InteractionService;
+import fromprom.search.Service.PopularityService;
+import fromprom.search.Service.PromptDetailAssembler;
+import fromprom.search.Service.PromptETags;
+import fromprom.search.Service.PromptEnricher;
+import fromprom.search.Service.RelatedPromptsService;
 import fromprom.search.Service.SearchService;
+import fromprom.search.Service.StatsOverlay;
+import fromprom.search.Service.SuggestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -21,6 +36,14 @@ public class SearchController {
     
     private final SearchService searchService;
     private final InteractionService interactionService;
+    private final SuggestService suggestService;
+    private final PopularityService popularityService;
+    private final PromptEnricher promptEnricher;
+    private final HomeFeedService homeFeedService;
+    private final StatsOverlay statsOverlay;
+    private final PromptDetailAssembler promptDetailAssembler;
+    private final PromptETags promptETags;
+    private final RelatedPromptsService relatedPromptsService;
 
     /**
      * 키워드 검색 - 최적화됨 + 페이지네이션
@@ -31,7 +54,8 @@ public class SearchController {
             @RequestParam String keyword,
             @RequestParam(required = false) String userId,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) String cursor) {
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of(
                 "success", false,
@@ -43,34 +67,19 @@ public class SearchController {
         SearchService.PagedSearchResult pagedResult = searchService.searchPromptsPaged(keyword.trim(), size, cursor);
         List<PromptDocument> results = pagedResult.getItems();
         
-        // 닉네임이 없는 프롬프트의 userId 수집하여 일괄 조회
-        List<String> userIdsNeedingNickname = results.stream()
-                .filter(p -> p.getNickname() == null || p.getNickname().isEmpty())
-                .map(PromptDocument::getUserId)
-                .filter(id -> id != null && !id.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
-        Map<String, String> nicknameMap = userIdsNeedingNickname.isEmpty() 
-                ? new HashMap<>() 
-                : interactionService.getUserNicknamesBatch(userIdsNeedingNickname);
-        
-        // 좋아요/북마크 여부 일괄 조회
-        List<String> promptIds = results.stream()
-                .map(PromptDocument::getPromptId)
-                .filter(id -> id != null)
-                .collect(Collectors.toList());
-        Map<String, Boolean> likedMap = new HashMap<>();
-        Map<String, Boolean> bookmarkedMap = new HashMap<>();
-        if (userId != null && !userId.isEmpty() && !promptIds.isEmpty()) {
-            likedMap = interactionService.hasUserLikedBatch(userId, promptIds);
-            bookmarkedMap = interactionService.hasUserBookmarkedBatch(userId, promptIds);
+        // 닉네임/좋아요 보강 전에 ETag 확인 (일치하면 304)
+        boolean shortCircuit = promptETags.canShortCircuit(userId);
+        if (shortCircuit) {
+            String etag = promptETags.forList(results, pagedResult.getNextCursor(), userId, null, null);
+            if (promptETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag, listCacheControl(userId));
+            }
         }
         
-        // OpenSearch 데이터 기반으로 결과 생성
-        final Map<String, Boolean> finalLikedMap = likedMap;
-        final Map<String, Boolean> finalBookmarkedMap = bookmarkedMap;
+        // 닉네임이 없는 작성자 + 좋아요/북마크 여부 일괄 조회 (동시 실행)
+        PromptEnricher.ListLookups lookups = promptEnricher.lookupForList(results, userId);
         List<Map<String, Object>> enrichedResults = results.stream()
-                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, nicknameMap, finalLikedMap, finalBookmarkedMap))
+                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, lookups.getNicknameMap(), lookups.getLikedMap(), lookups.getBookmarkedMap()))
                 .collect(Collectors.toList());
 
         Map<String, Object> response = new HashMap<>();
@@ -81,13 +90,63 @@ public class SearchController {
         if (pagedResult.getNextCursor() != null) {
             response.put("nextCursor", pagedResult.getNextCursor());
         }
+        // fuzzy 폴백 여부와 검색어 제안 ("이것을 찾으셨나요?")
+        response.put("fuzzy", pagedResult.isFuzzy());
+        if (pagedResult.getDidYouMean() != null) {
+            response.put("didYouMean", pagedResult.getDidYouMean());
+        }
         
-        return ResponseEntity.ok(response);
+        String etag = shortCircuit
+                ? promptETags.forList(results, pagedResult.getNextCursor(), userId, null, null)
+                : promptETags.forList(results, pagedResult.getNextCursor(), userId, lookups.getLikedMap(), lookups.getBookmarkedMap());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(listCacheControl(userId))
+                .body(response);
+    }
+
+    /**
+     * 검색어 자동완성 (프롬프트 제목 + 작성자 닉네임)
+     * GET /api/search/suggest?prefix=마케&size=8
+     * - 인메모리 트라이 우선, 부족할 때만 OpenSearch 1회 조회
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int size) {
+        List<Suggestion> suggestions = suggestService.suggest(prefix, size);
+
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "suggestions", suggestions,
+            "count", suggestions.size()
+        ));
+    }
+
+    /**
+     * 하이브리드 검색 (키워드 BM25 + 임베딩 유사도)
+     * GET /api/search/hybrid?keyword=블로그 글쓰기&size=20&alpha=0.5
+     * - alpha: 키워드 점수 비중 (1이면 키워드 검색, 0이면 벡터 검색만)
+     */
+    @GetMapping("/hybrid")
+    public ResponseEntity<Map<String, Object>> hybridSearch(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "0.5") double alpha) {
+        List<PromptDocument> results = searchService.hybridSearch(keyword, Math.min(size, 100), alpha);
+
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "prompts", results,
+            "count", results.size()
+        ));
     }
 
     /**
      * 고급 검색 (필터 포함)
      * GET /api/search/advanced?keyword=코드&category=CODE_REVIEW&model=Claude&minPrice=0&maxPrice=5000
+     * - facets=true 이면 카테고리/모델/가격대/점수대 카운트를 같은 요청에서 함께 반환
+     * - facets=true&size=0 (패싯만 조회) 응답은 캐시 가능
      */
     @GetMapping("/advanced")
     public ResponseEntity<Map<String, Object>> advancedSearch(
@@ -96,7 +155,25 @@ public class SearchController {
             @RequestParam(required = false) String model,
             @RequestParam(required = false) Integer minPrice,
             @RequestParam(required = false) Integer maxPrice,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean facets) {
+
+        if (facets) {
+            SearchService.FacetedSearchResult facetedResult = searchService.advancedSearchWithFacets(
+                    keyword, category, model, minPrice, maxPrice, size);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("prompts", facetedResult.getItems());
+            response.put("count", facetedResult.getItems().size());
+            response.put("facets", facetedResult.getFacets());
+
+            if (size == 0) {
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                        .body(response);
+            }
+            return ResponseEntity.ok(response);
+        }
 
         List<PromptDocument> results = searchService.advancedSearch(
                 keyword, category, model, minPrice, maxPrice, size);
@@ -142,6 +219,28 @@ public class SearchController {
         ));
     }
 
+    /**
+     * 홈 화면 레일 (top-rated, newest, trending, 카테고리별)
+     * GET /api/search/home
+     * - 미리 직렬화된 메모리 스냅샷으로 응답 (백그라운드 갱신)
+     * - 첫 스냅샷이 아직 없으면 503 (빈 홈 화면이 CDN/브라우저에 캐시되지 않도록 no-store)
+     */
+    @GetMapping("/home")
+    public ResponseEntity<String> getHome() {
+        String home = homeFeedService.getHomeJson();
+        if (home == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(CacheControl.noStore())
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body("{\"success\":false,\"message\":\"홈 화면을 준비 중입니다.\"}");
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic())
+                .body(home);
+    }
+
     /**
      * 전체 프롬프트 목록 (마켓플레이스용) - 최적화됨
      * OpenSearch에서 통계 데이터 포함하여 조회 (DynamoDB 조회 최소화)
@@ -151,40 +250,26 @@ public class SearchController {
     public ResponseEntity<Map<String, Object>> getAllPrompts(
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String userId,
-            @RequestParam(required = false) String cursor) {
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         // 페이지네이션 적용
         SearchService.PagedSearchResult pagedResult = searchService.getAllPromptsPaged(size, cursor);
         List<PromptDocument> results = pagedResult.getItems();
         
-        // 닉네임이 없는 프롬프트의 userId 수집하여 일괄 조회
-        List<String> userIdsNeedingNickname = results.stream()
-                .filter(p -> p.getNickname() == null || p.getNickname().isEmpty())
-                .map(PromptDocument::getUserId)
-                .filter(id -> id != null && !id.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
-        Map<String, String> nicknameMap = userIdsNeedingNickname.isEmpty() 
-                ? new HashMap<>() 
-                : interactionService.getUserNicknamesBatch(userIdsNeedingNickname);
-        
-        // 좋아요/북마크 여부 일괄 조회 (로그인한 경우만)
-        List<String> promptIds = results.stream()
-                .map(PromptDocument::getPromptId)
-                .filter(id -> id != null)
-                .collect(Collectors.toList());
-        Map<String, Boolean> likedMap = new HashMap<>();
-        Map<String, Boolean> bookmarkedMap = new HashMap<>();
-        if (userId != null && !userId.isEmpty() && !promptIds.isEmpty()) {
-            likedMap = interactionService.hasUserLikedBatch(userId, promptIds);
-            bookmarkedMap = interactionService.hasUserBookmarkedBatch(userId, promptIds);
+        // 닉네임/좋아요 보강 전에 ETag 확인 (일치하면 304)
+        boolean shortCircuit = promptETags.canShortCircuit(userId);
+        if (shortCircuit) {
+            String etag = promptETags.forList(results, pagedResult.getNextCursor(), userId, null, null);
+            if (promptETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag, listCacheControl(userId));
+            }
         }
         
-        // OpenSearch 데이터 기반으로 결과 생성 (통계는 OpenSearch에서 가져옴)
-        final Map<String, Boolean> finalLikedMap = likedMap;
-        final Map<String, Boolean> finalBookmarkedMap = bookmarkedMap;
+        // 닉네임이 없는 작성자 + 좋아요/북마크 여부 일괄 조회 (동시 실행)
+        PromptEnricher.ListLookups lookups = promptEnricher.lookupForList(results, userId);
         List<Map<String, Object>> enrichedResults = results.stream()
-                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, nicknameMap, finalLikedMap, finalBookmarkedMap))
+                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, lookups.getNicknameMap(), lookups.getLikedMap(), lookups.getBookmarkedMap()))
                 .collect(Collectors.toList());
 
         Map<String, Object> response = new HashMap<>();
@@ -196,84 +281,166 @@ public class SearchController {
             response.put("nextCursor", pagedResult.getNextCursor());
         }
         
-        return ResponseEntity.ok(response);
+        String etag = shortCircuit
+                ? promptETags.forList(results, pagedResult.getNextCursor(), userId, null, null)
+                : promptETags.forList(results, pagedResult.getNextCursor(), userId, lookups.getLikedMap(), lookups.getBookmarkedMap());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(listCacheControl(userId))
+                .body(response);
     }
 
     /**
      * 프롬프트 상세 조회
      * GET /api/search/prompt/{promptId}
+     * - If-None-Match가 일치하면 enrichment 없이 304
      */
     @GetMapping("/prompt/{promptId}")
     public ResponseEntity<Map<String, Object>> getPromptById(
             @PathVariable String promptId,
-            @RequestParam(required = false) String userId) {
-        PromptDocument prompt = searchService.getPromptById(promptId);
+            @RequestParam(required = false) String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        PromptDocument prefetched = null;
+        if (ifNoneMatch != null && promptETags.canShortCircuitDetail(userId)) {
+            prefetched = searchService.getPromptById(promptId);
+            if (prefetched == null) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = promptETags.forPrompt(prefetched, userId);
+            if (promptETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag, detailCacheControl(userId));
+            }
+        }
         
-        if (prompt == null) {
+        PromptDetailAssembler.PromptDetail detail = promptDetailAssembler.assemble(promptId, userId, false, prefetched);
+        
+        if (detail == null) {
             return ResponseEntity.notFound().build();
         }
         
-        // DynamoDB에서 통계 정보 가져오기
-        PromptStats stats = interactionService.getPromptStats(promptId);
-        
-        // 닉네임 조회
-        Map<String, String> nicknameMap = new HashMap<>();
-        if (prompt.getNickname() == null || prompt.getNickname().isEmpty()) {
-            String nickname = interactionService.getUserNickname(prompt.getUserId());
-            if (nickname != null) {
-                nicknameMap.put(prompt.getUserId(), nickname);
-            }
+        String etag = detailETag(detail, userId);
+        if (promptETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag, detailCacheControl(userId));
         }
         
-        Map<String, Object> enrichedPrompt = enrichPromptWithStats(prompt, stats, userId, nicknameMap);
+        Map<String, Object> enrichedPrompt = enrichPromptWithStats(
+                detail.getPrompt(), detail.getStats(), detail.getLiked(), detail.getBookmarked(), detail.getNicknameMap());
         
-        return ResponseEntity.ok(Map.of(
-            "success", true,
-            "prompt", enrichedPrompt
-        ));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(detailCacheControl(userId))
+                .body(Map.of(
+                    "success", true,
+                    "prompt", enrichedPrompt
+                ));
     }
 
     /**
      * 프롬프트 상세 + 댓글 통합 조회!
      * GET /api/search/prompt/{promptId}/detail
+     * - OpenSearch GET, METADATA 단일 조회(통계+예시), 댓글 Query를 병렬 실행
+     * - ETag에 댓글 첫 페이지가 들어가므로 조립 후 비교, If-None-Match가 일치하면 본문 없이 304
      */
     @GetMapping("/prompt/{promptId}/detail")
     public ResponseEntity<Map<String, Object>> getPromptDetail(
             @PathVariable String promptId,
-            @RequestParam(required = false) String userId) {
-        PromptDocument prompt = searchService.getPromptById(promptId);
+            @RequestParam(required = false) String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        PromptDetailAssembler.PromptDetail detail = promptDetailAssembler.assemble(promptId, userId, true, null);
         
-        if (prompt == null) {
+        if (detail == null) {
             return ResponseEntity.notFound().build();
         }
         
-        // DynamoDB에서 통계, 댓글, 예시 입출력 가져오기
-        PromptStats stats = interactionService.getPromptStats(promptId);
-        List<Comment> comments = interactionService.getComments(promptId);
-        List<Map<String, Object>> examples = interactionService.getPromptExamples(promptId);
-        
-        // 닉네임 조회
-        Map<String, String> nicknameMap = new HashMap<>();
-        if (prompt.getNickname() == null || prompt.getNickname().isEmpty()) {
-            String nickname = interactionService.getUserNickname(prompt.getUserId());
-            if (nickname != null) {
-                nicknameMap.put(prompt.getUserId(), nickname);
-            }
+        String etag = detailETag(detail, userId);
+        if (promptETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag, detailCacheControl(userId));
         }
         
-        Map<String, Object> enrichedPrompt = enrichPromptWithStats(prompt, stats, userId, nicknameMap);
+        Map<String, Object> enrichedPrompt = enrichPromptWithStats(
+                detail.getPrompt(), detail.getStats(), detail.getLiked(), detail.getBookmarked(), detail.getNicknameMap());
         
         // examples를 enrichedPrompt에 추가 (DynamoDB에서 가져온 데이터 우선)
-        if (!examples.isEmpty()) {
-            enrichedPrompt.put("examples", examples);
+        if (detail.getExamples() != null && !detail.getExamples().isEmpty()) {
+            enrichedPrompt.put("examples", detail.getExamples());
         }
         
-        return ResponseEntity.ok(Map.of(
-            "success", true,
-            "prompt", enrichedPrompt,
-            "comments", comments,
-            "commentCount", comments.size()
-        ));
+        // 댓글은 최신 첫 페이지만 포함, 이후 페이지는 /comments?cursor=로 조회
+        PagedResult<Comment> comments = detail.getComments();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("prompt", enrichedPrompt);
+        response.put("comments", comments.getItems());
+        response.put("commentCount", detail.getStats() != null
+                ? detail.getStats().getCommentCount() : comments.getSize());
+        response.put("hasMoreComments", comments.isHasNext());
+        if (comments.getNextCursor() != null) {
+            response.put("commentsNextCursor", comments.getNextCursor());
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(detailCacheControl(userId))
+                .body(response);
+    }
+
+    /**
+     * 평가가 끝난 프롬프트의 예시 입출력 + 평가 결과
+     * GET /api/search/prompt/{promptId}/examples
+     * - 평가 완료(completed) 후에도 재평가/예시 수정이 있을 수 있으므로 짧게 캐시하고 ETag로 재검증
+     */
+    @GetMapping("/prompt/{promptId}/examples")
+    public ResponseEntity<Map<String, Object>> getPromptExamples(
+            @PathVariable String promptId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        PromptDocument prompt = searchService.getPromptById(promptId);
+        
+        if (prompt == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        List<Map<String, Object>> stored = interactionService.getPromptExamples(promptId);
+        Object examples = stored.isEmpty() && prompt.getExamples() != null ? prompt.getExamples() : stored;
+        
+        boolean evaluated = "completed".equals(prompt.getStatus());
+        CacheControl cacheControl = evaluated
+                ? CacheControl.maxAge(300, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.noCache();
+        String etag = promptETags.forExamples(prompt, examples);
+        if (promptETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag, cacheControl);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("promptId", promptId);
+        response.put("examples", examples);
+        response.put("evaluationMetrics", prompt.getEvaluationMetrics());
+        
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(response);
+    }
+
+    /**
+     * 유사 프롬프트 목록
+     * GET /api/search/prompt/{promptId}/related?size=6
+     * - 배치로 미리 계산된 이웃 목록만 반환 (요청 시 kNN 쿼리 없음)
+     */
+    @GetMapping("/prompt/{promptId}/related")
+    public ResponseEntity<Map<String, Object>> getRelatedPrompts(
+            @PathVariable String promptId,
+            @RequestParam(defaultValue = "6") int size) {
+        List<PromptDocument> related = relatedPromptsService.getRelated(promptId, Math.min(size, 20));
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(300, TimeUnit.SECONDS).cachePublic())
+                .body(Map.of(
+                    "success", true,
+                    "promptId", promptId,
+                    "prompts", related,
+                    "count", related.size()
+                ));
     }
 
     /**
@@ -285,7 +452,7 @@ public class SearchController {
             @PathVariable String promptId,
             @RequestParam(required = false) String userId) {
         
-        PromptStats stats = interactionService.getPromptStats(promptId);
+        PromptStats stats = resolveStats(promptId);
         
         Map<String, Object> result = new HashMap<>();
         result.put("promptId", promptId);
@@ -306,18 +473,25 @@ public class SearchController {
     }
 
     /**
-     * 프롬프트 댓글 목록 조회
-     * GET /api/search/prompt/{promptId}/comments
+     * 프롬프트 댓글 목록 조회 (최신순 + 커서 페이지네이션)
+     * GET /api/search/prompt/{promptId}/comments?size=20&cursor=xxx
      */
     @GetMapping("/prompt/{promptId}/comments")
-    public ResponseEntity<Map<String, Object>> getPromptComments(@PathVariable String promptId) {
-        List<Comment> comments = interactionService.getComments(promptId);
+    public ResponseEntity<Map<String, Object>> getPromptComments(
+            @PathVariable String promptId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        PagedResult<Comment> page = interactionService.getComments(promptId, size, cursor);
         
-        return ResponseEntity.ok(Map.of(
-            "success", true,
-            "comments", comments,
-            "count", comments.size()
-        ));
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("comments", page.getItems());
+        response.put("count", page.getSize());
+        response.put("hasNext", page.isHasNext());
+        if (page.getNextCursor() != null) {
+            response.put("nextCursor", page.getNextCursor());
+        }
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -336,6 +510,23 @@ public class SearchController {
         ));
     }
 
+    /**
+     * 트렌딩 프롬프트 (좋아요/북마크/댓글 + 최신성 기반 인기도)
+     * GET /api/search/trending
+     * - 배치 작업이 갱신한 메모리 스냅샷에서 응답
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<Map<String, Object>> getTrendingPrompts(
+            @RequestParam(defaultValue = "10") int size) {
+
+        List<PromptDocument> results = popularityService.getTrendingPrompts(size);
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "prompts", results,
+            "count", results.size()
+        ));
+    }
+
     /**
      * 사용자별 프롬프트 조회 - 최적화됨
      * GET /api/search/user/{userId}
@@ -347,33 +538,10 @@ public class SearchController {
 
         List<PromptDocument> results = searchService.getPromptsByUserId(userId, size);
         
-        // 닉네임이 없는 프롬프트의 userId 수집하여 일괄 조회
-        List<String> userIdsNeedingNickname = results.stream()
-                .filter(p -> p.getNickname() == null || p.getNickname().isEmpty())
-                .map(PromptDocument::getUserId)
-                .filter(id -> id != null && !id.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
-        Map<String, String> nicknameMap = userIdsNeedingNickname.isEmpty() 
-                ? new HashMap<>() 
-                : interactionService.getUserNicknamesBatch(userIdsNeedingNickname);
-        
-        // 좋아요/북마크 여부 일괄 조회
-        List<String> promptIds = results.stream()
-                .map(PromptDocument::getPromptId)
-                .filter(id -> id != null)
-                .collect(Collectors.toList());
-        Map<String, Boolean> likedMap = new HashMap<>();
-        Map<String, Boolean> bookmarkedMap = new HashMap<>();
-        if (!promptIds.isEmpty()) {
-            likedMap = interactionService.hasUserLikedBatch(userId, promptIds);
-            bookmarkedMap = interactionService.hasUserBookmarkedBatch(userId, promptIds);
-        }
-        
-        final Map<String, Boolean> finalLikedMap = likedMap;
-        final Map<String, Boolean> finalBookmarkedMap = bookmarkedMap;
+        // 닉네임이 없는 작성자 + 좋아요/북마크 여부 일괄 조회 (동시 실행)
+        PromptEnricher.ListLookups lookups = promptEnricher.lookupForList(results, userId);
         List<Map<String, Object>> enrichedResults = results.stream()
-                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, nicknameMap, finalLikedMap, finalBookmarkedMap))
+                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, lookups.getNicknameMap(), lookups.getLikedMap(), lookups.getBookmarkedMap()))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(Map.of(
@@ -401,33 +569,10 @@ public class SearchController {
                 .filter(p -> p != null)
                 .collect(Collectors.toList());
         
-        // 닉네임이 없는 프롬프트의 userId 수집하여 일괄 조회
-        List<String> userIdsNeedingNickname = prompts.stream()
-                .filter(p -> p.getNickname() == null || p.getNickname().isEmpty())
-                .map(PromptDocument::getUserId)
-                .filter(id -> id != null && !id.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
-        Map<String, String> nicknameMap = userIdsNeedingNickname.isEmpty() 
-                ? new HashMap<>() 
-                : interactionService.getUserNicknamesBatch(userIdsNeedingNickname);
-        
-        // 좋아요/북마크 여부 일괄 조회
-        List<String> promptIds = prompts.stream()
-                .map(PromptDocument::getPromptId)
-                .filter(id -> id != null)
-                .collect(Collectors.toList());
-        Map<String, Boolean> likedMap = new HashMap<>();
-        Map<String, Boolean> bookmarkedMap = new HashMap<>();
-        if (!promptIds.isEmpty()) {
-            likedMap = interactionService.hasUserLikedBatch(userId, promptIds);
-            bookmarkedMap = interactionService.hasUserBookmarkedBatch(userId, promptIds);
-        }
-        
-        final Map<String, Boolean> finalLikedMap = likedMap;
-        final Map<String, Boolean> finalBookmarkedMap = bookmarkedMap;
+        // 닉네임이 없는 작성자 + 좋아요/북마크 여부 일괄 조회 (동시 실행)
+        PromptEnricher.ListLookups lookups = promptEnricher.lookupForList(prompts, userId);
         List<Map<String, Object>> enrichedResults = prompts.stream()
-                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, nicknameMap, finalLikedMap, finalBookmarkedMap))
+                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, lookups.getNicknameMap(), lookups.getLikedMap(), lookups.getBookmarkedMap()))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(Map.of(
@@ -455,33 +600,10 @@ public class SearchController {
                 .filter(p -> p != null)
                 .collect(Collectors.toList());
         
-        // 닉네임이 없는 프롬프트의 userId 수집하여 일괄 조회
-        List<String> userIdsNeedingNickname = prompts.stream()
-                .filter(p -> p.getNickname() == null || p.getNickname().isEmpty())
-                .map(PromptDocument::getUserId)
-                .filter(id -> id != null && !id.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
-        Map<String, String> nicknameMap = userIdsNeedingNickname.isEmpty() 
-                ? new HashMap<>() 
-                : interactionService.getUserNicknamesBatch(userIdsNeedingNickname);
-        
-        // 좋아요/북마크 여부 일괄 조회
-        List<String> promptIds = prompts.stream()
-                .map(PromptDocument::getPromptId)
-                .filter(id -> id != null)
-                .collect(Collectors.toList());
-        Map<String, Boolean> likedMap = new HashMap<>();
-        Map<String, Boolean> bookmarkedMap = new HashMap<>();
-        if (!promptIds.isEmpty()) {
-            likedMap = interactionService.hasUserLikedBatch(userId, promptIds);
-            bookmarkedMap = interactionService.hasUserBookmarkedBatch(userId, promptIds);
-        }
-        
-        final Map<String, Boolean> finalLikedMap = likedMap;
-        final Map<String, Boolean> finalBookmarkedMap = bookmarkedMap;
+        // 닉네임이 없는 작성자 + 좋아요/북마크 여부 일괄 조회 (동시 실행)
+        PromptEnricher.ListLookups lookups = promptEnricher.lookupForList(prompts, userId);
         List<Map<String, Object>> enrichedResults = prompts.stream()
-                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, nicknameMap, finalLikedMap, finalBookmarkedMap))
+                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, lookups.getNicknameMap(), lookups.getLikedMap(), lookups.getBookmarkedMap()))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(Map.of(
@@ -509,33 +631,10 @@ public class SearchController {
                 .filter(p -> p != null)
                 .collect(Collectors.toList());
         
-        // 닉네임이 없는 프롬프트의 userId 수집하여 일괄 조회
-        List<String> userIdsNeedingNickname = prompts.stream()
-                .filter(p -> p.getNickname() == null || p.getNickname().isEmpty())
-                .map(PromptDocument::getUserId)
-                .filter(id -> id != null && !id.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
-        Map<String, String> nicknameMap = userIdsNeedingNickname.isEmpty() 
-                ? new HashMap<>() 
-                : interactionService.getUserNicknamesBatch(userIdsNeedingNickname);
-        
-        // 좋아요/북마크 여부 일괄 조회
-        List<String> promptIds = prompts.stream()
-                .map(PromptDocument::getPromptId)
-                .filter(id -> id != null)
-                .collect(Collectors.toList());
-        Map<String, Boolean> likedMapComments = new HashMap<>();
-        Map<String, Boolean> bookmarkedMapComments = new HashMap<>();
-        if (!promptIds.isEmpty()) {
-            likedMapComments = interactionService.hasUserLikedBatch(userId, promptIds);
-            bookmarkedMapComments = interactionService.hasUserBookmarkedBatch(userId, promptIds);
-        }
-        
-        final Map<String, Boolean> finalLikedMapComments = likedMapComments;
-        final Map<String, Boolean> finalBookmarkedMapComments = bookmarkedMapComments;
+        // 닉네임이 없는 작성자 + 좋아요/북마크 여부 일괄 조회 (동시 실행)
+        PromptEnricher.ListLookups lookups = promptEnricher.lookupForList(prompts, userId);
         List<Map<String, Object>> enrichedCommentsResults = prompts.stream()
-                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, nicknameMap, finalLikedMapComments, finalBookmarkedMapComments))
+                .map(prompt -> enrichPromptFromOpenSearchBatch(prompt, lookups.getNicknameMap(), lookups.getLikedMap(), lookups.getBookmarkedMap()))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(Map.of(
@@ -545,12 +644,62 @@ public class SearchController {
         ));
     }
 
+    /**
+     * 상세 응답 ETag
+     * - 댓글 없는 비로그인 상세: 304 단축 판단과 같은 기준(OpenSearch 문서)으로 계산해야 재요청 시 일치함
+     * - 그 외(로그인 사용자, 댓글 포함 상세): 조립 결과 기준 (좋아요/북마크 여부, 댓글 첫 페이지 포함)
+     */
+    private String detailETag(PromptDetailAssembler.PromptDetail detail, String userId) {
+        return detail.getComments() == null && promptETags.canShortCircuitDetail(userId)
+                ? promptETags.forPrompt(detail.getPrompt(), userId)
+                : promptETags.forDetail(detail, userId);
+    }
+
+    /**
+     * 비로그인 응답은 CDN/공유 캐시 허용, 로그인 사용자 응답은 브라우저에서만 재검증 후 사용
+     */
+    private CacheControl detailCacheControl(String userId) {
+        return userId == null || userId.isEmpty()
+                ? CacheControl.maxAge(10, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.noCache().cachePrivate();
+    }
+
+    private CacheControl listCacheControl(String userId) {
+        return userId == null || userId.isEmpty()
+                ? CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.noCache().cachePrivate();
+    }
+
+    private ResponseEntity<Map<String, Object>> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    /**
+     * 프롬프트 통계 조회: 변경 피드 오버레이에 있으면 사용, 없으면 DynamoDB 조회 후 오버레이에 등록
+     */
+    private PromptStats resolveStats(String promptId) {
+        PromptStats cached = statsOverlay.getStats(promptId);
+        if (cached != null) {
+            return cached;
+        }
+        PromptStats stats = interactionService.getPromptStats(promptId);
+        // 조회 실패 시 반환되는 기본값(title 없음)은 오버레이에 등록하지 않음
+        if (stats.getTitle() != null) {
+            statsOverlay.seed(stats);
+        }
+        return stats;
+    }
+
     /**
      * OpenSearch 프롬프트 데이터에 DynamoDB 통계 및 기본 정보 병합
      * DynamoDB 데이터를 우선 사용 (더 정확한 원본 데이터)
      * @deprecated 상세 페이지용으로만 사용, 목록 조회는 enrichPromptFromOpenSearch 사용
      */
-    private Map<String, Object> enrichPromptWithStats(PromptDocument prompt, PromptStats stats, String userId, Map<String, String> nicknameMap) {
+    Map<String, Object> enrichPromptWithStats(PromptDocument prompt, PromptStats stats,
+                                                      Boolean isLiked, Boolean isBookmarked, Map<String, String> nicknameMap) {
         Map<String, Object> result = new HashMap<>();
         
         // 기본 ID
@@ -609,10 +758,10 @@ public class SearchController {
             result.put("commentCount", prompt.getCommentCount() != null ? prompt.getCommentCount() : 0);
         }
         
-        // 사용자별 좋아요/북마크 여부
-        if (userId != null && !userId.isEmpty() && prompt.getPromptId() != null) {
-            result.put("isLiked", interactionService.hasUserLiked(userId, prompt.getPromptId()));
-            result.put("isBookmarked", interactionService.hasUserBookmarked(userId, prompt.getPromptId()));
+        // 사용자별 좋아요/북마크 여부 (병렬로 미리 조회된 값, 비로그인이면 null)
+        if (isLiked != null && isBookmarked != null) {
+            result.put("isLiked", isLiked);
+            result.put("isBookmarked", isBookmarked);
         }
         
         return result;
@@ -681,59 +830,13 @@ public class SearchController {
             Map<String, String> nicknameMap,
             Map<String, Boolean> likedMap,
             Map<String, Boolean> bookmarkedMap) {
-        
-        Map<String, Object> result = new HashMap<>();
-        
-        result.put("promptId", prompt.getPromptId());
-        result.put("title", prompt.getTitle() != null ? prompt.getTitle() : "제목 없음");
-        result.put("description", prompt.getDescription() != null ? prompt.getDescription() : "");
-        result.put("content", prompt.getContent());
-        result.put("category", prompt.getCategory());
-        result.put("model", prompt.getModel() != null ? prompt.getModel() : "AI Model");
-        result.put("promptType", prompt.getPromptType());
-        result.put("userId", prompt.getUserId());
-        
-        // 닉네임: OpenSearch에 있으면 사용, 없으면 nicknameMap에서 조회
-        String nickname = prompt.getNickname();
-        if ((nickname == null || nickname.isEmpty()) && nicknameMap != null) {
-            String promptUserId = prompt.getUserId();
-            if (promptUserId != null) {
-                nickname = nicknameMap.get(promptUserId);
-                if (nickname == null) {
-                    nickname = nicknameMap.get(promptUserId.replace("USER#", ""));
-                }
-            }
-        }
-        result.put("nickname", nickname);
-        
-        result.put("status", prompt.getStatus());
-        result.put("price", prompt.getPrice());
-        result.put("createdAt", prompt.getCreatedAt());
-        result.put("evaluationMetrics", prompt.getEvaluationMetrics());
-        result.put("isPublic", prompt.getIsPublic());
-        
-        if (prompt.getScore() != null) {
-            result.put("score", prompt.getScore());
-        }
-        
-        // OpenSearch에서 통계 데이터 가져오기
-        result.put("likeCount", prompt.getLikeCount() != null ? prompt.getLikeCount() : 0);
-        result.put("bookmarkCount", prompt.getBookmarkCount() != null ? prompt.getBookmarkCount() : 0);
-        result.put("commentCount", prompt.getCommentCount() != null ? prompt.getCommentCount() : 0);
-        
-        // 일괄 조회된 좋아요/북마크 여부 사용 (N+1 문제 해결)
-        String promptId = prompt.getPromptId();
-        if (promptId != null) {
-            result.put("isLiked", likedMap.getOrDefault(promptId, false));
-            result.put("isBookmarked", bookmarkedMap.getOrDefault(promptId, false));
-        }
-        
-        return result;
+        return promptEnricher.fromOpenSearchBatch(prompt, nicknameMap, likedMap, bookmarkedMap);
     }
 
     /**
      * 사용자의 모든 프롬프트 닉네임 업데이트 (내부 API)
      * PUT /api/search/user/{userId}/nickname
+     * - OpenSearch 비동기 작업으로 실행되며, 응답의 taskId로 진행 상태 조회 (관리 API, X-Admin-Token 필요)
      */
     @PutMapping("/user/{userId}/nickname")
     public ResponseEntity<Map<String, Object>> updateUserPromptsNickname(
@@ -748,12 +851,19 @@ public class SearchController {
             ));
         }
         
-        int updatedCount = searchService.updateUserPromptsNickname(userId, newNickname);
+        String taskId = searchService.updateUserPromptsNickname(userId, newNickname);
+        if (taskId == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "success", false,
+                "message", "프롬프트 닉네임 업데이트 요청 실패"
+            ));
+        }
         
-        return ResponseEntity.ok(Map.of(
+        return ResponseEntity.accepted().body(Map.of(
             "success", true,
-            "message", "프롬프트 닉네임 업데이트 완료",
-            "updatedCount", updatedCount
+            "message", "프롬프트 닉네임 업데이트 시작",
+            "taskId", taskId,
+            "statusUrl", "/api/search/admin/tasks/" + taskId
         ));
     }
 }
@@ -0,0 +1,23 @@
+package fromprom.search.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 프롬프트 카운터(좋아요/북마크/댓글) 변경 이벤트
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterChange {
+    private String promptId;
+    private int likeCount;
+    private int bookmarkCount;
+    private int commentCount;
+
+    // 변경 시각 (epoch millis)
+    private long changedAt;
+}
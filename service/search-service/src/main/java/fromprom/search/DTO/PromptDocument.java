@@ -52,6 +52,9 @@ public class PromptDocument {
     private Integer likeCount;
     private Integer bookmarkCount;
     private Integer commentCount;
+
+    // 인기도 점수 (좋아요/북마크/댓글 + 시간 감쇠, 배치 작업에서 주기적으로 갱신)
+    private Double popularityScore;
     
     private Boolean isPublic;
     
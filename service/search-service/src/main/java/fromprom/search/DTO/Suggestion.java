@@ -0,0 +1,26 @@
+package fromprom.search.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 자동완성 후보 (프롬프트 제목 또는 작성자 닉네임)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    private String text;
+
+    // "title" 또는 "nickname"
+    private String type;
+
+    // 제목 후보인 경우 해당 프롬프트 ID
+    private String promptId;
+
+    // 인기도 (정렬용)
+    private double weight;
+}
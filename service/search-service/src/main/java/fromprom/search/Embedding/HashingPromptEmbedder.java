@@ -0,0 +1,76 @@
+package fromprom.search.Embedding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.zip.CRC32;
+
+/**
+ * 로컬 결정적 임베딩 (feature hashing)
+ * - 단어 unigram + 문자 trigram을 부호 있는 해시로 차원에 누적 후 L2 정규화
+ * - 외부 모델 없이 개발/테스트 환경에서 kNN 경로 전체를 검증하기 위한 대체 구현
+ * - 의미 유사도는 약하지만 표기 변형/어순 차이에는 BM25보다 강함
+ */
+@Component
+@ConditionalOnProperty(name = "search.embedding.mode", havingValue = "hashing", matchIfMissing = true)
+public class HashingPromptEmbedder implements PromptEmbedder {
+
+    private final int dimension;
+
+    public HashingPromptEmbedder(@Value("${search.embedding.dimension:256}") int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimension];
+        if (text == null || text.isBlank()) {
+            return vector;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+
+        for (String token : normalized.split("[\\s\\p{Punct}]+")) {
+            if (!token.isEmpty()) {
+                add(vector, "w:" + token, 1.0f);
+            }
+        }
+        String compact = normalized.replaceAll("\\s+", " ");
+        for (int i = 0; i + 3 <= compact.length(); i++) {
+            add(vector, "c:" + compact.substring(i, i + 3), 0.5f);
+        }
+
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public String version() {
+        return "hashing-" + dimension;
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        CRC32 crc = new CRC32();
+        crc.update(feature.getBytes(StandardCharsets.UTF_8));
+        long hash = crc.getValue();
+        int index = (int) (hash % dimension);
+        // 최상위 비트로 부호를 정해 해시 충돌이 한쪽으로 쌓이지 않게 함
+        vector[index] += ((hash >>> 31) & 1) == 0 ? weight : -weight;
+    }
+}
@@ -0,0 +1,68 @@
+package fromprom.search.Embedding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 외부 임베딩 서버 호출 구현
+ * - POST {url} {"text": "..."} → {"embedding": [..]} 형식의 서버를 가정
+ * - 실패하거나 차원이 맞지 않으면 0 벡터 반환 (검색은 BM25 점수만으로 동작)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.embedding.mode", havingValue = "http")
+public class HttpPromptEmbedder implements PromptEmbedder {
+
+    private final RestClient restClient;
+    private final int dimension;
+    private final String model;
+
+    public HttpPromptEmbedder(@Value("${search.embedding.url}") String url,
+                              @Value("${search.embedding.dimension:256}") int dimension,
+                              @Value("${search.embedding.model:remote}") String model) {
+        this.restClient = RestClient.builder().baseUrl(url).build();
+        this.dimension = dimension;
+        this.model = model;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public float[] embed(String text) {
+        float[] vector = new float[dimension];
+        try {
+            Map<String, Object> response = restClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("text", text != null ? text : ""))
+                    .retrieve()
+                    .body(Map.class);
+            List<Number> values = response != null ? (List<Number>) response.get("embedding") : null;
+            if (values == null || values.size() != dimension) {
+                log.warn("임베딩 응답 형식 오류: 기대 차원 {}, 응답 {}", dimension, values != null ? values.size() : null);
+                return vector;
+            }
+            for (int i = 0; i < dimension; i++) {
+                vector[i] = values.get(i).floatValue();
+            }
+        } catch (Exception e) {
+            log.error("임베딩 요청 실패: {}", e.getMessage());
+        }
+        return vector;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public String version() {
+        return model + "-" + dimension;
+    }
+}
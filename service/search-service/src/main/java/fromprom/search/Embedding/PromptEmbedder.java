@@ -0,0 +1,18 @@
+package fromprom.search.Embedding;
+
+/**
+ * 텍스트 → 임베딩 벡터 변환기
+ * - search.embedding.mode 로 구현 선택 (hashing: 로컬 결정적 구현, http: 외부 임베딩 서버)
+ * - 같은 입력에는 항상 같은 벡터를 반환해야 함 (재색인/관련 프롬프트 배치가 다시 계산함)
+ */
+public interface PromptEmbedder {
+
+    float[] embed(String text);
+
+    int dimension();
+
+    /**
+     * 임베딩 모델 식별자 (모델이나 차원이 바뀌면 달라져야 기존 문서가 다시 계산됨)
+     */
+    String version();
+}
@@ -0,0 +1,18 @@
+package fromprom.search.Feed;
+
+import fromprom.search.DTO.CounterChange;
+
+import java.util.function.Consumer;
+
+/**
+ * 프롬프트 카운터 변경 피드
+ * - 운영: DynamoDB Streams (search.stats-feed.mode=dynamodb)
+ * - 로컬/테스트: 인메모리 큐 (search.stats-feed.mode=memory)
+ */
+public interface CounterChangeFeed {
+
+    /**
+     * 마지막 폴링 이후의 변경분을 consumer로 전달
+     */
+    void poll(Consumer<CounterChange> consumer);
+}
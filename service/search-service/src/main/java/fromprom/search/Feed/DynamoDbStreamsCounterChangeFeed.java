@@ -0,0 +1,166 @@
+package fromprom.search.Feed;
+
+import fromprom.search.DTO.CounterChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DescribeStreamRequest;
+import software.amazon.awssdk.services.dynamodb.model.ExpiredIteratorException;
+import software.amazon.awssdk.services.dynamodb.model.GetRecordsRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetRecordsResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetShardIteratorRequest;
+import software.amazon.awssdk.services.dynamodb.model.Record;
+import software.amazon.awssdk.services.dynamodb.model.Shard;
+import software.amazon.awssdk.services.dynamodb.model.ShardIteratorType;
+import software.amazon.awssdk.services.dynamodb.streams.DynamoDbStreamsClient;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * DynamoDB Streams 기반 카운터 변경 피드
+ * - PROMPT#{id} / METADATA 아이템의 NewImage에서 like/bookmark/comment 카운트 추출
+ * - 시작 시점의 열린 샤드는 LATEST, 이후 새로 생긴(자식) 샤드는 TRIM_HORIZON부터 읽음
+ * - 스트림 뷰 타입은 NEW_IMAGE 또는 NEW_AND_OLD_IMAGES 필요
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.stats-feed.mode", havingValue = "dynamodb")
+public class DynamoDbStreamsCounterChangeFeed implements CounterChangeFeed {
+
+    private static final int SHARD_REFRESH_INTERVAL = 30;
+
+    private final DynamoDbStreamsClient streamsClient;
+    private final String streamArn;
+
+    // shardId -> 다음 샤드 이터레이터
+    private final Map<String, String> iterators = new ConcurrentHashMap<>();
+    private final Set<String> finishedShards = ConcurrentHashMap.newKeySet();
+    private boolean initialized = false;
+    private int pollCount = 0;
+
+    public DynamoDbStreamsCounterChangeFeed(
+            DynamoDbStreamsClient streamsClient,
+            @Value("${search.stats-feed.stream-arn}") String streamArn) {
+        this.streamsClient = streamsClient;
+        this.streamArn = streamArn;
+    }
+
+    @Override
+    public synchronized void poll(Consumer<CounterChange> consumer) {
+        if (!initialized || pollCount++ % SHARD_REFRESH_INTERVAL == 0) {
+            discoverShards();
+        }
+
+        for (Map.Entry<String, String> entry : iterators.entrySet()) {
+            String shardId = entry.getKey();
+            try {
+                GetRecordsResponse response = streamsClient.getRecords(GetRecordsRequest.builder()
+                        .shardIterator(entry.getValue())
+                        .limit(1000)
+                        .build());
+
+                for (Record record : response.records()) {
+                    CounterChange change = toChange(record);
+                    if (change != null) {
+                        consumer.accept(change);
+                    }
+                }
+
+                if (response.nextShardIterator() == null) {
+                    // 닫힌 샤드를 끝까지 읽음
+                    iterators.remove(shardId);
+                    finishedShards.add(shardId);
+                } else {
+                    iterators.put(shardId, response.nextShardIterator());
+                }
+            } catch (ExpiredIteratorException e) {
+                log.warn("스트림 이터레이터 만료 - 샤드 재등록: {}", shardId);
+                iterators.remove(shardId);
+            } catch (Exception e) {
+                log.error("스트림 레코드 조회 실패: {} - {}", shardId, e.getMessage());
+            }
+        }
+    }
+
+    private void discoverShards() {
+        try {
+            Set<String> seen = new HashSet<>();
+            String lastShardId = null;
+            do {
+                var description = streamsClient.describeStream(DescribeStreamRequest.builder()
+                        .streamArn(streamArn)
+                        .exclusiveStartShardId(lastShardId)
+                        .build()).streamDescription();
+
+                for (Shard shard : description.shards()) {
+                    seen.add(shard.shardId());
+                    if (iterators.containsKey(shard.shardId()) || finishedShards.contains(shard.shardId())) {
+                        continue;
+                    }
+                    boolean open = shard.sequenceNumberRange().endingSequenceNumber() == null;
+                    if (!initialized && !open) {
+                        // 시작 이전에 닫힌 샤드는 건너뜀 (과거 이력)
+                        finishedShards.add(shard.shardId());
+                        continue;
+                    }
+                    ShardIteratorType type = initialized ? ShardIteratorType.TRIM_HORIZON : ShardIteratorType.LATEST;
+                    String iterator = streamsClient.getShardIterator(GetShardIteratorRequest.builder()
+                            .streamArn(streamArn)
+                            .shardId(shard.shardId())
+                            .shardIteratorType(type)
+                            .build()).shardIterator();
+                    iterators.put(shard.shardId(), iterator);
+                }
+                lastShardId = description.lastEvaluatedShardId();
+            } while (lastShardId != null);
+
+            // 스트림에서 사라진(보존 기간 만료) 샤드 정리
+            finishedShards.retainAll(seen);
+            initialized = true;
+        } catch (Exception e) {
+            log.error("스트림 샤드 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    private CounterChange toChange(Record record) {
+        if (record.dynamodb() == null || !record.dynamodb().hasNewImage()) {
+            return null;
+        }
+        Map<String, AttributeValue> image = record.dynamodb().newImage();
+        AttributeValue pk = image.get("PK");
+        AttributeValue sk = image.get("SK");
+        if (pk == null || sk == null || pk.s() == null || !pk.s().startsWith("PROMPT#") || !"METADATA".equals(sk.s())) {
+            return null;
+        }
+        long changedAt = record.dynamodb().approximateCreationDateTime() != null
+                ? record.dynamodb().approximateCreationDateTime().toEpochMilli()
+                : System.currentTimeMillis();
+
+        return CounterChange.builder()
+                .promptId(pk.s().substring("PROMPT#".length()))
+                .likeCount(getNumber(image, "like_count"))
+                .bookmarkCount(getNumber(image, "bookmark_count"))
+                .commentCount(getNumber(image, "comment_count"))
+                .changedAt(changedAt)
+                .build();
+    }
+
+    private int getNumber(Map<String, AttributeValue> image, String key) {
+        AttributeValue attr = image.get(key);
+        if (attr == null) {
+            return 0;
+        }
+        String raw = attr.n() != null ? attr.n() : attr.s();
+        try {
+            return raw != null ? Integer.parseInt(raw) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
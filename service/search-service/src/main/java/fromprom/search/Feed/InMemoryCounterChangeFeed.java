@@ -0,0 +1,32 @@
+package fromprom.search.Feed;
+
+import fromprom.search.DTO.CounterChange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * 인메모리 카운터 변경 피드 (로컬 개발/테스트용)
+ * - publish()로 넣은 이벤트를 다음 폴링 때 전달
+ */
+@Component
+@ConditionalOnProperty(name = "search.stats-feed.mode", havingValue = "memory")
+public class InMemoryCounterChangeFeed implements CounterChangeFeed {
+
+    private final Queue<CounterChange> queue = new ConcurrentLinkedQueue<>();
+
+    public void publish(CounterChange change) {
+        queue.add(change);
+    }
+
+    @Override
+    public void poll(Consumer<CounterChange> consumer) {
+        CounterChange change;
+        while ((change = queue.poll()) != null) {
+            consumer.accept(change);
+        }
+    }
+}
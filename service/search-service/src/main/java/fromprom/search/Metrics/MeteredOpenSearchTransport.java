@@ -0,0 +1,132 @@
+package fromprom.search.Metrics;
+
+import fromprom.common.Metrics.CallerEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportOptions;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenSearch 호출 계측 Transport 래퍼 (실제 HTTP Transport 바로 위에 위치)
+ * - opensearch.requests: 호출 지연 시간 히스토그램 (operation, index, endpoint, outcome)
+ * - opensearch.errors: 실패 수 (status 태그), opensearch.throttles: 429 응답 수
+ * - 재색인 bulk 재시도는 ReindexService에서 opensearch.retries로 기록
+ */
+public class MeteredOpenSearchTransport implements OpenSearchTransport {
+
+    private final OpenSearchTransport delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredOpenSearchTransport(OpenSearchTransport delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) throws IOException {
+        Tags tags = tags(request, endpoint, CallerEndpoint.current());
+        long start = System.nanoTime();
+        try {
+            ResponseT response = delegate.performRequest(request, endpoint, options);
+            record(tags, start, null);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            record(tags, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        Tags tags = tags(request, endpoint, CallerEndpoint.current());
+        long start = System.nanoTime();
+        return delegate.performRequestAsync(request, endpoint, options)
+                .whenComplete((response, error) -> record(tags, start,
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private void record(Tags tags, long start, Throwable error) {
+        String outcome = "success";
+        if (error != null) {
+            String status = error instanceof OpenSearchException openSearchException
+                    ? String.valueOf(openSearchException.status())
+                    : error.getClass().getSimpleName();
+            outcome = "429".equals(status) ? "throttled" : "error";
+            meterRegistry.counter("opensearch.errors", tags.and("status", status)).increment();
+            if ("429".equals(status)) {
+                meterRegistry.counter("opensearch.throttles", tags).increment();
+            }
+        }
+
+        Timer.builder("opensearch.requests")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private <RequestT> Tags tags(RequestT request, Endpoint<RequestT, ?, ?> endpoint, String caller) {
+        return Tags.of(
+                "operation", operation(request),
+                "index", index(request, endpoint),
+                "endpoint", caller);
+    }
+
+    /**
+     * 요청 클래스 이름으로 operation 결정 (SearchRequest → search, UpdateByQueryRequest → update_by_query)
+     */
+    private String operation(Object request) {
+        String name = request.getClass().getSimpleName();
+        if (name.endsWith("Request")) {
+            name = name.substring(0, name.length() - "Request".length());
+        }
+        return name.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    /**
+     * URL 첫 경로가 인덱스/별칭이면 사용, 재색인 버전 인덱스(prompts_v20250101...)는 하나로 묶음
+     */
+    private <RequestT> String index(RequestT request, Endpoint<RequestT, ?, ?> endpoint) {
+        try {
+            String url = endpoint.requestUrl(request);
+            String first = url.startsWith("/") ? url.substring(1) : url;
+            int slash = first.indexOf('/');
+            if (slash >= 0) {
+                first = first.substring(0, slash);
+            }
+            if (first.isEmpty() || first.startsWith("_")) {
+                return "none";
+            }
+            return first.replaceAll("_v\\d+$", "_v*");
+        } catch (RuntimeException e) {
+            return "none";
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package fromprom.search.Metrics;
+
+import fromprom.common.Metrics.CallerEndpoint;
+import jakarta.json.stream.JsonGenerator;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.opensearch.core.MsearchRequest;
+import org.opensearch.client.opensearch.core.MsearchResponse;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.msearch.MultiSearchItem;
+import org.opensearch.client.opensearch.core.msearch.MultiSearchResponseItem;
+import org.opensearch.client.opensearch.core.msearch.RequestItem;
+import org.opensearch.client.opensearch.core.search.HitsMetadata;
+import org.opensearch.client.opensearch._types.ShardStatistics;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportOptions;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * search/msearch 응답마다 took, 샤드 수, 히트 수를 SlowQueryLog에 기록하는 Transport 래퍼
+ * - 서킷 브레이커 안쪽에 위치 → 캐시 대체 응답(degraded)은 기록하지 않음
+ * - 쿼리 본문은 느린 쿼리/표본일 때만 직렬화, 실패 시 기록만 생략하고 요청은 그대로 진행
+ */
+public class QueryLoggingTransport implements OpenSearchTransport {
+
+    private final OpenSearchTransport delegate;
+    private final SlowQueryLog slowQueryLog;
+
+    public QueryLoggingTransport(OpenSearchTransport delegate, SlowQueryLog slowQueryLog) {
+        this.delegate = delegate;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) throws IOException {
+        List<QueryCall> calls = describe(request, endpoint);
+        if (calls == null) {
+            return delegate.performRequest(request, endpoint, options);
+        }
+        String caller = CallerEndpoint.current();
+        long start = System.nanoTime();
+        ResponseT response = delegate.performRequest(request, endpoint, options);
+        record(calls, response, caller, start);
+        return response;
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        List<QueryCall> calls = describe(request, endpoint);
+        if (calls == null) {
+            return delegate.performRequestAsync(request, endpoint, options);
+        }
+        String caller = CallerEndpoint.current();
+        long start = System.nanoTime();
+        return delegate.performRequestAsync(request, endpoint, options)
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        record(calls, response, caller, start);
+                    }
+                });
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private void record(List<QueryCall> calls, Object response, String caller, long start) {
+        long clientMillis = (System.nanoTime() - start) / 1_000_000;
+        if (response instanceof SearchResponse<?> searchResponse && !calls.isEmpty()) {
+            QueryCall call = calls.get(0);
+            record(call, caller, clientMillis, searchResponse.took(), searchResponse.shards(), searchResponse.hits());
+        } else if (response instanceof MsearchResponse<?> msearchResponse) {
+            List<? extends MultiSearchResponseItem<?>> items = msearchResponse.responses();
+            for (int i = 0; i < items.size() && i < calls.size(); i++) {
+                if (items.get(i).isResult()) {
+                    MultiSearchItem<?> item = items.get(i).result();
+                    record(calls.get(i), caller, clientMillis, item.took(), item.shards(), item.hits());
+                }
+            }
+        }
+    }
+
+    private void record(QueryCall call, String caller, long clientMillis, long took,
+                        ShardStatistics shards, HitsMetadata<?> hits) {
+        long hitCount = hits.total() != null ? hits.total().value() : hits.hits().size();
+        slowQueryLog.record(caller, call.index, call::body, took, clientMillis,
+                shards.total().intValue(), shards.failed().intValue(),
+                shards.skipped() != null ? shards.skipped().intValue() : 0,
+                hitCount);
+    }
+
+    /**
+     * 검색 요청이면 (인덱스, 본문) 목록, 아니면 null
+     * - 인덱스는 URL/msearch 헤더 객체에서 바로 읽고, 본문은 SlowQueryLog가 필요할 때만 직렬화
+     */
+    private <RequestT> List<QueryCall> describe(RequestT request, Endpoint<RequestT, ?, ?> endpoint) {
+        if (!(request instanceof SearchRequest) && !(request instanceof MsearchRequest)) {
+            return null;
+        }
+        try {
+            String defaultIndex = index(endpoint.requestUrl(request));
+            List<QueryCall> calls = new ArrayList<>();
+            if (request instanceof SearchRequest) {
+                calls.add(new QueryCall(defaultIndex, request));
+                return calls;
+            }
+
+            for (RequestItem item : ((MsearchRequest) request).searches()) {
+                List<String> indices = item.header().index();
+                calls.add(new QueryCall(indices.isEmpty() ? defaultIndex : String.join(",", indices), item.body()));
+            }
+            return calls;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private String toJson(Object value) {
+        StringWriter writer = new StringWriter();
+        JsonpMapper mapper = delegate.jsonpMapper();
+        JsonGenerator generator = mapper.jsonProvider().createGenerator(writer);
+        if (value instanceof JsonpSerializable serializable) {
+            serializable.serialize(generator, mapper);
+        } else {
+            mapper.serialize(value, generator);
+        }
+        generator.close();
+        return writer.toString();
+    }
+
+    private String index(String url) {
+        String path = url.startsWith("/") ? url.substring(1) : url;
+        int slash = path.indexOf('/');
+        String first = slash >= 0 ? path.substring(0, slash) : path;
+        return first.isEmpty() || first.startsWith("_") ? "_all" : first;
+    }
+
+    private class QueryCall {
+        private final String index;
+        private final Object query;
+
+        private QueryCall(String index, Object query) {
+            this.index = index;
+            this.query = query;
+        }
+
+        /**
+         * 직렬화된 쿼리 본문 (실패하면 null - 기록만 생략)
+         */
+        private String body() {
+            try {
+                return toJson(query);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package fromprom.search.Metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 검색 쿼리 모양(shape): 쿼리 본문에서 검색어/필터 값/페이지 크기 같은 리터럴을 "?"로 바꾼 JSON
+ * - 같은 구조의 쿼리를 하나로 묶어 지연 시간 분포를 비교하기 위함
+ * - 정렬 방향, 연산자, fuzziness처럼 실행 계획을 바꾸는 값은 유지
+ */
+public final class QueryShape {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TextNode PLACEHOLDER = TextNode.valueOf("?");
+    private static final Set<String> KEPT_VALUES = Set.of("order", "operator", "fuzziness", "mode", "type", "track_total_hits");
+
+    private QueryShape() {
+    }
+
+    public static String of(String body) {
+        try {
+            return MAPPER.writeValueAsString(normalize(MAPPER.readTree(body)));
+        } catch (Exception e) {
+            return "(unparsable)";
+        }
+    }
+
+    private static JsonNode normalize(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode result = MAPPER.createObjectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = field.getValue();
+                result.set(field.getKey(), value.isValueNode() && KEPT_VALUES.contains(field.getKey())
+                        ? value
+                        : normalize(value));
+            }
+            return result;
+        }
+        if (node.isArray()) {
+            ArrayNode result = MAPPER.createArrayNode();
+            boolean scalarOnly = true;
+            for (JsonNode element : node) {
+                if (!element.isValueNode()) {
+                    scalarOnly = false;
+                    break;
+                }
+            }
+            // 값 목록(terms, search_after 등)은 길이와 상관없이 하나로 묶음
+            if (scalarOnly) {
+                return node.isEmpty() ? result : result.add(PLACEHOLDER);
+            }
+            node.forEach(element -> result.add(normalize(element)));
+            return result;
+        }
+        return node.isNull() ? node : PLACEHOLDER;
+    }
+}
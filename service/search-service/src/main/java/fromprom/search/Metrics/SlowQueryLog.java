@@ -0,0 +1,262 @@
+package fromprom.search.Metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch.generic.Body;
+import org.opensearch.client.opensearch.generic.Requests;
+import org.opensearch.client.opensearch.generic.Response;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * OpenSearch 검색 쿼리 기록 (QueryLoggingTransport가 모든 search/msearch 응답마다 호출)
+ * - 쿼리 본문 직렬화와 모양 계산은 느린 쿼리와 표본(shape-sample-rate)에만 수행 (나머지는 took 비교만)
+ * - 쿼리 모양별 took 분포(표본 중 최근 RESERVOIR_SIZE건) → p99 기준 느린 모양 리포트, 느린 쿼리는 모양별 건수/최대값에 반영
+ * - took이 임계값 이상인 쿼리는 고정 크기 링 버퍼에 보관
+ * - 느린 쿼리 중 일부(sample-rate)는 profile: true로 한 번 더 실행해 샤드별 실행 계획을 첨부 (별도 스레드, 바쁘면 생략)
+ */
+@Slf4j
+@Component
+public class SlowQueryLog {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int RESERVOIR_SIZE = 512;
+    private static final int MAX_SHAPES = 500;
+    private static final int MAX_QUERY_CHARS = 4_000;
+    private static final int MAX_PROFILE_CHARS = 64_000;
+    private static final String OTHER_SHAPE = "(other)";
+
+    private final ObjectProvider<OpenSearchClient> openSearchClient;
+    private final long thresholdMillis;
+    private final int bufferSize;
+    private final double profileSampleRate;
+    private final double shapeSampleRate;
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final ThreadPoolExecutor profiler = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(8),
+            r -> {
+                Thread thread = new Thread(r, "slow-query-profiler");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryLog(ObjectProvider<OpenSearchClient> openSearchClient,
+                        @Value("${search.slow-query.threshold-ms:500}") long thresholdMillis,
+                        @Value("${search.slow-query.buffer-size:200}") int bufferSize,
+                        @Value("${search.slow-query.profile-sample-rate:0.05}") double profileSampleRate,
+                        @Value("${search.slow-query.shape-sample-rate:0.1}") double shapeSampleRate) {
+        this.openSearchClient = openSearchClient;
+        this.thresholdMillis = thresholdMillis;
+        this.bufferSize = bufferSize;
+        this.profileSampleRate = profileSampleRate;
+        this.shapeSampleRate = shapeSampleRate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        profiler.shutdownNow();
+    }
+
+    /**
+     * 검색 1건 기록
+     * @param body 직렬화된 쿼리 본문을 만드는 함수 (msearch는 항목별 본문, 느린 쿼리/표본일 때만 호출, null이면 기록 생략)
+     */
+    public void record(String endpoint, String index, Supplier<String> body, long tookMillis, long clientMillis,
+                       int shardsTotal, int shardsFailed, int shardsSkipped, long hits) {
+        boolean slow = tookMillis >= thresholdMillis;
+        boolean sampled = shapeSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < shapeSampleRate;
+        if (!slow && !sampled) {
+            return;
+        }
+
+        String query = body.get();
+        if (query == null) {
+            return;
+        }
+        String shape = QueryShape.of(query);
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            String key = shapes.size() < MAX_SHAPES ? shape : OTHER_SHAPE;
+            stats = shapes.computeIfAbsent(key, ShapeStats::new);
+        }
+        // 분포는 표본만 사용 (느린 쿼리를 모두 넣으면 p99가 부풀려짐)
+        if (sampled) {
+            stats.add(tookMillis, index, endpoint);
+        }
+        if (!slow) {
+            return;
+        }
+        stats.addSlow(tookMillis);
+
+        SlowQuery slowQuery = new SlowQuery(System.currentTimeMillis(), endpoint, index, tookMillis, clientMillis,
+                shardsTotal, shardsFailed, shardsSkipped, hits, shape,
+                query.length() > MAX_QUERY_CHARS ? query.substring(0, MAX_QUERY_CHARS) : query, null);
+        synchronized (slowQueries) {
+            if (slowQueries.size() >= bufferSize) {
+                slowQueries.removeFirst();
+            }
+            slowQueries.addLast(slowQuery);
+        }
+        log.warn("느린 검색 쿼리: {}ms (index={}, endpoint={}, hits={})", tookMillis, index, endpoint, hits);
+
+        if (profileSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < profileSampleRate) {
+            profiler.execute(() -> captureProfile(slowQuery, query));
+        }
+    }
+
+    /**
+     * 최근 느린 쿼리 (최신순)
+     */
+    public List<SlowQuery> recentSlowQueries(int limit) {
+        List<SlowQuery> result;
+        synchronized (slowQueries) {
+            result = new ArrayList<>(slowQueries);
+        }
+        Collections.reverse(result);
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * 쿼리 모양별 took 분포 (p99 내림차순)
+     */
+    public List<Map<String, Object>> slowestShapes(int top) {
+        return shapes.values().stream()
+                .map(ShapeStats::toMap)
+                .sorted(Comparator.comparingLong((Map<String, Object> m) -> (Long) m.get("p99")).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    private void captureProfile(SlowQuery slowQuery, String body) {
+        try {
+            ObjectNode profiled = (ObjectNode) MAPPER.readTree(body);
+            profiled.put("profile", true);
+
+            try (Response response = openSearchClient.getObject().generic().execute(Requests.builder()
+                    .endpoint("/" + slowQuery.getIndex() + "/_search")
+                    .method("POST")
+                    .json(MAPPER.writeValueAsString(profiled))
+                    .build())) {
+                String profile = response.getBody().map(Body::bodyAsString).orElse(null);
+                if (profile != null && profile.length() > MAX_PROFILE_CHARS) {
+                    profile = profile.substring(0, MAX_PROFILE_CHARS);
+                }
+                slowQuery.setProfile(profile);
+            }
+        } catch (Exception e) {
+            log.error("느린 쿼리 profile 수집 실패: {}", e.getMessage());
+        }
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    public static class SlowQuery {
+        private long timestamp;
+        private String endpoint;
+        private String index;
+        private long tookMillis;
+        private long clientMillis;
+        private int shardsTotal;
+        private int shardsFailed;
+        private int shardsSkipped;
+        private long hits;
+        private String shape;
+        private String query;
+        private volatile String profile;
+    }
+
+    private static class ShapeStats {
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+        private final long[] recent = new long[RESERVOIR_SIZE];
+        private int next;
+        private int filled;
+        private long maxTook;
+        private volatile String lastIndex;
+        private volatile String lastEndpoint;
+
+        private ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        private void add(long tookMillis, String index, String endpoint) {
+            count.increment();
+            lastIndex = index;
+            lastEndpoint = endpoint;
+            synchronized (this) {
+                recent[next] = tookMillis;
+                next = (next + 1) % RESERVOIR_SIZE;
+                filled = Math.min(filled + 1, RESERVOIR_SIZE);
+                maxTook = Math.max(maxTook, tookMillis);
+            }
+        }
+
+        private void addSlow(long tookMillis) {
+            slowCount.increment();
+            synchronized (this) {
+                maxTook = Math.max(maxTook, tookMillis);
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            long[] sorted;
+            long max;
+            synchronized (this) {
+                sorted = Arrays.copyOf(recent, filled);
+                max = maxTook;
+            }
+            Arrays.sort(sorted);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("shape", shape);
+            result.put("sampled", count.sum());
+            result.put("slow", slowCount.sum());
+            result.put("p50", percentile(sorted, 0.50));
+            result.put("p95", percentile(sorted, 0.95));
+            result.put("p99", percentile(sorted, 0.99));
+            result.put("max", max);
+            result.put("index", lastIndex);
+            result.put("endpoint", lastEndpoint);
+            // 지연 원인 후보 절(clause) 표시
+            result.put("fuzzy", shape.contains("\"fuzziness\""));
+            result.put("sort", shape.contains("\"sort\""));
+            result.put("filter", shape.contains("\"filter\""));
+            result.put("aggregations", shape.contains("\"aggregations\""));
+            result.put("knn", shape.contains("\"knn\""));
+            return result;
+        }
+
+        private long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package fromprom.search.Resilience;
+
+import java.io.IOException;
+
+/**
+ * OpenSearch 동시 호출 한도 초과 (클러스터 장애가 아니므로 서킷 브레이커에 반영하지 않음)
+ */
+public class BulkheadFullException extends IOException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
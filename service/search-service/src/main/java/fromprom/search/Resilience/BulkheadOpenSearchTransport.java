@@ -0,0 +1,71 @@
+package fromprom.search.Resilience;
+
+import fromprom.common.Resilience.Bulkhead;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportOptions;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * OpenSearch 동시 호출 제한 Transport 래퍼 (ResilientOpenSearchTransport 바로 안쪽)
+ * - 비동기 요청도 호출 스레드에서 허가를 받고, 응답 future가 끝나면 반납
+ *   (마감 시간 초과로 바깥 future가 취소되어도 실제 호출이 끝날 때까지 허가 유지)
+ * - 허가를 못 받으면 BulkheadFullException → 바깥 래퍼가 캐시 응답으로 대체
+ */
+public class BulkheadOpenSearchTransport implements OpenSearchTransport {
+
+    private final OpenSearchTransport delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadOpenSearchTransport(OpenSearchTransport delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) throws IOException {
+        if (!bulkhead.tryAcquire()) {
+            throw new BulkheadFullException(bulkhead.rejectionMessage());
+        }
+        try {
+            return delegate.performRequest(request, endpoint, options);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        if (!bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(new BulkheadFullException(bulkhead.rejectionMessage()));
+        }
+        CompletableFuture<ResponseT> future;
+        try {
+            future = delegate.performRequestAsync(request, endpoint, options);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+        return future.whenComplete((response, error) -> bulkhead.release());
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
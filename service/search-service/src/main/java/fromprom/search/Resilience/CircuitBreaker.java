@@ -0,0 +1,108 @@
+package fromprom.search.Resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 연속 실패 횟수 기반의 간단한 서킷 브레이커
+ * - CLOSED: 정상 호출, 연속 실패가 임계값에 도달하면 OPEN
+ * - OPEN: openMillis 동안 호출 차단 (즉시 실패)
+ * - HALF_OPEN: 대기 시간이 지나면 한 건만 시험 호출, 성공하면 CLOSED / 실패하면 다시 OPEN
+ * - 결과는 허가(Permit)와 함께 보고: 시험 호출 허가를 가진 호출만 HALF_OPEN을 닫거나 다시 열 수 있고,
+ *   CLOSED 시절에 시작해 늦게 끝난 호출의 성공은 OPEN/HALF_OPEN 상태를 바꾸지 않음
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * 호출 허가 종류 (DENIED: 차단, CALL: CLOSED 상태의 일반 호출, PROBE: HALF_OPEN 시험 호출)
+     */
+    public enum Permit { DENIED, CALL, PROBE }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 호출 허가 (OPEN 대기 시간이 지났으면 HALF_OPEN으로 전환 후 한 건만 PROBE 허가)
+     */
+    public Permit acquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return Permit.CALL;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt.get() >= openMillis) {
+            state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        if (state.get() == State.HALF_OPEN && probeInFlight.compareAndSet(false, true)) {
+            return Permit.PROBE;
+        }
+        return Permit.DENIED;
+    }
+
+    public void onSuccess(Permit permit) {
+        if (permit == Permit.PROBE) {
+            consecutiveFailures.set(0);
+            if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                log.info("서킷 브레이커 [{}] CLOSED (복구됨)", name);
+            }
+            probeInFlight.set(false);
+        } else if (permit == Permit.CALL && state.get() == State.CLOSED) {
+            consecutiveFailures.set(0);
+        }
+        // OPEN/HALF_OPEN 중에 도착한 일반 호출의 성공은 무시 (느린 호출 하나로 열린 브레이커가 닫히지 않도록)
+    }
+
+    public void onFailure(Permit permit) {
+        if (permit == Permit.PROBE) {
+            open();
+            probeInFlight.set(false);
+        } else if (permit == Permit.CALL && state.get() == State.CLOSED
+                && consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+        // 이미 OPEN/HALF_OPEN이면 시험 호출 결과만 상태를 바꿈
+    }
+
+    /**
+     * 성공/실패를 기록하지 않고 시험 호출 허가만 반납 (로컬 동시 호출 한도 초과, 중단 등 클러스터 상태와 무관한 종료)
+     * - 반납하지 않으면 HALF_OPEN에서 다음 시험 호출이 영영 허용되지 않음
+     */
+    public void releaseProbe(Permit permit) {
+        if (permit == Permit.PROBE) {
+            probeInFlight.set(false);
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isClosed() {
+        return state.get() == State.CLOSED;
+    }
+
+    private void open() {
+        openedAt.set(System.currentTimeMillis());
+        if (state.getAndSet(State.OPEN) != State.OPEN) {
+            log.warn("서킷 브레이커 [{}] OPEN ({}ms 동안 호출 차단)", name, openMillis);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package fromprom.search.Resilience;
+
+import fromprom.search.Cache.TtlCache;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.json.NdJsonpSerializable;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch.core.CountRequest;
+import org.opensearch.client.opensearch.core.GetRequest;
+import org.opensearch.client.opensearch.core.MgetRequest;
+import org.opensearch.client.opensearch.core.MsearchRequest;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.JsonEndpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportOptions;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조회 요청에 마감 시간 + 서킷 브레이커 + 마지막 정상 응답(last-known-good) 캐시를 적용하는 Transport 래퍼
+ * - 사용자 요청 스레드의 조회(search/msearch/get/mget/count)만 적용, 색인/벌크/태스크 요청과 백그라운드 작업은 그대로 전달
+ * - 클러스터가 느리거나 죽었을 때 같은 요청의 마지막 정상 응답을 돌려주고 요청에 degraded 표시
+ * - 캐시된 응답도 없으면 IOException을 던져 기존 SearchService의 예외 처리(빈 결과)로 이어짐
+ * - 캐시에는 응답 JSON 바이트를 저장하고 대체할 때마다 새로 역직렬화 (호출 측이 문서 객체를 고쳐도 캐시는 그대로)
+ * - 정상 응답 기록은 recordIntervalMillis마다 한 번으로 제한 (요청 키/응답 직렬화 비용을 호출 수와 무관하게 유지,
+ *   자주 들어오는 쿼리일수록 기록될 확률이 높음), 캐시 키는 기록/대체할 때만 생성
+ */
+@Slf4j
+public class ResilientOpenSearchTransport implements OpenSearchTransport {
+
+    // 현재 요청이 캐시 응답으로 처리되었음을 표시하는 request attribute
+    public static final String DEGRADED_ATTRIBUTE = ResilientOpenSearchTransport.class.getName() + ".DEGRADED";
+
+    private final OpenSearchTransport delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final TtlCache<String, byte[]> lastKnownGood;
+    private final long recordIntervalMillis;
+    private final long searchDeadlineMillis;
+    private final long getDeadlineMillis;
+    private final AtomicLong nextRecordAt = new AtomicLong();
+
+    public ResilientOpenSearchTransport(OpenSearchTransport delegate, CircuitBreaker circuitBreaker,
+                                        TtlCache<String, byte[]> lastKnownGood, long recordIntervalMillis,
+                                        long searchDeadlineMillis, long getDeadlineMillis) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.lastKnownGood = lastKnownGood;
+        this.recordIntervalMillis = recordIntervalMillis;
+        this.searchDeadlineMillis = searchDeadlineMillis;
+        this.getDeadlineMillis = getDeadlineMillis;
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) throws IOException {
+        // 색인/벌크 요청과 요청 컨텍스트가 없는 호출(스케줄러 배치: 인기도 스캔, 연관 프롬프트 kNN, 임베딩 백필 등)은 그대로 전달
+        // - 느린 배치가 브레이커를 열어 사용자 요청까지 캐시로 떨어뜨리지 않도록, 큰 스캔 페이지가 캐시를 채우지 않도록
+        if (!isRead(request) || RequestContextHolder.getRequestAttributes() == null) {
+            return delegate.performRequest(request, endpoint, options);
+        }
+
+        CircuitBreaker.Permit permit = circuitBreaker.acquire();
+        if (permit == CircuitBreaker.Permit.DENIED) {
+            return fallback(request, endpoint, "서킷 OPEN");
+        }
+
+        long deadline = (request instanceof GetRequest || request instanceof MgetRequest)
+                ? getDeadlineMillis : searchDeadlineMillis;
+        // 성공/실패를 기록하지 않고 끝나는 경로(로컬 한도 초과, 중단, 동기 예외)에서도 시험 호출 허가를 반납
+        boolean recorded = false;
+        CompletableFuture<ResponseT> future = null;
+        try {
+            future = delegate.performRequestAsync(request, endpoint, options);
+            ResponseT response = future.get(deadline, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess(permit);
+            recorded = true;
+            if (shouldRecord()) {
+                record(request, endpoint, response);
+            }
+            return response;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure(permit);
+            recorded = true;
+            return fallback(request, endpoint, "마감 시간 " + deadline + "ms 초과");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // 4xx 응답(잘못된 쿼리 등)은 클러스터 장애가 아니므로 브레이커에 반영하지 않음
+            if (cause instanceof OpenSearchException openSearchException && openSearchException.status() < 500
+                    && openSearchException.status() != 429) {
+                circuitBreaker.onSuccess(permit);
+                recorded = true;
+                throw openSearchException;
+            }
+            // 로컬 동시 호출 한도 초과도 클러스터 장애가 아니므로 브레이커에 반영하지 않고 캐시 응답만 사용
+            if (cause instanceof BulkheadFullException) {
+                return fallback(request, endpoint, cause.getMessage());
+            }
+            circuitBreaker.onFailure(permit);
+            recorded = true;
+            return fallback(request, endpoint, cause != null ? cause.getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("OpenSearch 요청 중단", e);
+        } finally {
+            if (!recorded) {
+                circuitBreaker.releaseProbe(permit);
+            }
+        }
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        return delegate.performRequestAsync(request, endpoint, options);
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * 직전 기록 후 recordIntervalMillis가 지났으면 이번 호출이 기록 (0 이하면 매번 기록)
+     */
+    private boolean shouldRecord() {
+        if (recordIntervalMillis <= 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        long next = nextRecordAt.get();
+        return now >= next && nextRecordAt.compareAndSet(next, now + recordIntervalMillis);
+    }
+
+    private <RequestT, ResponseT> void record(RequestT request, Endpoint<RequestT, ResponseT, ?> endpoint, ResponseT response) {
+        if (!(response instanceof JsonpSerializable serializable)) {
+            return;
+        }
+        String cacheKey = cacheKey(request, endpoint);
+        if (cacheKey == null) {
+            return;
+        }
+        try {
+            JsonpMapper mapper = delegate.jsonpMapper();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+                serializable.serialize(generator, mapper);
+            }
+            lastKnownGood.put(cacheKey, out.toByteArray());
+        } catch (RuntimeException e) {
+            log.debug("정상 응답 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <RequestT, ResponseT> ResponseT fallback(RequestT request, Endpoint<RequestT, ResponseT, ?> endpoint,
+                                                     String reason) throws IOException {
+        String cacheKey = endpoint instanceof JsonEndpoint ? cacheKey(request, endpoint) : null;
+        byte[] cached = cacheKey != null ? lastKnownGood.get(cacheKey) : null;
+        if (cached == null) {
+            throw new IOException("OpenSearch 사용 불가 (" + reason + "), 캐시된 응답 없음");
+        }
+        ResponseT response;
+        JsonpMapper mapper = delegate.jsonpMapper();
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(cached))) {
+            response = ((JsonEndpoint<RequestT, ResponseT, ?>) endpoint).responseDeserializer().deserialize(parser, mapper);
+        } catch (RuntimeException e) {
+            throw new IOException("OpenSearch 사용 불가 (" + reason + "), 캐시된 응답 복원 실패", e);
+        }
+        log.warn("OpenSearch 사용 불가 ({}), 마지막 정상 응답으로 대체", reason);
+        markDegraded();
+        return response;
+    }
+
+    private void markDegraded() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            try {
+                attributes.setAttribute(DEGRADED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            } catch (IllegalStateException e) {
+                // I/O 풀 작업이 요청 종료 후에 끝난 경우 (응답은 이미 나감)
+                log.debug("degraded 표시 생략: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean isRead(Object request) {
+        return request instanceof SearchRequest
+                || request instanceof MsearchRequest
+                || request instanceof GetRequest
+                || request instanceof MgetRequest
+                || request instanceof CountRequest;
+    }
+
+    /**
+     * 요청 URL + 쿼리 파라미터 + 본문 JSON으로 캐시 키 생성 (직렬화 실패 시 null → 캐시 미사용)
+     */
+    private <RequestT> String cacheKey(RequestT request, Endpoint<RequestT, ?, ?> endpoint) {
+        try {
+            StringWriter writer = new StringWriter();
+            writer.append(endpoint.method(request)).append(' ')
+                    .append(endpoint.requestUrl(request)).append(' ')
+                    .append(String.valueOf(endpoint.queryParameters(request))).append(' ');
+            if (endpoint.hasRequestBody()) {
+                serialize(request, writer, delegate.jsonpMapper());
+            }
+            return writer.toString();
+        } catch (RuntimeException e) {
+            log.debug("캐시 키 생성 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 요청 본문 직렬화 (msearch 같은 NDJSON 본문은 항목마다 별도 generator로 한 줄씩 기록)
+     */
+    private void serialize(Object value, StringWriter writer, JsonpMapper mapper) {
+        if (value instanceof NdJsonpSerializable ndJson) {
+            Iterator<?> parts = ndJson._serializables();
+            while (parts.hasNext()) {
+                Object part = parts.next();
+                // NDJSON 항목이 자기 자신을 돌려주는 경우 재귀 방지
+                if (part == value) {
+                    writeJson(part, writer, mapper);
+                } else {
+                    serialize(part, writer, mapper);
+                }
+            }
+        } else {
+            writeJson(value, writer, mapper);
+        }
+    }
+
+    private void writeJson(Object value, StringWriter writer, JsonpMapper mapper) {
+        JsonGenerator generator = mapper.jsonProvider().createGenerator(writer);
+        if (value instanceof JsonpSerializable serializable) {
+            serializable.serialize(generator, mapper);
+        } else {
+            mapper.serialize(value, generator);
+        }
+        generator.close();
+        writer.append('\n');
+    }
+}
@@ -2,8 +2,11 @@ package fromprom.search;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// fromprom.common: 두 서비스가 공유하는 SDK 메트릭/핫 키 컴포넌트 (service/common)
+@SpringBootApplication(scanBasePackages = {"fromprom.search", "fromprom.common"})
+@EnableScheduling
 public class SearchApplication {
 
 	public static void main(String[] args) {
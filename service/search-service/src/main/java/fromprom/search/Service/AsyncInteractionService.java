@@ -0,0 +1,200 @@
+package fromprom.search.Service;
+
+import fromprom.search.DTO.Comment;
+import fromprom.search.DTO.PagedResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * InteractionService의 비동기 버전 (DynamoDbAsyncClient, 팬아웃 조회 전용)
+ * - 목록 보강/상세 조립처럼 한 요청에서 여러 조회를 동시에 보내는 경로에서 사용 (호출마다 스레드를 점유하지 않음)
+ * - 요청 생성/응답 파싱은 InteractionService와 공유, 실패 시 동기 버전과 같은 기본값으로 완료 (예외로 끝나지 않음)
+ * - BatchGetItem 키가 100개를 넘으면 나눠서 동시에 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncInteractionService {
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final InteractionService interactionService;
+
+    /**
+     * 프롬프트 METADATA 단일 조회 (통계 + 예시)
+     * @return 아이템이 없거나 조회 실패 시 null
+     */
+    public CompletableFuture<InteractionService.PromptMetadata> getPromptMetadata(String promptId) {
+        return call(() -> dynamoDbAsyncClient.getItem(interactionService.promptMetadataRequest(promptId)))
+                .thenApply(response -> interactionService.toPromptMetadata(promptId, response))
+                .exceptionally(e -> {
+                    log.error("프롬프트 메타데이터 조회 실패: {}", message(e));
+                    return null;
+                });
+    }
+
+    /**
+     * 최신 댓글 첫 페이지 조회 (동기 버전과 같은 캐시 사용)
+     */
+    public CompletableFuture<PagedResult<Comment>> getComments(String promptId) {
+        PagedResult<Comment> cached = interactionService.cachedFirstCommentPage(promptId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        int pageSize = InteractionService.DEFAULT_COMMENT_PAGE_SIZE;
+        return call(() -> dynamoDbAsyncClient.query(interactionService.commentPageRequest(promptId, pageSize, null)))
+                .thenApply(response -> {
+                    PagedResult<Comment> page = interactionService.toCommentPage(response, pageSize);
+                    interactionService.cacheFirstCommentPage(promptId, page);
+                    return page;
+                })
+                .exceptionally(e -> {
+                    log.error("댓글 조회 실패: {}", message(e));
+                    return interactionService.emptyCommentPage(pageSize);
+                });
+    }
+
+    public CompletableFuture<Boolean> hasUserLiked(String userId, String promptId) {
+        return hasInteraction(userId, InteractionService.LIKE_PREFIX + promptId, "좋아요 확인 실패: {}");
+    }
+
+    public CompletableFuture<Boolean> hasUserBookmarked(String userId, String promptId) {
+        return hasInteraction(userId, InteractionService.BOOKMARK_PREFIX + promptId, "북마크 확인 실패: {}");
+    }
+
+    /**
+     * @return promptId -> isLiked 맵 (비로그인이면 빈 맵)
+     */
+    public CompletableFuture<Map<String, Boolean>> hasUserLikedBatch(String userId, List<String> promptIds) {
+        return interactionBatch(userId, promptIds, InteractionService.LIKE_PREFIX, "좋아요 일괄 확인 실패: {}");
+    }
+
+    /**
+     * @return promptId -> isBookmarked 맵 (비로그인이면 빈 맵)
+     */
+    public CompletableFuture<Map<String, Boolean>> hasUserBookmarkedBatch(String userId, List<String> promptIds) {
+        return interactionBatch(userId, promptIds, InteractionService.BOOKMARK_PREFIX, "북마크 일괄 확인 실패: {}");
+    }
+
+    /**
+     * @return 없거나 조회 실패 시 null
+     */
+    public CompletableFuture<String> getUserNickname(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return call(() -> dynamoDbAsyncClient.getItem(interactionService.nicknameRequest(userId)))
+                .thenApply(interactionService::toNickname)
+                .exceptionally(e -> {
+                    log.error("사용자 닉네임 조회 실패: {}", message(e));
+                    return null;
+                });
+    }
+
+    /**
+     * 여러 사용자의 닉네임 일괄 조회 (USER# 접두사 있는 키와 없는 키 모두 채움)
+     */
+    public CompletableFuture<Map<String, String>> getUserNicknamesBatch(List<String> userIds) {
+        List<String> userPKs = interactionService.nicknameKeys(userIds);
+        if (userPKs.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
+        }
+
+        List<CompletableFuture<Map<String, String>>> chunks = partition(userPKs).stream()
+                .map(chunk -> call(() -> dynamoDbAsyncClient.batchGetItem(interactionService.nicknameBatchRequest(chunk)))
+                        .thenApply(response -> {
+                            Map<String, String> nicknames = new HashMap<>();
+                            interactionService.putNicknames(response, nicknames);
+                            return nicknames;
+                        })
+                        .exceptionally(e -> {
+                            log.error("사용자 닉네임 일괄 조회 실패: {}", message(e));
+                            return Map.of();
+                        }))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Map<String, String> nicknameMap = new HashMap<>();
+                    chunks.forEach(chunk -> nicknameMap.putAll(chunk.join()));
+                    return nicknameMap;
+                });
+    }
+
+    private CompletableFuture<Boolean> hasInteraction(String userId, String sk, String errorMessage) {
+        return call(() -> dynamoDbAsyncClient.getItem(interactionService.interactionRequest(userId, sk)))
+                .thenApply(response -> response.hasItem())
+                .exceptionally(e -> {
+                    log.error(errorMessage, message(e));
+                    return false;
+                });
+    }
+
+    private CompletableFuture<Map<String, Boolean>> interactionBatch(
+            String userId, List<String> promptIds, String skPrefix, String errorMessage) {
+        if (userId == null || userId.isEmpty() || promptIds == null || promptIds.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
+        }
+
+        List<String> targetIds = promptIds.stream().distinct().collect(Collectors.toList());
+        List<CompletableFuture<Map<String, Boolean>>> chunks = partition(targetIds).stream()
+                .map(chunk -> call(() -> dynamoDbAsyncClient.batchGetItem(
+                                interactionService.interactionBatchRequest(userId, skPrefix, chunk)))
+                        .thenApply(response -> {
+                            Map<String, Boolean> found = new HashMap<>();
+                            interactionService.markInteractions(response, skPrefix, found);
+                            return found;
+                        })
+                        .exceptionally(e -> {
+                            log.error(errorMessage, message(e));
+                            return Map.of();
+                        }))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    // 기본값 false로 초기화 후 존재하는 항목만 true
+                    Map<String, Boolean> result = new HashMap<>();
+                    promptIds.forEach(id -> result.put(id, false));
+                    chunks.forEach(chunk -> result.putAll(chunk.join()));
+                    return result;
+                });
+    }
+
+    /**
+     * BatchGetItem 한도(100개)로 분할
+     */
+    private static List<List<String>> partition(List<String> keys) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += InteractionService.MAX_BATCH_GET_KEYS) {
+            chunks.add(keys.subList(i, Math.min(i + InteractionService.MAX_BATCH_GET_KEYS, keys.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * 호출 시점에 바로 던져지는 예외(동시 호출 한도 초과 등)도 실패한 future로 통일
+     */
+    private static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> request) {
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String message(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage();
+    }
+}
@@ -0,0 +1,39 @@
+package fromprom.search.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 카테고리 기반 커스텀 라우팅 설정
+ * - search.routing.by-category=true 이면 문서를 routing=category로 색인하고,
+ *   카테고리 한정 쿼리는 해당 샤드 하나에만 보냄 (전체 샤드 fan-out 방지)
+ * - 라우팅은 색인 시점에 결정되므로, 켜려면 모든 쓰기 경로(재색인, 동기화 Lambda)가 같은 규칙으로 색인한 인덱스여야 함
+ * - preference: 같은 쿼리를 항상 같은 샤드 복제본으로 보내 request cache 적중률을 높임
+ */
+@Component
+public class CategoryRouting {
+
+    private final boolean enabled;
+
+    public CategoryRouting(@Value("${search.routing.by-category:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 색인/조회에 사용할 routing 값 (비활성 또는 카테고리 없음이면 null → 기본 _id 라우팅)
+     */
+    public String routingFor(String category) {
+        return enabled && category != null && !category.isEmpty() ? category : null;
+    }
+
+    /**
+     * 반복 쿼리를 같은 복제본에 고정하는 preference 키 ('_'로 시작하면 예약어이므로 접두어 사용)
+     */
+    public String preference(String queryKey) {
+        return "q:" + Integer.toHexString(queryKey.hashCode());
+    }
+}
@@ -0,0 +1,218 @@
+package fromprom.search.Service;
+
+import fromprom.search.DTO.PromptDocument;
+import fromprom.search.Embedding.PromptEmbedder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.mapping.Property;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.indices.GetMappingResponse;
+import org.opensearch.client.opensearch.indices.get_mapping.IndexMappingRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프롬프트 임베딩 관리
+ * - 문서 텍스트(제목 + 설명 + 본문 앞부분) → 벡터 변환
+ * - 재색인 시 embedding 필드를 함께 색인하고, 동기화 Lambda로 들어온 문서는 주기적 백필로 채움
+ * - embeddingVersion이 현재 임베더 버전과 다른 문서만 다시 계산
+ * - 백필은 search.jobs.writer.enabled 인스턴스 하나만 수행
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmbeddingService {
+
+    public static final String EMBEDDING_FIELD = "embedding";
+    public static final String VERSION_FIELD = "embeddingVersion";
+    private static final String INDEX_NAME = "prompts";
+    private static final int PAGE_SIZE = 200;
+    private static final int CONTENT_CHARS = 2000;
+
+    private final OpenSearchClient openSearchClient;
+    private final PromptEmbedder promptEmbedder;
+
+    // 색인 문서를 고치는 배치 작업 실행 여부 (여러 레플리카 중 하나만 true)
+    @Value("${search.jobs.writer.enabled:true}")
+    private boolean writerEnabled;
+
+    public int dimension() {
+        return promptEmbedder.dimension();
+    }
+
+    /**
+     * 검색어 임베딩 (빈 벡터면 null)
+     */
+    public float[] embedQuery(String text) {
+        float[] vector = promptEmbedder.embed(text);
+        return isZero(vector) ? null : vector;
+    }
+
+    /**
+     * 문서 임베딩 (빈 벡터면 null - cosine 공간에는 0 벡터를 색인할 수 없음)
+     */
+    public float[] embed(PromptDocument doc) {
+        float[] vector = promptEmbedder.embed(textFor(doc));
+        return isZero(vector) ? null : vector;
+    }
+
+    /**
+     * 색인 문서에 추가할 임베딩 필드 (계산할 수 없으면 빈 맵)
+     */
+    public Map<String, Object> embeddingFields(PromptDocument doc) {
+        float[] vector = embed(doc);
+        if (vector == null) {
+            return Map.of();
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(EMBEDDING_FIELD, vector);
+        fields.put(VERSION_FIELD, promptEmbedder.version());
+        return fields;
+    }
+
+    /**
+     * 현재 색인(별칭이 가리키는 모든 인덱스)의 embedding 필드가 임베더와 같은 차원의 knn_vector인지 여부
+     * - 템플릿 적용 전에 만든 인덱스에 벡터를 쓰면 동적 매핑으로 float 필드가 생겨 재색인 전까지 kNN 쿼리가 실패함
+     */
+    public boolean isVectorIndexReady() {
+        try {
+            GetMappingResponse response = openSearchClient.indices().getMapping(g -> g.index(INDEX_NAME));
+            if (response.result().isEmpty()) {
+                return false;
+            }
+            for (IndexMappingRecord record : response.result().values()) {
+                TypeMapping mappings = record.mappings();
+                Property property = mappings != null ? mappings.properties().get(EMBEDDING_FIELD) : null;
+                if (property == null || !property.isKnnVector()
+                        || !Integer.valueOf(promptEmbedder.dimension()).equals(property.knnVector().dimension())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | OpenSearchException e) {
+            log.warn("임베딩 매핑 확인 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 임베딩이 없거나 버전이 다른 문서 백필 (기본 10분 주기)
+     * - 색인에 knn_vector 매핑이 없으면 건너뜀 (재색인으로 템플릿 매핑을 적용한 뒤 백필)
+     */
+    @Scheduled(fixedDelayString = "${search.embedding.backfill-interval-ms:600000}", initialDelay = 30_000)
+    public void backfill() {
+        if (!writerEnabled) {
+            return;
+        }
+        if (!isVectorIndexReady()) {
+            log.info("임베딩 백필 건너뜀: {} 인덱스에 {} knn_vector 매핑 없음 (재색인 필요)", INDEX_NAME, EMBEDDING_FIELD);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int updated = 0;
+        List<String> searchAfter = null;
+
+        try {
+            while (true) {
+                final List<String> after = searchAfter;
+                SearchResponse<PromptDocument> response = openSearchClient.search(s -> {
+                    s.index(INDEX_NAME)
+                            .query(q -> q.bool(b -> b
+                                    .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))))
+                                    .mustNot(mn -> mn.term(t -> t.field(VERSION_FIELD).value(FieldValue.of(promptEmbedder.version()))))))
+                            .source(src -> src.filter(f -> f.includes("title", "description", "content")))
+                            .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                            .sort(sort -> sort.field(f -> f.field("_id").order(SortOrder.Desc)))
+                            .size(PAGE_SIZE);
+                    if (after != null) {
+                        s.searchAfter(after);
+                    }
+                    return s;
+                }, PromptDocument.class);
+
+                List<Hit<PromptDocument>> hits = response.hits().hits();
+                if (hits.isEmpty()) {
+                    break;
+                }
+
+                BulkRequest.Builder bulk = new BulkRequest.Builder();
+                int operations = 0;
+                for (Hit<PromptDocument> hit : hits) {
+                    if (hit.source() == null) {
+                        continue;
+                    }
+                    Map<String, Object> fields = embeddingFields(hit.source());
+                    if (fields.isEmpty()) {
+                        continue;
+                    }
+                    bulk.operations(op -> op.update(u -> u
+                            .index(INDEX_NAME)
+                            .id(hit.id())
+                            .routing(hit.routing())
+                            .document(fields)));
+                    operations++;
+                }
+
+                if (operations > 0) {
+                    BulkResponse bulkResponse = openSearchClient.bulk(bulk.build());
+                    long failed = bulkResponse.errors()
+                            ? bulkResponse.items().stream().filter(item -> item.error() != null).count()
+                            : 0;
+                    if (failed > 0) {
+                        log.warn("임베딩 백필 일부 실패: {}건", failed);
+                    }
+                    updated += operations - (int) failed;
+                }
+
+                if (hits.size() < PAGE_SIZE) {
+                    break;
+                }
+                searchAfter = hits.get(hits.size() - 1).sort();
+            }
+        } catch (IOException e) {
+            log.error("임베딩 백필 실패: {}", e.getMessage());
+        }
+
+        if (updated > 0) {
+            log.info("임베딩 백필 완료: {}건, {}ms", updated, System.currentTimeMillis() - start);
+        }
+    }
+
+    private String textFor(PromptDocument doc) {
+        StringBuilder text = new StringBuilder();
+        if (doc.getTitle() != null) {
+            text.append(doc.getTitle()).append('\n');
+        }
+        if (doc.getDescription() != null) {
+            text.append(doc.getDescription()).append('\n');
+        }
+        if (doc.getContent() != null) {
+            String content = doc.getContent();
+            text.append(content, 0, Math.min(content.length(), CONTENT_CHARS));
+        }
+        return text.toString();
+    }
+
+    private boolean isZero(float[] vector) {
+        for (float v : vector) {
+            if (v != 0f) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,137 @@
+package fromprom.search.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fromprom.search.DTO.PromptDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 홈(랜딩) 화면 레일 서비스
+ * - 모든 레일을 _msearch 1회로 조회하고 닉네임 보강도 1회로 처리
+ * - 직렬화된 JSON을 메모리에 보관하고, TTL이 지나면 백그라운드에서 갱신 (stale-while-revalidate)
+ * - 사용자 요청은 항상 메모리 스냅샷으로 응답하며 OpenSearch 응답을 기다리지 않음
+ * - 기동 완료(ApplicationReadyEvent) 시 동기로 첫 스냅샷 생성, 조회 실패 결과는 스냅샷으로 저장하지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomeFeedService {
+
+    private final SearchService searchService;
+    private final PromptEnricher promptEnricher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${search.home.categories:type_a,type_b_text,type_b_image}")
+    private List<String> categories;
+
+    @Value("${search.home.rail-size:12}")
+    private int railSize;
+
+    @Value("${search.home.ttl-ms:30000}")
+    private long ttlMillis;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "home-feed-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile String snapshotJson;
+    private volatile long snapshotAt = 0;
+
+    /**
+     * 홈 화면 JSON (직렬화된 스냅샷). 오래되었으면 백그라운드 갱신만 예약하고 즉시 반환
+     * @return 아직 스냅샷이 없으면 null
+     */
+    public String getHomeJson() {
+        if (System.currentTimeMillis() - snapshotAt > ttlMillis) {
+            refreshAsync();
+        }
+        return snapshotJson;
+    }
+
+    /**
+     * 기동 직후 첫 스냅샷을 동기로 생성 (실패하면 이후 주기 갱신/요청 시 재시도)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (snapshotAt == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 주기적 선갱신 (TTL 간격) - 요청이 없어도 스냅샷을 따뜻하게 유지
+     */
+    @Scheduled(fixedDelayString = "${search.home.ttl-ms:30000}")
+    public void scheduledRefresh() {
+        refreshAsync();
+    }
+
+    private void refreshAsync() {
+        if (refreshing.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    // 기동 시 동기 생성과 백그라운드 갱신이 겹치지 않도록 직렬화
+    private synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, List<PromptDocument>> rails = searchService.searchHomeRails(categories, railSize);
+        if (rails == null) {
+            // 조회 실패: 기존 스냅샷 유지 (없으면 계속 준비 중 응답)
+            log.warn("홈 레일 조회 실패 - 스냅샷 갱신 안 함");
+            return;
+        }
+
+        // 레일 전체에서 닉네임이 없는 작성자를 한 번에 조회
+        List<PromptDocument> allPrompts = new ArrayList<>();
+        rails.values().forEach(allPrompts::addAll);
+        if (allPrompts.isEmpty() && snapshotAt > 0) {
+            // 일시적인 빈 결과로 보이면 기존 스냅샷 유지
+            log.warn("홈 레일 조회 결과 없음 - 기존 스냅샷 유지");
+            return;
+        }
+        Map<String, String> nicknameMap = promptEnricher.resolveMissingNicknames(allPrompts);
+
+        Map<String, Object> enrichedRails = new LinkedHashMap<>();
+        rails.forEach((name, prompts) -> enrichedRails.put(name, prompts.stream()
+                .map(prompt -> promptEnricher.fromOpenSearchBatch(prompt, nicknameMap, null, null))
+                .collect(Collectors.toList())));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("rails", enrichedRails);
+        response.put("generatedAt", System.currentTimeMillis());
+
+        try {
+            snapshotJson = objectMapper.writeValueAsString(response);
+            snapshotAt = System.currentTimeMillis();
+            log.info("홈 레일 스냅샷 갱신 완료: {}개 레일, {}ms", rails.size(), snapshotAt - start);
+        } catch (JsonProcessingException e) {
+            log.error("홈 레일 직렬화 실패: {}", e.getMessage());
+        }
+    }
+}
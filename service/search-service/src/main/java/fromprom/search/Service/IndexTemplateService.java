@@ -0,0 +1,170 @@
+package fromprom.search.Service;
+
+import fromprom.search.Embedding.PromptEmbedder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.analysis.NoriDecompoundMode;
+import org.opensearch.client.opensearch._types.mapping.Property;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
+import org.opensearch.client.opensearch.indices.GetIndexTemplateResponse;
+import org.opensearch.client.opensearch.indices.IndexSettings;
+import org.opensearch.client.opensearch.indices.SegmentSortOrder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * prompts 인덱스 템플릿 관리 (버전 관리)
+ * - 재색인으로 만들어지는 prompts_v* 인덱스에 적용
+ * - createdAt 내림차순 인덱스 정렬: 최신순 목록 쿼리가 샤드별로 size개만 읽고 조기 종료
+ * - 필터/집계용 필드는 keyword, 정렬/집계에 쓰지 않는 필드는 doc_values 비활성화
+ * - 제목/설명/본문은 nori(한국어) 분석기 사용
+ * - title.autocomplete: 단어별 edge n-gram (자동완성 폴백이 phrase_prefix 용어 확장 없이 일반 match로 조회)
+ * - embedding: 유사 프롬프트/하이브리드 검색용 knn_vector (차원은 현재 임베더 기준)
+ * - 템플릿 구조를 바꾸면 TEMPLATE_VERSION을 올리고 재색인해야 기존 데이터에 반영됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IndexTemplateService {
+
+    public static final String TEMPLATE_NAME = "prompts-template";
+    public static final long TEMPLATE_VERSION = 3;
+    private static final String INDEX_PATTERN = "prompts_v*";
+    private static final String KOREAN_ANALYZER = "korean";
+    private static final String AUTOCOMPLETE_ANALYZER = "autocomplete";
+    public static final String TITLE_AUTOCOMPLETE_FIELD = "title.autocomplete";
+
+    private final OpenSearchClient openSearchClient;
+    private final PromptEmbedder promptEmbedder;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureTemplate();
+    }
+
+    /**
+     * 템플릿이 없거나 버전이 낮으면 등록/갱신
+     * @return 최신 템플릿이 적용된 상태이면 true
+     */
+    public boolean ensureTemplate() {
+        try {
+            Long installed = installedVersion();
+            if (installed != null && installed >= TEMPLATE_VERSION) {
+                return true;
+            }
+
+            openSearchClient.indices().putIndexTemplate(t -> t
+                    .name(TEMPLATE_NAME)
+                    .indexPatterns(INDEX_PATTERN)
+                    .priority(100)
+                    .version(TEMPLATE_VERSION)
+                    .meta("managedBy", JsonData.of("search-service"))
+                    .template(tm -> tm
+                            .settings(this::settings)
+                            .mappings(this::mappings)));
+
+            log.info("인덱스 템플릿 등록: {} v{} (기존 v{})", TEMPLATE_NAME, TEMPLATE_VERSION, installed);
+            return true;
+
+        } catch (IOException | OpenSearchException e) {
+            log.error("인덱스 템플릿 등록 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private Long installedVersion() throws IOException {
+        try {
+            GetIndexTemplateResponse response = openSearchClient.indices().getIndexTemplate(g -> g.name(TEMPLATE_NAME));
+            return response.indexTemplates().stream()
+                    .findFirst()
+                    .map(item -> item.indexTemplate().version())
+                    .orElse(null);
+        } catch (OpenSearchException e) {
+            // 404: 아직 등록되지 않음
+            return null;
+        }
+    }
+
+    private IndexSettings.Builder settings(IndexSettings.Builder s) {
+        return s
+                .knn(true)
+                .sort(so -> so
+                        .field("createdAt")
+                        .order(SegmentSortOrder.Desc))
+                .analysis(a -> a
+                        .tokenizer("nori_mixed", tk -> tk.definition(d -> d
+                                .noriTokenizer(n -> n.decompoundMode(NoriDecompoundMode.Mixed))))
+                        .analyzer(KOREAN_ANALYZER, an -> an.custom(c -> c
+                                .tokenizer("nori_mixed")
+                                .filter("lowercase", "nori_readingform")))
+                        // 색인 시에만 단어 앞부분 1~20자를 토큰으로 (검색어는 standard 분석기로 자르지 않음)
+                        .filter("autocomplete_edge", f -> f.definition(d -> d
+                                .edgeNgram(e -> e.minGram(1).maxGram(20))))
+                        .analyzer(AUTOCOMPLETE_ANALYZER, an -> an.custom(c -> c
+                                .tokenizer("standard")
+                                .filter("lowercase", "autocomplete_edge"))));
+    }
+
+    private TypeMapping.Builder mappings(TypeMapping.Builder m) {
+        return m
+                .properties(Map.ofEntries(
+                        // 검색 대상 텍스트 (title만 정렬용 keyword, 자동완성용 edge n-gram 하위 필드 유지)
+                        Map.entry("title", Property.of(p -> p.text(t -> t
+                                .analyzer(KOREAN_ANALYZER)
+                                .fields("keyword", f -> f.keyword(k -> k.ignoreAbove(256)))
+                                .fields("autocomplete", f -> f.text(at -> at
+                                        .analyzer(AUTOCOMPLETE_ANALYZER)
+                                        .searchAnalyzer("standard")))))),
+                        Map.entry("description", Property.of(p -> p.text(t -> t.analyzer(KOREAN_ANALYZER)))),
+                        Map.entry("content", Property.of(p -> p.text(t -> t.analyzer(KOREAN_ANALYZER)))),
+
+                        // term 필터 + terms 집계 (패싯)
+                        Map.entry("category", Property.of(p -> p.keyword(k -> k))),
+                        Map.entry("model", Property.of(p -> p.keyword(k -> k))),
+                        Map.entry("promptType", Property.of(p -> p.keyword(k -> k))),
+
+                        // term 필터 전용: 정렬/집계하지 않으므로 doc_values 비활성화
+                        Map.entry("status", Property.of(p -> p.keyword(k -> k.docValues(false)))),
+                        Map.entry("userId", Property.of(p -> p.keyword(k -> k.docValues(false)))),
+                        Map.entry("nickname", Property.of(p -> p.keyword(k -> k.docValues(false)))),
+                        Map.entry("isPublic", Property.of(p -> p.boolean_(b -> b.docValues(false)))),
+
+                        // 정렬 필드 (인덱스 정렬 기준인 createdAt 포함) - doc_values 필요
+                        Map.entry("createdAt", Property.of(p -> p.date(d -> d.format("strict_date_optional_time||epoch_millis")))),
+                        Map.entry("updatedAt", Property.of(p -> p.date(d -> d
+                                .format("strict_date_optional_time||epoch_millis")
+                                .docValues(false)))),
+                        Map.entry("price", Property.of(p -> p.integer(i -> i))),
+                        Map.entry("likeCount", Property.of(p -> p.integer(i -> i))),
+                        Map.entry("bookmarkCount", Property.of(p -> p.integer(i -> i))),
+                        Map.entry("commentCount", Property.of(p -> p.integer(i -> i))),
+                        Map.entry("popularityScore", Property.of(p -> p.float_(f -> f))),
+
+                        // 평가 결과: finalScore만 정렬/범위 집계, 나머지는 표시용
+                        Map.entry("evaluationMetrics", Property.of(p -> p.object(o -> o
+                                .properties("finalScore", Property.of(fp -> fp.float_(f -> f)))
+                                .properties("promptType", Property.of(fp -> fp.keyword(k -> k)))
+                                .properties("overallFeedback", Property.of(fp -> fp.text(t -> t.index(false))))))),
+
+                        // 조회 전용 (검색/정렬하지 않음)
+                        Map.entry("examples", Property.of(p -> p.object(o -> o.enabled(false)))),
+                        Map.entry("examplesS3Url", Property.of(p -> p.keyword(k -> k.index(false).docValues(false)))),
+
+                        // 벡터 검색 (HNSW, cosine) - 임베더가 바뀌면 embeddingVersion으로 백필 대상 판별
+                        Map.entry(EmbeddingService.EMBEDDING_FIELD, Property.of(p -> p.knnVector(k -> k
+                                .dimension(promptEmbedder.dimension())
+                                .method(mt -> mt
+                                        .name("hnsw")
+                                        .engine("lucene")
+                                        .spaceType("cosinesimil"))))),
+                        Map.entry(EmbeddingService.VERSION_FIELD, Property.of(p -> p.keyword(k -> k.docValues(false))))
+                ));
+    }
+}
@@ -1,9 +1,13 @@
 package fromprom.search.Service;
 
+import fromprom.search.Cache.TtlCache;
 import fromprom.search.DTO.Comment;
+import fromprom.search.DTO.PagedResult;
 import fromprom.search.DTO.PromptStats;
+import fromprom.search.Feed.CounterChangeFeed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
@@ -21,10 +25,21 @@ import java.util.stream.Collectors;
 public class InteractionService {
 
     private final DynamoDbClient dynamoDbClient;
+    private final ObjectProvider<CounterChangeFeed> counterChangeFeed;
 
     @Value("${aws.dynamodb.table.name:FromProm_Table}")
     private String tableName;
 
+    public static final int DEFAULT_COMMENT_PAGE_SIZE = 20;
+    static final int MAX_BATCH_GET_KEYS = 100;
+    static final String LIKE_PREFIX = "LIKE#PROMPT#";
+    static final String BOOKMARK_PREFIX = "BOOKMARK#PROMPT#";
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+
+    // 프롬프트별 최신 댓글 첫 페이지 (수정은 카운트 변화가 없으므로 짧은 TTL로 반영)
+    // 작성/삭제 무효화는 변경 피드에 의존하므로 피드가 없으면 캐시하지 않음
+    private final TtlCache<String, PagedResult<Comment>> commentFirstPageCache = new TtlCache<>(30_000, 10_000);
+
     /**
      * 프롬프트 통계 조회 (좋아요/북마크/댓글 + 기본 정보)
      */
@@ -133,32 +148,147 @@ public class InteractionService {
     }
 
     /**
-     * 프롬프트 댓글 목록 조회
+     * 프롬프트 댓글 목록 조회 (최신순, 커서 기반 페이지네이션)
+     * - SK가 COMMENT#<시간>#<id> 형태라 정렬 없이 ScanIndexForward=false로 최신순 조회
+     * - size+1개를 읽어 다음 페이지 존재 여부 판단, 커서는 마지막 댓글 SK를 인코딩한 값
+     * - 기본 크기의 첫 페이지는 변경 피드가 있을 때만 캐시 (댓글 수 변경 시 invalidateComments로 무효화)
      */
-    public List<Comment> getComments(String promptId) {
-        String promptPK = "PROMPT#" + promptId;
-        List<Comment> comments = new ArrayList<>();
+    public PagedResult<Comment> getComments(String promptId, int size, String cursor) {
+        int pageSize = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        boolean firstPage = cursor == null || cursor.isEmpty();
+        boolean cacheable = firstPage && pageSize == DEFAULT_COMMENT_PAGE_SIZE && commentCacheEnabled();
+
+        if (cacheable) {
+            PagedResult<Comment> cached = commentFirstPageCache.get(promptId);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
         try {
-            QueryResponse response = dynamoDbClient.query(QueryRequest.builder()
-                    .tableName(tableName)
-                    .keyConditionExpression("PK = :pk AND begins_with(SK, :skPrefix)")
-                    .expressionAttributeValues(Map.of(
-                            ":pk", AttributeValue.builder().s(promptPK).build(),
-                            ":skPrefix", AttributeValue.builder().s("COMMENT#").build()
-                    ))
-                    .build());
+            String lastSk = null;
+            if (!firstPage) {
+                lastSk = decodeCommentCursor(cursor);
+                if (lastSk == null) {
+                    log.warn("잘못된 댓글 커서: {}", cursor);
+                    return emptyCommentPage(pageSize);
+                }
+            }
 
-            comments = response.items().stream()
-                    .map(this::convertToComment)
-                    .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                    .collect(Collectors.toList());
+            PagedResult<Comment> result = toCommentPage(
+                    dynamoDbClient.query(commentPageRequest(promptId, pageSize, lastSk)), pageSize);
+            if (cacheable) {
+                commentFirstPageCache.put(promptId, result);
+            }
+            return result;
 
         } catch (Exception e) {
             log.error("댓글 조회 실패: {}", e.getMessage());
         }
 
-        return comments;
+        return emptyCommentPage(pageSize);
+    }
+
+    /**
+     * 최신 댓글 첫 페이지 조회 (상세 페이지용)
+     */
+    public PagedResult<Comment> getComments(String promptId) {
+        return getComments(promptId, DEFAULT_COMMENT_PAGE_SIZE, null);
+    }
+
+    /**
+     * 댓글 첫 페이지 캐시 무효화 (댓글 작성/삭제 이벤트 수신 시 호출)
+     */
+    public void invalidateComments(String promptId) {
+        commentFirstPageCache.invalidate(promptId);
+    }
+
+    /**
+     * 댓글 페이지 Query (size+1개를 읽어 다음 페이지 존재 여부 판단)
+     * @param lastSk 이전 페이지 마지막 댓글 SK (첫 페이지면 null)
+     */
+    QueryRequest commentPageRequest(String promptId, int pageSize, String lastSk) {
+        String promptPK = "PROMPT#" + promptId;
+        QueryRequest.Builder requestBuilder = QueryRequest.builder()
+                .tableName(tableName)
+                .keyConditionExpression("PK = :pk AND begins_with(SK, :skPrefix)")
+                .expressionAttributeValues(Map.of(
+                        ":pk", AttributeValue.builder().s(promptPK).build(),
+                        ":skPrefix", AttributeValue.builder().s("COMMENT#").build()
+                ))
+                .scanIndexForward(false)
+                .limit(pageSize + 1);
+
+        if (lastSk != null) {
+            requestBuilder.exclusiveStartKey(Map.of(
+                    "PK", AttributeValue.builder().s(promptPK).build(),
+                    "SK", AttributeValue.builder().s(lastSk).build()
+            ));
+        }
+        return requestBuilder.build();
+    }
+
+    PagedResult<Comment> toCommentPage(QueryResponse response, int pageSize) {
+        List<Map<String, AttributeValue>> items = response.items();
+        boolean hasNext = items.size() > pageSize;
+
+        List<Comment> comments = items.stream()
+                .limit(pageSize)
+                .map(this::convertToComment)
+                .collect(Collectors.toList());
+
+        String nextCursor = hasNext && !comments.isEmpty()
+                ? encodeCommentCursor(comments.get(comments.size() - 1).getCommentId())
+                : null;
+
+        return PagedResult.<Comment>builder()
+                .items(comments)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(comments.size())
+                .build();
+    }
+
+    PagedResult<Comment> cachedFirstCommentPage(String promptId) {
+        return commentCacheEnabled() ? commentFirstPageCache.get(promptId) : null;
+    }
+
+    void cacheFirstCommentPage(String promptId, PagedResult<Comment> page) {
+        if (commentCacheEnabled()) {
+            commentFirstPageCache.put(promptId, page);
+        }
+    }
+
+    /**
+     * 댓글 첫 페이지 캐시 사용 여부 (변경 피드가 없으면 작성/삭제를 알 수 없어 TTL 동안 오래된 페이지가 보임)
+     */
+    private boolean commentCacheEnabled() {
+        return counterChangeFeed.getIfAvailable() != null;
+    }
+
+    PagedResult<Comment> emptyCommentPage(int size) {
+        return PagedResult.<Comment>builder()
+                .items(new ArrayList<>())
+                .hasNext(false)
+                .size(0)
+                .build();
+    }
+
+    private String encodeCommentCursor(String sk) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sk.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 디코딩한 댓글 SK (형식이 맞지 않으면 null)
+     */
+    private String decodeCommentCursor(String cursor) {
+        try {
+            String sk = new String(Base64.getUrlDecoder().decode(cursor), java.nio.charset.StandardCharsets.UTF_8);
+            return sk.startsWith("COMMENT#") ? sk : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     /**
@@ -254,19 +384,8 @@ public class InteractionService {
      * 특정 사용자가 특정 프롬프트에 좋아요 했는지 확인
      */
     public boolean hasUserLiked(String userId, String promptId) {
-        String userPK = "USER#" + userId;
-        String likeSK = "LIKE#PROMPT#" + promptId;
-
         try {
-            GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
-                    .tableName(tableName)
-                    .key(Map.of(
-                            "PK", AttributeValue.builder().s(userPK).build(),
-                            "SK", AttributeValue.builder().s(likeSK).build()
-                    ))
-                    .build());
-
-            return response.hasItem();
+            return dynamoDbClient.getItem(interactionRequest(userId, LIKE_PREFIX + promptId)).hasItem();
         } catch (Exception e) {
             log.error("좋아요 확인 실패: {}", e.getMessage());
         }
@@ -278,19 +397,8 @@ public class InteractionService {
      * 특정 사용자가 특정 프롬프트를 북마크 했는지 확인
      */
     public boolean hasUserBookmarked(String userId, String promptId) {
-        String userPK = "USER#" + userId;
-        String bookmarkSK = "BOOKMARK#PROMPT#" + promptId;
-
         try {
-            GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
-                    .tableName(tableName)
-                    .key(Map.of(
-                            "PK", AttributeValue.builder().s(userPK).build(),
-                            "SK", AttributeValue.builder().s(bookmarkSK).build()
-                    ))
-                    .build());
-
-            return response.hasItem();
+            return dynamoDbClient.getItem(interactionRequest(userId, BOOKMARK_PREFIX + promptId)).hasItem();
         } catch (Exception e) {
             log.error("북마크 확인 실패: {}", e.getMessage());
         }
@@ -312,37 +420,11 @@ public class InteractionService {
         // 기본값 false로 초기화
         promptIds.forEach(id -> likedMap.put(id, false));
 
-        String userPK = "USER#" + userId;
-
         try {
             // BatchGetItem 요청 생성 (최대 100개 제한)
-            List<String> targetIds = promptIds.stream().distinct().limit(100).collect(Collectors.toList());
-            
-            List<Map<String, AttributeValue>> keys = targetIds.stream()
-                    .map(promptId -> Map.of(
-                            "PK", AttributeValue.builder().s(userPK).build(),
-                            "SK", AttributeValue.builder().s("LIKE#PROMPT#" + promptId).build()
-                    ))
-                    .collect(Collectors.toList());
-
-            KeysAndAttributes keysAndAttributes = KeysAndAttributes.builder()
-                    .keys(keys)
-                    .projectionExpression("SK")
-                    .build();
-
-            BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
-                    .requestItems(Map.of(tableName, keysAndAttributes))
-                    .build());
-
-            // 결과 파싱 - 존재하는 항목만 true로 설정
-            List<Map<String, AttributeValue>> items = response.responses().get(tableName);
-            if (items != null) {
-                for (Map<String, AttributeValue> item : items) {
-                    String sk = item.get("SK").s();
-                    String promptId = sk.replace("LIKE#PROMPT#", "");
-                    likedMap.put(promptId, true);
-                }
-            }
+            List<String> targetIds = promptIds.stream().distinct().limit(MAX_BATCH_GET_KEYS).collect(Collectors.toList());
+            markInteractions(dynamoDbClient.batchGetItem(
+                    interactionBatchRequest(userId, LIKE_PREFIX, targetIds)), LIKE_PREFIX, likedMap);
         } catch (Exception e) {
             log.error("좋아요 일괄 확인 실패: {}", e.getMessage());
         }
@@ -364,37 +446,11 @@ public class InteractionService {
         // 기본값 false로 초기화
         promptIds.forEach(id -> bookmarkedMap.put(id, false));
 
-        String userPK = "USER#" + userId;
-
         try {
             // BatchGetItem 요청 생성 (최대 100개 제한)
-            List<String> targetIds = promptIds.stream().distinct().limit(100).collect(Collectors.toList());
-            
-            List<Map<String, AttributeValue>> keys = targetIds.stream()
-                    .map(promptId -> Map.of(
-                            "PK", AttributeValue.builder().s(userPK).build(),
-                            "SK", AttributeValue.builder().s("BOOKMARK#PROMPT#" + promptId).build()
-                    ))
-                    .collect(Collectors.toList());
-
-            KeysAndAttributes keysAndAttributes = KeysAndAttributes.builder()
-                    .keys(keys)
-                    .projectionExpression("SK")
-                    .build();
-
-            BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
-                    .requestItems(Map.of(tableName, keysAndAttributes))
-                    .build());
-
-            // 결과 파싱 - 존재하는 항목만 true로 설정
-            List<Map<String, AttributeValue>> items = response.responses().get(tableName);
-            if (items != null) {
-                for (Map<String, AttributeValue> item : items) {
-                    String sk = item.get("SK").s();
-                    String promptId = sk.replace("BOOKMARK#PROMPT#", "");
-                    bookmarkedMap.put(promptId, true);
-                }
-            }
+            List<String> targetIds = promptIds.stream().distinct().limit(MAX_BATCH_GET_KEYS).collect(Collectors.toList());
+            markInteractions(dynamoDbClient.batchGetItem(
+                    interactionBatchRequest(userId, BOOKMARK_PREFIX, targetIds)), BOOKMARK_PREFIX, bookmarkedMap);
         } catch (Exception e) {
             log.error("북마크 일괄 확인 실패: {}", e.getMessage());
         }
@@ -402,7 +458,51 @@ public class InteractionService {
         return bookmarkedMap;
     }
 
-    private Comment convertToComment(Map<String, AttributeValue> item) {
+    GetItemRequest interactionRequest(String userId, String sk) {
+        return GetItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(
+                        "PK", AttributeValue.builder().s("USER#" + userId).build(),
+                        "SK", AttributeValue.builder().s(sk).build()
+                ))
+                .build();
+    }
+
+    /**
+     * 사용자 파티션의 좋아요/북마크 아이템 BatchGetItem (promptIds는 100개 이하)
+     */
+    BatchGetItemRequest interactionBatchRequest(String userId, String skPrefix, List<String> promptIds) {
+        String userPK = "USER#" + userId;
+        List<Map<String, AttributeValue>> keys = promptIds.stream()
+                .map(promptId -> Map.of(
+                        "PK", AttributeValue.builder().s(userPK).build(),
+                        "SK", AttributeValue.builder().s(skPrefix + promptId).build()
+                ))
+                .collect(Collectors.toList());
+
+        KeysAndAttributes keysAndAttributes = KeysAndAttributes.builder()
+                .keys(keys)
+                .projectionExpression("SK")
+                .build();
+
+        return BatchGetItemRequest.builder()
+                .requestItems(Map.of(tableName, keysAndAttributes))
+                .build();
+    }
+
+    /**
+     * 결과 파싱 - 존재하는 항목만 true로 설정
+     */
+    void markInteractions(BatchGetItemResponse response, String skPrefix, Map<String, Boolean> result) {
+        List<Map<String, AttributeValue>> items = response.responses().get(tableName);
+        if (items != null) {
+            for (Map<String, AttributeValue> item : items) {
+                result.put(item.get("SK").s().replace(skPrefix, ""), true);
+            }
+        }
+    }
+
+    Comment convertToComment(Map<String, AttributeValue> item) {
         return Comment.builder()
                 .commentId(item.get("SK").s())
                 .content(getStringValue(item, "comment_content"))
@@ -442,7 +542,6 @@ public class InteractionService {
      */
     public List<Map<String, Object>> getPromptExamples(String promptId) {
         String promptPK = "PROMPT#" + promptId;
-        List<Map<String, Object>> examples = new ArrayList<>();
 
         try {
             GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
@@ -454,52 +553,117 @@ public class InteractionService {
                     .projectionExpression("examples")
                     .build());
 
-            if (response.hasItem() && response.item().containsKey("examples")) {
-                AttributeValue examplesAttr = response.item().get("examples");
-                if (examplesAttr.l() != null) {
-                    for (AttributeValue exampleAttr : examplesAttr.l()) {
-                        if (exampleAttr.m() != null) {
-                            Map<String, Object> example = new HashMap<>();
-                            Map<String, AttributeValue> exampleMap = exampleAttr.m();
-                            
-                            // index 추출
-                            if (exampleMap.containsKey("index") && exampleMap.get("index").n() != null) {
-                                example.put("index", Integer.parseInt(exampleMap.get("index").n()));
-                            }
-                            
-                            // input 추출 (중첩 구조: input.content, input.input_type)
-                            if (exampleMap.containsKey("input") && exampleMap.get("input").m() != null) {
-                                Map<String, AttributeValue> inputMap = exampleMap.get("input").m();
-                                Map<String, Object> inputObj = new HashMap<>();
-                                
-                                if (inputMap.containsKey("content") && inputMap.get("content").s() != null) {
-                                    inputObj.put("content", inputMap.get("content").s());
-                                }
-                                if (inputMap.containsKey("input_type") && inputMap.get("input_type").s() != null) {
-                                    inputObj.put("inputType", inputMap.get("input_type").s());
-                                }
-                                
-                                if (!inputObj.isEmpty()) {
-                                    example.put("input", inputObj);
-                                }
-                            }
-                            
-                            // output 추출
-                            if (exampleMap.containsKey("output") && exampleMap.get("output").s() != null) {
-                                example.put("output", exampleMap.get("output").s());
-                            }
-                            
-                            if (!example.isEmpty()) {
-                                examples.add(example);
-                            }
-                        }
-                    }
-                }
+            if (response.hasItem()) {
+                return parseExamples(response.item().get("examples"));
             }
         } catch (Exception e) {
             log.error("프롬프트 예시 조회 실패: {}", e.getMessage());
         }
 
+        return new ArrayList<>();
+    }
+
+    /**
+     * 프롬프트 METADATA 단일 조회 (통계 + 기본 정보 + 예시를 한 번의 GetItem으로)
+     * - 상세 페이지에서 getPromptStats + getPromptExamples 두 번 읽던 것을 하나로 합침
+     * @return 아이템이 없거나 조회 실패 시 null
+     */
+    public PromptMetadata getPromptMetadata(String promptId) {
+        try {
+            return toPromptMetadata(promptId, dynamoDbClient.getItem(promptMetadataRequest(promptId)));
+        } catch (Exception e) {
+            log.error("프롬프트 메타데이터 조회 실패: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    GetItemRequest promptMetadataRequest(String promptId) {
+        return GetItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(
+                        "PK", AttributeValue.builder().s("PROMPT#" + promptId).build(),
+                        "SK", AttributeValue.builder().s("METADATA").build()
+                ))
+                .projectionExpression("like_count, bookmark_count, comment_count, title, prompt_description, model, prompt_content, create_user, examples")
+                .build();
+    }
+
+    /**
+     * @return 아이템이 없으면 null
+     */
+    PromptMetadata toPromptMetadata(String promptId, GetItemResponse response) {
+        if (!response.hasItem()) {
+            return null;
+        }
+        Map<String, AttributeValue> item = response.item();
+        PromptStats stats = PromptStats.builder()
+                .promptId(promptId)
+                .likeCount(getNumberValue(item, "like_count"))
+                .bookmarkCount(getNumberValue(item, "bookmark_count"))
+                .commentCount(getNumberValue(item, "comment_count"))
+                .title(getStringValue(item, "title"))
+                .description(getStringValue(item, "prompt_description"))
+                .model(getStringValue(item, "model"))
+                .content(getStringValue(item, "prompt_content"))
+                .createUser(getStringValue(item, "create_user"))
+                .build();
+        return new PromptMetadata(stats, parseExamples(item.get("examples")));
+    }
+
+    /**
+     * METADATA 단일 조회 결과 (통계 + 예시)
+     */
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    public static class PromptMetadata {
+        private PromptStats stats;
+        private List<Map<String, Object>> examples;
+    }
+
+    List<Map<String, Object>> parseExamples(AttributeValue examplesAttr) {
+        List<Map<String, Object>> examples = new ArrayList<>();
+        if (examplesAttr == null || examplesAttr.l() == null) {
+            return examples;
+        }
+
+        for (AttributeValue exampleAttr : examplesAttr.l()) {
+            if (exampleAttr.m() != null) {
+                Map<String, Object> example = new HashMap<>();
+                Map<String, AttributeValue> exampleMap = exampleAttr.m();
+                
+                // index 추출
+                if (exampleMap.containsKey("index") && exampleMap.get("index").n() != null) {
+                    example.put("index", Integer.parseInt(exampleMap.get("index").n()));
+                }
+                
+                // input 추출 (중첩 구조: input.content, input.input_type)
+                if (exampleMap.containsKey("input") && exampleMap.get("input").m() != null) {
+                    Map<String, AttributeValue> inputMap = exampleMap.get("input").m();
+                    Map<String, Object> inputObj = new HashMap<>();
+                    
+                    if (inputMap.containsKey("content") && inputMap.get("content").s() != null) {
+                        inputObj.put("content", inputMap.get("content").s());
+                    }
+                    if (inputMap.containsKey("input_type") && inputMap.get("input_type").s() != null) {
+                        inputObj.put("inputType", inputMap.get("input_type").s());
+                    }
+                    
+                    if (!inputObj.isEmpty()) {
+                        example.put("input", inputObj);
+                    }
+                }
+                
+                // output 추출
+                if (exampleMap.containsKey("output") && exampleMap.get("output").s() != null) {
+                    example.put("output", exampleMap.get("output").s());
+                }
+                
+                if (!example.isEmpty()) {
+                    examples.add(example);
+                }
+            }
+        }
         return examples;
     }
 
@@ -510,23 +674,9 @@ public class InteractionService {
         if (userId == null || userId.isEmpty()) {
             return null;
         }
-        
-        // userId가 "USER#" 접두사 없이 들어올 수 있으므로 정규화
-        String userPK = userId.startsWith("USER#") ? userId : "USER#" + userId;
 
         try {
-            GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
-                    .tableName(tableName)
-                    .key(Map.of(
-                            "PK", AttributeValue.builder().s(userPK).build(),
-                            "SK", AttributeValue.builder().s("METADATA").build()
-                    ))
-                    .projectionExpression("nickname")
-                    .build());
-
-            if (response.hasItem()) {
-                return getStringValue(response.item(), "nickname");
-            }
+            return toNickname(dynamoDbClient.getItem(nicknameRequest(userId)));
         } catch (Exception e) {
             log.error("사용자 닉네임 조회 실패: {}", e.getMessage());
         }
@@ -534,60 +684,91 @@ public class InteractionService {
         return null;
     }
 
+    // userId가 "USER#" 접두사 없이 들어올 수 있으므로 정규화
+    static String userPK(String userId) {
+        return userId.startsWith("USER#") ? userId : "USER#" + userId;
+    }
+
+    GetItemRequest nicknameRequest(String userId) {
+        return GetItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(
+                        "PK", AttributeValue.builder().s(userPK(userId)).build(),
+                        "SK", AttributeValue.builder().s("METADATA").build()
+                ))
+                .projectionExpression("nickname")
+                .build();
+    }
+
+    /**
+     * @return 아이템이 없으면 null
+     */
+    String toNickname(GetItemResponse response) {
+        return response.hasItem() ? getStringValue(response.item(), "nickname") : null;
+    }
+
     /**
      * 여러 사용자의 닉네임 일괄 조회 (N+1 문제 방지)
      */
     public Map<String, String> getUserNicknamesBatch(List<String> userIds) {
         Map<String, String> nicknameMap = new HashMap<>();
 
-        if (userIds == null || userIds.isEmpty()) {
+        List<String> uniqueUserPKs = nicknameKeys(userIds);
+        if (uniqueUserPKs.isEmpty()) {
             return nicknameMap;
         }
 
-        // 중복 제거 및 정규화
-        List<String> uniqueUserIds = userIds.stream()
+        try {
+            putNicknames(dynamoDbClient.batchGetItem(nicknameBatchRequest(uniqueUserPKs)), nicknameMap);
+        } catch (Exception e) {
+            log.error("사용자 닉네임 일괄 조회 실패: {}", e.getMessage());
+        }
+
+        return nicknameMap;
+    }
+
+    /**
+     * 중복 제거 및 정규화 (USER# 접두사 PK 목록)
+     */
+    List<String> nicknameKeys(List<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+        return userIds.stream()
                 .filter(id -> id != null && !id.isEmpty())
-                .map(id -> id.startsWith("USER#") ? id : "USER#" + id)
+                .map(InteractionService::userPK)
                 .distinct()
                 .collect(Collectors.toList());
+    }
 
-        if (uniqueUserIds.isEmpty()) {
-            return nicknameMap;
-        }
-
-        try {
-            // BatchGetItem 요청 생성
-            List<Map<String, AttributeValue>> keys = uniqueUserIds.stream()
-                    .map(id -> Map.of(
-                            "PK", AttributeValue.builder().s(id).build(),
-                            "SK", AttributeValue.builder().s("METADATA").build()
-                    ))
-                    .collect(Collectors.toList());
+    BatchGetItemRequest nicknameBatchRequest(List<String> userPKs) {
+        List<Map<String, AttributeValue>> keys = userPKs.stream()
+                .map(id -> Map.of(
+                        "PK", AttributeValue.builder().s(id).build(),
+                        "SK", AttributeValue.builder().s("METADATA").build()
+                ))
+                .collect(Collectors.toList());
 
-            KeysAndAttributes keysAndAttributes = KeysAndAttributes.builder()
-                    .keys(keys)
-                    .projectionExpression("PK, nickname")
-                    .build();
+        KeysAndAttributes keysAndAttributes = KeysAndAttributes.builder()
+                .keys(keys)
+                .projectionExpression("PK, nickname")
+                .build();
 
-            BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
-                    .requestItems(Map.of(tableName, keysAndAttributes))
-                    .build());
+        return BatchGetItemRequest.builder()
+                .requestItems(Map.of(tableName, keysAndAttributes))
+                .build();
+    }
 
-            // 결과 파싱
-            List<Map<String, AttributeValue>> items = response.responses().get(tableName);
-            if (items != null) {
-                for (Map<String, AttributeValue> item : items) {
-                    String pk = item.get("PK").s();
-                    String nickname = getStringValue(item, "nickname");
-                    nicknameMap.put(pk, nickname);
-                    // USER# 없는 버전도 저장 (편의성)
-                    nicknameMap.put(pk.replace("USER#", ""), nickname);
-                }
+    void putNicknames(BatchGetItemResponse response, Map<String, String> nicknameMap) {
+        List<Map<String, AttributeValue>> items = response.responses().get(tableName);
+        if (items != null) {
+            for (Map<String, AttributeValue> item : items) {
+                String pk = item.get("PK").s();
+                String nickname = getStringValue(item, "nickname");
+                nicknameMap.put(pk, nickname);
+                // USER# 없는 버전도 저장 (편의성)
+                nicknameMap.put(pk.replace("USER#", ""), nickname);
             }
-        } catch (Exception e) {
-            log.error("사용자 닉네임 일괄 조회 실패: {}", e.getMessage());
         }
-
-        return nicknameMap;
     }
 }
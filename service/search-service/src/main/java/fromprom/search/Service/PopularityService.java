@@ -0,0 +1,190 @@
+package fromprom.search.Service;
+
+import fromprom.search.DTO.PromptDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.Pit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인기도(트렌딩) 점수 배치 서비스
+ * - 주기적으로 전체 프롬프트의 popularityScore를 계산하여 bulk 부분 업데이트
+ * - 갱신 후 상위 목록을 메모리 스냅샷으로 보관하여 트렌딩 조회 시 OpenSearch 호출 없이 응답
+ * - 점수 쓰기는 search.jobs.writer.enabled 인스턴스 하나만 수행, 스냅샷은 모든 인스턴스가 갱신
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PopularityService {
+
+    private static final String INDEX_NAME = "prompts";
+    private static final int PAGE_SIZE = 500;
+    // 페이지 사이 간격(bulk 업데이트 포함)보다 넉넉하게, 요청마다 연장됨
+    private static final String PIT_KEEP_ALIVE = "2m";
+
+    private final OpenSearchClient openSearchClient;
+    private final SearchService searchService;
+
+    // 시간 감쇠 반감기 (일)
+    @Value("${search.trending.half-life-days:7}")
+    private double halfLifeDays;
+
+    @Value("${search.trending.snapshot-size:100}")
+    private int snapshotSize;
+
+    // 색인 문서를 고치는 배치 작업 실행 여부 (여러 레플리카 중 하나만 true)
+    @Value("${search.jobs.writer.enabled:true}")
+    private boolean writerEnabled;
+
+    private volatile List<PromptDocument> snapshot = List.of();
+
+    /**
+     * 트렌딩 목록 (메모리 스냅샷, 비어 있으면 OpenSearch 직접 조회)
+     */
+    public List<PromptDocument> getTrendingPrompts(int size) {
+        List<PromptDocument> current = snapshot;
+        if (current.isEmpty()) {
+            return searchService.getTrendingPrompts(size);
+        }
+        return current.size() > size ? current.subList(0, size) : current;
+    }
+
+    /**
+     * 인기도 점수 재계산 + 스냅샷 갱신 (기본 10분 주기)
+     */
+    @Scheduled(fixedDelayString = "${search.trending.refresh-interval-ms:600000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        int updated = writerEnabled ? recomputeScores() : 0;
+        snapshot = List.copyOf(searchService.getTrendingPrompts(snapshotSize));
+        log.info("트렌딩 점수 갱신 완료: {}건, 스냅샷 {}건, {}ms",
+                updated, snapshot.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * PIT(point in time) + search_after로 전체 문서를 순회하며 popularityScore를 bulk 부분 업데이트
+     * - PIT로 시작 시점의 색인 상태를 고정하므로 순회 중 점수 업데이트/신규 색인이 페이지를 밀어내지 않음
+     * - 동점(같은 createdAt) 구분은 _id 대신 _shard_doc (_id 정렬은 fielddata를 힙에 올림)
+     */
+    private int recomputeScores() {
+        Instant now = Instant.now();
+        int updated = 0;
+        List<String> searchAfter = null;
+        String pitId = null;
+
+        try {
+            pitId = openSearchClient.createPit(p -> p
+                    .targetIndexes(INDEX_NAME)
+                    .keepAlive(t -> t.time(PIT_KEEP_ALIVE))).pitId();
+            while (true) {
+                final List<String> after = searchAfter;
+                final String currentPit = pitId;
+                SearchResponse<PromptDocument> response = openSearchClient.search(s -> {
+                    s.pit(Pit.of(p -> p.id(currentPit).keepAlive(PIT_KEEP_ALIVE)))
+                            .query(q -> q
+                                    .term(t -> t.field("status").value(FieldValue.of("completed")))
+                            )
+                            .source(src -> src.filter(f -> f.includes("likeCount", "bookmarkCount", "commentCount", "createdAt")))
+                            .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                            .sort(sort -> sort.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+                            .size(PAGE_SIZE);
+                    if (after != null) {
+                        s.searchAfter(after);
+                    }
+                    return s;
+                }, PromptDocument.class);
+                // 응답마다 PIT ID가 바뀔 수 있으므로 최신 값으로 이어감
+                if (response.pitId() != null) {
+                    pitId = response.pitId();
+                }
+
+                List<Hit<PromptDocument>> hits = response.hits().hits();
+                if (hits.isEmpty()) {
+                    break;
+                }
+
+                BulkRequest.Builder bulk = new BulkRequest.Builder();
+                for (Hit<PromptDocument> hit : hits) {
+                    double score = calculateScore(hit.source(), now);
+                    // 커스텀 라우팅으로 색인된 문서는 같은 routing 값으로 업데이트해야 함
+                    bulk.operations(op -> op.update(u -> u
+                            .index(INDEX_NAME)
+                            .id(hit.id())
+                            .routing(hit.routing())
+                            .document(Map.of("popularityScore", score))));
+                }
+
+                BulkResponse bulkResponse = openSearchClient.bulk(bulk.build());
+                if (bulkResponse.errors()) {
+                    long failed = bulkResponse.items().stream().filter(item -> item.error() != null).count();
+                    log.warn("인기도 점수 bulk 업데이트 일부 실패: {}건", failed);
+                    updated += hits.size() - (int) failed;
+                } else {
+                    updated += hits.size();
+                }
+
+                if (hits.size() < PAGE_SIZE) {
+                    break;
+                }
+                searchAfter = hits.get(hits.size() - 1).sort();
+            }
+        } catch (IOException | OpenSearchException e) {
+            log.error("인기도 점수 갱신 실패: {}", e.getMessage());
+        } finally {
+            deletePit(pitId);
+        }
+
+        return updated;
+    }
+
+    private void deletePit(String pitId) {
+        if (pitId == null) {
+            return;
+        }
+        try {
+            openSearchClient.deletePit(d -> d.pitId(List.of(pitId)));
+        } catch (IOException | OpenSearchException e) {
+            // keep_alive가 지나면 클러스터가 정리하므로 경고만 남김
+            log.warn("PIT 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 인기도 = (좋아요 + 북마크×2 + 댓글×1.5) × 0.5^(경과일 / 반감기)
+     */
+    double calculateScore(PromptDocument doc, Instant now) {
+        if (doc == null) {
+            return 0;
+        }
+        double engagement = (doc.getLikeCount() != null ? doc.getLikeCount() : 0)
+                + (doc.getBookmarkCount() != null ? doc.getBookmarkCount() : 0) * 2.0
+                + (doc.getCommentCount() != null ? doc.getCommentCount() : 0) * 1.5;
+
+        double ageDays = 0;
+        if (doc.getCreatedAt() != null && !doc.getCreatedAt().isEmpty()) {
+            try {
+                ageDays = Math.max(0, Duration.between(Instant.parse(doc.getCreatedAt()), now).toHours() / 24.0);
+            } catch (DateTimeParseException e) {
+                ageDays = 0;
+            }
+        }
+        return engagement * Math.pow(0.5, ageDays / halfLifeDays);
+    }
+}
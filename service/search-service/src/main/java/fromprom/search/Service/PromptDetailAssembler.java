@@ -0,0 +1,121 @@
+package fromprom.search.Service;
+
+import fromprom.search.DTO.Comment;
+import fromprom.search.DTO.PagedResult;
+import fromprom.search.DTO.PromptDocument;
+import fromprom.search.DTO.PromptStats;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 프롬프트 상세 페이지 조립기
+ * - OpenSearch GET, DynamoDB METADATA 단일 조회(통계+예시), 최신 댓글 첫 페이지 Query를 동시에 실행 후 병합
+ * - 로그인 사용자의 좋아요/북마크 여부 확인도 같은 시점에 병렬 실행
+ * - DynamoDB 조회는 비동기 클라이언트로 보내고 OpenSearch GET만 ioExecutor 사용 (조회마다 스레드를 점유하지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class PromptDetailAssembler {
+
+    private final SearchService searchService;
+    private final AsyncInteractionService asyncInteractionService;
+    private final StatsOverlay statsOverlay;
+    private final ExecutorService ioExecutor;
+
+    /**
+     * @return 프롬프트가 없으면 null
+     */
+    public PromptDetail assemble(String promptId, String userId, boolean includeComments) {
+        return assemble(promptId, userId, includeComments, null);
+    }
+
+    /**
+     * @param prefetched 이미 조회한 OpenSearch 문서 (ETag 확인 등으로 먼저 읽은 경우, 없으면 null)
+     * @return 프롬프트가 없으면 null
+     */
+    public PromptDetail assemble(String promptId, String userId, boolean includeComments, PromptDocument prefetched) {
+        boolean hasUser = userId != null && !userId.isEmpty();
+
+        CompletableFuture<PromptDocument> promptFuture = prefetched != null
+                ? CompletableFuture.completedFuture(prefetched)
+                : CompletableFuture.supplyAsync(() -> searchService.getPromptById(promptId), ioExecutor);
+        CompletableFuture<InteractionService.PromptMetadata> metadataFuture =
+                asyncInteractionService.getPromptMetadata(promptId);
+        CompletableFuture<PagedResult<Comment>> commentsFuture = includeComments
+                ? asyncInteractionService.getComments(promptId)
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<Boolean> likedFuture = hasUser
+                ? asyncInteractionService.hasUserLiked(userId, promptId)
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<Boolean> bookmarkedFuture = hasUser
+                ? asyncInteractionService.hasUserBookmarked(userId, promptId)
+                : CompletableFuture.completedFuture(null);
+        // 닉네임이 OpenSearch에 없을 때만 추가 조회 (문서가 오는 즉시 시작, 나머지 조회와 겹쳐서 실행)
+        CompletableFuture<String> nicknameFuture = promptFuture.thenCompose(doc ->
+                doc != null && (doc.getNickname() == null || doc.getNickname().isEmpty())
+                        ? asyncInteractionService.getUserNickname(doc.getUserId())
+                        : CompletableFuture.completedFuture(null));
+
+        PromptDocument prompt = promptFuture.join();
+        if (prompt == null) {
+            return null;
+        }
+
+        PromptDetail detail = new PromptDetail();
+        detail.setPrompt(prompt);
+
+        InteractionService.PromptMetadata metadata = metadataFuture.join();
+        PromptStats overlayStats = statsOverlay.getStats(promptId);
+        if (metadata != null) {
+            statsOverlay.seed(metadata.getStats());
+            PromptStats stats = metadata.getStats();
+            // 카운트는 변경 피드 오버레이가 더 최신이면 그 값을 사용
+            if (overlayStats != null) {
+                stats.setLikeCount(overlayStats.getLikeCount());
+                stats.setBookmarkCount(overlayStats.getBookmarkCount());
+                stats.setCommentCount(overlayStats.getCommentCount());
+            }
+            detail.setStats(stats);
+            detail.setExamples(metadata.getExamples());
+        } else {
+            detail.setStats(overlayStats);
+            detail.setExamples(List.of());
+        }
+
+        detail.setComments(commentsFuture.join());
+        detail.setLiked(likedFuture.join());
+        detail.setBookmarked(bookmarkedFuture.join());
+
+        Map<String, String> nicknameMap = new HashMap<>();
+        String nickname = nicknameFuture.join();
+        if (nickname != null) {
+            nicknameMap.put(prompt.getUserId(), nickname);
+        }
+        detail.setNicknameMap(nicknameMap);
+
+        return detail;
+    }
+
+    /**
+     * 상세 조립 결과
+     */
+    @Data
+    public static class PromptDetail {
+        private PromptDocument prompt;
+        private PromptStats stats;
+        private List<Map<String, Object>> examples;
+        // 최신 댓글 첫 페이지 (includeComments=false면 null)
+        private PagedResult<Comment> comments;
+        private Map<String, String> nicknameMap;
+        // 비로그인 요청이면 null
+        private Boolean liked;
+        private Boolean bookmarked;
+    }
+}
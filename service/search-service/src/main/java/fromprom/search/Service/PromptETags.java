@@ -0,0 +1,148 @@
+package fromprom.search.Service;
+
+import fromprom.search.DTO.Comment;
+import fromprom.search.DTO.CounterChange;
+import fromprom.search.DTO.PagedResult;
+import fromprom.search.DTO.PromptDocument;
+import fromprom.search.DTO.PromptStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프롬프트/목록 응답용 ETag 계산
+ * - 버전 = promptId + updatedAt + 카운터(오버레이 우선) + 요청 사용자
+ * - 같은 내용이라도 닉네임/예시 보강 결과는 ETag에 넣지 않으므로 약한(W/) ETag 사용
+ */
+@Component
+@RequiredArgsConstructor
+public class PromptETags {
+
+    private final StatsOverlay statsOverlay;
+
+    /**
+     * enrichment 전에 OpenSearch 문서만으로 304 판단이 가능한지 여부
+     * - 비로그인 요청이거나, 변경 피드 오버레이가 살아 있어 좋아요/북마크 변경이 카운터로 바로 반영될 때만 가능
+     */
+    public boolean canShortCircuit(String userId) {
+        return userId == null || userId.isEmpty() || statsOverlay.isLive();
+    }
+
+    /**
+     * 상세 응답을 enrichment 전에 304 처리할 수 있는지 여부
+     * - 비로그인 요청만 가능 (로그인 사용자는 본인의 좋아요/북마크 여부가 ETag에 들어가야 하므로 조립 후 비교)
+     */
+    public boolean canShortCircuitDetail(String userId) {
+        return userId == null || userId.isEmpty();
+    }
+
+    /**
+     * OpenSearch 문서 기준 ETag (상세)
+     */
+    public String forPrompt(PromptDocument prompt, String userId) {
+        StringBuilder version = new StringBuilder();
+        appendPrompt(version, prompt);
+        version.append('|').append(userId != null ? userId : "");
+        return weak(version);
+    }
+
+    /**
+     * 조립이 끝난 상세 결과 기준 ETag (DynamoDB 카운트 + 사용자별 좋아요/북마크 + 댓글 첫 페이지 포함)
+     */
+    public String forDetail(PromptDetailAssembler.PromptDetail detail, String userId) {
+        StringBuilder version = new StringBuilder();
+        PromptDocument prompt = detail.getPrompt();
+        version.append(prompt.getPromptId()).append('|').append(prompt.getUpdatedAt());
+        PromptStats stats = detail.getStats();
+        if (stats != null) {
+            version.append('|').append(stats.getLikeCount())
+                    .append('|').append(stats.getBookmarkCount())
+                    .append('|').append(stats.getCommentCount());
+        }
+        version.append('|').append(userId != null ? userId : "")
+                .append('|').append(detail.getLiked())
+                .append('|').append(detail.getBookmarked());
+        PagedResult<Comment> comments = detail.getComments();
+        if (comments != null) {
+            // 응답에 담기는 댓글 첫 페이지 전체 + 다음 커서: 댓글 추가/삭제/수정, 닉네임 변경이 있으면 달라짐
+            for (Comment comment : comments.getItems()) {
+                version.append(';').append(comment.getCommentId())
+                        .append('|').append(comment.getUpdatedAt())
+                        .append('|').append(comment.getNickname());
+            }
+            version.append('|').append(comments.getNextCursor());
+        }
+        return weak(version);
+    }
+
+    /**
+     * 예시 입출력 응답 ETag (문서 버전 + 예시/평가 결과 내용)
+     */
+    public String forExamples(PromptDocument prompt, Object examples) {
+        return weak(prompt.getPromptId() + '|' + prompt.getUpdatedAt() + '|' + examples + '|' + prompt.getEvaluationMetrics());
+    }
+
+    /**
+     * 목록 페이지 ETag (문서 순서 + 각 문서 버전 + 커서 + 사용자)
+     * @param likedMap 사용자별 좋아요 여부 (enrichment 전이면 null)
+     */
+    public String forList(List<PromptDocument> prompts, String nextCursor, String userId,
+                          Map<String, Boolean> likedMap, Map<String, Boolean> bookmarkedMap) {
+        StringBuilder version = new StringBuilder();
+        for (PromptDocument prompt : prompts) {
+            appendPrompt(version, prompt);
+            if (likedMap != null) {
+                version.append('|').append(likedMap.get(prompt.getPromptId()));
+            }
+            if (bookmarkedMap != null) {
+                version.append('|').append(bookmarkedMap.get(prompt.getPromptId()));
+            }
+            version.append(';');
+        }
+        version.append('|').append(nextCursor).append('|').append(userId != null ? userId : "");
+        return weak(version);
+    }
+
+    /**
+     * If-None-Match 헤더가 ETag와 일치하는지 (약한 비교, 목록/와일드카드 지원)
+     */
+    public boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String target = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeak(value).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void appendPrompt(StringBuilder version, PromptDocument prompt) {
+        version.append(prompt.getPromptId()).append('|').append(prompt.getUpdatedAt());
+        CounterChange live = statsOverlay.get(prompt.getPromptId());
+        if (live != null) {
+            version.append('|').append(live.getLikeCount())
+                    .append('|').append(live.getBookmarkCount())
+                    .append('|').append(live.getCommentCount());
+        } else {
+            version.append('|').append(prompt.getLikeCount())
+                    .append('|').append(prompt.getBookmarkCount())
+                    .append('|').append(prompt.getCommentCount());
+        }
+    }
+
+    private String weak(CharSequence version) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,141 @@
+package fromprom.search.Service;
+
+import fromprom.search.DTO.PromptDocument;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * 목록 응답용 프롬프트 변환기 (OpenSearch 데이터 + 일괄 조회된 부가 정보)
+ */
+@Component
+@RequiredArgsConstructor
+public class PromptEnricher {
+
+    private final AsyncInteractionService asyncInteractionService;
+    private final StatsOverlay statsOverlay;
+
+    /**
+     * 닉네임이 없는 프롬프트의 작성자 닉네임 일괄 조회
+     */
+    public Map<String, String> resolveMissingNicknames(List<PromptDocument> prompts) {
+        return missingNicknames(prompts).join();
+    }
+
+    /**
+     * 목록 보강용 부가 정보 일괄 조회 (작성자 닉네임 + 좋아요/북마크 여부)
+     * - 세 BatchGetItem을 비동기 클라이언트로 동시에 보내고 한 번만 대기
+     * - viewerId가 없으면 좋아요/북마크는 빈 맵
+     */
+    public ListLookups lookupForList(List<PromptDocument> prompts, String viewerId) {
+        List<String> promptIds = prompts.stream()
+                .map(PromptDocument::getPromptId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        CompletableFuture<Map<String, String>> nicknames = missingNicknames(prompts);
+        CompletableFuture<Map<String, Boolean>> liked = asyncInteractionService.hasUserLikedBatch(viewerId, promptIds);
+        CompletableFuture<Map<String, Boolean>> bookmarked = asyncInteractionService.hasUserBookmarkedBatch(viewerId, promptIds);
+
+        return new ListLookups(nicknames.join(), liked.join(), bookmarked.join());
+    }
+
+    private CompletableFuture<Map<String, String>> missingNicknames(List<PromptDocument> prompts) {
+        List<String> userIdsNeedingNickname = prompts.stream()
+                .filter(p -> p.getNickname() == null || p.getNickname().isEmpty())
+                .map(PromptDocument::getUserId)
+                .filter(id -> id != null && !id.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        return userIdsNeedingNickname.isEmpty()
+                ? CompletableFuture.completedFuture(new HashMap<>())
+                : asyncInteractionService.getUserNicknamesBatch(userIdsNeedingNickname);
+    }
+
+    /**
+     * OpenSearch 데이터 + 일괄 조회된 좋아요/북마크 정보로 프롬프트 구성 (완전 최적화)
+     * N+1 문제 해결 - 모든 데이터를 미리 일괄 조회하여 전달
+     * - likedMap/bookmarkedMap이 null이면 isLiked/isBookmarked 필드를 생략 (사용자 공통 캐시용)
+     */
+    public Map<String, Object> fromOpenSearchBatch(
+            PromptDocument prompt,
+            Map<String, String> nicknameMap,
+            Map<String, Boolean> likedMap,
+            Map<String, Boolean> bookmarkedMap) {
+
+        Map<String, Object> result = new HashMap<>();
+
+        result.put("promptId", prompt.getPromptId());
+        result.put("title", prompt.getTitle() != null ? prompt.getTitle() : "제목 없음");
+        result.put("description", prompt.getDescription() != null ? prompt.getDescription() : "");
+        result.put("content", prompt.getContent());
+        result.put("category", prompt.getCategory());
+        result.put("model", prompt.getModel() != null ? prompt.getModel() : "AI Model");
+        result.put("promptType", prompt.getPromptType());
+        result.put("userId", prompt.getUserId());
+
+        // 닉네임: OpenSearch에 있으면 사용, 없으면 nicknameMap에서 조회
+        result.put("nickname", resolveNickname(prompt, nicknameMap));
+
+        result.put("status", prompt.getStatus());
+        result.put("price", prompt.getPrice());
+        result.put("createdAt", prompt.getCreatedAt());
+        result.put("evaluationMetrics", prompt.getEvaluationMetrics());
+        result.put("isPublic", prompt.getIsPublic());
+
+        if (prompt.getScore() != null) {
+            result.put("score", prompt.getScore());
+        }
+
+        // 통계 데이터: 변경 피드 오버레이 우선, 없으면 OpenSearch 값 (Lambda에서 동기화됨)
+        statsOverlay.applyTo(prompt);
+        result.put("likeCount", prompt.getLikeCount() != null ? prompt.getLikeCount() : 0);
+        result.put("bookmarkCount", prompt.getBookmarkCount() != null ? prompt.getBookmarkCount() : 0);
+        result.put("commentCount", prompt.getCommentCount() != null ? prompt.getCommentCount() : 0);
+
+        // 일괄 조회된 좋아요/북마크 여부 사용 (N+1 문제 해결)
+        String promptId = prompt.getPromptId();
+        if (promptId != null && likedMap != null && bookmarkedMap != null) {
+            result.put("isLiked", likedMap.getOrDefault(promptId, false));
+            result.put("isBookmarked", bookmarkedMap.getOrDefault(promptId, false));
+        }
+
+        return result;
+    }
+
+    /**
+     * 닉네임 결정 (USER# 접두사 있는 버전과 없는 버전 모두 시도)
+     */
+    public String resolveNickname(PromptDocument prompt, Map<String, String> nicknameMap) {
+        String nickname = prompt.getNickname();
+        if ((nickname == null || nickname.isEmpty()) && nicknameMap != null) {
+            String promptUserId = prompt.getUserId();
+            if (promptUserId != null) {
+                nickname = nicknameMap.get(promptUserId);
+                if (nickname == null) {
+                    nickname = nicknameMap.get(promptUserId.replace("USER#", ""));
+                }
+            }
+        }
+        return nickname;
+    }
+
+    /**
+     * 목록 보강용 일괄 조회 결과
+     */
+    @Data
+    @AllArgsConstructor
+    public static class ListLookups {
+        private Map<String, String> nicknameMap;
+        private Map<String, Boolean> likedMap;
+        private Map<String, Boolean> bookmarkedMap;
+    }
+}
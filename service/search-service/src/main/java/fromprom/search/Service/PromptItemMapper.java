@@ -0,0 +1,139 @@
+package fromprom.search.Service;
+
+import fromprom.search.DTO.PromptDocument;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DynamoDB 프롬프트 METADATA 아이템 -> OpenSearch PromptDocument 변환
+ * (Lambda 동기화와 동일한 필드 매핑)
+ */
+@Component
+public class PromptItemMapper {
+
+    public PromptDocument toDocument(Map<String, AttributeValue> item) {
+        String pk = getString(item, "PK");
+        String userId = getString(item, "userId");
+        if (userId == null) {
+            userId = getString(item, "create_user");
+        }
+        String content = getString(item, "prompt_content");
+        if (content == null) {
+            content = getString(item, "content");
+        }
+
+        return PromptDocument.builder()
+                .promptId(pk != null ? pk.replace("PROMPT#", "") : null)
+                .title(getString(item, "title"))
+                .description(getString(item, "prompt_description"))
+                .content(content)
+                .category(getString(item, "category"))
+                .model(getString(item, "model"))
+                .promptType(getString(item, "prompt_type"))
+                .userId(userId)
+                .nickname(getString(item, "nickname"))
+                .status(getString(item, "status"))
+                .price(getInteger(item, "price"))
+                .createdAt(getString(item, "created_at"))
+                .updatedAt(getString(item, "updated_at"))
+                .examplesS3Url(getString(item, "examples_s3_url"))
+                .likeCount(getIntegerOrZero(item, "like_count"))
+                .bookmarkCount(getIntegerOrZero(item, "bookmark_count"))
+                .commentCount(getIntegerOrZero(item, "comment_count"))
+                .isPublic(item.containsKey("is_public") ? item.get("is_public").bool() : null)
+                .evaluationMetrics(toMetrics(item.get("evaluation_metrics"), getString(item, "prompt_type")))
+                .examples(toExamples(item.get("examples")))
+                .build();
+    }
+
+    private PromptDocument.EvaluationMetrics toMetrics(AttributeValue attr, String promptType) {
+        if (attr == null || !attr.hasM()) {
+            return null;
+        }
+        Map<String, AttributeValue> m = attr.m();
+        return PromptDocument.EvaluationMetrics.builder()
+                .finalScore(getFloat(m, "final_score"))
+                .relevance(getFloat(m, "relevance"))
+                .consistency(getFloat(m, "consistency"))
+                .hallucination(getFloat(m, "hallucination"))
+                .informationDensity(getFloat(m, "information_density"))
+                .modelVariance(getFloat(m, "model_variance"))
+                .tokenUsage(getFloat(m, "token_usage"))
+                .overallFeedback(getString(m, "feedback"))
+                .promptType(promptType)
+                .build();
+    }
+
+    private List<PromptDocument.Example> toExamples(AttributeValue attr) {
+        if (attr == null || !attr.hasL()) {
+            return null;
+        }
+        List<PromptDocument.Example> examples = new ArrayList<>();
+        for (AttributeValue exampleAttr : attr.l()) {
+            if (!exampleAttr.hasM()) {
+                continue;
+            }
+            Map<String, AttributeValue> exampleMap = exampleAttr.m();
+            PromptDocument.ExampleInput input = null;
+            AttributeValue inputAttr = exampleMap.get("input");
+            if (inputAttr != null && inputAttr.hasM()) {
+                input = PromptDocument.ExampleInput.builder()
+                        .content(getString(inputAttr.m(), "content"))
+                        .inputType(getString(inputAttr.m(), "input_type"))
+                        .build();
+            }
+            examples.add(PromptDocument.Example.builder()
+                    .index(getInteger(exampleMap, "index"))
+                    .input(input)
+                    .output(getString(exampleMap, "output"))
+                    .build());
+        }
+        return examples;
+    }
+
+    private String getString(Map<String, AttributeValue> item, String key) {
+        AttributeValue attr = item.get(key);
+        return attr != null ? attr.s() : null;
+    }
+
+    private Integer getInteger(Map<String, AttributeValue> item, String key) {
+        AttributeValue attr = item.get(key);
+        if (attr == null) {
+            return null;
+        }
+        String raw = attr.n() != null ? attr.n() : attr.s();
+        if (raw == null || raw.isEmpty()) {
+            return null;
+        }
+        try {
+            return (int) Double.parseDouble(raw);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Integer getIntegerOrZero(Map<String, AttributeValue> item, String key) {
+        Integer value = getInteger(item, key);
+        return value != null ? value : 0;
+    }
+
+    private Float getFloat(Map<String, AttributeValue> item, String key) {
+        AttributeValue attr = item.get(key);
+        if (attr == null) {
+            return null;
+        }
+        String raw = attr.n() != null ? attr.n() : attr.s();
+        if (raw == null || raw.isEmpty()) {
+            return null;
+        }
+        try {
+            return Float.parseFloat(raw);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package fromprom.search.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fromprom.search.DTO.PromptDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.indices.GetAliasResponse;
+import org.opensearch.client.opensearch.indices.GetMappingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전체 재색인 서비스 (무중단)
+ * 1. DynamoDB METADATA 아이템을 병렬 세그먼트 Scan
+ * 2. PromptDocument로 변환하여 새 버전 인덱스(prompts_vyyyyMMddHHmmss, 관리 템플릿 적용)에 bulk 색인 (refresh 비활성화)
+ * 3. refresh/replica 설정 복원 후 따라잡기(catch-up): 작업 시작 이후 생성/수정된 METADATA를 다시 읽어 색인
+ * 4. 새 인덱스 문서 수가 현재 인덱스 이상인지 확인한 뒤 prompts 별칭을 새 인덱스로 원자적 교체
+ *    (확인 실패 시 교체하지 않음, 최초 전환의 실제 prompts 인덱스도 그대로 유지)
+ * 5. 교체 직전까지의 변경을 한 번 더 따라잡기 (교체 이후 쓰기는 동기화 Lambda가 별칭으로 새 인덱스에 반영)
+ * - bulk 거절(429)은 지수 백오프로 재시도, 동시 bulk 요청 수 제한으로 클러스터 보호
+ * - 실패한 작업은 완료된 세그먼트를 건너뛰고 세그먼트별 마지막 위치부터 재개 가능
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReindexService {
+
+    private static final String ALIAS_NAME = "prompts";
+    private static final int MAX_BULK_RETRIES = 5;
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    // 따라잡기 기준 시각 여유 (created_at/updated_at 기록 시각과 시계 차이, 초 단위 문자열 비교 오차 흡수)
+    private static final long CATCH_UP_MARGIN_MILLIS = 60_000L;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final OpenSearchClient openSearchClient;
+    private final PromptItemMapper promptItemMapper;
+    private final ObjectMapper objectMapper;
+    private final IndexTemplateService indexTemplateService;
+    private final CategoryRouting categoryRouting;
+    private final EmbeddingService embeddingService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${aws.dynamodb.table.name:FromProm_Table}")
+    private String tableName;
+
+    @Value("${search.reindex.segments:4}")
+    private int defaultSegments;
+
+    @Value("${search.reindex.bulk-size:500}")
+    private int bulkSize;
+
+    @Value("${search.reindex.max-concurrent-bulk:2}")
+    private int maxConcurrentBulk;
+
+    @Value("${search.reindex.replicas:1}")
+    private String replicas;
+
+    private final Map<String, ReindexJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 재색인 시작 (resumeJobId가 있으면 실패한 작업을 이어서 진행)
+     */
+    public synchronized ReindexJob start(Integer segments, String resumeJobId) throws IOException {
+        boolean running = jobs.values().stream().anyMatch(job -> job.status == JobStatus.RUNNING);
+        if (running) {
+            throw new IllegalStateException("이미 진행 중인 재색인 작업이 있습니다.");
+        }
+
+        ReindexJob job;
+        if (resumeJobId != null) {
+            job = jobs.get(resumeJobId);
+            if (job == null || job.status != JobStatus.FAILED) {
+                throw new IllegalArgumentException("재개할 수 있는 작업이 아닙니다: " + resumeJobId);
+            }
+            job.status = JobStatus.RUNNING;
+            job.error = null;
+            log.info("재색인 재개: {} (완료 세그먼트 {}/{})", job.jobId, job.completedSegments.size(), job.totalSegments);
+        } else {
+            int totalSegments = segments != null && segments > 0 ? segments : defaultSegments;
+            String targetIndex = ALIAS_NAME + "_v" + LocalDateTime.now().format(VERSION_FORMAT);
+            createTargetIndex(targetIndex);
+            job = new ReindexJob(UUID.randomUUID().toString(), targetIndex, totalSegments);
+            jobs.put(job.jobId, job);
+            log.info("재색인 시작: {} -> {} ({} 세그먼트)", job.jobId, targetIndex, totalSegments);
+        }
+
+        run(job);
+        return job;
+    }
+
+    public ReindexJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    private void run(ReindexJob job) {
+        ExecutorService executor = Executors.newFixedThreadPool(job.totalSegments, r -> {
+            Thread thread = new Thread(r, "reindex-" + job.jobId.substring(0, 8));
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore bulkPermits = new Semaphore(maxConcurrentBulk);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int segment = 0; segment < job.totalSegments; segment++) {
+            if (job.completedSegments.contains(segment)) {
+                continue;
+            }
+            final int seg = segment;
+            futures.add(CompletableFuture.runAsync(() -> scanSegment(job, seg, null, bulkPermits), executor));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> {
+                    executor.shutdown();
+                    if (error != null) {
+                        job.fail(error.getCause() != null ? error.getCause() : error);
+                        return;
+                    }
+                    try {
+                        finish(job);
+                    } catch (Exception e) {
+                        job.fail(e);
+                    }
+                });
+    }
+
+    /**
+     * 세그먼트 하나를 끝까지 Scan하며 bulk 색인 (체크포인트: 세그먼트별 LastEvaluatedKey)
+     * @param since null이면 전체 색인, 있으면 따라잡기 (created_at/updated_at이 since 이후인 아이템만, 체크포인트 없음)
+     */
+    private void scanSegment(ReindexJob job, int segment, String since, Semaphore bulkPermits) {
+        boolean catchUp = since != null;
+        Map<String, AttributeValue> startKey = catchUp ? null : job.checkpoints.get(segment);
+        Map<String, AttributeValue> values = new LinkedHashMap<>();
+        values.put(":metadata", AttributeValue.builder().s("METADATA").build());
+        values.put(":promptType", AttributeValue.builder().s("PROMPT").build());
+        String filter = "SK = :metadata AND #type = :promptType";
+        if (catchUp) {
+            values.put(":since", AttributeValue.builder().s(since).build());
+            filter += " AND (created_at >= :since OR updated_at >= :since)";
+        }
+        try {
+            do {
+                ScanRequest.Builder scan = ScanRequest.builder()
+                        .tableName(tableName)
+                        .segment(segment)
+                        .totalSegments(job.totalSegments)
+                        .filterExpression(filter)
+                        .expressionAttributeNames(Map.of("#type", "type"))
+                        .expressionAttributeValues(values)
+                        .limit(bulkSize);
+                if (startKey != null) {
+                    scan.exclusiveStartKey(startKey);
+                }
+
+                ScanResponse response = dynamoDbClient.scan(scan.build());
+                if (!catchUp) {
+                    job.scanned.addAndGet(response.scannedCount());
+                }
+
+                List<PromptDocument> docs = new ArrayList<>();
+                for (Map<String, AttributeValue> item : response.items()) {
+                    PromptDocument doc = promptItemMapper.toDocument(item);
+                    if (doc.getPromptId() != null) {
+                        docs.add(doc);
+                    }
+                }
+                if (!docs.isEmpty()) {
+                    bulkIndex(job, docs, bulkPermits);
+                    if (catchUp) {
+                        job.caughtUp.addAndGet(docs.size());
+                    }
+                }
+
+                startKey = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                        ? response.lastEvaluatedKey() : null;
+                if (startKey != null && !catchUp) {
+                    job.checkpoints.put(segment, startKey);
+                }
+            } while (startKey != null);
+
+            if (catchUp) {
+                return;
+            }
+            job.checkpoints.remove(segment);
+            job.completedSegments.add(segment);
+            log.info("재색인 세그먼트 완료: {} [{}/{}]", job.jobId, segment, job.totalSegments);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재색인 세그먼트 중단: " + segment, e);
+        } catch (IOException e) {
+            throw new IllegalStateException("재색인 세그먼트 실패: " + segment + " - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * bulk 색인 + 거절(429) 문서만 지수 백오프로 재시도
+     */
+    private void bulkIndex(ReindexJob job, List<PromptDocument> docs, Semaphore bulkPermits)
+            throws IOException, InterruptedException {
+        List<PromptDocument> pending = docs;
+
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            BulkRequest.Builder bulk = new BulkRequest.Builder().index(job.targetIndex);
+            for (PromptDocument doc : pending) {
+                Map<String, Object> source = toIndexSource(doc);
+                String routing = categoryRouting.routingFor(doc.getCategory());
+                bulk.operations(op -> op.index(i -> i.index(job.targetIndex).id(doc.getPromptId()).routing(routing).document(source)));
+            }
+
+            BulkResponse response;
+            bulkPermits.acquire();
+            try {
+                response = openSearchClient.bulk(bulk.build());
+            } finally {
+                bulkPermits.release();
+            }
+
+            List<PromptDocument> rejected = new ArrayList<>();
+            List<BulkResponseItem> items = response.items();
+            for (int i = 0; i < items.size(); i++) {
+                BulkResponseItem item = items.get(i);
+                if (item.error() == null) {
+                    job.indexed.incrementAndGet();
+                } else if (item.status() == 429) {
+                    rejected.add(pending.get(i));
+                } else {
+                    job.failed.incrementAndGet();
+                    log.warn("재색인 문서 실패: {} - {}", item.id(), item.error().reason());
+                }
+            }
+
+            if (rejected.isEmpty()) {
+                return;
+            }
+            if (attempt >= MAX_BULK_RETRIES) {
+                job.failed.addAndGet(rejected.size());
+                log.warn("재색인 bulk 재시도 한도 초과: {}건 실패 처리", rejected.size());
+                return;
+            }
+            job.retries.incrementAndGet();
+            meterRegistry.counter("opensearch.retries", "operation", "bulk", "index", "prompts_v*").increment();
+            Thread.sleep(Math.min(10_000L, 200L << attempt));
+            pending = rejected;
+        }
+    }
+
+    private Map<String, Object> toIndexSource(PromptDocument doc) {
+        Map<String, Object> source = objectMapper.convertValue(doc, new TypeReference<LinkedHashMap<String, Object>>() {});
+        source.remove("createUser");
+        source.remove("score");
+        source.values().removeIf(Objects::isNull);
+        source.putAll(embeddingService.embeddingFields(doc));
+        return source;
+    }
+
+    /**
+     * 새 인덱스 생성: 관리 템플릿(prompts_v*)의 매핑/인덱스 정렬을 적용하고 색인 중에는 refresh/replica 비활성화
+     * - 템플릿 등록에 실패하면 현재 인덱스의 매핑을 복사 (인덱스 정렬 없이)
+     */
+    private void createTargetIndex(String targetIndex) throws IOException {
+        TypeMapping mapping = null;
+        if (!indexTemplateService.ensureTemplate()) {
+            try {
+                GetMappingResponse current = openSearchClient.indices().getMapping(g -> g.index(ALIAS_NAME));
+                mapping = current.result().values().stream()
+                        .findFirst()
+                        .map(record -> record.mappings())
+                        .orElse(null);
+            } catch (OpenSearchException e) {
+                log.warn("기존 인덱스 매핑 없음 - 동적 매핑으로 생성: {}", e.getMessage());
+            }
+        }
+
+        final TypeMapping sourceMapping = mapping;
+        openSearchClient.indices().create(c -> {
+            c.index(targetIndex)
+                    .settings(s -> s
+                            .refreshInterval(t -> t.time("-1"))
+                            .numberOfReplicas("0"));
+            if (sourceMapping != null) {
+                c.mappings(sourceMapping);
+            }
+            return c;
+        });
+    }
+
+    /**
+     * 설정 복원 + 따라잡기 + 문서 수 확인 후 별칭을 새 인덱스로 원자적 교체, 교체 후 한 번 더 따라잡기
+     */
+    private void finish(ReindexJob job) throws IOException {
+        openSearchClient.indices().putSettings(p -> p
+                .index(job.targetIndex)
+                .settings(s -> s
+                        .refreshInterval(t -> t.time("1s"))
+                        .numberOfReplicas(replicas)));
+
+        // 1차 따라잡기: Scan 스냅샷 이후 동기화 Lambda가 기존 인덱스에만 쓴 변경
+        long secondPassFrom = System.currentTimeMillis();
+        catchUp(job, job.startedAt);
+        openSearchClient.indices().refresh(r -> r.index(job.targetIndex));
+
+        // 교체 전 확인: 새 인덱스가 현재 인덱스보다 문서가 적으면 교체하지 않음 (기존 인덱스 유지, 작업 재개로 다시 시도)
+        long targetCount = openSearchClient.count(c -> c.index(job.targetIndex)).count();
+        boolean sourceExists = openSearchClient.indices().exists(ex -> ex.index(ALIAS_NAME)).value();
+        if (sourceExists) {
+            long sourceCount = openSearchClient.count(c -> c.index(ALIAS_NAME)).count();
+            if (targetCount < sourceCount) {
+                throw new IllegalStateException("새 인덱스 문서 수 부족: " + targetCount + " < " + sourceCount + " (별칭 교체 중단)");
+            }
+        }
+
+        List<String> previousIndices = new ArrayList<>();
+        boolean concreteIndex = false;
+        try {
+            GetAliasResponse aliases = openSearchClient.indices().getAlias(g -> g.name(ALIAS_NAME));
+            previousIndices.addAll(aliases.result().keySet());
+        } catch (OpenSearchException e) {
+            // 별칭이 없으면 같은 이름의 실제 인덱스가 있는지 확인 (최초 전환)
+            concreteIndex = openSearchClient.indices().exists(ex -> ex.index(ALIAS_NAME)).value();
+        }
+
+        final boolean removeConcrete = concreteIndex;
+        openSearchClient.indices().updateAliases(u -> {
+            if (removeConcrete) {
+                u.actions(a -> a.removeIndex(ri -> ri.index(ALIAS_NAME)));
+            }
+            for (String previous : previousIndices) {
+                if (!previous.equals(job.targetIndex)) {
+                    u.actions(a -> a.remove(r -> r.index(previous).alias(ALIAS_NAME)));
+                }
+            }
+            u.actions(a -> a.add(ad -> ad.index(job.targetIndex).alias(ALIAS_NAME)));
+            return u;
+        });
+
+        // 2차 따라잡기: 1차 따라잡기 시작부터 교체 직전까지 기존 인덱스에 쓰인 변경 (실패해도 교체는 유지)
+        try {
+            catchUp(job, secondPassFrom);
+        } catch (RuntimeException e) {
+            log.warn("재색인 2차 따라잡기 실패: {} - {}", job.jobId, e.getMessage());
+        }
+
+        job.status = JobStatus.COMPLETED;
+        job.finishedAt = System.currentTimeMillis();
+        log.info("재색인 완료: {} -> {} (색인 {}건, 따라잡기 {}건, 실패 {}건, {} docs/s)",
+                job.jobId, job.targetIndex, job.indexed.get(), job.caughtUp.get(), job.failed.get(), job.docsPerSecond());
+    }
+
+    /**
+     * fromMillis(여유 포함) 이후 생성/수정된 METADATA를 전 세그먼트 병렬로 다시 색인
+     * - 카운터(좋아요/북마크/댓글 수)와 닉네임만 바뀐 갱신은 updated_at을 남기지 않아 대상이 아님
+     */
+    private void catchUp(ReindexJob job, long fromMillis) {
+        String since = Instant.ofEpochMilli(fromMillis - CATCH_UP_MARGIN_MILLIS).toString();
+        long before = job.caughtUp.get();
+        ExecutorService executor = Executors.newFixedThreadPool(job.totalSegments, r -> {
+            Thread thread = new Thread(r, "reindex-catchup-" + job.jobId.substring(0, 8));
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Semaphore bulkPermits = new Semaphore(maxConcurrentBulk);
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int segment = 0; segment < job.totalSegments; segment++) {
+                final int seg = segment;
+                futures.add(CompletableFuture.runAsync(() -> scanSegment(job, seg, since, bulkPermits), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+        log.info("재색인 따라잡기: {} (since {}, {}건)", job.jobId, since, job.caughtUp.get() - before);
+    }
+
+    public enum JobStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * 재색인 작업 상태 (세그먼트별 체크포인트 포함)
+     */
+    public static class ReindexJob {
+        private final String jobId;
+        private final String targetIndex;
+        private final int totalSegments;
+        private final long startedAt = System.currentTimeMillis();
+        private final Set<Integer> completedSegments = ConcurrentHashMap.newKeySet();
+        private final Map<Integer, Map<String, AttributeValue>> checkpoints = new ConcurrentHashMap<>();
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong indexed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong caughtUp = new AtomicLong();
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile long finishedAt;
+        private volatile String error;
+
+        private ReindexJob(String jobId, String targetIndex, int totalSegments) {
+            this.jobId = jobId;
+            this.targetIndex = targetIndex;
+            this.totalSegments = totalSegments;
+        }
+
+        private void fail(Throwable cause) {
+            status = JobStatus.FAILED;
+            finishedAt = System.currentTimeMillis();
+            error = cause.getMessage();
+            log.error("재색인 실패: {} - {}", jobId, error);
+        }
+
+        private long docsPerSecond() {
+            long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+            long elapsedMillis = Math.max(1, end - startedAt);
+            return indexed.get() * 1000 / elapsedMillis;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("jobId", jobId);
+            result.put("targetIndex", targetIndex);
+            result.put("status", status);
+            result.put("totalSegments", totalSegments);
+            result.put("completedSegments", completedSegments.size());
+            result.put("scanned", scanned.get());
+            result.put("indexed", indexed.get());
+            result.put("failed", failed.get());
+            result.put("bulkRetries", retries.get());
+            result.put("caughtUp", caughtUp.get());
+            result.put("docsPerSecond", docsPerSecond());
+            result.put("startedAt", startedAt);
+            if (finishedAt > 0) {
+                result.put("finishedAt", finishedAt);
+            }
+            if (error != null) {
+                result.put("error", error);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package fromprom.search.Service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import fromprom.search.DTO.PromptDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.query_dsl.Query;
+import org.opensearch.client.opensearch.core.MsearchResponse;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.msearch.MultiSearchResponseItem;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유사 프롬프트(related) 배치 서비스
+ * - 주기적으로 전체 완료 프롬프트의 임베딩으로 kNN 이웃을 _msearch 묶음 조회
+ * - 결과는 메모리 스냅샷으로 보관하여 상세 화면 요청은 kNN 쿼리 없이 응답
+ * - 임베딩이 아직 없는 문서는 EmbeddingService 백필 이후 다음 배치에서 반영
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RelatedPromptsService {
+
+    private static final String INDEX_NAME = "prompts";
+    private static final int PAGE_SIZE = 200;
+    private static final int MSEARCH_BATCH_SIZE = 50;
+    private static final List<String> SUMMARY_FIELDS = List.of(
+            "title", "description", "category", "model", "promptType", "nickname",
+            "price", "createdAt", "likeCount", "bookmarkCount", "commentCount"
+    );
+
+    private final OpenSearchClient openSearchClient;
+    private final EmbeddingService embeddingService;
+
+    @Value("${search.related.neighbors:10}")
+    private int neighbors;
+
+    private volatile Map<String, List<PromptDocument>> snapshot = Map.of();
+
+    /**
+     * 유사 프롬프트 목록 (메모리 스냅샷, 아직 계산되지 않았으면 빈 목록)
+     */
+    public List<PromptDocument> getRelated(String promptId, int size) {
+        List<PromptDocument> related = snapshot.getOrDefault(promptId, List.of());
+        return related.size() > size ? related.subList(0, size) : related;
+    }
+
+    /**
+     * 이웃 목록 재계산 + 스냅샷 교체 (기본 1시간 주기)
+     * - 색인에 knn_vector 매핑이 없으면 kNN 쿼리가 모두 실패하므로 건너뛰고 이전 스냅샷 유지
+     */
+    @Scheduled(fixedDelayString = "${search.related.refresh-interval-ms:3600000}", initialDelay = 120_000)
+    public void refresh() {
+        if (!embeddingService.isVectorIndexReady()) {
+            log.info("유사 프롬프트 갱신 건너뜀: {} 인덱스에 {} knn_vector 매핑 없음", INDEX_NAME, EmbeddingService.EMBEDDING_FIELD);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<String, List<PromptDocument>> next = new HashMap<>();
+        List<String> searchAfter = null;
+
+        try {
+            while (true) {
+                final List<String> after = searchAfter;
+                SearchResponse<EmbeddedPrompt> response = openSearchClient.search(s -> {
+                    s.index(INDEX_NAME)
+                            .query(q -> q.bool(b -> b
+                                    .filter(completed())
+                                    .filter(f -> f.exists(e -> e.field(EmbeddingService.EMBEDDING_FIELD)))))
+                            .source(src -> src.filter(f -> f.includes(EmbeddingService.EMBEDDING_FIELD)))
+                            .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                            .sort(sort -> sort.field(f -> f.field("_id").order(SortOrder.Desc)))
+                            .size(PAGE_SIZE);
+                    if (after != null) {
+                        s.searchAfter(after);
+                    }
+                    return s;
+                }, EmbeddedPrompt.class);
+
+                List<Hit<EmbeddedPrompt>> hits = response.hits().hits();
+                if (hits.isEmpty()) {
+                    break;
+                }
+
+                for (int from = 0; from < hits.size(); from += MSEARCH_BATCH_SIZE) {
+                    findNeighbors(hits.subList(from, Math.min(from + MSEARCH_BATCH_SIZE, hits.size())), next);
+                }
+
+                if (hits.size() < PAGE_SIZE) {
+                    break;
+                }
+                searchAfter = hits.get(hits.size() - 1).sort();
+            }
+        } catch (IOException e) {
+            // 실패 시 이전 스냅샷 유지
+            log.error("유사 프롬프트 갱신 실패: {}", e.getMessage());
+            return;
+        }
+
+        snapshot = Map.copyOf(next);
+        log.info("유사 프롬프트 갱신 완료: {}건, {}ms", next.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 문서 묶음의 kNN 이웃을 _msearch 1회로 조회 (자기 자신 제외, 요약 필드만)
+     */
+    private void findNeighbors(List<Hit<EmbeddedPrompt>> batch, Map<String, List<PromptDocument>> result)
+            throws IOException {
+        List<Hit<EmbeddedPrompt>> queries = batch.stream()
+                .filter(hit -> hit.source() != null && hit.source().getEmbedding() != null)
+                .toList();
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        MsearchResponse<PromptDocument> response = openSearchClient.msearch(m -> {
+            for (Hit<EmbeddedPrompt> hit : queries) {
+                m.searches(r -> r
+                        .header(h -> h.index(INDEX_NAME))
+                        .body(b -> b
+                                .query(q -> q.knn(k -> k
+                                        .field(EmbeddingService.EMBEDDING_FIELD)
+                                        .vector(hit.source().getEmbedding())
+                                        .k(neighbors + 1)
+                                        .filter(Query.of(f -> f.bool(fb -> fb
+                                                .filter(completed())
+                                                .mustNot(mn -> mn.ids(i -> i.values(hit.id()))))))))
+                                .source(src -> src.filter(f -> f.includes(SUMMARY_FIELDS)))
+                                .size(neighbors)));
+            }
+            return m;
+        }, PromptDocument.class);
+
+        List<MultiSearchResponseItem<PromptDocument>> items = response.responses();
+        for (int i = 0; i < items.size() && i < queries.size(); i++) {
+            MultiSearchResponseItem<PromptDocument> item = items.get(i);
+            if (item.isFailure()) {
+                log.warn("유사 프롬프트 조회 실패: {} - {}", queries.get(i).id(), item.failure().error().reason());
+                continue;
+            }
+            List<PromptDocument> related = new ArrayList<>();
+            for (Hit<PromptDocument> neighbor : item.result().hits().hits()) {
+                PromptDocument doc = neighbor.source();
+                if (doc != null) {
+                    doc.setPromptId(neighbor.id());
+                    doc.setScore(neighbor.score());
+                    related.add(doc);
+                }
+            }
+            result.put(queries.get(i).id(), List.copyOf(related));
+        }
+    }
+
+    private Query completed() {
+        return Query.of(q -> q.term(t -> t.field("status").value(FieldValue.of("completed"))));
+    }
+
+    @lombok.Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class EmbeddedPrompt {
+        private float[] embedding;
+    }
+}
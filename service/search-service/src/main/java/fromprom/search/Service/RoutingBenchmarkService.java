@@ -0,0 +1,213 @@
+package fromprom.search.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 카테고리 라우팅 벤치마크 (운영 클러스터에서 직접 측정)
+ * - 샤드 수별로 임시 인덱스 2개(기본 _id 라우팅 / routing=category)를 만들고 같은 합성 문서를 색인
+ * - 같은 카테고리 쿼리를 fan-out과 routed로 번갈아 실행하여 지연 시간(p50/p95)과 조회 샤드 수 비교
+ * - request cache는 끄고 측정, 끝나면 임시 인덱스 삭제
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoutingBenchmarkService {
+
+    private static final String INDEX_PREFIX = "routing_bench_";
+    private static final int BULK_SIZE = 1000;
+    private static final int WARMUP_QUERIES = 20;
+    // 운영 클러스터에 임시 인덱스를 만드는 작업이므로 입력 상한을 둠
+    private static final int MAX_SHARD_COUNTS = 6;
+    private static final int MAX_SHARDS = 16;
+    private static final int MAX_CATEGORIES = 50;
+    private static final int MAX_DOCS_PER_CATEGORY = 20_000;
+    private static final int MAX_TOTAL_DOCS = 100_000;
+    private static final int MAX_ITERATIONS = 5_000;
+
+    private final OpenSearchClient openSearchClient;
+
+    /**
+     * @throws IllegalArgumentException 입력이 범위를 벗어난 경우 (인덱스를 만들기 전에 검사)
+     */
+    public List<Map<String, Object>> run(List<Integer> shardCounts, int categories, int docsPerCategory, int iterations)
+            throws IOException {
+        validate(shardCounts, categories, docsPerCategory, iterations);
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int shards : shardCounts) {
+            String fanoutIndex = INDEX_PREFIX + "fanout_s" + shards;
+            String routedIndex = INDEX_PREFIX + "routed_s" + shards;
+            try {
+                createIndex(fanoutIndex, shards);
+                createIndex(routedIndex, shards);
+                load(fanoutIndex, false, categories, docsPerCategory);
+                load(routedIndex, true, categories, docsPerCategory);
+                openSearchClient.indices().refresh(r -> r.index(fanoutIndex, routedIndex));
+
+                Random random = new Random(shards);
+                for (int i = 0; i < WARMUP_QUERIES; i++) {
+                    String category = "bench_" + random.nextInt(categories);
+                    query(fanoutIndex, category, false);
+                    query(routedIndex, category, true);
+                }
+
+                long[] fanout = new long[iterations];
+                long[] routed = new long[iterations];
+                long fanoutShards = 0;
+                long routedShards = 0;
+                for (int i = 0; i < iterations; i++) {
+                    String category = "bench_" + random.nextInt(categories);
+                    // 순서 편향을 줄이기 위해 번갈아 실행
+                    if (i % 2 == 0) {
+                        fanoutShards += timed(fanout, i, fanoutIndex, category, false);
+                        routedShards += timed(routed, i, routedIndex, category, true);
+                    } else {
+                        routedShards += timed(routed, i, routedIndex, category, true);
+                        fanoutShards += timed(fanout, i, fanoutIndex, category, false);
+                    }
+                }
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("shards", shards);
+                result.put("docs", (long) categories * docsPerCategory);
+                result.put("fanout", summary(fanout, fanoutShards, iterations));
+                result.put("routed", summary(routed, routedShards, iterations));
+                results.add(result);
+                log.info("라우팅 벤치마크 샤드 {}: {}", shards, result);
+
+            } finally {
+                deleteQuietly(fanoutIndex);
+                deleteQuietly(routedIndex);
+            }
+        }
+        return results;
+    }
+
+    private void createIndex(String index, int shards) throws IOException {
+        deleteQuietly(index);
+        openSearchClient.indices().create(c -> c
+                .index(index)
+                .settings(s -> s
+                        .numberOfShards(String.valueOf(shards))
+                        .numberOfReplicas("0"))
+                .mappings(m -> m
+                        .properties("category", p -> p.keyword(k -> k))
+                        .properties("createdAt", p -> p.date(d -> d))
+                        .properties("title", p -> p.text(t -> t))));
+    }
+
+    private void load(String index, boolean routed, int categories, int docsPerCategory) throws IOException {
+        long baseTime = System.currentTimeMillis();
+        BulkRequest.Builder bulk = new BulkRequest.Builder();
+        int pending = 0;
+        for (int c = 0; c < categories; c++) {
+            String category = "bench_" + c;
+            for (int d = 0; d < docsPerCategory; d++) {
+                String id = category + "_" + d;
+                Map<String, Object> source = Map.of(
+                        "category", category,
+                        "createdAt", baseTime - d * 1000L,
+                        "title", "benchmark prompt " + d);
+                bulk.operations(op -> op.index(i -> i
+                        .index(index)
+                        .id(id)
+                        .routing(routed ? category : null)
+                        .document(source)));
+                if (++pending == BULK_SIZE) {
+                    openSearchClient.bulk(bulk.build());
+                    bulk = new BulkRequest.Builder();
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            openSearchClient.bulk(bulk.build());
+        }
+    }
+
+    /**
+     * @return 이번 쿼리가 조회한 샤드 수
+     */
+    @SuppressWarnings("rawtypes")
+    private long timed(long[] latencies, int slot, String index, String category, boolean routed) throws IOException {
+        long start = System.nanoTime();
+        SearchResponse<Map> response = query(index, category, routed);
+        latencies[slot] = System.nanoTime() - start;
+        return response.shards().total().longValue();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private SearchResponse<Map> query(String index, String category, boolean routed) throws IOException {
+        return openSearchClient.search(s -> {
+            s.index(index)
+                    .query(q -> q.term(t -> t.field("category").value(FieldValue.of(category))))
+                    .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                    .requestCache(false)
+                    .size(20);
+            if (routed) {
+                s.routing(category);
+            }
+            return s;
+        }, Map.class);
+    }
+
+    private void validate(List<Integer> shardCounts, int categories, int docsPerCategory, int iterations) {
+        if (shardCounts == null || shardCounts.isEmpty() || shardCounts.size() > MAX_SHARD_COUNTS) {
+            throw new IllegalArgumentException("shards는 1~" + MAX_SHARD_COUNTS + "개 값이어야 합니다.");
+        }
+        for (Integer shards : shardCounts) {
+            if (shards == null || shards < 1 || shards > MAX_SHARDS) {
+                throw new IllegalArgumentException("shards 값은 1~" + MAX_SHARDS + " 사이여야 합니다: " + shards);
+            }
+        }
+        if (shardCounts.stream().distinct().count() != shardCounts.size()) {
+            throw new IllegalArgumentException("shards 값이 중복되었습니다: " + shardCounts);
+        }
+        if (categories < 1 || categories > MAX_CATEGORIES) {
+            throw new IllegalArgumentException("categories는 1~" + MAX_CATEGORIES + " 사이여야 합니다.");
+        }
+        if (docsPerCategory < 1 || docsPerCategory > MAX_DOCS_PER_CATEGORY) {
+            throw new IllegalArgumentException("docsPerCategory는 1~" + MAX_DOCS_PER_CATEGORY + " 사이여야 합니다.");
+        }
+        if ((long) categories * docsPerCategory > MAX_TOTAL_DOCS) {
+            throw new IllegalArgumentException("categories * docsPerCategory는 " + MAX_TOTAL_DOCS + " 이하여야 합니다.");
+        }
+        if (iterations < 1 || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("iterations는 1~" + MAX_ITERATIONS + " 사이여야 합니다.");
+        }
+    }
+
+    private Map<String, Object> summary(long[] latencies, long shardsQueried, int iterations) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("p50Ms", sorted[(int) (sorted.length * 0.50)] / 1_000_000.0);
+        summary.put("p95Ms", sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.95))] / 1_000_000.0);
+        summary.put("avgMs", Arrays.stream(sorted).average().orElse(0) / 1_000_000.0);
+        summary.put("avgShardsQueried", (double) shardsQueried / iterations);
+        return summary;
+    }
+
+    private void deleteQuietly(String index) {
+        try {
+            openSearchClient.indices().delete(d -> d.index(index).ignoreUnavailable(true));
+        } catch (IOException | OpenSearchException e) {
+            log.warn("벤치마크 인덱스 삭제 실패: {} - {}", index, e.getMessage());
+        }
+    }
+}
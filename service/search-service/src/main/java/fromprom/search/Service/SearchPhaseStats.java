@@ -0,0 +1,56 @@
+package fromprom.search.Service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 키워드 검색 단계별 통계 (exact → fuzzy 폴백)
+ * - 검색 종류(operation)별 exact 요청 수, fuzzy 폴백 수, 단계별 누적 지연 시간
+ */
+@Component
+public class SearchPhaseStats {
+
+    private final Map<String, PhaseCounters> counters = new ConcurrentHashMap<>();
+
+    public void recordExact(String operation, long nanos) {
+        PhaseCounters c = counters.computeIfAbsent(operation, k -> new PhaseCounters());
+        c.exactCount.increment();
+        c.exactNanos.add(nanos);
+    }
+
+    public void recordFuzzy(String operation, long nanos) {
+        PhaseCounters c = counters.computeIfAbsent(operation, k -> new PhaseCounters());
+        c.fuzzyCount.increment();
+        c.fuzzyNanos.add(nanos);
+    }
+
+    /**
+     * 조회용 스냅샷 (폴백 비율, 단계별 평균 지연 ms)
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        counters.forEach((operation, c) -> {
+            long exact = c.exactCount.sum();
+            long fuzzy = c.fuzzyCount.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("exactQueries", exact);
+            stats.put("fuzzyFallbacks", fuzzy);
+            stats.put("fallbackRate", exact > 0 ? (double) fuzzy / exact : 0.0);
+            stats.put("exactAvgMs", exact > 0 ? c.exactNanos.sum() / 1_000_000.0 / exact : 0.0);
+            stats.put("fuzzyAvgMs", fuzzy > 0 ? c.fuzzyNanos.sum() / 1_000_000.0 / fuzzy : 0.0);
+            result.put(operation, stats);
+        });
+        return result;
+    }
+
+    private static class PhaseCounters {
+        private final LongAdder exactCount = new LongAdder();
+        private final LongAdder exactNanos = new LongAdder();
+        private final LongAdder fuzzyCount = new LongAdder();
+        private final LongAdder fuzzyNanos = new LongAdder();
+    }
+}
@@ -1,20 +1,43 @@
 package fromprom.search.Service;
 
+import fromprom.search.Cache.TtlCache;
+import fromprom.search.DTO.FacetBucket;
 import fromprom.search.DTO.PromptDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.opensearch.client.json.JsonData;
 import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.Conflicts;
 import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.OpenSearchException;
 import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.aggregations.Aggregate;
+import org.opensearch.client.opensearch._types.aggregations.HistogramBucket;
+import org.opensearch.client.opensearch._types.aggregations.RangeBucket;
+import org.opensearch.client.opensearch._types.aggregations.StringTermsBucket;
+import org.opensearch.client.opensearch._types.mapping.FieldType;
+import org.opensearch.client.opensearch._types.query_dsl.Query;
 import org.opensearch.client.opensearch._types.query_dsl.BoolQuery;
+import org.opensearch.client.opensearch._types.query_dsl.Operator;
+import org.opensearch.client.opensearch.core.MsearchResponse;
 import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.UpdateByQueryResponse;
+import org.opensearch.client.opensearch.core.msearch.MultiSearchResponseItem;
 import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.Suggest;
+import org.opensearch.client.opensearch.core.search.TermSuggest;
+import org.opensearch.client.opensearch.tasks.GetTasksResponse;
+import org.opensearch.client.opensearch.tasks.Status;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -22,34 +45,41 @@ import java.util.List;
 public class SearchService {
     
     private static final String INDEX_NAME = "prompts";
+    private static final String FACET_VALUES = "values";
+    private static final int FACET_TERMS_SIZE = 50;
+    private static final int PRICE_HISTOGRAM_INTERVAL = 1000;
+    private static final int FUZZY_MAX_EXPANSIONS = 20;
+    private static final String DID_YOU_MEAN = "didYouMean";
+    private static final int HYBRID_CANDIDATE_FACTOR = 3;
+
     private final OpenSearchClient openSearchClient;
+    private final SearchPhaseStats phaseStats;
+    private final CategoryRouting categoryRouting;
+    private final EmbeddingService embeddingService;
+
+    // exact 검색 결과가 이 개수 미만이면 fuzzy 검색으로 폴백
+    @Value("${search.fuzzy.min-results:5}")
+    private int fuzzyMinResults;
+
+    // 패싯만 조회(size=0)하는 요청 캐시 (60초)
+    private final TtlCache<String, FacetedSearchResult> facetCache = new TtlCache<>(60_000, 500);
 
     /**
      * 키워드로 프롬프트 검색 (title, description, content 필드)
+     * - exact 검색 결과가 부족할 때만 fuzzy 검색
      */
     public List<PromptDocument> searchPrompts(String keyword) {
         List<PromptDocument> resultList = new ArrayList<>();
 
         try {
-            SearchResponse<PromptDocument> response = openSearchClient.search(s -> s
+            PhasedResponse response = searchInPhases("searchPrompts", fuzzy -> openSearchClient.search(s -> s
                     .index(INDEX_NAME)
-                    .query(q -> q
-                            .bool(b -> b
-                                    .must(m -> m
-                                            .multiMatch(mm -> mm
-                                                    .fields("title^3", "description^2", "content")
-                                                    .query(keyword)
-                                                    .fuzziness("AUTO")
-                                            )
-                                    )
-                                    .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))))
-                            )
-                    )
+                    .query(q -> q.bool(b -> applyKeywordQuery(b, keyword, fuzzy)))
                     .size(20),
                     PromptDocument.class
-            );
+            ));
 
-            for (Hit<PromptDocument> hit : response.hits().hits()) {
+            for (Hit<PromptDocument> hit : response.getResponse().hits().hits()) {
                 PromptDocument doc = hit.source();
                 if (doc != null) {
                     doc.setPromptId(hit.id());
@@ -72,18 +102,25 @@ public class SearchService {
         List<PromptDocument> resultList = new ArrayList<>();
 
         try {
-            SearchResponse<PromptDocument> response = openSearchClient.search(s -> s
-                    .index(INDEX_NAME)
-                    .query(q -> q
-                            .bool(b -> b
-                                    .must(m -> m.term(t -> t.field("category").value(FieldValue.of(category))))
-                                    .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))))
+            String routing = categoryRouting.routingFor(category);
+            SearchResponse<PromptDocument> response = openSearchClient.search(s -> {
+                s.index(INDEX_NAME)
+                            .query(q -> q
+                                    .bool(b -> b
+                                            .must(m -> m.term(t -> t.field("category").value(FieldValue.of(category))))
+                                            .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))))
+                                    )
                             )
-                    )
-                    .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
-                    .size(size),
-                    PromptDocument.class
-            );
+                            .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                            .trackTotalHits(t -> t.enabled(false))
+                            .preference(categoryRouting.preference("category:" + category + ":" + size))
+                            .size(size);
+                // 라우팅 모드: 해당 카테고리 샤드 하나만 조회
+                if (routing != null) {
+                    s.routing(routing);
+                }
+                return s;
+            }, PromptDocument.class);
 
             for (Hit<PromptDocument> hit : response.hits().hits()) {
                 PromptDocument doc = hit.source();
@@ -116,6 +153,7 @@ public class SearchService {
                             )
                     )
                     .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                    .trackTotalHits(t -> t.enabled(false))
                     .size(size),
                     PromptDocument.class
             );
@@ -143,53 +181,97 @@ public class SearchService {
         List<PromptDocument> resultList = new ArrayList<>();
 
         try {
-            SearchResponse<PromptDocument> response = openSearchClient.search(s -> s
+            String routing = categoryRouting.routingFor(category);
+            PhasedResponse response = searchInPhases("advancedSearch", fuzzy -> openSearchClient.search(s -> {
+                s.index(INDEX_NAME)
+                            .query(q -> q
+                                    .bool(b -> {
+                                        BoolQuery.Builder builder = applyKeywordQuery(b, keyword, fuzzy);
+                                        return applyFacetFilters(builder, category, model, minPrice, maxPrice);
+                                    })
+                            )
+                            .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                            .size(size);
+                // 카테고리 필터가 있으면 해당 샤드만 조회
+                if (routing != null) {
+                    s.routing(routing);
+                }
+                return s;
+            }, PromptDocument.class));
+
+            for (Hit<PromptDocument> hit : response.getResponse().hits().hits()) {
+                PromptDocument doc = hit.source();
+                if (doc != null) {
+                    doc.setPromptId(hit.id());
+                    doc.setScore(hit.score());
+                    resultList.add(doc);
+                }
+            }
+
+        } catch (IOException e) {
+            log.error("고급 검색 실패: {}", e.getMessage());
+        }
+
+        return resultList;
+    }
+
+    /**
+     * 고급 검색 + 패싯 집계 (한 번의 요청으로 검색 결과와 패싯 카운트 동시 조회)
+     * - 선택된 필터는 post_filter로 적용하여 집계 범위에 영향을 주지 않음
+     * - 각 패싯은 "자기 자신을 제외한" 나머지 필터만 적용한 filter 집계로 계산
+     *   (예: 카테고리를 선택해도 다른 카테고리의 카운트가 그대로 보임)
+     * - size=0 (패싯만 조회) 결과는 짧은 TTL로 캐싱
+     */
+    public FacetedSearchResult advancedSearchWithFacets(String keyword, String category, String model,
+                                                        Integer minPrice, Integer maxPrice, int size) {
+        String cacheKey = size == 0
+                ? String.join("|", String.valueOf(keyword), String.valueOf(category), String.valueOf(model),
+                        String.valueOf(minPrice), String.valueOf(maxPrice))
+                : null;
+        if (cacheKey != null) {
+            FacetedSearchResult cached = facetCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<PromptDocument> resultList = new ArrayList<>();
+        Map<String, List<FacetBucket>> facets = new LinkedHashMap<>();
+
+        try {
+            // 카테고리 패싯은 모든 카테고리 카운트가 필요하므로 라우팅 없이 fan-out, 대신 preference로 복제본 고정
+            String preference = categoryRouting.preference(String.join("|", "facets", String.valueOf(keyword),
+                    String.valueOf(category), String.valueOf(model), String.valueOf(minPrice), String.valueOf(maxPrice),
+                    String.valueOf(size)));
+            SearchResponse<PromptDocument> response = searchInPhases("facetSearch", fuzzy -> openSearchClient.search(s -> s
                     .index(INDEX_NAME)
-                    .query(q -> q
-                            .bool(b -> {
-                                BoolQuery.Builder builder = b
-                                        .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))));
-                                
-                                // 키워드 검색
-                                if (keyword != null && !keyword.isEmpty()) {
-                                    builder.must(m -> m
-                                            .multiMatch(mm -> mm
-                                                    .fields("title^3", "description^2", "content")
-                                                    .query(keyword)
-                                                    .fuzziness("AUTO")
-                                            )
-                                    );
-                                }
-                                
-                                // 카테고리 필터
-                                if (category != null && !category.isEmpty()) {
-                                    builder.filter(f -> f.term(t -> t.field("category").value(FieldValue.of(category))));
-                                }
-                                
-                                // 모델 필터
-                                if (model != null && !model.isEmpty()) {
-                                    builder.filter(f -> f.term(t -> t.field("model").value(FieldValue.of(model))));
-                                }
-                                
-                                // 가격 범위 필터
-                                if (minPrice != null || maxPrice != null) {
-                                    builder.filter(f -> f
-                                            .range(r -> {
-                                                r.field("price");
-                                                if (minPrice != null) r.gte(JsonData.of(minPrice));
-                                                if (maxPrice != null) r.lte(JsonData.of(maxPrice));
-                                                return r;
-                                            })
-                                    );
-                                }
-                                
-                                return builder;
-                            })
-                    )
+                    .preference(preference)
+                    .query(q -> q.bool(b -> applyKeywordQuery(b, keyword, fuzzy)))
+                    .postFilter(pf -> pf.bool(b -> applyFacetFilters(b, category, model, minPrice, maxPrice)))
+                    .aggregations("category", a -> a
+                            .filter(fq -> fq.bool(b -> applyFacetFilters(b, null, model, minPrice, maxPrice)))
+                            .aggregations(FACET_VALUES, sub -> sub.terms(t -> t.field("category").size(FACET_TERMS_SIZE))))
+                    .aggregations("model", a -> a
+                            .filter(fq -> fq.bool(b -> applyFacetFilters(b, category, null, minPrice, maxPrice)))
+                            .aggregations(FACET_VALUES, sub -> sub.terms(t -> t.field("model").size(FACET_TERMS_SIZE))))
+                    .aggregations("price", a -> a
+                            .filter(fq -> fq.bool(b -> applyFacetFilters(b, category, model, null, null)))
+                            .aggregations(FACET_VALUES, sub -> sub.histogram(h -> h
+                                    .field("price")
+                                    .interval((double) PRICE_HISTOGRAM_INTERVAL)
+                                    .minDocCount(1))))
+                    .aggregations("finalScore", a -> a
+                            .filter(fq -> fq.bool(b -> applyFacetFilters(b, category, model, minPrice, maxPrice)))
+                            .aggregations(FACET_VALUES, sub -> sub.range(r -> r
+                                    .field("evaluationMetrics.finalScore")
+                                    .ranges(rr -> rr.key("0-60").to("60"))
+                                    .ranges(rr -> rr.key("60-80").from("60").to("80"))
+                                    .ranges(rr -> rr.key("80-90").from("80").to("90"))
+                                    .ranges(rr -> rr.key("90+").from("90")))))
                     .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
                     .size(size),
                     PromptDocument.class
-            );
+            )).getResponse();
 
             for (Hit<PromptDocument> hit : response.hits().hits()) {
                 PromptDocument doc = hit.source();
@@ -200,11 +282,178 @@ public class SearchService {
                 }
             }
 
+            Map<String, Aggregate> aggregations = response.aggregations();
+            facets.put("category", toTermsBuckets(aggregations.get("category")));
+            facets.put("model", toTermsBuckets(aggregations.get("model")));
+            facets.put("price", toHistogramBuckets(aggregations.get("price")));
+            facets.put("finalScore", toRangeBuckets(aggregations.get("finalScore")));
+
         } catch (IOException e) {
-            log.error("고급 검색 실패: {}", e.getMessage());
+            log.error("패싯 검색 실패: {}", e.getMessage());
+            return new FacetedSearchResult(resultList, facets);
         }
 
-        return resultList;
+        FacetedSearchResult result = new FacetedSearchResult(resultList, facets);
+        if (cacheKey != null) {
+            facetCache.put(cacheKey, result);
+        }
+        return result;
+    }
+
+    /**
+     * 공통 검색 조건: 완료 상태 필터 + (선택) 키워드 검색
+     * - exact: 오타 허용 없이 모든 단어 일치(multi_match AND) 또는 제목 구문 접두어 일치
+     * - fuzzy: 제목/설명에만 오타 허용(AUTO), 긴 content는 비용이 커서 fuzzy 없이 일반 match
+     */
+    private BoolQuery.Builder applyKeywordQuery(BoolQuery.Builder builder, String keyword, boolean fuzzy) {
+        builder.filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))));
+
+        if (keyword != null && !keyword.isEmpty()) {
+            builder.must(m -> m.bool(kb -> {
+                if (fuzzy) {
+                    kb.should(sh -> sh.multiMatch(mm -> mm
+                            .fields("title^3", "description^2")
+                            .query(keyword)
+                            .fuzziness("AUTO")
+                            .prefixLength(1)
+                            .maxExpansions(FUZZY_MAX_EXPANSIONS)));
+                    kb.should(sh -> sh.match(mt -> mt
+                            .field("content")
+                            .query(FieldValue.of(keyword))));
+                } else {
+                    kb.should(sh -> sh.multiMatch(mm -> mm
+                            .fields("title^3", "description^2", "content")
+                            .query(keyword)
+                            .operator(Operator.And)));
+                    kb.should(sh -> sh.matchPhrasePrefix(mp -> mp
+                            .field("title")
+                            .query(keyword)
+                            .boost(2.0f)));
+                }
+                return kb.minimumShouldMatch("1");
+            }));
+        }
+        return builder;
+    }
+
+    /**
+     * exact 검색 후 결과가 fuzzyMinResults 미만이면 같은 검색을 fuzzy로 한 번 더 실행
+     * - 단계별 호출 수/지연 시간을 SearchPhaseStats에 기록
+     */
+    private PhasedResponse searchInPhases(String operation, PhaseSearch search) throws IOException {
+        long start = System.nanoTime();
+        SearchResponse<PromptDocument> exact = search.run(false);
+        phaseStats.recordExact(operation, System.nanoTime() - start);
+
+        if (totalHits(exact) >= fuzzyMinResults) {
+            return new PhasedResponse(exact, false);
+        }
+
+        start = System.nanoTime();
+        SearchResponse<PromptDocument> fuzzy = search.run(true);
+        phaseStats.recordFuzzy(operation, System.nanoTime() - start);
+        log.debug("{}: exact 결과 부족 → fuzzy 폴백", operation);
+        return new PhasedResponse(fuzzy, true);
+    }
+
+    private long totalHits(SearchResponse<?> response) {
+        return response.hits().total() != null
+                ? response.hits().total().value()
+                : response.hits().hits().size();
+    }
+
+    @FunctionalInterface
+    private interface PhaseSearch {
+        SearchResponse<PromptDocument> run(boolean fuzzy) throws IOException;
+    }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    private static class PhasedResponse {
+        private SearchResponse<PromptDocument> response;
+        private boolean fuzzy;
+    }
+
+    /**
+     * 패싯 필터 (카테고리/모델/가격 범위) - null인 조건은 건너뜀
+     */
+    private BoolQuery.Builder applyFacetFilters(BoolQuery.Builder builder, String category, String model,
+                                                Integer minPrice, Integer maxPrice) {
+        // 카테고리 필터
+        if (category != null && !category.isEmpty()) {
+            builder.filter(f -> f.term(t -> t.field("category").value(FieldValue.of(category))));
+        }
+
+        // 모델 필터
+        if (model != null && !model.isEmpty()) {
+            builder.filter(f -> f.term(t -> t.field("model").value(FieldValue.of(model))));
+        }
+
+        // 가격 범위 필터
+        if (minPrice != null || maxPrice != null) {
+            builder.filter(f -> f
+                    .range(r -> {
+                        r.field("price");
+                        if (minPrice != null) r.gte(JsonData.of(minPrice));
+                        if (maxPrice != null) r.lte(JsonData.of(maxPrice));
+                        return r;
+                    })
+            );
+        }
+        return builder;
+    }
+
+    private List<FacetBucket> toTermsBuckets(Aggregate facet) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        if (facet == null || !facet.isFilter()) {
+            return buckets;
+        }
+        Aggregate values = facet.filter().aggregations().get(FACET_VALUES);
+        if (values != null && values.isSterms()) {
+            for (StringTermsBucket bucket : values.sterms().buckets().array()) {
+                buckets.add(new FacetBucket(bucket.key(), bucket.docCount()));
+            }
+        }
+        return buckets;
+    }
+
+    private List<FacetBucket> toHistogramBuckets(Aggregate facet) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        if (facet == null || !facet.isFilter()) {
+            return buckets;
+        }
+        Aggregate values = facet.filter().aggregations().get(FACET_VALUES);
+        if (values != null && values.isHistogram()) {
+            for (HistogramBucket bucket : values.histogram().buckets().array()) {
+                long from = (long) bucket.key();
+                buckets.add(new FacetBucket(from + "-" + (from + PRICE_HISTOGRAM_INTERVAL), bucket.docCount()));
+            }
+        }
+        return buckets;
+    }
+
+    private List<FacetBucket> toRangeBuckets(Aggregate facet) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        if (facet == null || !facet.isFilter()) {
+            return buckets;
+        }
+        Aggregate values = facet.filter().aggregations().get(FACET_VALUES);
+        if (values != null && values.isRange()) {
+            for (RangeBucket bucket : values.range().buckets().array()) {
+                buckets.add(new FacetBucket(bucket.key(), bucket.docCount()));
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * 패싯 검색 결과를 담는 내부 클래스
+     */
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    public static class FacetedSearchResult {
+        private List<PromptDocument> items;
+        private Map<String, List<FacetBucket>> facets;
     }
 
     /**
@@ -265,8 +514,8 @@ public class SearchService {
                                 .term(t -> t.field("status").value(FieldValue.of("completed")))
                         )
                         .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
-                        .sort(sort -> sort.field(f -> f.field("_id").order(SortOrder.Desc)))
-                        .searchAfter(List.of(cursorValue, ""))
+                        .trackTotalHits(t -> t.enabled(false))
+                        .searchAfter(List.of(cursorValue))
                         .size(fetchSize),
                         PromptDocument.class
                 );
@@ -278,7 +527,7 @@ public class SearchService {
                                 .term(t -> t.field("status").value(FieldValue.of("completed")))
                         )
                         .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
-                        .sort(sort -> sort.field(f -> f.field("_id").order(SortOrder.Desc)))
+                        .trackTotalHits(t -> t.enabled(false))
                         .size(fetchSize),
                         PromptDocument.class
                 );
@@ -315,11 +564,16 @@ public class SearchService {
 
     /**
      * 키워드 검색 (Cursor 기반 페이지네이션)
+     * - 첫 페이지는 exact → (결과 부족 시) fuzzy 순으로 검색하고, 어느 단계였는지 커서에 담아 다음 페이지도 같은 단계로 조회
+     * - fuzzy로도 결과가 부족하면 term suggester로 "이것을 찾으셨나요?" 검색어 제안
+     * - 커서 형식: "{E|F}|{_score}|{createdAt 정렬값}"
      */
     public PagedSearchResult searchPromptsPaged(String keyword, int size, String cursor) {
         List<PromptDocument> resultList = new ArrayList<>();
         String nextCursor = null;
         boolean hasNext = false;
+        boolean fuzzy = false;
+        String didYouMean = null;
 
         try {
             int fetchSize = size + 1;
@@ -327,47 +581,41 @@ public class SearchService {
             SearchResponse<PromptDocument> response;
             
             if (cursor != null && !cursor.isEmpty()) {
-                final String cursorValue = cursor;
+                PhaseCursor phaseCursor = PhaseCursor.decode(cursor);
+                if (phaseCursor == null) {
+                    log.warn("잘못된 검색 커서: {}", cursor);
+                    return new PagedSearchResult(resultList, null, false);
+                }
+                fuzzy = phaseCursor.isFuzzy();
+                final boolean fuzzyPhase = fuzzy;
                 response = openSearchClient.search(s -> s
                         .index(INDEX_NAME)
-                        .query(q -> q
-                                .bool(b -> b
-                                        .must(m -> m
-                                                .multiMatch(mm -> mm
-                                                        .fields("title^3", "description^2", "content")
-                                                        .query(keyword)
-                                                        .fuzziness("AUTO")
-                                                )
-                                        )
-                                        .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))))
-                                )
-                        )
+                        .query(q -> q.bool(b -> applyKeywordQuery(b, keyword, fuzzyPhase)))
                         .sort(sort -> sort.field(f -> f.field("_score").order(SortOrder.Desc)))
                         .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
-                        .searchAfter(List.of(cursorValue, ""))
+                        .searchAfter(phaseCursor.getSortValues())
                         .size(fetchSize),
                         PromptDocument.class
                 );
             } else {
-                response = openSearchClient.search(s -> s
-                        .index(INDEX_NAME)
-                        .query(q -> q
-                                .bool(b -> b
-                                        .must(m -> m
-                                                .multiMatch(mm -> mm
-                                                        .fields("title^3", "description^2", "content")
-                                                        .query(keyword)
-                                                        .fuzziness("AUTO")
-                                                )
-                                        )
-                                        .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))))
-                                )
-                        )
-                        .sort(sort -> sort.field(f -> f.field("_score").order(SortOrder.Desc)))
-                        .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
-                        .size(fetchSize),
-                        PromptDocument.class
-                );
+                PhasedResponse phased = searchInPhases("searchPromptsPaged", fuzzyPhase -> openSearchClient.search(s -> {
+                    s.index(INDEX_NAME)
+                            .query(q -> q.bool(b -> applyKeywordQuery(b, keyword, fuzzyPhase)))
+                            .sort(sort -> sort.field(f -> f.field("_score").order(SortOrder.Desc)))
+                            .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                            .size(fetchSize);
+                    if (fuzzyPhase) {
+                        s.suggest(sg -> sg
+                                .text(keyword)
+                                .suggesters(DID_YOU_MEAN, fs -> fs.term(t -> t.field("title").size(1))));
+                    }
+                    return s;
+                }, PromptDocument.class));
+                response = phased.getResponse();
+                fuzzy = phased.isFuzzy();
+                if (fuzzy && totalHits(response) < fuzzyMinResults) {
+                    didYouMean = toDidYouMean(response, keyword);
+                }
             }
 
             List<Hit<PromptDocument>> hits = response.hits().hits();
@@ -386,16 +634,81 @@ public class SearchService {
                 }
             }
             
-            if (!resultList.isEmpty() && hasNext) {
-                PromptDocument lastDoc = resultList.get(resultList.size() - 1);
-                nextCursor = lastDoc.getCreatedAt();
+            if (!hits.isEmpty() && hasNext) {
+                nextCursor = PhaseCursor.encode(fuzzy, hits.get(hits.size() - 1).sort());
             }
 
         } catch (IOException e) {
             log.error("키워드 검색 페이지네이션 실패: {}", e.getMessage());
         }
 
-        return new PagedSearchResult(resultList, nextCursor, hasNext);
+        PagedSearchResult result = new PagedSearchResult(resultList, nextCursor, hasNext);
+        result.setFuzzy(fuzzy);
+        result.setDidYouMean(didYouMean);
+        return result;
+    }
+
+    /**
+     * term suggester 결과로 검색어의 각 단어를 가장 가까운 제목 단어로 교체 (바뀐 단어가 없으면 null)
+     */
+    static String toDidYouMean(SearchResponse<PromptDocument> response, String keyword) {
+        List<Suggest<PromptDocument>> suggestions = response.suggest() == null ? null : response.suggest().get(DID_YOU_MEAN);
+        if (suggestions == null || suggestions.isEmpty()) {
+            return null;
+        }
+        StringBuilder suggested = new StringBuilder(keyword);
+        boolean changed = false;
+        // 뒤에서부터 교체해야 앞쪽 단어의 offset이 유지됨
+        for (int i = suggestions.size() - 1; i >= 0; i--) {
+            Suggest<PromptDocument> suggestion = suggestions.get(i);
+            if (!suggestion.isTerm()) {
+                continue;
+            }
+            TermSuggest term = suggestion.term();
+            if (term.options().isEmpty()) {
+                continue;
+            }
+            int offset = term.offset();
+            int length = term.length();
+            if (offset < 0 || offset + length > suggested.length()) {
+                continue;
+            }
+            suggested.replace(offset, offset + length, term.options().get(0).text());
+            changed = true;
+        }
+        return changed ? suggested.toString() : null;
+    }
+
+    /**
+     * 키워드 검색 커서: "{E|F}|{_score}|{createdAt 정렬값}"
+     * - 첫 페이지를 만든 단계(exact/fuzzy)와 마지막 문서의 정렬값(search_after)
+     */
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    static class PhaseCursor {
+        private boolean fuzzy;
+        private List<String> sortValues;
+
+        /**
+         * 정렬값이 _score, createdAt 두 개가 아니면 null (다음 페이지 없음)
+         */
+        static String encode(boolean fuzzy, List<String> sortValues) {
+            if (sortValues == null || sortValues.size() != 2) {
+                return null;
+            }
+            return (fuzzy ? "F" : "E") + "|" + sortValues.get(0) + "|" + sortValues.get(1);
+        }
+
+        /**
+         * 형식이 맞지 않으면 null
+         */
+        static PhaseCursor decode(String cursor) {
+            String[] parts = cursor.split("\\|", 3);
+            if (parts.length != 3 || !(parts[0].equals("E") || parts[0].equals("F"))) {
+                return null;
+            }
+            return new PhaseCursor(parts[0].equals("F"), List.of(parts[1], parts[2]));
+        }
     }
 
     /**
@@ -407,12 +720,120 @@ public class SearchService {
         private List<PromptDocument> items;
         private String nextCursor;
         private boolean hasNext;
+
+        // 키워드 검색 전용: fuzzy 단계로 검색되었는지, 검색어 제안 (없으면 null)
+        private boolean fuzzy;
+        private String didYouMean;
+
+        public PagedSearchResult(List<PromptDocument> items, String nextCursor, boolean hasNext) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.hasNext = hasNext;
+        }
+    }
+
+    /**
+     * 하이브리드 검색: BM25(exact) + kNN(임베딩) 점수 결합 (_msearch 1회)
+     * - 두 결과 목록의 점수를 각각 min-max 정규화한 뒤 lexicalWeight * bm25 + (1 - lexicalWeight) * knn
+     * - 한쪽 결과에만 있는 문서는 다른 쪽 점수를 0으로 취급
+     * - 검색어 임베딩을 만들 수 없으면 BM25 결과만 사용
+     */
+    public List<PromptDocument> hybridSearch(String keyword, int size, double lexicalWeight) {
+        double weight = Math.max(0.0, Math.min(1.0, lexicalWeight));
+        int candidates = size * HYBRID_CANDIDATE_FACTOR;
+        float[] queryVector = embeddingService.embedQuery(keyword);
+        Query completed = Query.of(q -> q.term(t -> t.field("status").value(FieldValue.of("completed"))));
+
+        try {
+            MsearchResponse<PromptDocument> response = openSearchClient.msearch(m -> {
+                m.searches(r -> r
+                        .header(h -> h.index(INDEX_NAME))
+                        .body(b -> b
+                                .query(q -> q.bool(bq -> applyKeywordQuery(bq, keyword, false)))
+                                .source(src -> src.filter(f -> f.excludes(EmbeddingService.EMBEDDING_FIELD)))
+                                .size(candidates)));
+                if (queryVector != null) {
+                    m.searches(r -> r
+                            .header(h -> h.index(INDEX_NAME))
+                            .body(b -> b
+                                    .query(q -> q.knn(k -> k
+                                            .field(EmbeddingService.EMBEDDING_FIELD)
+                                            .vector(queryVector)
+                                            .k(candidates)
+                                            .filter(completed)))
+                                    .source(src -> src.filter(f -> f.excludes(EmbeddingService.EMBEDDING_FIELD)))
+                                    .size(candidates)));
+                }
+                return m;
+            }, PromptDocument.class);
+
+            Map<String, PromptDocument> docs = new LinkedHashMap<>();
+            Map<String, Double> blended = new HashMap<>();
+            List<MultiSearchResponseItem<PromptDocument>> items = response.responses();
+            for (int i = 0; i < items.size(); i++) {
+                MultiSearchResponseItem<PromptDocument> item = items.get(i);
+                if (item.isFailure()) {
+                    log.warn("하이브리드 검색 일부 실패: {} - {}", i == 0 ? "bm25" : "knn", item.failure().error().reason());
+                    continue;
+                }
+                double itemWeight = i == 0 ? weight : 1.0 - weight;
+                List<Hit<PromptDocument>> hits = item.result().hits().hits();
+                Map<String, Double> normalized = normalizeScores(hits);
+                for (Hit<PromptDocument> hit : hits) {
+                    if (hit.source() == null) {
+                        continue;
+                    }
+                    docs.putIfAbsent(hit.id(), hit.source());
+                    blended.merge(hit.id(), itemWeight * normalized.get(hit.id()), Double::sum);
+                }
+            }
+
+            return docs.entrySet().stream()
+                    .sorted(Comparator.comparingDouble(
+                            (Map.Entry<String, PromptDocument> e) -> blended.get(e.getKey())).reversed())
+                    .limit(size)
+                    .map(e -> {
+                        PromptDocument doc = e.getValue();
+                        doc.setPromptId(e.getKey());
+                        doc.setScore(blended.get(e.getKey()));
+                        return doc;
+                    })
+                    .toList();
+
+        } catch (IOException e) {
+            log.error("하이브리드 검색 실패: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 결과 목록 점수를 0~1로 min-max 정규화 (모두 같은 점수면 1)
+     */
+    private Map<String, Double> normalizeScores(List<Hit<PromptDocument>> hits) {
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (Hit<PromptDocument> hit : hits) {
+            double score = hit.score() != null ? hit.score() : 0.0;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+        }
+
+        Map<String, Double> normalized = new HashMap<>();
+        for (Hit<PromptDocument> hit : hits) {
+            double score = hit.score() != null ? hit.score() : 0.0;
+            normalized.put(hit.id(), max > min ? (score - min) / (max - min) : 1.0);
+        }
+        return normalized;
     }
 
     /**
      * 프롬프트 상세 조회 (ID로)
      */
     public PromptDocument getPromptById(String promptId) {
+        if (categoryRouting.isEnabled()) {
+            return findPromptByIdAcrossShards(promptId);
+        }
+
         try {
             var response = openSearchClient.get(g -> g
                     .index(INDEX_NAME)
@@ -433,6 +854,33 @@ public class SearchService {
         return null;
     }
 
+    /**
+     * 카테고리 라우팅 모드에서는 routing 값(카테고리)을 모르면 GET으로 찾을 수 없으므로 ids 쿼리로 조회
+     */
+    private PromptDocument findPromptByIdAcrossShards(String promptId) {
+        try {
+            SearchResponse<PromptDocument> response = openSearchClient.search(s -> s
+                    .index(INDEX_NAME)
+                    .query(q -> q.ids(ids -> ids.values(promptId)))
+                    .size(1),
+                    PromptDocument.class
+            );
+
+            for (Hit<PromptDocument> hit : response.hits().hits()) {
+                PromptDocument doc = hit.source();
+                if (doc != null) {
+                    doc.setPromptId(hit.id());
+                    return doc;
+                }
+            }
+
+        } catch (IOException e) {
+            log.error("프롬프트 조회 실패: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
     /**
      * 인기 프롬프트 조회 (평가 점수 기준)
      */
@@ -471,17 +919,21 @@ public class SearchService {
     }
 
     /**
-     * 사용자별 프롬프트 조회
+     * 트렌딩 프롬프트 조회 (미리 계산된 popularityScore 기준, 스크립트 스코어링 없음)
      */
-    public List<PromptDocument> getPromptsByUserId(String userId, int size) {
+    public List<PromptDocument> getTrendingPrompts(int size) {
         List<PromptDocument> resultList = new ArrayList<>();
 
         try {
             SearchResponse<PromptDocument> response = openSearchClient.search(s -> s
                     .index(INDEX_NAME)
                     .query(q -> q
-                            .term(t -> t.field("userId").value(FieldValue.of(userId)))
+                            .term(t -> t.field("status").value(FieldValue.of("completed")))
                     )
+                    .sort(sort -> sort.field(f -> f
+                            .field("popularityScore")
+                            .order(SortOrder.Desc)
+                            .unmappedType(FieldType.Float)))
                     .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
                     .size(size),
                     PromptDocument.class
@@ -496,42 +948,124 @@ public class SearchService {
             }
 
         } catch (IOException e) {
-            log.error("사용자 프롬프트 조회 실패: {}", e.getMessage());
+            log.error("트렌딩 프롬프트 조회 실패: {}", e.getMessage());
         }
 
         return resultList;
     }
 
     /**
-     * 사용자의 모든 프롬프트 닉네임 업데이트
+     * 홈 화면 레일 일괄 조회 (_msearch 1회)
+     * - top-rated(평가 점수), newest(최신), trending(인기도), category:{카테고리}(최신)
+     * @return 레일 이름 -> 프롬프트 목록 (요청 순서 유지, 실패한 레일은 빈 목록), 모든 레일 조회에 실패하면 null
      */
-    public int updateUserPromptsNickname(String userId, String newNickname) {
-        int updatedCount = 0;
+    public Map<String, List<PromptDocument>> searchHomeRails(List<String> categories, int size) {
+        Map<String, List<PromptDocument>> rails = new LinkedHashMap<>();
+        List<String> railNames = new ArrayList<>(List.of("topRated", "newest", "trending"));
+        categories.forEach(category -> railNames.add("category:" + category));
+        railNames.forEach(name -> rails.put(name, new ArrayList<>()));
+
+        Query completed = Query.of(q -> q.term(t -> t.field("status").value(FieldValue.of("completed"))));
+
+        try {
+            MsearchResponse<PromptDocument> response = openSearchClient.msearch(m -> {
+                m.searches(r -> r
+                        .header(h -> h.index(INDEX_NAME))
+                        .body(b -> b
+                                .query(q -> q.bool(bq -> bq
+                                        .filter(completed)
+                                        .must(mu -> mu.exists(e -> e.field("evaluationMetrics.finalScore")))))
+                                .sort(sort -> sort.field(f -> f.field("evaluationMetrics.finalScore").order(SortOrder.Desc)))
+                                .size(size)));
+                m.searches(r -> r
+                        .header(h -> h.index(INDEX_NAME))
+                        .body(b -> b
+                                .query(completed)
+                                .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                                .size(size)));
+                m.searches(r -> r
+                        .header(h -> h.index(INDEX_NAME))
+                        .body(b -> b
+                                .query(completed)
+                                .sort(sort -> sort.field(f -> f
+                                        .field("popularityScore")
+                                        .order(SortOrder.Desc)
+                                        .unmappedType(FieldType.Float)))
+                                .size(size)));
+                for (String category : categories) {
+                    String routing = categoryRouting.routingFor(category);
+                    m.searches(r -> r
+                            .header(h -> {
+                                h.index(INDEX_NAME);
+                                if (routing != null) {
+                                    h.routing(routing);
+                                }
+                                return h;
+                            })
+                            .body(b -> b
+                                    .query(q -> q.bool(bq -> bq
+                                            .filter(completed)
+                                            .filter(f -> f.term(t -> t.field("category").value(FieldValue.of(category))))))
+                                    .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                                    .size(size)));
+                }
+                return m;
+            }, PromptDocument.class);
+
+            List<MultiSearchResponseItem<PromptDocument>> items = response.responses();
+            int failures = 0;
+            for (int i = 0; i < items.size() && i < railNames.size(); i++) {
+                MultiSearchResponseItem<PromptDocument> item = items.get(i);
+                if (item.isFailure()) {
+                    log.warn("홈 레일 조회 실패: {} - {}", railNames.get(i), item.failure().error().reason());
+                    failures++;
+                    continue;
+                }
+                List<PromptDocument> railDocs = rails.get(railNames.get(i));
+                for (Hit<PromptDocument> hit : item.result().hits().hits()) {
+                    PromptDocument doc = hit.source();
+                    if (doc != null) {
+                        doc.setPromptId(hit.id());
+                        railDocs.add(doc);
+                    }
+                }
+            }
+
+            if (failures == railNames.size()) {
+                return null;
+            }
+
+        } catch (IOException e) {
+            log.error("홈 레일 일괄 조회 실패: {}", e.getMessage());
+            return null;
+        }
+
+        return rails;
+    }
+
+    /**
+     * 사용자별 프롬프트 조회
+     */
+    public List<PromptDocument> getPromptsByUserId(String userId, int size) {
+        List<PromptDocument> resultList = new ArrayList<>();
 
         try {
-            // 1. 해당 사용자의 모든 프롬프트 조회
             SearchResponse<PromptDocument> response = openSearchClient.search(s -> s
                     .index(INDEX_NAME)
                     .query(q -> q
                             .term(t -> t.field("userId").value(FieldValue.of(userId)))
                     )
-                    .size(1000),
+                    .sort(sort -> sort.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                    .trackTotalHits(t -> t.enabled(false))
+                    .size(size),
                     PromptDocument.class
             );
 
-            // 2. 각 프롬프트의 nickname 필드 업데이트
             for (Hit<PromptDocument> hit : response.hits().hits()) {
-                try {
-                    openSearchClient.update(u -> u
-                            .index(INDEX_NAME)
-                            .id(hit.id())
-                            .doc(java.util.Map.of("nickname", newNickname)),
-                            PromptDocument.class
-                    );
-                    updatedCount++;
-                    log.info("OpenSearch 프롬프트 닉네임 업데이트 완료: {}", hit.id());
-                } catch (IOException e) {
-                    log.error("OpenSearch 프롬프트 닉네임 업데이트 실패: {} - {}", hit.id(), e.getMessage());
+                PromptDocument doc = hit.source();
+                if (doc != null) {
+                    doc.setPromptId(hit.id());
+                    resultList.add(doc);
                 }
             }
 
@@ -539,6 +1073,86 @@ public class SearchService {
             log.error("사용자 프롬프트 조회 실패: {}", e.getMessage());
         }
 
-        return updatedCount;
+        return resultList;
+    }
+
+    /**
+     * 사용자의 모든 프롬프트 닉네임 업데이트 (서버 측 _update_by_query, 비동기 작업)
+     * - 문서 수 제한 없이 OpenSearch가 배치 단위로 처리하며, 이미 바뀐 문서는 건너뜀
+     * - wait_for_completion=false 로 실행하여 즉시 OpenSearch 작업 ID 반환
+     * @return OpenSearch task ID (실패 시 null)
+     */
+    public String updateUserPromptsNickname(String userId, String newNickname) {
+        try {
+            UpdateByQueryResponse response = openSearchClient.updateByQuery(u -> u
+                    .index(INDEX_NAME)
+                    .query(q -> q
+                            .bool(b -> b
+                                    .filter(f -> f.term(t -> t.field("userId").value(FieldValue.of(userId))))
+                                    .mustNot(mn -> mn.term(t -> t.field("nickname").value(FieldValue.of(newNickname))))
+                            )
+                    )
+                    .script(sc -> sc
+                            .inline(i -> i
+                                    .lang("painless")
+                                    .source("ctx._source.nickname = params.nickname")
+                                    .params("nickname", JsonData.of(newNickname))
+                            )
+                    )
+                    .conflicts(Conflicts.Proceed)
+                    .refresh(true)
+                    .waitForCompletion(false)
+            );
+
+            log.info("OpenSearch 닉네임 일괄 업데이트 작업 시작: userId={}, task={}", userId, response.task());
+            return response.task();
+
+        } catch (IOException e) {
+            log.error("OpenSearch 닉네임 일괄 업데이트 요청 실패: {} - {}", userId, e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * OpenSearch 비동기 작업 상태 조회
+     * @return 작업 상태 (작업을 찾을 수 없으면 null)
+     */
+    public TaskStatus getTaskStatus(String taskId) {
+        try {
+            GetTasksResponse response = openSearchClient.tasks().get(g -> g.taskId(taskId));
+
+            TaskStatus status = new TaskStatus();
+            status.setTaskId(taskId);
+            status.setCompleted(response.completed());
+            Status progress = response.response() != null ? response.response() : response.task().status();
+            if (progress != null) {
+                status.setTotal(progress.total());
+                status.setUpdated(progress.updated());
+                status.setVersionConflicts(progress.versionConflicts());
+            }
+            if (response.error() != null) {
+                status.setError(response.error().reason());
+            }
+            return status;
+
+        } catch (IOException | OpenSearchException e) {
+            log.error("OpenSearch 작업 상태 조회 실패: {} - {}", taskId, e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * 비동기 작업 상태를 담는 내부 클래스
+     */
+    @lombok.Data
+    public static class TaskStatus {
+        private String taskId;
+        private boolean completed;
+        private Long total;
+        private Long updated;
+        private Long versionConflicts;
+        private String error;
     }
 }
@@ -0,0 +1,119 @@
+package fromprom.search.Service;
+
+import fromprom.search.Cache.TtlCache;
+import fromprom.search.DTO.CounterChange;
+import fromprom.search.DTO.PromptDocument;
+import fromprom.search.DTO.PromptStats;
+import fromprom.search.Feed.CounterChangeFeed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 프롬프트 카운터(좋아요/북마크/댓글) 실시간 오버레이
+ * - 변경 피드(DynamoDB Streams 등)를 주기적으로 폴링하여 최신 카운트를 메모리에 유지
+ * - 목록/상세 응답 모두 이 값을 우선 사용하므로 Lambda 동기화 지연 없이 최신 카운트 표시
+ * - 피드가 설정되지 않으면(search.stats-feed.mode 미설정) 비활성 상태로 기존 동작 유지
+ */
+@Slf4j
+@Service
+public class StatsOverlay {
+
+    private final CounterChangeFeed feed;
+    private final InteractionService interactionService;
+    private final TtlCache<String, CounterChange> counters;
+
+    public StatsOverlay(
+            ObjectProvider<CounterChangeFeed> feedProvider,
+            InteractionService interactionService,
+            @Value("${search.stats-feed.ttl-ms:3600000}") long ttlMillis,
+            @Value("${search.stats-feed.max-entries:100000}") int maxEntries) {
+        this.feed = feedProvider.getIfAvailable();
+        this.interactionService = interactionService;
+        this.counters = new TtlCache<>(ttlMillis, maxEntries);
+        if (feed != null) {
+            log.info("카운터 오버레이 활성화: {}", feed.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 변경 피드가 연결되어 오버레이 값을 신뢰할 수 있는지 여부
+     */
+    public boolean isLive() {
+        return feed != null;
+    }
+
+    @Scheduled(fixedDelayString = "${search.stats-feed.poll-interval-ms:1000}")
+    public void pollFeed() {
+        if (feed != null) {
+            feed.poll(this::apply);
+        }
+    }
+
+    public void apply(CounterChange change) {
+        if (change != null && change.getPromptId() != null) {
+            CounterChange previous = counters.get(change.getPromptId());
+            counters.put(change.getPromptId(), change);
+            // 댓글 수가 바뀌면(작성/삭제) 캐시된 댓글 첫 페이지 무효화
+            if (previous == null || previous.getCommentCount() != change.getCommentCount()) {
+                interactionService.invalidateComments(change.getPromptId());
+            }
+        }
+    }
+
+    /**
+     * DynamoDB에서 직접 읽은 통계를 오버레이 초기값으로 등록 (피드 값이 이미 있으면 유지)
+     */
+    public void seed(PromptStats stats) {
+        if (feed == null || stats == null || stats.getPromptId() == null) {
+            return;
+        }
+        counters.putIfAbsent(stats.getPromptId(), CounterChange.builder()
+                .promptId(stats.getPromptId())
+                .likeCount(stats.getLikeCount())
+                .bookmarkCount(stats.getBookmarkCount())
+                .commentCount(stats.getCommentCount())
+                .changedAt(System.currentTimeMillis())
+                .build());
+    }
+
+    /**
+     * 오버레이에 있는 카운트 (없거나 비활성이면 null)
+     */
+    public CounterChange get(String promptId) {
+        if (feed == null || promptId == null) {
+            return null;
+        }
+        return counters.get(promptId);
+    }
+
+    /**
+     * 오버레이 카운트만 담은 PromptStats (없으면 null)
+     */
+    public PromptStats getStats(String promptId) {
+        CounterChange change = get(promptId);
+        if (change == null) {
+            return null;
+        }
+        return PromptStats.builder()
+                .promptId(promptId)
+                .likeCount(change.getLikeCount())
+                .bookmarkCount(change.getBookmarkCount())
+                .commentCount(change.getCommentCount())
+                .build();
+    }
+
+    /**
+     * OpenSearch 문서의 카운트를 오버레이 값으로 덮어씀
+     */
+    public void applyTo(PromptDocument prompt) {
+        CounterChange change = get(prompt.getPromptId());
+        if (change != null) {
+            prompt.setLikeCount(change.getLikeCount());
+            prompt.setBookmarkCount(change.getBookmarkCount());
+            prompt.setCommentCount(change.getCommentCount());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package fromprom.search.Service;
+
+import fromprom.search.Cache.PrefixTrie;
+import fromprom.search.Cache.TtlCache;
+import fromprom.search.DTO.PromptDocument;
+import fromprom.search.DTO.Suggestion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.query_dsl.Operator;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 검색창 자동완성 서비스
+ * - 1차: 주기적으로 갱신되는 인기 제목/닉네임 트라이 (OpenSearch 호출 없음)
+ * - 2차: 트라이 결과가 부족하면 OpenSearch 접두사 검색 1회 (결과는 짧게 캐싱)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestService {
+
+    private static final String INDEX_NAME = "prompts";
+    private static final int TRIE_TOP_K = 10;
+    private static final int MAX_SIZE = 20;
+
+    private final OpenSearchClient openSearchClient;
+
+    @Value("${search.suggest.popular-size:2000}")
+    private int popularSize;
+
+    // 이 길이 미만의 접두사는 트라이에서만 조회 (너무 짧은 입력으로 OpenSearch 호출 방지)
+    @Value("${search.suggest.min-fallback-length:2}")
+    private int minFallbackLength;
+
+    private volatile PrefixTrie trie = new PrefixTrie(TRIE_TOP_K);
+
+    // OpenSearch 폴백 결과 캐시 (30초)
+    private final TtlCache<String, List<Suggestion>> fallbackCache = new TtlCache<>(30_000, 5_000);
+
+    /**
+     * 접두사 자동완성 (size는 1~MAX_SIZE로 보정)
+     */
+    public List<Suggestion> suggest(String prefix, int requestedSize) {
+        int size = Math.max(1, Math.min(requestedSize, MAX_SIZE));
+        String key = PrefixTrie.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        List<Suggestion> fromTrie = trie.search(prefix, size);
+        if (fromTrie.size() >= size || key.length() < minFallbackLength) {
+            return fromTrie;
+        }
+
+        String cacheKey = key + "|" + size;
+        List<Suggestion> cached = fallbackCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 트라이 결과 + OpenSearch 결과를 중복 없이 병합
+        Map<String, Suggestion> merged = new LinkedHashMap<>();
+        fromTrie.forEach(s -> merged.put(s.getType() + ":" + s.getText(), s));
+        for (Suggestion s : searchPrefix(prefix.trim(), size)) {
+            if (merged.size() >= size) {
+                break;
+            }
+            merged.putIfAbsent(s.getType() + ":" + s.getText(), s);
+        }
+
+        List<Suggestion> result = List.copyOf(merged.values());
+        fallbackCache.put(cacheKey, result);
+        return result;
+    }
+
+    /**
+     * 인기 프롬프트 제목/작성자 닉네임으로 트라이 재구성 (기본 5분 주기)
+     */
+    @Scheduled(fixedDelayString = "${search.suggest.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            SearchResponse<PromptDocument> response = openSearchClient.search(s -> s
+                    .index(INDEX_NAME)
+                    .query(q -> q
+                            .term(t -> t.field("status").value(FieldValue.of("completed")))
+                    )
+                    .source(src -> src.filter(f -> f.includes("title", "nickname", "likeCount", "bookmarkCount")))
+                    .sort(sort -> sort.field(f -> f.field("likeCount").order(SortOrder.Desc)))
+                    .size(popularSize),
+                    PromptDocument.class
+            );
+
+            PrefixTrie newTrie = new PrefixTrie(TRIE_TOP_K);
+            Set<String> nicknames = new HashSet<>();
+            for (Hit<PromptDocument> hit : response.hits().hits()) {
+                PromptDocument doc = hit.source();
+                if (doc == null) {
+                    continue;
+                }
+                double weight = popularity(doc);
+                if (doc.getTitle() != null && !doc.getTitle().isBlank()) {
+                    newTrie.insert(doc.getTitle(), new Suggestion(doc.getTitle(), "title", hit.id(), weight));
+                }
+                if (doc.getNickname() != null && !doc.getNickname().isBlank() && nicknames.add(doc.getNickname())) {
+                    newTrie.insert(doc.getNickname(), new Suggestion(doc.getNickname(), "nickname", null, weight));
+                }
+            }
+
+            trie = newTrie;
+            fallbackCache.invalidateAll();
+            log.info("자동완성 트라이 갱신 완료: {}건", response.hits().hits().size());
+
+        } catch (IOException e) {
+            log.error("자동완성 트라이 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * OpenSearch 접두사 검색 (제목 edge n-gram + 닉네임 prefix, 필요한 필드만 조회)
+     * - title.autocomplete가 없는 템플릿 적용 전 인덱스(재색인 전)는 제목 phrase_prefix로 매칭
+     */
+    private List<Suggestion> searchPrefix(String prefix, int size) {
+        List<Suggestion> suggestions = new ArrayList<>();
+
+        try {
+            SearchResponse<PromptDocument> response = openSearchClient.search(s -> s
+                    .index(INDEX_NAME)
+                    .query(q -> q
+                            .bool(b -> b
+                                    .should(sh -> sh.match(m -> m
+                                            .field(IndexTemplateService.TITLE_AUTOCOMPLETE_FIELD)
+                                            .query(FieldValue.of(prefix))
+                                            .operator(Operator.And)))
+                                    .should(sh -> sh.matchPhrasePrefix(m -> m.field("title").query(prefix)))
+                                    .should(sh -> sh.prefix(p -> p.field("nickname").value(prefix)))
+                                    .minimumShouldMatch("1")
+                                    .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("completed"))))
+                            )
+                    )
+                    .source(src -> src.filter(f -> f.includes("title", "nickname")))
+                    .size(size),
+                    PromptDocument.class
+            );
+
+            String key = PrefixTrie.normalize(prefix);
+            for (Hit<PromptDocument> hit : response.hits().hits()) {
+                PromptDocument doc = hit.source();
+                if (doc == null) {
+                    continue;
+                }
+                double weight = hit.score() != null ? hit.score() : 0;
+                if (doc.getNickname() != null && PrefixTrie.normalize(doc.getNickname()).startsWith(key)) {
+                    suggestions.add(new Suggestion(doc.getNickname(), "nickname", null, weight));
+                }
+                if (doc.getTitle() != null) {
+                    suggestions.add(new Suggestion(doc.getTitle(), "title", hit.id(), weight));
+                }
+            }
+
+        } catch (IOException e) {
+            log.error("자동완성 검색 실패: {}", e.getMessage());
+        }
+
+        return suggestions;
+    }
+
+    private double popularity(PromptDocument doc) {
+        int likes = doc.getLikeCount() != null ? doc.getLikeCount() : 0;
+        int bookmarks = doc.getBookmarkCount() != null ? doc.getBookmarkCount() : 0;
+        return likes + bookmarks * 2.0;
+    }
+}
@@ -0,0 +1,61 @@
+package fromprom.search.Cache;
+
+import fromprom.search.DTO.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTest {
+
+    private PrefixTrie trie() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.insert("마케팅 카피", suggestion("마케팅 카피", 10));
+        trie.insert("마법사", suggestion("마법사", 5));
+        trie.insert("Code Review", suggestion("Code Review", 3));
+        return trie;
+    }
+
+    @Test
+    void matchesSyllableBeingTyped() {
+        // "맠"은 "마" + 받침 ㅋ → 다음 글자의 초성 ㅋ으로 이어지는 "마케팅"과 매칭
+        List<Suggestion> result = trie().search("맠", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("마케팅 카피", result.get(0).getText());
+    }
+
+    @Test
+    void matchesCompatibilityJamo() {
+        assertEquals(List.of("마케팅 카피", "마법사"), texts(trie().search("ㅁ", 10)));
+        assertEquals(List.of("마케팅 카피"), texts(trie().search("마ㅋ", 10)));
+    }
+
+    @Test
+    void ordersByWeightAndHonoursLimit() {
+        List<Suggestion> result = trie().search("마", 1);
+
+        assertEquals(List.of("마케팅 카피"), texts(result));
+    }
+
+    @Test
+    void ignoresCaseAndExtraSpaces() {
+        assertEquals(List.of("Code Review"), texts(trie().search("  code   re", 10)));
+    }
+
+    @Test
+    void returnsEmptyForUnknownPrefix() {
+        assertTrue(trie().search("마켓", 10).isEmpty());
+        assertTrue(trie().search("", 10).isEmpty());
+    }
+
+    private Suggestion suggestion(String text, double weight) {
+        return Suggestion.builder().text(text).type("title").promptId(text).weight(weight).build();
+    }
+
+    private List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).toList();
+    }
+}
@@ -0,0 +1,37 @@
+package fromprom.search.Metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class QueryShapeTest {
+
+    @Test
+    void replacesLiteralsButKeepsPlanValues() {
+        String shape = QueryShape.of("{\"query\":{\"multi_match\":{\"query\":\"마케팅\",\"fuzziness\":\"AUTO\",\"operator\":\"and\"}},"
+                + "\"sort\":[{\"createdAt\":{\"order\":\"desc\"}}],\"size\":21}");
+
+        assertEquals("{\"query\":{\"multi_match\":{\"query\":\"?\",\"fuzziness\":\"AUTO\",\"operator\":\"and\"}},"
+                + "\"sort\":[{\"createdAt\":{\"order\":\"desc\"}}],\"size\":\"?\"}", shape);
+    }
+
+    @Test
+    void groupsQueriesThatDifferOnlyInValues() {
+        String first = QueryShape.of("{\"query\":{\"terms\":{\"category\":[\"a\",\"b\"]}},\"search_after\":[1.0,\"x\"]}");
+        String second = QueryShape.of("{\"query\":{\"terms\":{\"category\":[\"c\"]}},\"search_after\":[2.0,\"y\"]}");
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void separatesDifferentStructures() {
+        assertNotEquals(QueryShape.of("{\"query\":{\"term\":{\"status\":\"completed\"}}}"),
+                QueryShape.of("{\"query\":{\"match\":{\"status\":\"completed\"}}}"));
+    }
+
+    @Test
+    void marksUnparsableBody() {
+        assertEquals("(unparsable)", QueryShape.of("not json"));
+    }
+}
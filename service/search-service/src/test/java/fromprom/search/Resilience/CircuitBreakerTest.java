@@ -0,0 +1,109 @@
+package fromprom.search.Resilience;
+
+import fromprom.search.Resilience.CircuitBreaker.Permit;
+import fromprom.search.Resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CircuitBreakerTest {
+
+    private static final long LONG_OPEN = 60_000;
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, LONG_OPEN);
+
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure(breaker.acquire());
+        }
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(Permit.DENIED, breaker.acquire());
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, LONG_OPEN);
+
+        breaker.onFailure(breaker.acquire());
+        breaker.onFailure(breaker.acquire());
+        breaker.onSuccess(breaker.acquire());
+        breaker.onFailure(breaker.acquire());
+        breaker.onFailure(breaker.acquire());
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAllowsSingleProbe() {
+        CircuitBreaker breaker = openedBreaker();
+
+        assertEquals(Permit.PROBE, breaker.acquire());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertEquals(Permit.DENIED, breaker.acquire());
+    }
+
+    @Test
+    void probeSuccessCloses() {
+        CircuitBreaker breaker = openedBreaker();
+
+        breaker.onSuccess(breaker.acquire());
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(Permit.CALL, breaker.acquire());
+    }
+
+    @Test
+    void probeFailureReopens() {
+        CircuitBreaker breaker = openedBreaker();
+
+        breaker.onFailure(breaker.acquire());
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void releasedProbeAllowsNextProbe() {
+        // 시험 호출이 동시 호출 한도 초과 등으로 결과 없이 끝나도 HALF_OPEN에 갇히지 않아야 함
+        CircuitBreaker breaker = openedBreaker();
+
+        breaker.releaseProbe(breaker.acquire());
+
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertEquals(Permit.PROBE, breaker.acquire());
+    }
+
+    @Test
+    void lateSuccessDoesNotCloseOpenBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, LONG_OPEN);
+        Permit slowCall = breaker.acquire();
+
+        breaker.onFailure(breaker.acquire());
+        breaker.onSuccess(slowCall);
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void callSuccessDuringHalfOpenDoesNotClose() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        Permit slowCall = breaker.acquire();
+        breaker.onFailure(breaker.acquire());
+        Permit probe = breaker.acquire();
+
+        breaker.onSuccess(slowCall);
+
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(probe);
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    // 대기 시간 0: 다음 acquire()에서 바로 HALF_OPEN으로 전환
+    private CircuitBreaker openedBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.onFailure(breaker.acquire());
+        assertEquals(State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
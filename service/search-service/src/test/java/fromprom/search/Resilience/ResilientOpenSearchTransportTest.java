@@ -0,0 +1,152 @@
+package fromprom.search.Resilience;
+
+import fromprom.search.Cache.TtlCache;
+import fromprom.search.DTO.PromptDocument;
+import jakarta.json.stream.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportOptions;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResilientOpenSearchTransportTest {
+
+    private static final String RESPONSE = """
+            {"took":2,"timed_out":false,
+             "_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+             "hits":{"total":{"value":1,"relation":"eq"},"max_score":1.5,
+               "hits":[{"_index":"prompts","_id":"p1","_score":1.5,"_source":{"title":"마케팅 문구"}}]}}
+            """;
+
+    private final JsonpMapper mapper = new JacksonJsonpMapper();
+    private final Endpoint<SearchRequest, SearchResponse<PromptDocument>, ?> endpoint =
+            SearchRequest.createSearchEndpoint(JsonpDeserializer.of(PromptDocument.class));
+    private final SearchRequest request = SearchRequest.of(s -> s.index("prompts").query(q -> q.matchAll(m -> m)));
+
+    private ServletRequestAttributes attributes;
+
+    @BeforeEach
+    void bindRequest() {
+        attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+    }
+
+    @AfterEach
+    void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void fallbackReturnsIndependentCopyOfLastGoodResponse() throws IOException {
+        StubTransport delegate = new StubTransport();
+        ResilientOpenSearchTransport transport = transport(delegate);
+
+        delegate.next = parse(RESPONSE);
+        SearchResponse<PromptDocument> first = transport.performRequest(request, endpoint, null);
+        // 호출 측이 문서를 고쳐도 캐시된 응답에는 반영되지 않아야 함
+        first.hits().hits().get(0).source().setTitle("변경됨");
+
+        delegate.failure = new IOException("connection refused");
+        SearchResponse<PromptDocument> fallback = transport.performRequest(request, endpoint, null);
+
+        assertNotSame(first, fallback);
+        assertEquals("p1", fallback.hits().hits().get(0).id());
+        assertEquals("마케팅 문구", fallback.hits().hits().get(0).source().getTitle());
+        assertTrue(isDegraded());
+    }
+
+    @Test
+    void failsWithoutCachedResponse() {
+        StubTransport delegate = new StubTransport();
+        delegate.failure = new IOException("connection refused");
+
+        assertThrows(IOException.class, () -> transport(delegate).performRequest(request, endpoint, null));
+        assertNull(attributes.getAttribute(ResilientOpenSearchTransport.DEGRADED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Test
+    void successDoesNotMarkDegraded() throws IOException {
+        StubTransport delegate = new StubTransport();
+        delegate.next = parse(RESPONSE);
+
+        transport(delegate).performRequest(request, endpoint, null);
+
+        assertNull(attributes.getAttribute(ResilientOpenSearchTransport.DEGRADED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    private ResilientOpenSearchTransport transport(OpenSearchTransport delegate) {
+        return new ResilientOpenSearchTransport(delegate, new CircuitBreaker("test", 5, 60_000),
+                new TtlCache<>(60_000, 10), 0, 1_000, 1_000);
+    }
+
+    private boolean isDegraded() {
+        return Boolean.TRUE.equals(
+                attributes.getAttribute(ResilientOpenSearchTransport.DEGRADED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    private SearchResponse<PromptDocument> parse(String json) {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new StringReader(json))) {
+            return SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(PromptDocument.class))
+                    .deserialize(parser, mapper);
+        }
+    }
+
+    /**
+     * 다음 호출에 돌려줄 응답(또는 실패)을 지정하는 대역
+     */
+    private class StubTransport implements OpenSearchTransport {
+
+        Object next;
+        IOException failure;
+
+        @Override
+        public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+                RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+                RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            return CompletableFuture.completedFuture((ResponseT) next);
+        }
+
+        @Override
+        public JsonpMapper jsonpMapper() {
+            return mapper;
+        }
+
+        @Override
+        public TransportOptions options() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
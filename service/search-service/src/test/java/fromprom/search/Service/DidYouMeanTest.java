@@ -0,0 +1,68 @@
+package fromprom.search.Service;
+
+import fromprom.search.DTO.PromptDocument;
+import jakarta.json.stream.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.core.SearchResponse;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DidYouMeanTest {
+
+    private final JsonpMapper mapper = new JacksonJsonpMapper();
+
+    // 클라이언트는 typed_keys=true로 요청하므로 suggest 키가 "term#이름" 형태로 내려옴
+    private static final String TWO_TYPOS = """
+            {"took":3,"timed_out":false,
+             "_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+             "hits":{"total":{"value":0,"relation":"eq"},"max_score":null,"hits":[]},
+             "suggest":{"term#didYouMean":[
+               {"text":"promt","offset":0,"length":5,"options":[{"text":"prompt","score":0.8,"freq":12}]},
+               {"text":"enginering","offset":6,"length":10,"options":[{"text":"engineering","score":0.9,"freq":7}]}
+             ]}}
+            """;
+
+    private static final String NO_OPTIONS = """
+            {"took":1,"timed_out":false,
+             "_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+             "hits":{"total":{"value":0,"relation":"eq"},"max_score":null,"hits":[]},
+             "suggest":{"term#didYouMean":[
+               {"text":"prompt","offset":0,"length":6,"options":[]}
+             ]}}
+            """;
+
+    private static final String NO_SUGGEST = """
+            {"took":1,"timed_out":false,
+             "_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+             "hits":{"total":{"value":0,"relation":"eq"},"max_score":null,"hits":[]}}
+            """;
+
+    @Test
+    void replacesEveryMisspelledWord() {
+        assertEquals("prompt engineering", SearchService.toDidYouMean(parse(TWO_TYPOS), "promt enginering"));
+    }
+
+    @Test
+    void returnsNullWhenNothingChanged() {
+        assertNull(SearchService.toDidYouMean(parse(NO_OPTIONS), "prompt"));
+    }
+
+    @Test
+    void returnsNullWithoutSuggestSection() {
+        assertNull(SearchService.toDidYouMean(parse(NO_SUGGEST), "prompt"));
+    }
+
+    private SearchResponse<PromptDocument> parse(String json) {
+        JsonpDeserializer<SearchResponse<PromptDocument>> deserializer =
+                SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(PromptDocument.class));
+        try (JsonParser parser = mapper.jsonProvider().createParser(new StringReader(json))) {
+            return deserializer.deserialize(parser, mapper);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package fromprom.search.Service;
+
+import fromprom.search.Service.SearchService.PhaseCursor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhaseCursorTest {
+
+    @Test
+    void roundTripsExactPhase() {
+        String cursor = PhaseCursor.encode(false, List.of("12.5", "1760000000000"));
+
+        PhaseCursor decoded = PhaseCursor.decode(cursor);
+
+        assertFalse(decoded.isFuzzy());
+        assertEquals(List.of("12.5", "1760000000000"), decoded.getSortValues());
+    }
+
+    @Test
+    void roundTripsFuzzyPhase() {
+        String cursor = PhaseCursor.encode(true, List.of("3.0", "2026-10-18T12:00:00"));
+
+        PhaseCursor decoded = PhaseCursor.decode(cursor);
+
+        assertTrue(decoded.isFuzzy());
+        assertEquals(List.of("3.0", "2026-10-18T12:00:00"), decoded.getSortValues());
+    }
+
+    @Test
+    void encodesNothingWithoutBothSortValues() {
+        assertNull(PhaseCursor.encode(false, null));
+        assertNull(PhaseCursor.encode(false, List.of("1.0")));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertNull(PhaseCursor.decode("1760000000000"));
+        assertNull(PhaseCursor.decode("X|1.0|1760000000000"));
+        assertNull(PhaseCursor.decode("E|1.0"));
+    }
+}